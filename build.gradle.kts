@@ -1,8 +1,12 @@
 plugins {
   java
+  `java-test-fixtures`
   alias(libs.plugins.spring.boot)
   alias(libs.plugins.spring.dependency.management)
 
+  // Benchmarking
+  alias(libs.plugins.jmh)
+
   // Code quality plugins
   checkstyle
   jacoco
@@ -12,16 +16,30 @@ plugins {
 group = "uk.nhs.tis.trainee"
 version = "2.6.2"
 
+sourceSets {
+  create("loadTest") {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+  }
+}
+
 configurations {
   compileOnly {
     extendsFrom(configurations.annotationProcessor.get())
   }
+  named("loadTestImplementation") {
+    extendsFrom(configurations.testImplementation.get())
+  }
+  named("loadTestRuntimeOnly") {
+    extendsFrom(configurations.testRuntimeOnly.get())
+  }
 }
 
 dependencyManagement {
   imports {
     mavenBom(libs.spring.cloud.dependencies.aws.get().toString())
     mavenBom(libs.spring.cloud.dependencies.core.get().toString())
+    mavenBom(libs.resilience4j.bom.get().toString())
   }
 }
 
@@ -37,6 +55,12 @@ dependencies {
   implementation("com.transformuk.hee:profile-client:3.4.1") {
     exclude("com.fasterxml.jackson.module", "jackson-module-jaxb-annotations")
   }
+  implementation("org.apache.httpcomponents.client5:httpclient5")
+
+  // Resilience
+  implementation("io.github.resilience4j:resilience4j-circuitbreaker")
+  implementation("io.github.resilience4j:resilience4j-bulkhead")
+  implementation("io.github.resilience4j:resilience4j-micrometer")
 
   // Lombok
   compileOnly("org.projectlombok:lombok")
@@ -54,7 +78,13 @@ dependencies {
   implementation("io.awspring.cloud:spring-cloud-aws-starter-sns")
   implementation("io.awspring.cloud:spring-cloud-aws-starter-sqs")
   implementation("software.amazon.awssdk:cognitoidentityprovider")
+  implementation("software.amazon.awssdk:apache-client")
+  implementation("software.amazon.awssdk:netty-nio-client")
+  implementation("software.amazon.awssdk:aws-crt-client")
+  // Not managed by the SDK BOM, keep in step with the version aws-crt-client is built against.
+  implementation("software.amazon.awssdk.crt:aws-crt:0.33.3")
   implementation(libs.aws.xray.spring)
+  implementation("com.amazonaws:aws-xray-recorder-sdk-aws-sdk-v2:${libs.aws.xray.spring.get().version}")
 
   //Amazon Cloudwatch
   implementation("io.micrometer:micrometer-core")
@@ -64,12 +94,18 @@ dependencies {
   implementation("io.micrometer:micrometer-core")
   implementation("io.micrometer:micrometer-registry-cloudwatch2")
 
+  testFixturesImplementation("software.amazon.awssdk:cognitoidentityprovider")
+  testFixturesImplementation("org.testcontainers:testcontainers")
+
   testImplementation("org.springframework.boot:spring-boot-starter-test")
   testImplementation("org.springframework.boot:spring-boot-testcontainers")
   testImplementation("org.testcontainers:junit-jupiter")
   testImplementation("org.testcontainers:localstack")
   testImplementation("org.testcontainers:mongodb")
   testImplementation("com.redis:testcontainers-redis")
+
+  loadTestImplementation(testFixtures(project))
+  loadTestImplementation("org.hdrhistogram:HdrHistogram:2.2.2")
 }
 
 java {
@@ -79,6 +115,12 @@ java {
   }
 }
 
+jmh {
+  jmhVersion.set(libs.versions.jmh.get())
+  profilers.add("gc")
+  resultFormat.set("JSON")
+}
+
 checkstyle {
   config = resources.text.fromArchiveEntry(configurations.checkstyle.get().first(), "google_checks.xml")
 }
@@ -106,3 +148,23 @@ tasks.test {
   finalizedBy(tasks.jacocoTestReport)
   useJUnitPlatform()
 }
+
+tasks.register<Test>("loadTest") {
+  description = "Runs the load test scenarios against the application and local stand-ins."
+  group = LifecycleBasePlugin.VERIFICATION_GROUP
+  testClassesDirs = sourceSets["loadTest"].output.classesDirs
+  classpath = sourceSets["loadTest"].runtimeClasspath
+  useJUnitPlatform()
+  shouldRunAfter(tasks.test)
+
+  // Load results depend on the machine, so never consider them up-to-date.
+  outputs.upToDateWhen { false }
+  testLogging.showStandardStreams = true
+
+  systemProperty("loadtest.version", project.version)
+  systemProperty("loadtest.report-dir",
+    layout.buildDirectory.dir("reports/load-test").get().asFile.absolutePath)
+  System.getProperties()
+    .filterKeys { it.toString().startsWith("loadtest.") }
+    .forEach { (key, value) -> systemProperty(key.toString(), value) }
+}
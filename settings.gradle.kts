@@ -16,6 +16,11 @@ dependencyResolutionManagement {
   versionCatalogs {
     create("libs") {
       from("uk.nhs.tis.trainee:version-catalog:0.0.10")
+
+      // Not provided by the shared catalog.
+      version("jmh", "1.37")
+      plugin("jmh", "me.champeau.jmh").version("0.7.2")
+      library("resilience4j-bom", "io.github.resilience4j", "resilience4j-bom").version("2.2.0")
     }
   }
 }
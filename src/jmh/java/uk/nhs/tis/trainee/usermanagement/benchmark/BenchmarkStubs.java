@@ -0,0 +1,54 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.benchmark;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Stubs of collaborators which a benchmarked method is not expected to use, so that services can
+ * be constructed with real, but inert, dependencies instead of nulls.
+ */
+public final class BenchmarkStubs {
+
+  private BenchmarkStubs() {
+  }
+
+  /**
+   * Create a stub of an interface which fails any call, so that an unexpected use of the
+   * collaborator fails the benchmark instead of being measured.
+   *
+   * @param type The interface to stub.
+   * @param <T>  The type of the interface.
+   * @return The stub.
+   */
+  public static <T> T unused(Class<T> type) {
+    Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+        (proxy, method, args) -> switch (method.getName()) {
+          case "toString" -> "Unused " + type.getSimpleName();
+          case "hashCode" -> System.identityHashCode(proxy);
+          case "equals" -> proxy == args[0];
+          default -> throw new UnsupportedOperationException(
+              type.getSimpleName() + "." + method.getName() + " is not used by this benchmark.");
+        });
+    return type.cast(stub);
+  }
+}
@@ -0,0 +1,298 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.benchmark;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminGetUserResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListUserAuthEventsResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AttributeType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AuthEventType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ChallengeName;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ChallengeResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ChallengeResponseType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.EventContextDataType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.EventResponseType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.EventRiskType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.EventType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.RiskDecisionType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.RiskLevelType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserStatusType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
+import uk.nhs.tis.trainee.usermanagement.dto.UserLoginDetailsDto;
+import uk.nhs.tis.trainee.usermanagement.dto.UserLoginHistoryPageDto;
+
+/**
+ * Synthetic Cognito responses shaped like those returned by the production user pool, for use
+ * in benchmarks. Sizes default to the maximum page sizes Cognito will return.
+ */
+public final class CognitoFixtures {
+
+  /**
+   * The maximum number of users returned by a single ListUsers request.
+   */
+  public static final int LIST_USERS_PAGE_SIZE = 60;
+
+  /**
+   * The maximum number of events returned by a single AdminListUserAuthEvents request.
+   */
+  public static final int AUTH_EVENTS_PAGE_SIZE = 60;
+
+  private static final Instant BASE_TIME = Instant.parse("2024-01-01T00:00:00Z");
+
+  private CognitoFixtures() {
+  }
+
+  /**
+   * Get the sub of a trainee's user account, which is also used as the username.
+   *
+   * @param index A unique index for the trainee.
+   * @return The sub.
+   */
+  public static String sub(int index) {
+    return UUID.nameUUIDFromBytes(("user-" + index).getBytes()).toString();
+  }
+
+  /**
+   * Create the attributes of a trainee's user account, including the attributes which are not
+   * used by this service but are still returned by Cognito.
+   *
+   * @param index A unique index for the trainee.
+   * @return The user attributes.
+   */
+  public static List<AttributeType> userAttributes(int index) {
+    return List.of(
+        attribute("sub", sub(index)),
+        attribute("email_verified", "true"),
+        attribute("custom:tisId", String.valueOf(100_000 + index)),
+        attribute("custom:mfaType", index % 2 == 0 ? "SMS" : "TOTP"),
+        attribute("phone_number_verified", "false"),
+        attribute("phone_number", String.format("+4479%08d", index)),
+        attribute("given_name", "Forename" + index),
+        attribute("family_name", "Surname" + index),
+        attribute("email", String.format("trainee.%d@example.com", index)));
+  }
+
+  /**
+   * Create a user as returned by ListUsers.
+   *
+   * @param index A unique index for the trainee.
+   * @return The user.
+   */
+  public static UserType user(int index) {
+    return UserType.builder()
+        .username(sub(index))
+        .attributes(userAttributes(index))
+        .userCreateDate(BASE_TIME.plus(index, ChronoUnit.MINUTES))
+        .userLastModifiedDate(BASE_TIME.plus(index, ChronoUnit.HOURS))
+        .enabled(true)
+        .userStatus(UserStatusType.CONFIRMED)
+        .build();
+  }
+
+  /**
+   * Create a user as returned by AdminGetUser.
+   *
+   * @param index A unique index for the trainee.
+   * @return The user.
+   */
+  public static AdminGetUserResponse adminGetUser(int index) {
+    return AdminGetUserResponse.builder()
+        .username(sub(index))
+        .userAttributes(userAttributes(index))
+        .userCreateDate(BASE_TIME.plus(index, ChronoUnit.MINUTES))
+        .userLastModifiedDate(BASE_TIME.plus(index, ChronoUnit.HOURS))
+        .enabled(true)
+        .userStatus(UserStatusType.CONFIRMED)
+        .preferredMfaSetting("SOFTWARE_TOKEN_MFA")
+        .userMFASettingList("SOFTWARE_TOKEN_MFA")
+        .build();
+  }
+
+  /**
+   * Create a full page of users as returned by ListUsers.
+   *
+   * @param page The page number, used to keep the users unique across pages.
+   * @return The page of users.
+   */
+  public static ListUsersResponse listUsersPage(int page) {
+    List<UserType> users = new ArrayList<>(LIST_USERS_PAGE_SIZE);
+
+    for (int i = 0; i < LIST_USERS_PAGE_SIZE; i++) {
+      users.add(user(page * LIST_USERS_PAGE_SIZE + i));
+    }
+
+    return ListUsersResponse.builder()
+        .users(users)
+        .paginationToken("page-" + (page + 1))
+        .build();
+  }
+
+  /**
+   * Create a full page of auth events as returned by AdminListUserAuthEvents, alternating
+   * between password and MFA challenges.
+   *
+   * @return The page of auth events.
+   */
+  public static AdminListUserAuthEventsResponse authEventsPage() {
+    List<AuthEventType> events = new ArrayList<>(AUTH_EVENTS_PAGE_SIZE);
+
+    for (int i = 0; i < AUTH_EVENTS_PAGE_SIZE; i++) {
+      List<ChallengeResponseType> challenges = new ArrayList<>();
+      challenges.add(challenge(ChallengeName.PASSWORD));
+
+      if (i % 2 == 0) {
+        challenges.add(challenge(ChallengeName.MFA));
+      }
+
+      events.add(AuthEventType.builder()
+          .eventId(UUID.nameUUIDFromBytes(("event-" + i).getBytes()).toString())
+          .eventType(EventType.SIGN_IN)
+          .creationDate(BASE_TIME.minus(i, ChronoUnit.HOURS))
+          .eventResponse(EventResponseType.PASS)
+          .eventRisk(EventRiskType.builder()
+              .riskDecision(RiskDecisionType.NO_RISK)
+              .riskLevel(RiskLevelType.LOW)
+              .compromisedCredentialsDetected(false)
+              .build())
+          .challengeResponses(challenges)
+          .eventContextData(EventContextDataType.builder()
+              .ipAddress("192.0.2." + (i % 255))
+              .deviceName("Chrome 120, Windows 10")
+              .city("Leeds")
+              .country("United Kingdom")
+              .build())
+          .build());
+    }
+
+    return AdminListUserAuthEventsResponse.builder()
+        .authEvents(events)
+        .nextToken("next-page-token")
+        .build();
+  }
+
+  /**
+   * Create a full page of login history, as cached after converting a page of auth events.
+   *
+   * @return The page of login history.
+   */
+  public static UserLoginHistoryPageDto loginHistoryPage() {
+    AdminListUserAuthEventsResponse response = authEventsPage();
+    List<UserLoginDetailsDto> events = response.authEvents().stream()
+        .map(event -> new UserLoginDetailsDto(event.eventId(), event.creationDate(),
+            event.eventTypeAsString(), event.eventResponseAsString(),
+            "Password:Success, Mfa:Success", event.eventContextData().deviceName()))
+        .toList();
+    return new UserLoginHistoryPageDto(events, response.nextToken());
+  }
+
+  /**
+   * Create a contact details record event, as published by the TIS data sync.
+   *
+   * @param index A unique index for the trainee.
+   * @return The event JSON.
+   */
+  public static String contactDetailsEvent(int index) {
+    return contactDetailsEvent(index, 0);
+  }
+
+  /**
+   * Create a contact details record event, as published by the TIS data sync, widened with
+   * additional unused data fields to represent the larger records of other TIS tables.
+   *
+   * @param index       A unique index for the trainee.
+   * @param extraFields The number of additional unused data fields.
+   * @return The event JSON.
+   */
+  public static String contactDetailsEvent(int index, int extraFields) {
+    StringBuilder extra = new StringBuilder();
+
+    for (int i = 0; i < extraFields; i++) {
+      extra.append(String.format(
+          "\"extraField%d\": {\"value\": \"Value %d\", \"codes\": [%d, %d]},%n",
+          i, i, i, i + 1));
+    }
+
+    return """
+        {
+          "record": {
+            "data": {
+              %2$s"id": "%1$d",
+              "title": "Dr",
+              "surname": "Surname%1$d",
+              "forenames": "Forename%1$d",
+              "knownAs": "Forename%1$d",
+              "maidenName": null,
+              "initials": "FS",
+              "email": "trainee.%1$d@example.com",
+              "telephoneNumber": "0113 000 0000",
+              "mobileNumber": "07900 000000",
+              "address1": "1 Example Street",
+              "address2": "Example Town",
+              "address3": "Example County",
+              "address4": null,
+              "postCode": "LS1 1AA",
+              "workEmail": "forename.surname%1$d@nhs.net",
+              "amendedDate": "2024-01-01T00:00:00Z"
+            },
+            "metadata": {
+              "timestamp": "2024-01-01T00:00:00.000000Z",
+              "record-type": "data",
+              "operation": "update",
+              "partition-key-type": "schema-table",
+              "schema-name": "tcs",
+              "table-name": "ContactDetails",
+              "transaction-id": 123456789
+            }
+          }
+        }
+        """.formatted(100_000 + index, extra);
+  }
+
+  /**
+   * Create a user attribute.
+   *
+   * @param name  The attribute name.
+   * @param value The attribute value.
+   * @return The attribute.
+   */
+  private static AttributeType attribute(String name, String value) {
+    return AttributeType.builder().name(name).value(value).build();
+  }
+
+  /**
+   * Create a successful challenge response.
+   *
+   * @param name The challenge name.
+   * @return The challenge response.
+   */
+  private static ChallengeResponseType challenge(ChallengeName name) {
+    return ChallengeResponseType.builder()
+        .challengeName(name)
+        .challengeResponse(ChallengeResponse.SUCCESS)
+        .build();
+  }
+}
@@ -0,0 +1,213 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.config;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClientBuilder;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminGetUserResponse;
+import uk.nhs.tis.trainee.usermanagement.enumeration.AwsHttpClientType;
+
+/**
+ * Benchmarks for Cognito calls made through the SDK's default HTTP client settings and through
+ * the shared, tuned HTTP clients built by {@link AwsClientConfiguration}. A local HTTP server
+ * stands in for Cognito, adding a fixed latency to each response, and counts the distinct
+ * connections opened by each client which is reported as a secondary result.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class AwsHttpClientBenchmark {
+
+  private static final String USERNAME = "benchmark-user";
+  private static final String ADMIN_GET_USER_RESPONSE = """
+      {"Username":"benchmark-user","Enabled":true,"UserStatus":"CONFIRMED",
+      "UserAttributes":[{"Name":"email","Value":"benchmark@example.com"},
+      {"Name":"custom:tisId","Value":"12345"}]}""";
+
+  @Param({"default", "apache", "crt"})
+  private String client;
+
+  @Param({"5"})
+  private int latencyMillis;
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private Set<InetSocketAddress> connections;
+  private AtomicLong unreportedConnections;
+  private SdkHttpClient httpClient;
+  private SdkAsyncHttpClient asyncHttpClient;
+  private CognitoIdentityProviderClient cognitoClient;
+
+  /**
+   * Start the Cognito stand-in and build a Cognito client with the chosen HTTP client.
+   *
+   * @throws IOException If the stand-in could not be started.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    connections = ConcurrentHashMap.newKeySet();
+    unreportedConnections = new AtomicLong();
+    byte[] response = ADMIN_GET_USER_RESPONSE.getBytes(StandardCharsets.UTF_8);
+
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    serverExecutor = Executors.newFixedThreadPool(64);
+    server.setExecutor(serverExecutor);
+    server.createContext("/", exchange -> {
+      if (connections.add(exchange.getRemoteAddress())) {
+        unreportedConnections.incrementAndGet();
+      }
+
+      try (InputStream in = exchange.getRequestBody()) {
+        in.readAllBytes();
+      }
+
+      try {
+        Thread.sleep(latencyMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      exchange.getResponseHeaders().add("Content-Type", "application/x-amz-json-1.1");
+      exchange.sendResponseHeaders(200, response.length);
+
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(response);
+      }
+    });
+    server.start();
+
+    CognitoIdentityProviderClientBuilder builder = CognitoIdentityProviderClient.builder()
+        .endpointOverride(URI.create("http://localhost:" + server.getAddress().getPort()))
+        .region(Region.EU_WEST_2)
+        .credentialsProvider(StaticCredentialsProvider.create(
+            AwsBasicCredentials.create("benchmark", "benchmark")));
+
+    if (client.equals("default")) {
+      // The SDK's usual default, an unshared Apache client with default settings.
+      cognitoClient = builder.httpClientBuilder(ApacheHttpClient.builder()).build();
+    } else {
+      AwsClientConfiguration configuration = new AwsClientConfiguration(
+          AwsHttpClientType.valueOf(client.toUpperCase(Locale.ROOT)), 50, Duration.ofSeconds(2),
+          Duration.ofSeconds(30), Duration.ofSeconds(60), Duration.ofMinutes(5));
+      httpClient = configuration.awsHttpClient();
+      asyncHttpClient = configuration.awsAsyncHttpClient();
+      AwsClientFactory factory = new AwsClientFactory(httpClient, asyncHttpClient,
+          AwsRetryStrategy.standardRetryStrategy(),
+          Duration.ofSeconds(20), Duration.ofSeconds(5), List.of());
+      cognitoClient = factory.buildSync(builder);
+    }
+  }
+
+  /**
+   * Close the clients and stop the Cognito stand-in.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    cognitoClient.close();
+
+    if (httpClient != null) {
+      httpClient.close();
+      asyncHttpClient.close();
+    }
+
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  /**
+   * Get a user through the chosen HTTP client.
+   *
+   * @param counters The thread's connection counters.
+   * @return The response.
+   */
+  @Benchmark
+  public AdminGetUserResponse adminGetUser(ConnectionCounters counters) {
+    AdminGetUserResponse response = cognitoClient.adminGetUser(request -> request
+        .userPoolId("eu-west-2_benchmark")
+        .username(USERNAME));
+
+    // Each new connection is claimed by a single thread, so the summed counters are exact.
+    counters.connectionsOpened += unreportedConnections.getAndSet(0);
+    return response;
+  }
+
+  /**
+   * Per-thread counters of the connections opened, summed across threads by JMH.
+   */
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class ConnectionCounters {
+
+    public long connectionsOpened;
+
+    /**
+     * Reset the counters, so that each iteration reports only its own connections.
+     */
+    @Setup(Level.Iteration)
+    public void reset() {
+      connectionsOpened = 0;
+    }
+  }
+}
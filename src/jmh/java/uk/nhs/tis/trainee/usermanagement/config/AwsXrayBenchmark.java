@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.config;
+
+import com.amazonaws.xray.AWSXRayRecorder;
+import com.amazonaws.xray.AWSXRayRecorderBuilder;
+import com.amazonaws.xray.emitters.Emitter;
+import com.amazonaws.xray.entities.Segment;
+import com.amazonaws.xray.entities.Subsegment;
+import com.amazonaws.xray.strategy.sampling.AllSamplingStrategy;
+import com.amazonaws.xray.strategy.sampling.NoSamplingStrategy;
+import com.amazonaws.xray.strategy.sampling.SamplingRequest;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the per-request overhead of XRay tracing, a segment with the same number of
+ * subsegments as a typical request (service, Cognito, MongoDB) is traced when sampled and when not
+ * sampled. Segments are emitted to a discarding emitter so the cost of the UDP send is excluded,
+ * it is made asynchronously by the daemon in production.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AwsXrayBenchmark {
+
+  private static final String SEGMENT_NAME = "tis-trainee-user-management-benchmark";
+  private static final String[] SUBSEGMENT_NAMES = {"UserAccountService.getUserDetails",
+      "CognitoIdentityProvider", "MongoDB"};
+
+  @Param({"true", "false"})
+  private boolean sampled;
+
+  private AWSXRayRecorder recorder;
+
+  /**
+   * Create a recorder which always, or never, samples and discards emitted segments.
+   */
+  @Setup
+  public void setUp() {
+    recorder = AWSXRayRecorderBuilder.standard()
+        .withSamplingStrategy(sampled ? new AllSamplingStrategy() : new NoSamplingStrategy())
+        .withEmitter(new DiscardingEmitter())
+        .build();
+  }
+
+  @Benchmark
+  public void untraced(Blackhole blackhole) {
+    for (String name : SUBSEGMENT_NAMES) {
+      blackhole.consume(name);
+    }
+  }
+
+  @Benchmark
+  public void traced(Blackhole blackhole) {
+    SamplingRequest samplingRequest = new SamplingRequest(SEGMENT_NAME, null, "/api/user-account",
+        "GET", recorder.getOrigin());
+    Segment segment = recorder.getSamplingStrategy().shouldTrace(samplingRequest).isSampled()
+        ? recorder.beginSegment(SEGMENT_NAME)
+        : recorder.beginNoOpSegment();
+
+    for (String name : SUBSEGMENT_NAMES) {
+      Subsegment subsegment = recorder.beginSubsegment(name);
+      subsegment.putMetadata("benchmark", "name", name);
+      blackhole.consume(name);
+      recorder.endSubsegment();
+    }
+
+    blackhole.consume(segment);
+    recorder.endSegment();
+  }
+
+  /**
+   * An emitter which discards all segments.
+   */
+  private static class DiscardingEmitter extends Emitter {
+
+    @Override
+    public boolean sendSegment(Segment segment) {
+      return true;
+    }
+
+    @Override
+    public boolean sendSubsegment(Subsegment subsegment) {
+      return true;
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.config;
+
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import uk.nhs.tis.trainee.usermanagement.benchmark.CognitoFixtures;
+import uk.nhs.tis.trainee.usermanagement.dto.UserLoginHistoryPageDto;
+
+/**
+ * Benchmarks for the value serializer used by the Redis caches, with the value types which are
+ * cached.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheSerializerBenchmark {
+
+  private SerializationPair<Object> valueSerializer;
+
+  private Set<String> userIds;
+  private ByteBuffer serializedUserIds;
+
+  private UserLoginHistoryPageDto loginHistory;
+  private ByteBuffer serializedLoginHistory;
+
+  /**
+   * Get the configured value serializer and the cache values to serialize.
+   */
+  @Setup
+  public void setUp() {
+    valueSerializer = RedisCacheConfiguration.defaultCacheConfig().getValueSerializationPair();
+
+    userIds = new HashSet<>(Set.of(CognitoFixtures.sub(1), CognitoFixtures.sub(2)));
+    serializedUserIds = valueSerializer.write(userIds);
+
+    loginHistory = CognitoFixtures.loginHistoryPage();
+    serializedLoginHistory = valueSerializer.write(loginHistory);
+  }
+
+  @Benchmark
+  public ByteBuffer serializeUserIds() {
+    return valueSerializer.write(userIds);
+  }
+
+  @Benchmark
+  public Object deserializeUserIds() {
+    return valueSerializer.read(serializedUserIds.duplicate());
+  }
+
+  @Benchmark
+  public ByteBuffer serializeLoginHistory() {
+    return valueSerializer.write(loginHistory);
+  }
+
+  @Benchmark
+  public Object deserializeLoginHistory() {
+    return valueSerializer.read(serializedLoginHistory.duplicate());
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.nhs.tis.trainee.usermanagement.benchmark.CognitoFixtures;
+import uk.nhs.tis.trainee.usermanagement.dto.ContactDetailsDto;
+
+/**
+ * Benchmarks for deserializing record events received from SQS, compared with the previous
+ * approach of reading the record as a tree and converting the data node.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecordEventBenchmark {
+
+  @Param({"0", "200"})
+  private int extraFields;
+
+  private ObjectMapper objectMapper;
+  private String contactDetailsEvent;
+
+  /**
+   * Create the object mapper, configured as for the SQS message converter, and the event JSON.
+   */
+  @Setup
+  public void setUp() {
+    objectMapper = JsonMapper.builder()
+        .findAndAddModules()
+        .build();
+    contactDetailsEvent = CognitoFixtures.contactDetailsEvent(1, extraFields);
+  }
+
+  @Benchmark
+  public ContactDetailsEvent deserializeContactDetailsEvent() throws JsonProcessingException {
+    return objectMapper.readValue(contactDetailsEvent, ContactDetailsEvent.class);
+  }
+
+  @Benchmark
+  public ContactDetailsDto convertContactDetailsTree() throws JsonProcessingException {
+    JsonNode data = objectMapper.readTree(contactDetailsEvent).get("record").get("data");
+    return objectMapper.convertValue(data, ContactDetailsDto.class);
+  }
+}
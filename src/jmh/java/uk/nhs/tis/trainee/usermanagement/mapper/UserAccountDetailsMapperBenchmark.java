@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.mapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminGetUserResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
+import uk.nhs.tis.trainee.usermanagement.benchmark.CognitoFixtures;
+import uk.nhs.tis.trainee.usermanagement.dto.UserAccountDetailsDto;
+
+/**
+ * Benchmarks for mapping Cognito users to account details.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserAccountDetailsMapperBenchmark {
+
+  private static final List<String> GROUPS = List.of("beta-participants", "consultation");
+
+  private UserAccountDetailsMapper mapper;
+  private UserType user;
+  private AdminGetUserResponse adminGetUser;
+  private List<UserType> page;
+
+  /**
+   * Create the mapper and the synthetic users to map.
+   */
+  @Setup
+  public void setUp() {
+    mapper = new UserAccountDetailsMapperImpl();
+    user = CognitoFixtures.user(1);
+    adminGetUser = CognitoFixtures.adminGetUser(1);
+    page = CognitoFixtures.listUsersPage(0).users();
+  }
+
+  @Benchmark
+  public UserAccountDetailsDto toDtoFromUser() {
+    return mapper.toDto(user, GROUPS);
+  }
+
+  @Benchmark
+  public UserAccountDetailsDto toDtoFromAdminGetUser() {
+    return mapper.toDto(adminGetUser, GROUPS);
+  }
+
+  /**
+   * Map a full ListUsers page, as when resolving every account in the pool.
+   *
+   * @param blackhole The blackhole to consume the mapped users.
+   */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void toDtoFromUserPage(Blackhole blackhole) {
+    for (UserType pageUser : page) {
+      blackhole.consume(mapper.toDto(pageUser, GROUPS));
+    }
+  }
+}
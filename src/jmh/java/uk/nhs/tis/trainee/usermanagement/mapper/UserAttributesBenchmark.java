@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.mapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AttributeType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
+import uk.nhs.tis.trainee.usermanagement.benchmark.CognitoFixtures;
+
+/**
+ * Benchmarks comparing single-pass attribute indexing with a stream filter per attribute, over a
+ * full ListUsers page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserAttributesBenchmark {
+
+  private List<UserType> page;
+
+  /**
+   * Create the synthetic ListUsers page.
+   */
+  @Setup
+  public void setUp() {
+    page = CognitoFixtures.listUsersPage(0).users();
+  }
+
+  /**
+   * Index the attributes of each user in the page in a single pass.
+   *
+   * @param blackhole The blackhole to consume the attribute values.
+   */
+  @Benchmark
+  public void singlePass(Blackhole blackhole) {
+    for (UserType user : page) {
+      UserAttributes attributes = UserAttributes.from(user.attributes());
+      blackhole.consume(attributes.sub());
+      blackhole.consume(attributes.email());
+      blackhole.consume(attributes.mfaType());
+      blackhole.consume(attributes.tisId());
+    }
+  }
+
+  /**
+   * Find each attribute of each user in the page with a separate stream filter, as was previously
+   * done by the mapper.
+   *
+   * @param blackhole The blackhole to consume the attribute values.
+   */
+  @Benchmark
+  public void streamPerAttribute(Blackhole blackhole) {
+    for (UserType user : page) {
+      List<AttributeType> attributes = user.attributes();
+      blackhole.consume(find(UserAttributes.ATTRIBUTE_SUB, attributes));
+      blackhole.consume(find(UserAttributes.ATTRIBUTE_EMAIL, attributes));
+      blackhole.consume(find(UserAttributes.ATTRIBUTE_MFA_TYPE, attributes));
+      blackhole.consume(find(UserAttributes.ATTRIBUTE_TIS_ID, attributes));
+    }
+  }
+
+  /**
+   * Find an attribute value with a stream filter.
+   *
+   * @param name       The name of the attribute to find.
+   * @param attributes The attribute list.
+   * @return The attribute value, or null if not found.
+   */
+  private static String find(String name, List<AttributeType> attributes) {
+    return attributes.stream()
+        .filter(attribute -> attribute.name().equals(name))
+        .map(AttributeType::value)
+        .findAny()
+        .orElse(null);
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.task.SyncTaskExecutor;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListUserAuthEventsResponse;
+import uk.nhs.tis.trainee.usermanagement.benchmark.BenchmarkStubs;
+import uk.nhs.tis.trainee.usermanagement.benchmark.CognitoFixtures;
+import uk.nhs.tis.trainee.usermanagement.dto.UserLoginDetailsDto;
+import uk.nhs.tis.trainee.usermanagement.mapper.UserAccountDetailsMapper;
+
+/**
+ * Benchmarks for converting a page of Cognito auth events to login details. Collaborators the
+ * conversion does not use are inert stubs which fail if called.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoginHistoryServiceBenchmark {
+
+  private LoginHistoryService service;
+  private AdminListUserAuthEventsResponse authEvents;
+
+  /**
+   * Create the service and the synthetic auth events page.
+   */
+  @Setup
+  public void setUp() {
+    MetricsService metricsService = new MetricsService(new SimpleMeterRegistry());
+    DependencyGuard guard = new DependencyGuard(CircuitBreakerRegistry.ofDefaults(),
+        BulkheadRegistry.ofDefaults(), metricsService);
+    CognitoRateLimiter rateLimiter = new CognitoRateLimiter(5);
+    CognitoService cognitoService = new CognitoService(
+        BenchmarkStubs.unused(CognitoIdentityProviderClient.class), "benchmark-pool",
+        BenchmarkStubs.unused(UserAccountDetailsMapper.class), rateLimiter, metricsService, guard);
+
+    service = new LoginHistoryService(cognitoService, rateLimiter, "benchmark-pool",
+        new ConcurrentMapCacheManager(), new SyncTaskExecutor(), guard);
+    authEvents = CognitoFixtures.authEventsPage();
+  }
+
+  @Benchmark
+  public List<UserLoginDetailsDto> getLoginDetailsListFromAuthEvents() {
+    return service.getLoginDetailsListFromAuthEvents(authEvents);
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.awspring.cloud.sns.core.SnsTemplate;
+import io.awspring.cloud.sqs.operations.SqsTemplate;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersResponse;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import uk.nhs.tis.trainee.usermanagement.benchmark.BenchmarkStubs;
+import uk.nhs.tis.trainee.usermanagement.benchmark.CognitoFixtures;
+import uk.nhs.tis.trainee.usermanagement.mapper.UserAccountDetailsMapper;
+import uk.nhs.tis.trainee.usermanagement.repository.AccountEventRepository;
+import uk.nhs.tis.trainee.usermanagement.repository.SignInSummaryRepository;
+
+/**
+ * Benchmarks for caching the user account IDs from pages of ListUsers results. An in-memory cache
+ * is used so that only the page processing is measured, the cost of the Redis value serializer is
+ * measured separately. Collaborators the method does not use are inert stubs which fail if called.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserAccountServiceBenchmark {
+
+  @Param({"1", "50"})
+  private int pageCount;
+
+  private CacheManager cacheManager;
+  private UserAccountService service;
+  private List<ListUsersResponse> pages;
+
+  /**
+   * Create the service and the synthetic ListUsers pages.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    cacheManager = new ConcurrentMapCacheManager();
+    MetricsService metricsService = new MetricsService(new SimpleMeterRegistry());
+    DependencyGuard guard = new DependencyGuard(CircuitBreakerRegistry.ofDefaults(),
+        BulkheadRegistry.ofDefaults(), metricsService);
+    CognitoRateLimiter rateLimiter = new CognitoRateLimiter(5);
+    CognitoService cognitoService = new CognitoService(
+        BenchmarkStubs.unused(CognitoIdentityProviderClient.class), "benchmark-pool",
+        BenchmarkStubs.unused(UserAccountDetailsMapper.class), rateLimiter, metricsService, guard);
+    SnsClient snsClient = BenchmarkStubs.unused(SnsClient.class);
+    EventPublishService eventPublishService = new EventPublishService(new SnsTemplate(snsClient),
+        "benchmark-topic", "benchmark-topic",
+        SqsTemplate.newTemplate(BenchmarkStubs.unused(SqsAsyncClient.class)), "benchmark-queue",
+        metricsService, snsClient, new ObjectMapper(), guard);
+    AuditService auditService = new AuditService(
+        BenchmarkStubs.unused(AccountEventRepository.class), guard);
+    SignInIndexService signInIndexService = new SignInIndexService(cognitoService, rateLimiter,
+        BenchmarkStubs.unused(SignInSummaryRepository.class), "benchmark-pool",
+        Duration.ofHours(1), 100);
+    GroupMembershipIndex groupMembershipIndex = new GroupMembershipIndex(cognitoService,
+        Duration.ofMinutes(5));
+
+    service = new UserAccountService(cognitoService, "benchmark-pool", cacheManager,
+        eventPublishService, metricsService, auditService, signInIndexService,
+        groupMembershipIndex, guard);
+
+    pages = new ArrayList<>(pageCount);
+    for (int i = 0; i < pageCount; i++) {
+      pages.add(CognitoFixtures.listUsersPage(i));
+    }
+  }
+
+  /**
+   * Clear the cache before each iteration. Within an iteration the IDs are re-cached over the
+   * populated cache, as the periodic full scan does in production.
+   */
+  @Setup(Level.Iteration)
+  public void clearCache() {
+    cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+  }
+
+  @Benchmark
+  public void cacheUserAccountIds() {
+    for (ListUsersResponse page : pages) {
+      service.cacheUserAccountIds(page);
+    }
+  }
+}
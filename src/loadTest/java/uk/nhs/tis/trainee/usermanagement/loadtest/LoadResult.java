@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * The outcome of a load test scenario.
+ *
+ * @param scenario  The name of the scenario.
+ * @param histogram The latency histogram, in microseconds.
+ * @param errors    The number of failed operations, which are not included in the histogram.
+ * @param elapsed   The time taken to run the measured part of the scenario.
+ */
+record LoadResult(String scenario, Histogram histogram, long errors, Duration elapsed) {
+
+  private static final double MICROS_PER_MILLI = 1000.0;
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+      .enable(SerializationFeature.INDENT_OUTPUT);
+
+  /**
+   * Get the number of successful operations per second.
+   *
+   * @return The throughput.
+   */
+  double throughput() {
+    double seconds = elapsed.toNanos() / 1e9;
+    return seconds == 0 ? 0 : histogram.getTotalCount() / seconds;
+  }
+
+  /**
+   * Get the latency at the given percentile.
+   *
+   * @param percentile The percentile, between 0 and 100.
+   * @return The latency in milliseconds.
+   */
+  double latency(double percentile) {
+    return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+  }
+
+  /**
+   * Create a one-line summary of the result, for the test log.
+   *
+   * @return The summary.
+   */
+  String summary() {
+    return String.format("%s: %d ok, %d errors in %.1fs (%.1f/s), latency ms p50=%.2f p90=%.2f "
+            + "p99=%.2f p99.9=%.2f max=%.2f", scenario, histogram.getTotalCount(), errors,
+        elapsed.toMillis() / 1000.0, throughput(), latency(50), latency(90), latency(99),
+        latency(99.9), histogram.getMaxValue() / MICROS_PER_MILLI);
+  }
+
+  /**
+   * Write the full percentile distribution, in HdrHistogram's {@code .hgrm} format, and a JSON
+   * summary so runs can be compared between versions.
+   *
+   * @param directory The directory to write the report files to.
+   * @param version   The version of the application under test.
+   * @throws IOException If the files could not be written.
+   */
+  void write(Path directory, String version) throws IOException {
+    Files.createDirectories(directory);
+
+    try (OutputStream out = Files.newOutputStream(directory.resolve(scenario + ".hgrm"));
+        PrintStream printer = new PrintStream(out, false, StandardCharsets.UTF_8)) {
+      histogram.outputPercentileDistribution(printer, MICROS_PER_MILLI);
+    }
+
+    Map<String, Object> latency = new LinkedHashMap<>();
+    latency.put("min", histogram.getMinValue() / MICROS_PER_MILLI);
+    latency.put("mean", histogram.getMean() / MICROS_PER_MILLI);
+    latency.put("p50", latency(50));
+    latency.put("p90", latency(90));
+    latency.put("p99", latency(99));
+    latency.put("p99.9", latency(99.9));
+    latency.put("max", histogram.getMaxValue() / MICROS_PER_MILLI);
+
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("scenario", scenario);
+    summary.put("version", version);
+    summary.put("timestamp", Instant.now().toString());
+    summary.put("count", histogram.getTotalCount());
+    summary.put("errors", errors);
+    summary.put("elapsedSeconds", elapsed.toMillis() / 1000.0);
+    summary.put("throughputPerSecond", throughput());
+    summary.put("latencyMillis", latency);
+
+    OBJECT_MAPPER.writeValue(directory.resolve(scenario + ".json").toFile(), summary);
+  }
+}
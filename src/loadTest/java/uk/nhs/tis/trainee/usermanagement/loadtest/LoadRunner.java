@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * A closed-loop load generator, each worker thread runs the operation back-to-back for the
+ * duration of the scenario and the latency of every successful operation is recorded.
+ *
+ * <p>Being closed-loop, a slow operation delays the following ones rather than queueing them, so
+ * latencies under saturation are understated and throughput should be compared alongside them.
+ */
+class LoadRunner {
+
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  /**
+   * A single operation of a scenario.
+   */
+  @FunctionalInterface
+  interface Operation {
+
+    /**
+     * Execute the operation, throwing any exception to count it as an error.
+     *
+     * @param iteration The sequence number of the operation, unique across all workers.
+     * @throws Exception If the operation failed.
+     */
+    void execute(int iteration) throws Exception;
+  }
+
+  private final int concurrency;
+  private final Duration warmUp;
+  private final Duration duration;
+
+  /**
+   * Create a load runner.
+   *
+   * @param concurrency The number of worker threads.
+   * @param warmUp      The initial time to run for without recording results.
+   * @param duration    The time to run for while recording results.
+   */
+  LoadRunner(int concurrency, Duration warmUp, Duration duration) {
+    this.concurrency = concurrency;
+    this.warmUp = warmUp;
+    this.duration = duration;
+  }
+
+  /**
+   * Run a scenario.
+   *
+   * @param scenario  The name of the scenario.
+   * @param operation The operation to repeat.
+   * @return The scenario results.
+   * @throws InterruptedException If interrupted while waiting for the workers.
+   */
+  LoadResult run(String scenario, Operation operation) throws InterruptedException {
+    Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    AtomicLong errors = new AtomicLong();
+    AtomicInteger iterations = new AtomicInteger();
+
+    long start = System.nanoTime();
+    long measureFrom = start + warmUp.toNanos();
+    long end = measureFrom + duration.toNanos();
+
+    ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+    List<Future<?>> workers = new ArrayList<>();
+
+    for (int i = 0; i < concurrency; i++) {
+      workers.add(executor.submit(() -> {
+        long now = System.nanoTime();
+
+        while (now < end) {
+          boolean measured = now >= measureFrom;
+
+          try {
+            operation.execute(iterations.getAndIncrement());
+            long finished = System.nanoTime();
+
+            if (measured) {
+              recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(finished - now));
+            }
+            now = finished;
+          } catch (Exception e) {
+            if (measured) {
+              errors.incrementAndGet();
+            }
+            now = System.nanoTime();
+          }
+        }
+      }));
+    }
+
+    try {
+      for (Future<?> worker : workers) {
+        worker.get();
+      }
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Load test worker failed.", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Histogram histogram = recorder.getIntervalHistogram();
+    return new LoadResult(scenario, histogram, errors.get(), duration);
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.loadtest;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.transformuk.hee.tis.security.JwtAuthenticationProvider;
+import java.time.Duration;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import uk.nhs.tis.trainee.usermanagement.cognito.SimulatedCognitoClient;
+
+/**
+ * Replaces Cognito and JWT validation with local stand-ins for load testing.
+ */
+@TestConfiguration
+class LoadTestConfiguration {
+
+  /**
+   * Create a simulated user pool, sized and slowed by the {@code loadtest.users} and
+   * {@code loadtest.cognito-latency} settings.
+   *
+   * @return The simulated Cognito client.
+   */
+  @Bean
+  @Primary
+  SimulatedCognitoClient simulatedCognitoClient() {
+    return SimulatedCognitoClient.builder()
+        .userCount(LoadTestSettings.getInt("users", 10_000))
+        .duplicateEvery(LoadTestSettings.getInt("duplicate-every", 0))
+        .authEventsPerUser(LoadTestSettings.getInt("auth-events-per-user", 50))
+        .latency(LoadTestSettings.getDuration("cognito-latency", Duration.ofMillis(40)))
+        .build();
+  }
+
+  /**
+   * Create an authentication provider which accepts any token with full support permissions, so
+   * load is not skewed by token validation. The mock is stub-only so it does not retain every
+   * invocation for the length of the run.
+   *
+   * @return The authentication provider.
+   */
+  @Bean
+  @Primary
+  JwtAuthenticationProvider loadTestAuthenticationProvider() {
+    JwtAuthenticationProvider provider = mock(JwtAuthenticationProvider.class,
+        withSettings().stubOnly());
+    when(provider.supports(any())).thenReturn(true);
+    when(provider.authenticate(any())).thenReturn(
+        new UsernamePasswordAuthenticationToken("load-test", null,
+            AuthorityUtils.createAuthorityList("trainee-support:view",
+                "trainee-support:modify")));
+    return provider;
+  }
+}
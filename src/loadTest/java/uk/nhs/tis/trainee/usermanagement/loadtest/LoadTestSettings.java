@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties so scenarios can be tuned
+ * from the command line, e.g. {@code gradlew loadTest -Dloadtest.concurrency=32}.
+ */
+final class LoadTestSettings {
+
+  private static final String PREFIX = "loadtest.";
+
+  private LoadTestSettings() {
+  }
+
+  /**
+   * Get a string setting.
+   *
+   * @param name         The name of the setting, without the prefix.
+   * @param defaultValue The value to use when the setting is not provided.
+   * @return The setting value.
+   */
+  static String getString(String name, String defaultValue) {
+    return System.getProperty(PREFIX + name, defaultValue);
+  }
+
+  /**
+   * Get an integer setting.
+   *
+   * @param name         The name of the setting, without the prefix.
+   * @param defaultValue The value to use when the setting is not provided.
+   * @return The setting value.
+   */
+  static int getInt(String name, int defaultValue) {
+    String value = System.getProperty(PREFIX + name);
+    return value == null ? defaultValue : Integer.parseInt(value);
+  }
+
+  /**
+   * Get a duration setting, in ISO-8601 format.
+   *
+   * @param name         The name of the setting, without the prefix.
+   * @param defaultValue The value to use when the setting is not provided.
+   * @return The setting value.
+   */
+  static Duration getDuration(String name, Duration defaultValue) {
+    String value = System.getProperty(PREFIX + name);
+    return value == null ? defaultValue : Duration.parse(value);
+  }
+
+  /**
+   * Get the directory that scenario reports are written to.
+   *
+   * @return The report directory.
+   */
+  static Path getReportDirectory() {
+    return Path.of(getString("report-dir", "build/reports/load-test"));
+  }
+}
@@ -0,0 +1,310 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.loadtest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.testcontainers.containers.localstack.LocalStackContainer.Service.SNS;
+import static org.testcontainers.containers.localstack.LocalStackContainer.Service.SQS;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.testcontainers.RedisContainer;
+import io.awspring.cloud.sqs.operations.SqsTemplate;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import uk.nhs.tis.trainee.usermanagement.DockerImageNames;
+import uk.nhs.tis.trainee.usermanagement.cognito.SimulatedCognitoClient;
+
+/**
+ * End-to-end load scenarios for the REST API and contact details listener, run against the
+ * application wired to a simulated Cognito user pool and containerised Mongo, Redis, SNS and SQS.
+ * Each scenario logs a summary and writes its latency histogram and throughput to the report
+ * directory.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Testcontainers
+@Import(LoadTestConfiguration.class)
+@TestMethodOrder(OrderAnnotation.class)
+class UserManagementLoadTest {
+
+  private static final Logger LOG = LoggerFactory.getLogger(UserManagementLoadTest.class);
+
+  private static final String CONTACT_DETAILS_QUEUE = UUID.randomUUID().toString();
+  private static final String EMAIL_UPDATE_TOPIC = UUID.randomUUID() + ".fifo";
+  private static final String EMAIL_UPDATE_SINK_QUEUE = UUID.randomUUID() + ".fifo";
+  private static final String ACCOUNT_ID = "000000000000";
+
+  private static final String AUTH_TOKEN_HEADER = "OIDC_ACCESS_TOKEN";
+  private static final String VERSION = LoadTestSettings.getString("version", "unknown");
+
+  @Container
+  @ServiceConnection
+  private static final MongoDBContainer mongoDBContainer = new MongoDBContainer(
+      DockerImageNames.MONGO);
+
+  @Container
+  private static final LocalStackContainer localstack = new LocalStackContainer(
+      DockerImageNames.LOCALSTACK)
+      .withServices(SNS, SQS);
+
+  @Container
+  private static final RedisContainer redisContainer = new RedisContainer(DockerImageNames.REDIS);
+
+  @DynamicPropertySource
+  private static void overrideProperties(DynamicPropertyRegistry registry) {
+    registry.add("application.aws.sqs.contact-details.updated", () -> CONTACT_DETAILS_QUEUE);
+    registry.add("application.aws.sns.user-account.update", UserManagementLoadTest::topicArn);
+    registry.add("application.aws.cognito.requests-per-second",
+        () -> LoadTestSettings.getInt("cognito-rps", 1000));
+
+    registry.add("spring.cloud.aws.region.static", localstack::getRegion);
+    registry.add("spring.cloud.aws.credentials.access-key", localstack::getAccessKey);
+    registry.add("spring.cloud.aws.credentials.secret-key", localstack::getSecretKey);
+    registry.add("spring.cloud.aws.sns.endpoint",
+        () -> localstack.getEndpointOverride(SNS).toString());
+    registry.add("spring.cloud.aws.sns.enabled", () -> true);
+    registry.add("spring.cloud.aws.sqs.endpoint",
+        () -> localstack.getEndpointOverride(SQS).toString());
+    registry.add("spring.cloud.aws.sqs.enabled", () -> true);
+
+    registry.add("spring.data.redis.host", redisContainer::getHost);
+    registry.add("spring.data.redis.port", () -> redisContainer.getMappedPort(6379));
+  }
+
+  @BeforeAll
+  static void setUpBeforeAll() throws IOException, InterruptedException {
+    awslocal("sqs", "create-queue", "--queue-name", CONTACT_DETAILS_QUEUE);
+    awslocal("sqs", "create-queue", "--queue-name", EMAIL_UPDATE_SINK_QUEUE, "--attributes",
+        "FifoQueue=true,ContentBasedDeduplication=true");
+    awslocal("sns", "create-topic", "--name", EMAIL_UPDATE_TOPIC, "--attributes",
+        "FifoTopic=true,ContentBasedDeduplication=true");
+    awslocal("sns", "subscribe", "--topic-arn", topicArn(), "--protocol", "sqs",
+        "--notification-endpoint",
+        String.format("arn:aws:sqs:%s:%s:%s", localstack.getRegion(), ACCOUNT_ID,
+            EMAIL_UPDATE_SINK_QUEUE));
+  }
+
+  private static void awslocal(String... command) throws IOException, InterruptedException {
+    String[] fullCommand = new String[command.length + 1];
+    fullCommand[0] = "awslocal";
+    System.arraycopy(command, 0, fullCommand, 1, command.length);
+    localstack.execInContainer(fullCommand);
+  }
+
+  private static String topicArn() {
+    return String.format("arn:aws:sns:%s:%s:%s", localstack.getRegion(), ACCOUNT_ID,
+        EMAIL_UPDATE_TOPIC);
+  }
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private SimulatedCognitoClient cognitoClient;
+
+  @Autowired
+  private SqsTemplate sqsTemplate;
+
+  @Autowired
+  private SqsAsyncClient sqsAsyncClient;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private final HttpClient httpClient = HttpClient.newBuilder()
+      .connectTimeout(Duration.ofSeconds(10))
+      .build();
+
+  private final int userCount = LoadTestSettings.getInt("users", 10_000);
+
+  /**
+   * Support staff browsing trainee accounts, each page view loads the account details and the
+   * first page of login history for a different trainee.
+   */
+  @Test
+  @Order(1)
+  void supportUiBrowsing() throws Exception {
+    LoadResult result = runner("browse").run("support-ui-browsing", iteration -> {
+      String username = SimulatedCognitoClient.email(iteration % userCount);
+      get("/api/user-account/details/" + username, 200);
+      get("/api/user-account/login-history/" + username + "?size=10", 200);
+    });
+
+    report(result);
+  }
+
+  /**
+   * Bursts of account existence checks, as made by trainee-facing services, with one in five for
+   * an email that has no account.
+   */
+  @Test
+  @Order(2)
+  void existenceCheckBurst() throws Exception {
+    LoadResult result = runner("exists").run("existence-check-burst", iteration -> {
+      String username = iteration % 5 == 0
+          ? "missing." + iteration + "@example.com"
+          : SimulatedCognitoClient.email(iteration % userCount);
+      get("/api/user-account/exists/" + username, 200);
+    });
+
+    report(result);
+  }
+
+  /**
+   * A storm of contact details updates, each message is timed from being sent to the listener
+   * queue until the resulting email update event reaches a queue subscribed to the account update
+   * topic. Includes building the trainee to user account cache on the first message.
+   */
+  @Test
+  @Order(3)
+  void contactDetailsStorm() throws Exception {
+    int messageCount = LoadTestSettings.getInt("storm.messages", 2_000);
+    Duration timeout = LoadTestSettings.getDuration("storm.timeout", Duration.ofMinutes(10));
+    String runId = UUID.randomUUID().toString().substring(0, 8);
+
+    Map<String, Long> sentAt = new ConcurrentHashMap<>();
+    long start = System.nanoTime();
+
+    List<Message<String>> batch = new ArrayList<>();
+    for (int i = 0; i < messageCount; i++) {
+      int index = i % userCount;
+      String email = String.format("storm.%s.%d@example.com", runId, i);
+      batch.add(MessageBuilder.withPayload("""
+          {
+            "record": {
+              "data": {
+                "id": "%s",
+                "email": "%s",
+                "forenames": "Load",
+                "surname": "Test %d"
+              }
+            }
+          }""".formatted(cognitoClient.tisId(index), email, i)).build());
+      sentAt.put(email, System.nanoTime());
+
+      if (batch.size() == 10 || i == messageCount - 1) {
+        sqsTemplate.sendMany(CONTACT_DETAILS_QUEUE, batch);
+        batch = new ArrayList<>();
+      }
+    }
+
+    Histogram histogram = new Histogram(3);
+    String sinkUrl = sqsAsyncClient.getQueueUrl(r -> r.queueName(EMAIL_UPDATE_SINK_QUEUE)).join()
+        .queueUrl();
+    long deadline = start + timeout.toNanos();
+    long lastCompleted = start;
+
+    while (histogram.getTotalCount() < messageCount && System.nanoTime() < deadline) {
+      ReceiveMessageResponse response = sqsAsyncClient.receiveMessage(r -> r
+          .queueUrl(sinkUrl)
+          .maxNumberOfMessages(10)
+          .waitTimeSeconds(1)).join();
+      long received = System.nanoTime();
+
+      for (software.amazon.awssdk.services.sqs.model.Message message : response.messages()) {
+        JsonNode envelope = objectMapper.readTree(message.body());
+        JsonNode event = objectMapper.readTree(envelope.path("Message").asText());
+        Long sent = sentAt.remove(event.path("newEmail").asText());
+
+        if (sent != null) {
+          histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(received - sent));
+          lastCompleted = received;
+        }
+        sqsAsyncClient.deleteMessage(r -> r
+            .queueUrl(sinkUrl)
+            .receiptHandle(message.receiptHandle())).join();
+      }
+    }
+
+    LoadResult result = new LoadResult("contact-details-storm", histogram, sentAt.size(),
+        Duration.ofNanos(lastCompleted - start));
+    report(result);
+  }
+
+  private LoadRunner runner(String scenario) {
+    return new LoadRunner(
+        LoadTestSettings.getInt(scenario + ".concurrency", 16),
+        LoadTestSettings.getDuration(scenario + ".warm-up", Duration.ofSeconds(15)),
+        LoadTestSettings.getDuration(scenario + ".duration", Duration.ofSeconds(60)));
+  }
+
+  private void get(String path, int expectedStatus) throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder()
+        .uri(URI.create("http://localhost:" + port + "/trainee-user-management" + path))
+        .header(AUTH_TOKEN_HEADER, "load-test")
+        .timeout(Duration.ofSeconds(30))
+        .GET()
+        .build();
+    HttpResponse<Void> response = httpClient.send(request, BodyHandlers.discarding());
+
+    if (response.statusCode() != expectedStatus) {
+      throw new IllegalStateException(
+          String.format("Unexpected status %d for %s.", response.statusCode(), path));
+    }
+  }
+
+  private void report(LoadResult result) throws IOException {
+    LOG.info(result.summary());
+    result.write(LoadTestSettings.getReportDirectory(), VERSION);
+
+    assertThat("Unexpected successful operation count.", result.histogram().getTotalCount(),
+        greaterThan(0L));
+  }
+}
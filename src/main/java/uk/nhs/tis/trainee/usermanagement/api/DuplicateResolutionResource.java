@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.api;
+
+import com.amazonaws.xray.spring.aop.XRayEnabled;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionOutcome;
+import uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionReport;
+import uk.nhs.tis.trainee.usermanagement.service.DuplicateResolutionService;
+
+/**
+ * An API for finding and resolving duplicate accounts across the whole user pool.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/duplicate-accounts/resolution")
+@XRayEnabled
+public class DuplicateResolutionResource {
+
+  private final DuplicateResolutionService service;
+
+  DuplicateResolutionResource(DuplicateResolutionService service) {
+    this.service = service;
+  }
+
+  /**
+   * Start a duplicate resolution run in the background.
+   *
+   * @return 202 Accepted with the report of the started run, or 409 Conflict if already running.
+   */
+  @PostMapping
+  ResponseEntity<DuplicateResolutionReport> startResolution() {
+    log.info("Duplicate account resolution requested.");
+    Optional<DuplicateResolutionReport> report = service.start();
+    return report.map(r -> ResponseEntity.status(HttpStatus.ACCEPTED).body(r))
+        .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+  }
+
+  /**
+   * Get the progress report of a duplicate resolution run.
+   *
+   * @param id The ID of the run.
+   * @return The report, or 404 Not Found if the run does not exist.
+   */
+  @GetMapping("/{id}")
+  ResponseEntity<DuplicateResolutionReport> getReport(@PathVariable String id) {
+    log.info("Duplicate account resolution report requested for run {}.", id);
+    return ResponseEntity.of(service.getReport(id));
+  }
+
+  /**
+   * Get a page of the per-trainee outcomes of a duplicate resolution run.
+   *
+   * @param id     The ID of the run.
+   * @param status The outcome status to filter by.
+   * @param page   The page number.
+   * @param size   The page size.
+   * @return The page of outcomes.
+   */
+  @GetMapping("/{id}/outcomes")
+  ResponseEntity<List<DuplicateResolutionOutcome>> getOutcomes(@PathVariable String id,
+      @RequestParam DuplicateResolutionOutcome.Status status,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "100") int size) {
+    log.info("Duplicate account resolution {} outcomes requested for run {}.", status, id);
+    return ResponseEntity.ok(service.getOutcomes(id, status, page, size));
+  }
+}
@@ -0,0 +1,250 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.api;
+
+import com.amazonaws.xray.spring.aop.XRayEnabled;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.ResponseEntity.BodyBuilder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import uk.nhs.tis.trainee.usermanagement.service.ExportService;
+import uk.nhs.tis.trainee.usermanagement.service.RequestCost;
+
+/**
+ * An API for bulk export of user management data as newline delimited JSON.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/export")
+@XRayEnabled
+public class ExportResource {
+
+  private static final String GZIP = "gzip";
+  private static final String X_GZIP = "x-gzip";
+  private static final String ANY_ENCODING = "*";
+  private static final String QUALITY_PARAMETER = "q=";
+  private static final int BUFFER_SIZE = 8192;
+
+  private final ExportService service;
+  private final TaskExecutor executor;
+  private final Duration timeout;
+
+  /**
+   * Construct an instance of the ExportResource.
+   *
+   * @param service  The service to export data with.
+   * @param executor The executor to write exports on.
+   * @param timeout  The maximum duration of an export, after which the response is abandoned.
+   */
+  ExportResource(ExportService service, TaskExecutor executor,
+      @Value("${application.export.timeout}") Duration timeout) {
+    this.service = service;
+    this.executor = executor;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Export all account audit events.
+   *
+   * @param acceptEncoding The accepted encodings, the response is compressed if gzip is accepted.
+   * @return The streamed account events.
+   */
+  @GetMapping(value = "/account-events", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  ResponseEntity<ResponseBodyEmitter> exportAccountEvents(
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+    log.info("Account event export requested.");
+    return stream(acceptEncoding, service::exportAccountEvents);
+  }
+
+  /**
+   * Export all user accounts from the user pool.
+   *
+   * @param acceptEncoding The accepted encodings, the response is compressed if gzip is accepted.
+   * @return The streamed user accounts.
+   */
+  @GetMapping(value = "/user-accounts", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  ResponseEntity<ResponseBodyEmitter> exportUserAccounts(
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+    log.info("User account export requested.");
+    return stream(acceptEncoding, service::exportUserAccounts);
+  }
+
+  /**
+   * Build a streamed NDJSON response, compressing the content if gzip is accepted. Only exports
+   * have a long timeout, other asynchronous requests keep the default.
+   *
+   * @param acceptEncoding The accepted encodings.
+   * @param exporter       The exporter to write the response body with.
+   * @return The built response.
+   */
+  private ResponseEntity<ResponseBodyEmitter> stream(String acceptEncoding, Exporter exporter) {
+    boolean gzip = acceptsGzip(acceptEncoding);
+
+    BodyBuilder builder = ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+    if (gzip) {
+      builder.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+    }
+
+    ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeout.toMillis());
+    emitter.onTimeout(() -> log.warn("Export did not complete within {}, abandoning.", timeout));
+
+    executor.execute(RequestCost.propagate(() -> {
+      try (OutputStream out = encode(new EmitterOutputStream(emitter), gzip)) {
+        exporter.export(out);
+      } catch (IOException | RuntimeException e) {
+        log.error("Export failed.", e);
+        emitter.completeWithError(e);
+        return;
+      }
+
+      emitter.complete();
+    }));
+
+    return builder.body(emitter);
+  }
+
+  /**
+   * Wrap the output stream with a buffer, compressing the content if required.
+   *
+   * @param out  The output stream to wrap.
+   * @param gzip Whether the content should be compressed.
+   * @return The wrapped output stream.
+   * @throws IOException If the compressed stream could not be started.
+   */
+  private static OutputStream encode(OutputStream out, boolean gzip) throws IOException {
+    OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+    return gzip ? new GZIPOutputStream(buffered, BUFFER_SIZE) : buffered;
+  }
+
+  /**
+   * Check whether gzip is an acceptable encoding, an encoding with a quality of zero is treated as
+   * not acceptable.
+   *
+   * @param acceptEncoding The Accept-Encoding header value, may be null.
+   * @return Whether the response may be compressed with gzip.
+   */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+
+    Double gzipQuality = null;
+    Double anyQuality = null;
+
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+      String name = parts[0].trim().toLowerCase(Locale.ROOT);
+      double quality = quality(parts);
+
+      if (name.equals(GZIP) || name.equals(X_GZIP)) {
+        gzipQuality = quality;
+      } else if (name.equals(ANY_ENCODING)) {
+        anyQuality = quality;
+      }
+    }
+
+    if (gzipQuality != null) {
+      return gzipQuality > 0;
+    }
+    return anyQuality != null && anyQuality > 0;
+  }
+
+  /**
+   * Get the quality value of a content coding, defaulting to 1 when not given or invalid.
+   *
+   * @param parts The content coding split into its name and parameters.
+   * @return The quality value.
+   */
+  private static double quality(String[] parts) {
+    for (int i = 1; i < parts.length; i++) {
+      String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+
+      if (parameter.startsWith(QUALITY_PARAMETER)) {
+        try {
+          return Double.parseDouble(parameter.substring(QUALITY_PARAMETER.length()));
+        } catch (NumberFormatException e) {
+          log.debug("Ignoring invalid quality value '{}'.", parameter);
+        }
+      }
+    }
+
+    return 1;
+  }
+
+  /**
+   * An export which writes to an output stream.
+   */
+  @FunctionalInterface
+  private interface Exporter {
+
+    /**
+     * Write the export to the given output stream.
+     *
+     * @param out The output stream to write to.
+     * @return The number of exported records.
+     * @throws IOException If the export could not be written.
+     */
+    long export(OutputStream out) throws IOException;
+  }
+
+  /**
+   * An output stream which sends each write to a response body emitter.
+   */
+  private static class EmitterOutputStream extends OutputStream {
+
+    private final ResponseBodyEmitter emitter;
+
+    EmitterOutputStream(ResponseBodyEmitter emitter) {
+      this.emitter = emitter;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      if (len > 0) {
+        emitter.send(Arrays.copyOfRange(b, off, off + len), MediaType.APPLICATION_OCTET_STREAM);
+      }
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.api;
+
+import com.amazonaws.xray.spring.aop.XRayEnabled;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.JobItem;
+import uk.nhs.tis.trainee.usermanagement.service.JobService;
+
+/**
+ * An API for tracking background jobs.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/jobs")
+@XRayEnabled
+public class JobResource {
+
+  private final JobService service;
+
+  JobResource(JobService service) {
+    this.service = service;
+  }
+
+  /**
+   * Get the status and progress of a job.
+   *
+   * @param id The ID of the job.
+   * @return The job, or 404 Not Found if the job does not exist.
+   */
+  @GetMapping("/{id}")
+  ResponseEntity<Job> getJob(@PathVariable String id) {
+    log.info("Job {} requested.", id);
+    return ResponseEntity.of(service.getJob(id));
+  }
+
+  /**
+   * Get a page of the items of a job.
+   *
+   * @param id     The ID of the job.
+   * @param status The item status to filter by.
+   * @param page   The page number.
+   * @param size   The page size.
+   * @return The page of items.
+   */
+  @GetMapping("/{id}/items")
+  ResponseEntity<List<JobItem>> getItems(@PathVariable String id,
+      @RequestParam JobItem.Status status,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "100") int size) {
+    log.info("Job {} {} items requested.", id, status);
+    return ResponseEntity.ok(service.getItems(id, status, page, size));
+  }
+
+  /**
+   * Cancel a queued or running job, items which have not been processed are left pending.
+   *
+   * @param id The ID of the job.
+   * @return The cancelled job, 404 Not Found if the job does not exist or 409 Conflict with the
+   *     job if it had already finished.
+   */
+  @PostMapping("/{id}/cancel")
+  ResponseEntity<Job> cancelJob(@PathVariable String id) {
+    log.info("Cancellation of job {} requested.", id);
+    Optional<Job> job = service.cancel(id);
+
+    if (job.isPresent() && job.get().status() != Job.Status.CANCELLED) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).body(job.get());
+    }
+
+    return ResponseEntity.of(job);
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.api;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import uk.nhs.tis.trainee.usermanagement.enumeration.CostComponent;
+import uk.nhs.tis.trainee.usermanagement.service.RequestCost;
+
+/**
+ * A filter which accumulates the downstream cost of each API request, logging it with a
+ * structured field per dependency and, when enabled, returning it in a {@code Server-Timing}
+ * header. The filter is ordered after Spring Security, so the cost of requests rejected by
+ * security is neither accumulated nor exposed.
+ */
+@Slf4j
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+  static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+  private static final String API_PATH = "/api/";
+
+  private final boolean headerEnabled;
+
+  /**
+   * Create a filter which accumulates the cost of each API request.
+   *
+   * @param headerEnabled Whether to return the cost to the caller in a Server-Timing header.
+   */
+  ServerTimingFilter(@Value("${application.server-timing.header-enabled}") boolean headerEnabled) {
+    this.headerEnabled = headerEnabled;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !request.getRequestURI().startsWith(API_PATH);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    RequestCost cost = RequestCost.begin();
+    ServerTimingResponse timedResponse =
+        headerEnabled ? new ServerTimingResponse(response, cost) : null;
+
+    try {
+      filterChain.doFilter(request, timedResponse == null ? response : timedResponse);
+    } finally {
+      RequestCost.end();
+
+      // Responses without a body are not committed until after the filter chain completes.
+      if (timedResponse != null && !response.isCommitted()) {
+        timedResponse.addServerTimingHeader();
+      }
+
+      if (request.isAsyncStarted()) {
+        // Streamed bodies are still being written, so the cost is logged once they complete.
+        request.getAsyncContext().addListener(new CostLoggingListener(request, response, cost));
+      } else {
+        logCost(request, response, cost);
+      }
+    }
+  }
+
+  /**
+   * Log the cost of a request, with the count and duration of each dependency as fields.
+   *
+   * @param request  The request.
+   * @param response The response.
+   * @param cost     The accumulated cost of the request.
+   */
+  void logCost(HttpServletRequest request, HttpServletResponse response, RequestCost cost) {
+    LoggingEventBuilder event = log.atInfo()
+        .addKeyValue("http.method", request.getMethod())
+        .addKeyValue("http.path", request.getRequestURI())
+        .addKeyValue("http.status", response.getStatus())
+        .addKeyValue("duration.ms", cost.getElapsed().toMillis());
+
+    for (CostComponent component : CostComponent.values()) {
+      String name = component.getMetricName();
+      event = event
+          .addKeyValue(name + ".count", cost.getCount(component))
+          .addKeyValue(name + ".ms", cost.getDuration(component).toMillis());
+    }
+
+    event.log("Request cost for {} {}: {}", request.getMethod(), request.getRequestURI(),
+        cost.toServerTiming());
+  }
+
+  /**
+   * An async listener which logs the cost of a request once its asynchronous processing, such as
+   * writing a streamed body, has completed.
+   */
+  private class CostLoggingListener implements AsyncListener {
+
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+    private final RequestCost cost;
+
+    CostLoggingListener(HttpServletRequest request, HttpServletResponse response,
+        RequestCost cost) {
+      this.request = request;
+      this.response = response;
+      this.cost = cost;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      logCost(request, response, cost);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      // Completion always follows a timeout.
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      // Completion always follows an error.
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+      // Only the original dispatch is costed.
+    }
+  }
+
+  /**
+   * A response wrapper which adds the Server-Timing header as the response is committed, so that
+   * the header is still present when the body is written by the handler.
+   */
+  private static class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+    private final RequestCost cost;
+    private boolean headerAdded;
+
+    ServerTimingResponse(HttpServletResponse response, RequestCost cost) {
+      super(response);
+      this.cost = cost;
+    }
+
+    @Override
+    protected void onResponseCommitted() {
+      addServerTimingHeader();
+    }
+
+    /**
+     * Add the Server-Timing header with the cost accumulated so far, if not already added.
+     */
+    void addServerTimingHeader() {
+      if (!headerAdded) {
+        headerAdded = true;
+        setHeader(SERVER_TIMING_HEADER, cost.toServerTiming());
+      }
+    }
+  }
+}
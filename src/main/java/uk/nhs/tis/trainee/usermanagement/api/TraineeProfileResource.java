@@ -22,13 +22,27 @@
 package uk.nhs.tis.trainee.usermanagement.api;
 
 import com.amazonaws.xray.spring.aop.XRayEnabled;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import uk.nhs.tis.trainee.usermanagement.dto.ProfileMoveBatchDto;
+import uk.nhs.tis.trainee.usermanagement.dto.ProfileMoveDto;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
 import uk.nhs.tis.trainee.usermanagement.service.EventPublishService;
+import uk.nhs.tis.trainee.usermanagement.service.JobService;
+import uk.nhs.tis.trainee.usermanagement.service.ProfileMoveService;
+import uk.nhs.tis.trainee.usermanagement.service.UserAccountService;
 
 /**
  * An API for interacting with trainee profile.
@@ -40,9 +54,17 @@ import uk.nhs.tis.trainee.usermanagement.service.EventPublishService;
 public class TraineeProfileResource {
 
   private final EventPublishService eventPublishService;
+  private final UserAccountService userAccountService;
+  private final JobService jobService;
+  private final ProfileMoveService profileMoveService;
 
-  TraineeProfileResource(EventPublishService eventPublishService) {
+  TraineeProfileResource(EventPublishService eventPublishService,
+      UserAccountService userAccountService, JobService jobService,
+      ProfileMoveService profileMoveService) {
     this.eventPublishService = eventPublishService;
+    this.userAccountService = userAccountService;
+    this.jobService = jobService;
+    this.profileMoveService = profileMoveService;
   }
 
   /**
@@ -60,6 +82,44 @@ public class TraineeProfileResource {
     return ResponseEntity.ok().build();
   }
 
+  /**
+   * Trigger a profile sync for each of the given trainees as a background job.
+   *
+   * @param traineeTisIds The TIS IDs of the trainees.
+   * @param concurrency   The number of trainees to process concurrently, optional.
+   * @return 202 Accepted with the submitted job, or 400 Bad Request if no trainees were given.
+   */
+  @PostMapping("/sync")
+  ResponseEntity<Job> syncTraineeProfiles(@RequestBody List<String> traineeTisIds,
+      @RequestParam(required = false) Integer concurrency) {
+    log.info("Bulk profile re-sync requested for {} trainees.", traineeTisIds.size());
+
+    if (traineeTisIds.isEmpty()) {
+      return ResponseEntity.badRequest().build();
+    }
+
+    Job job = jobService.submit(JobType.PROFILE_RESYNC, traineeTisIds, Map.of(),
+        concurrency);
+    return accepted(job);
+  }
+
+  /**
+   * Trigger a profile sync for every trainee with a user account as a background job. The
+   * trainees are found by scanning the user pool once the job has started.
+   *
+   * @param concurrency The number of trainees to process concurrently, optional.
+   * @return 202 Accepted with the submitted job.
+   */
+  @PostMapping("/sync/all")
+  ResponseEntity<Job> syncAllTraineeProfiles(
+      @RequestParam(required = false) Integer concurrency) {
+    log.info("Full profile re-sync requested.");
+
+    Job job = jobService.submit(JobType.PROFILE_RESYNC, userAccountService::getAllTraineeIds,
+        Map.of(), concurrency);
+    return accepted(job);
+  }
+
   /**
    * Move data from one trainee to another: CCT calculations, LTFT, FormRs, actions and
    * notifications. The intended use is to move data from a duplicate trainee record to the
@@ -77,4 +137,39 @@ public class TraineeProfileResource {
 
     return ResponseEntity.ok().build();
   }
+
+  /**
+   * Move data for a batch of trainees. Chains of moves are collapsed so that each trainee's data is
+   * moved directly to the final target, e.g. moves from A to B and from B to C are made as moves
+   * from A to C and from B to C.
+   *
+   * @param moves The moves to make.
+   * @return The published and failed moves, or 400 Bad Request if the moves are invalid,
+   *     conflicting or cyclic.
+   */
+  @PostMapping("/move")
+  ResponseEntity<ProfileMoveBatchDto> moveTssDataBatch(@RequestBody List<ProfileMoveDto> moves) {
+    log.info("Request to move data for a batch of {} trainees.", moves.size());
+
+    try {
+      return ResponseEntity.ok(profileMoveService.moveProfiles(moves));
+    } catch (IllegalArgumentException e) {
+      log.warn("Invalid batch of profile moves: {}", e.getMessage());
+      ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST,
+          e.getMessage());
+      return ResponseEntity.of(problem).build();
+    }
+  }
+
+  /**
+   * Build an accepted response for a submitted job.
+   *
+   * @param job The submitted job.
+   * @return 202 Accepted with the job and its location.
+   */
+  private ResponseEntity<Job> accepted(Job job) {
+    return ResponseEntity.accepted()
+        .location(URI.create("/api/jobs/" + job.id()))
+        .body(job);
+  }
 }
@@ -22,6 +22,7 @@
 package uk.nhs.tis.trainee.usermanagement.api;
 
 import com.amazonaws.xray.spring.aop.XRayEnabled;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
@@ -30,10 +31,18 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import uk.nhs.tis.trainee.usermanagement.dto.UserAccountDetailsDto;
 import uk.nhs.tis.trainee.usermanagement.dto.UserLoginDetailsDto;
+import uk.nhs.tis.trainee.usermanagement.dto.UserLoginHistoryPageDto;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
+import uk.nhs.tis.trainee.usermanagement.model.SignInSummary;
+import uk.nhs.tis.trainee.usermanagement.service.JobService;
+import uk.nhs.tis.trainee.usermanagement.service.LoginHistoryService;
 import uk.nhs.tis.trainee.usermanagement.service.UserAccountService;
 
 /**
@@ -45,10 +54,17 @@ import uk.nhs.tis.trainee.usermanagement.service.UserAccountService;
 @XRayEnabled
 public class UserAccountResource {
 
+  private static final int MAX_LOGIN_EVENTS = 10;
+
   private final UserAccountService service;
+  private final LoginHistoryService loginHistoryService;
+  private final JobService jobService;
 
-  UserAccountResource(UserAccountService service) {
+  UserAccountResource(UserAccountService service, LoginHistoryService loginHistoryService,
+      JobService jobService) {
     this.service = service;
+    this.loginHistoryService = loginHistoryService;
+    this.jobService = jobService;
   }
 
   /**
@@ -60,8 +76,7 @@ public class UserAccountResource {
   @GetMapping("/exists/{username}")
   ResponseEntity<Map<String, Boolean>> doesUserAccountExist(@PathVariable String username) {
     log.info("Account existence requested for user '{}'.", username);
-    UserAccountDetailsDto userAccountDetails = service.getUserAccountDetails(username);
-    boolean exists = !userAccountDetails.getUserStatus().equals("NO_ACCOUNT");
+    boolean exists = service.doesUserAccountExist(username);
     return ResponseEntity.ok(Map.of("exists", exists));
   }
 
@@ -86,7 +101,37 @@ public class UserAccountResource {
   @GetMapping("/logins/{username}")
   ResponseEntity<List<UserLoginDetailsDto>> getUserLoginDetails(@PathVariable String username) {
     log.info("Login details requested for user '{}'.", username);
-    return ResponseEntity.ok(service.getUserLoginDetails(username));
+    UserLoginHistoryPageDto page = loginHistoryService.getLoginHistory(username, null,
+        MAX_LOGIN_EVENTS);
+    return ResponseEntity.ok(page.events());
+  }
+
+  /**
+   * Get a page of login events for the account associated with the given username.
+   *
+   * @param username  The username for the account.
+   * @param nextToken The token of the page to get, omit for the newest page.
+   * @param size      The maximum number of login events to return, up to 60.
+   * @return The page of login events and the token for the following page.
+   */
+  @GetMapping("/login-history/{username}")
+  ResponseEntity<UserLoginHistoryPageDto> getUserLoginHistory(@PathVariable String username,
+      @RequestParam(required = false) String nextToken,
+      @RequestParam(defaultValue = "10") int size) {
+    log.info("Login history requested for user '{}'.", username);
+    return ResponseEntity.ok(loginHistoryService.getLoginHistory(username, nextToken, size));
+  }
+
+  /**
+   * Get the sign-in summary for the given user account.
+   *
+   * @param userId The ID of the user account.
+   * @return The sign-in summary, or 404 Not Found if the user does not exist.
+   */
+  @GetMapping("/sign-in-summary/{userId}")
+  ResponseEntity<SignInSummary> getSignInSummary(@PathVariable String userId) {
+    log.info("Sign-in summary requested for user '{}'.", userId);
+    return ResponseEntity.of(service.getSignInSummary(userId));
   }
 
   /**
@@ -102,6 +147,28 @@ public class UserAccountResource {
     return ResponseEntity.noContent().build();
   }
 
+  /**
+   * Reset the MFA for each of the given users as a background job.
+   *
+   * @param usernames   The usernames of the users.
+   * @param concurrency The number of users to process concurrently, optional.
+   * @return 202 Accepted with the submitted job, or 400 Bad Request if no users were given.
+   */
+  @PostMapping("/reset-mfa")
+  ResponseEntity<Job> resetUserAccountMfa(@RequestBody List<String> usernames,
+      @RequestParam(required = false) Integer concurrency) {
+    log.info("Bulk MFA reset requested for {} users.", usernames.size());
+
+    if (usernames.isEmpty()) {
+      return ResponseEntity.badRequest().build();
+    }
+
+    Job job = jobService.submit(JobType.MFA_RESET, usernames, Map.of(), concurrency);
+    return ResponseEntity.accepted()
+        .location(URI.create("/api/jobs/" + job.id()))
+        .body(job);
+  }
+
   /**
    * Delete TSS Cognito account for the given user.
    *
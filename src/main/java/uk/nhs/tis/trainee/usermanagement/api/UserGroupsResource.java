@@ -21,14 +21,24 @@
 
 package uk.nhs.tis.trainee.usermanagement.api;
 
+import static uk.nhs.tis.trainee.usermanagement.model.Job.PARAMETER_GROUP_NAME;
+
 import com.amazonaws.xray.spring.aop.XRayEnabled;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
+import uk.nhs.tis.trainee.usermanagement.service.JobService;
 import uk.nhs.tis.trainee.usermanagement.service.UserAccountService;
 
 /**
@@ -41,11 +51,13 @@ import uk.nhs.tis.trainee.usermanagement.service.UserAccountService;
 public class UserGroupsResource {
 
   private final UserAccountService service;
+  private final JobService jobService;
   private final String betaParticipantGroupName;
 
-  UserGroupsResource(UserAccountService service,
+  UserGroupsResource(UserAccountService service, JobService jobService,
       @Value("${application.aws.cognito.beta-participant-group}") String betaParticipantGroupName) {
     this.service = service;
+    this.jobService = jobService;
     this.betaParticipantGroupName = betaParticipantGroupName;
   }
 
@@ -74,4 +86,57 @@ public class UserGroupsResource {
     service.withdrawFromUserGroup(username, betaParticipantGroupName);
     return ResponseEntity.noContent().build();
   }
+
+  /**
+   * Add each of the given users into the Beta Participant group as a background job, users who are
+   * already members are skipped.
+   *
+   * @param usernames   The usernames of the users.
+   * @param concurrency The number of users to process concurrently, optional.
+   * @return 202 Accepted with the submitted job, or 400 Bad Request if no users were given.
+   */
+  @PostMapping("/beta-participants/enroll")
+  ResponseEntity<Job> enrollBetaParticipantGroup(@RequestBody List<String> usernames,
+      @RequestParam(required = false) Integer concurrency) {
+    log.info("Bulk enrollment of {} users to Beta Participant group requested.",
+        usernames.size());
+    return submitGroupJob(JobType.GROUP_ENROLMENT, usernames, concurrency);
+  }
+
+  /**
+   * Remove each of the given users from the Beta Participant group as a background job, users who
+   * are not members are skipped.
+   *
+   * @param usernames   The usernames of the users.
+   * @param concurrency The number of users to process concurrently, optional.
+   * @return 202 Accepted with the submitted job, or 400 Bad Request if no users were given.
+   */
+  @PostMapping("/beta-participants/withdraw")
+  ResponseEntity<Job> withdrawBetaParticipantGroup(@RequestBody List<String> usernames,
+      @RequestParam(required = false) Integer concurrency) {
+    log.info("Bulk withdrawal of {} users from Beta Participant group requested.",
+        usernames.size());
+    return submitGroupJob(JobType.GROUP_WITHDRAWAL, usernames, concurrency);
+  }
+
+  /**
+   * Submit a Beta Participant group membership job for the given users.
+   *
+   * @param type        The type of job to submit.
+   * @param usernames   The usernames of the users.
+   * @param concurrency The number of users to process concurrently, optional.
+   * @return 202 Accepted with the submitted job, or 400 Bad Request if no users were given.
+   */
+  private ResponseEntity<Job> submitGroupJob(JobType type, List<String> usernames,
+      Integer concurrency) {
+    if (usernames.isEmpty()) {
+      return ResponseEntity.badRequest().build();
+    }
+
+    Job job = jobService.submit(type, usernames,
+        Map.of(PARAMETER_GROUP_NAME, betaParticipantGroupName), concurrency);
+    return ResponseEntity.accepted()
+        .location(URI.create("/api/jobs/" + job.id()))
+        .body(job);
+  }
 }
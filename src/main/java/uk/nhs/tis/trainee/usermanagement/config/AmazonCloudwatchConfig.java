@@ -29,51 +29,76 @@ import java.time.Duration;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.services.cloudwatch.CloudWatchAsyncClient;
 
 /**
- * A configuration class for AWS Cloudwatch metrics.
+ * A configuration class for AWS Cloudwatch metrics. Metrics are either sent with the CloudWatch
+ * API (the default), or written as Embedded Metric Format log lines when
+ * {@code application.metrics.format} is {@code emf}.
  */
 @Configuration
 public class AmazonCloudwatchConfig {
 
+  private static final String FORMAT_PROPERTY = "application.metrics.format";
+
   private final String metricsNamespace;
   private final String environment;
+  private final Duration step;
 
   /**
    * Initialise the class.
    *
    * @param metricsNamespace The metrics namespace to use.
+   * @param environment      The environment to tag metrics with.
+   * @param step             How often metrics are published.
    */
   public AmazonCloudwatchConfig(
       @Value("${spring.cloud.aws.cloudwatch.namespace}") String metricsNamespace,
-      @Value("${application.environment}") String environment) {
+      @Value("${application.environment}") String environment,
+      @Value("${application.metrics.step}") Duration step) {
     this.metricsNamespace = metricsNamespace;
     this.environment = environment;
+    this.step = step;
   }
 
   /**
    * A builder for an asynchronous CloudWatch client.
    *
+   * @param clientFactory The factory to build the client with the shared configuration.
    * @return the configured client.
    */
   @Bean
-  public CloudWatchAsyncClient cloudWatchAsyncClient() {
-    return CloudWatchAsyncClient.create();
+  @ConditionalOnProperty(name = FORMAT_PROPERTY, havingValue = "cloudwatch", matchIfMissing = true)
+  public CloudWatchAsyncClient cloudWatchAsyncClient(AwsClientFactory clientFactory) {
+    return clientFactory.buildAsync(CloudWatchAsyncClient.builder());
   }
 
   /**
    * Get the MeterRegistry for the metrics.
    *
+   * @param cloudWatchAsyncClient The CloudWatch client to publish metrics with.
    * @return The CloudWatch meter registry.
    */
   @Bean
-  public MeterRegistry getMeterRegistry() {
+  @ConditionalOnProperty(name = FORMAT_PROPERTY, havingValue = "cloudwatch", matchIfMissing = true)
+  public MeterRegistry getMeterRegistry(CloudWatchAsyncClient cloudWatchAsyncClient) {
     CloudWatchConfig cloudWatchConfig = setupCloudWatchConfig();
 
-    return new CloudWatchMeterRegistry(cloudWatchConfig, Clock.SYSTEM, cloudWatchAsyncClient());
+    return new CloudWatchMeterRegistry(cloudWatchConfig, Clock.SYSTEM, cloudWatchAsyncClient);
+  }
+
+  /**
+   * Get the MeterRegistry for writing metrics as Embedded Metric Format log lines.
+   *
+   * @return The EMF meter registry.
+   */
+  @Bean
+  @ConditionalOnProperty(name = FORMAT_PROPERTY, havingValue = "emf")
+  public MeterRegistry getEmfMeterRegistry() {
+    return new EmfMeterRegistry(setupEmfConfig(), Clock.SYSTEM);
   }
 
   /**
@@ -86,7 +111,26 @@ public class AmazonCloudwatchConfig {
 
       private final Map<String, String> configuration
           = Map.of("cloudwatch.namespace", metricsNamespace,
-          "cloudwatch.step", Duration.ofMinutes(1).toString());
+          "cloudwatch.step", step.toString());
+
+      @Override
+      public String get(String key) {
+        return configuration.get(key);
+      }
+    };
+  }
+
+  /**
+   * Get EMF configuration with defined namespace and heartbeat.
+   *
+   * @return The EMF configuration instance.
+   */
+  private EmfConfig setupEmfConfig() {
+    return new EmfConfig() {
+
+      private final Map<String, String> configuration
+          = Map.of("emf.namespace", metricsNamespace,
+          "emf.step", step.toString());
 
       @Override
       public String get(String key) {
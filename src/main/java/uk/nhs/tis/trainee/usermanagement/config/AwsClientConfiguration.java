@@ -0,0 +1,218 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.config;
+
+import io.awspring.cloud.autoconfigure.core.AwsClientCustomizer;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.retries.api.BackoffStrategy;
+import software.amazon.awssdk.retries.api.RetryStrategy;
+import software.amazon.awssdk.services.sns.SnsClientBuilder;
+import software.amazon.awssdk.services.sqs.SqsAsyncClientBuilder;
+import uk.nhs.tis.trainee.usermanagement.enumeration.AwsHttpClientType;
+
+/**
+ * Configuration for AWS SDK clients. A single pooled HTTP client of each kind is shared by every
+ * SDK client, along with a common jittered retry strategy and timeouts.
+ */
+@Configuration
+public class AwsClientConfiguration {
+
+  private static final Duration CRT_KEEP_ALIVE_INTERVAL = Duration.ofSeconds(30);
+
+  private final AwsHttpClientType httpClientType;
+  private final int maxConnections;
+  private final Duration connectionTimeout;
+  private final Duration readTimeout;
+  private final Duration connectionMaxIdleTime;
+  private final Duration connectionTimeToLive;
+
+  /**
+   * Configuration for AWS SDK clients.
+   *
+   * @param httpClientType        The HTTP client implementation to use.
+   * @param maxConnections        The maximum number of pooled connections per HTTP client.
+   * @param connectionTimeout     The maximum time to wait to establish a connection.
+   * @param readTimeout           The maximum time to wait for data on an open connection.
+   * @param connectionMaxIdleTime How long an unused connection is kept alive in the pool.
+   * @param connectionTimeToLive  The maximum lifetime of a pooled connection.
+   */
+  AwsClientConfiguration(
+      @Value("${application.aws.client.http-client}") AwsHttpClientType httpClientType,
+      @Value("${application.aws.client.max-connections}") int maxConnections,
+      @Value("${application.aws.client.connection-timeout}") Duration connectionTimeout,
+      @Value("${application.aws.client.read-timeout}") Duration readTimeout,
+      @Value("${application.aws.client.connection-max-idle-time}") Duration connectionMaxIdleTime,
+      @Value("${application.aws.client.connection-time-to-live}") Duration connectionTimeToLive) {
+    this.httpClientType = httpClientType;
+    this.maxConnections = maxConnections;
+    this.connectionTimeout = connectionTimeout;
+    this.readTimeout = readTimeout;
+    this.connectionMaxIdleTime = connectionMaxIdleTime;
+    this.connectionTimeToLive = connectionTimeToLive;
+  }
+
+  /**
+   * Create the HTTP client shared by synchronous SDK clients. The CRT client has no maximum
+   * connection lifetime, so its connections are only closed once idle or unhealthy, and TCP
+   * keep-alive probes are sent at a fixed interval.
+   *
+   * @return The HTTP client.
+   */
+  @Bean
+  public SdkHttpClient awsHttpClient() {
+    return switch (httpClientType) {
+      case APACHE -> ApacheHttpClient.builder()
+          .maxConnections(maxConnections)
+          .connectionTimeout(connectionTimeout)
+          .socketTimeout(readTimeout)
+          .connectionMaxIdleTime(connectionMaxIdleTime)
+          .connectionTimeToLive(connectionTimeToLive)
+          .tcpKeepAlive(true)
+          .useIdleConnectionReaper(true)
+          .build();
+      case CRT -> AwsCrtHttpClient.builder()
+          .maxConcurrency(maxConnections)
+          .connectionTimeout(connectionTimeout)
+          .connectionMaxIdleTime(connectionMaxIdleTime)
+          .connectionHealthConfiguration(health -> health
+              .minimumThroughputInBps(1L)
+              .minimumThroughputTimeout(readTimeout))
+          .tcpKeepAliveConfiguration(keepAlive -> keepAlive
+              .keepAliveInterval(CRT_KEEP_ALIVE_INTERVAL)
+              .keepAliveTimeout(connectionTimeout))
+          .build();
+    };
+  }
+
+  /**
+   * Create the HTTP client shared by asynchronous SDK clients. As with the synchronous client, the
+   * CRT client ignores the maximum connection lifetime.
+   *
+   * @return The HTTP client.
+   */
+  @Bean
+  public SdkAsyncHttpClient awsAsyncHttpClient() {
+    return switch (httpClientType) {
+      case APACHE -> NettyNioAsyncHttpClient.builder()
+          .maxConcurrency(maxConnections)
+          .connectionTimeout(connectionTimeout)
+          .readTimeout(readTimeout)
+          .writeTimeout(readTimeout)
+          .connectionMaxIdleTime(connectionMaxIdleTime)
+          .connectionTimeToLive(connectionTimeToLive)
+          .tcpKeepAlive(true)
+          .useIdleConnectionReaper(true)
+          .build();
+      case CRT -> AwsCrtAsyncHttpClient.builder()
+          .maxConcurrency(maxConnections)
+          .connectionTimeout(connectionTimeout)
+          .connectionMaxIdleTime(connectionMaxIdleTime)
+          .connectionHealthConfiguration(health -> health
+              .minimumThroughputInBps(1L)
+              .minimumThroughputTimeout(readTimeout))
+          .tcpKeepAliveConfiguration(keepAlive -> keepAlive
+              .keepAliveInterval(CRT_KEEP_ALIVE_INTERVAL)
+              .keepAliveTimeout(connectionTimeout))
+          .build();
+    };
+  }
+
+  /**
+   * Create the retry strategy shared by SDK clients, which backs off with full jitter so that
+   * concurrent callers retrying after throttling do not retry in lockstep.
+   *
+   * @param maxAttempts         The maximum number of attempts for each call, including the first.
+   * @param baseDelay           The base delay before the first retry.
+   * @param throttlingBaseDelay The base delay before the first retry of a throttled call.
+   * @param maxDelay            The maximum delay before any retry.
+   * @return The retry strategy.
+   */
+  @Bean
+  public RetryStrategy awsRetryStrategy(
+      @Value("${application.aws.client.max-attempts}") int maxAttempts,
+      @Value("${application.aws.client.retry-base-delay}") Duration baseDelay,
+      @Value("${application.aws.client.throttling-base-delay}") Duration throttlingBaseDelay,
+      @Value("${application.aws.client.retry-max-delay}") Duration maxDelay) {
+    return AwsRetryStrategy.standardRetryStrategy().toBuilder()
+        .maxAttempts(maxAttempts)
+        .backoffStrategy(BackoffStrategy.exponentialDelay(baseDelay, maxDelay))
+        .throttlingBackoffStrategy(BackoffStrategy.exponentialDelay(throttlingBaseDelay, maxDelay))
+        .build();
+  }
+
+  /**
+   * Create the factory used to build SDK clients with the shared configuration.
+   *
+   * @param httpClient            The shared synchronous HTTP client.
+   * @param asyncHttpClient       The shared asynchronous HTTP client.
+   * @param retryStrategy         The shared retry strategy.
+   * @param apiCallTimeout        The maximum time for a call, including all retries.
+   * @param apiCallAttemptTimeout The maximum time for a single attempt of a call.
+   * @param interceptors          Any execution interceptors to apply, such as XRay tracing.
+   * @return The client factory.
+   */
+  @Bean
+  public AwsClientFactory awsClientFactory(SdkHttpClient httpClient,
+      SdkAsyncHttpClient asyncHttpClient, RetryStrategy retryStrategy,
+      @Value("${application.aws.client.api-call-timeout}") Duration apiCallTimeout,
+      @Value("${application.aws.client.api-call-attempt-timeout}") Duration apiCallAttemptTimeout,
+      List<ExecutionInterceptor> interceptors) {
+    return new AwsClientFactory(httpClient, asyncHttpClient, retryStrategy, apiCallTimeout,
+        apiCallAttemptTimeout, interceptors);
+  }
+
+  /**
+   * Apply the shared configuration to the auto-configured SNS client.
+   *
+   * @param factory The client factory.
+   * @return The SNS client customizer.
+   */
+  @Bean
+  public AwsClientCustomizer<SnsClientBuilder> snsClientCustomizer(AwsClientFactory factory) {
+    return factory.customizer();
+  }
+
+  /**
+   * Apply the shared configuration to the auto-configured SQS client, without call timeouts as
+   * the listener long polls for messages.
+   *
+   * @param factory The client factory.
+   * @return The SQS client customizer.
+   */
+  @Bean
+  public AwsClientCustomizer<SqsAsyncClientBuilder> sqsClientCustomizer(
+      AwsClientFactory factory) {
+    return factory.longPollingCustomizer();
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.config;
+
+import io.awspring.cloud.autoconfigure.core.AwsClientCustomizer;
+import java.time.Duration;
+import java.util.List;
+import software.amazon.awssdk.awscore.client.builder.AwsAsyncClientBuilder;
+import software.amazon.awssdk.awscore.client.builder.AwsClientBuilder;
+import software.amazon.awssdk.awscore.client.builder.AwsSyncClientBuilder;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.retries.api.RetryStrategy;
+
+/**
+ * A factory for AWS SDK clients, so that every client shares the same pooled HTTP clients, retry
+ * strategy, timeouts and execution interceptors.
+ */
+public class AwsClientFactory {
+
+  private final SdkHttpClient httpClient;
+  private final SdkAsyncHttpClient asyncHttpClient;
+  private final ClientOverrideConfiguration overrideConfiguration;
+  private final ClientOverrideConfiguration longPollingOverrideConfiguration;
+
+  /**
+   * Create a factory for AWS SDK clients.
+   *
+   * @param httpClient            The shared HTTP client for synchronous SDK clients.
+   * @param asyncHttpClient       The shared HTTP client for asynchronous SDK clients.
+   * @param retryStrategy         The retry strategy to apply to each client.
+   * @param apiCallTimeout        The maximum time for a call, including all retries.
+   * @param apiCallAttemptTimeout The maximum time for a single attempt of a call.
+   * @param interceptors          Any execution interceptors to apply, such as XRay tracing.
+   */
+  public AwsClientFactory(SdkHttpClient httpClient, SdkAsyncHttpClient asyncHttpClient,
+      RetryStrategy retryStrategy, Duration apiCallTimeout,
+      Duration apiCallAttemptTimeout, List<ExecutionInterceptor> interceptors) {
+    this.httpClient = httpClient;
+    this.asyncHttpClient = asyncHttpClient;
+
+    longPollingOverrideConfiguration = ClientOverrideConfiguration.builder()
+        .retryStrategy(retryStrategy)
+        .executionInterceptors(interceptors)
+        .build();
+    overrideConfiguration = longPollingOverrideConfiguration.toBuilder()
+        .apiCallTimeout(apiCallTimeout)
+        .apiCallAttemptTimeout(apiCallAttemptTimeout)
+        .build();
+  }
+
+  /**
+   * Build a synchronous client using the shared configuration.
+   *
+   * @param builder The client builder, with any client specific configuration such as region.
+   * @param <B>     The type of client builder.
+   * @param <C>     The type of client.
+   * @return The built client.
+   */
+  public <B extends AwsClientBuilder<B, C> & AwsSyncClientBuilder<B, C>, C> C buildSync(
+      B builder) {
+    return builder
+        .httpClient(httpClient)
+        .overrideConfiguration(overrideConfiguration)
+        .build();
+  }
+
+  /**
+   * Build an asynchronous client using the shared configuration.
+   *
+   * @param builder The client builder, with any client specific configuration such as region.
+   * @param <B>     The type of client builder.
+   * @param <C>     The type of client.
+   * @return The built client.
+   */
+  public <B extends AwsClientBuilder<B, C> & AwsAsyncClientBuilder<B, C>, C> C buildAsync(
+      B builder) {
+    return builder
+        .httpClient(asyncHttpClient)
+        .overrideConfiguration(overrideConfiguration)
+        .build();
+  }
+
+  /**
+   * Create a customizer to apply the shared configuration to a client auto-configured by Spring
+   * Cloud AWS.
+   *
+   * @param <T> The type of client builder.
+   * @return The client customizer.
+   */
+  public <T> AwsClientCustomizer<T> customizer() {
+    return new SharedClientCustomizer<>(overrideConfiguration);
+  }
+
+  /**
+   * Create a customizer to apply the shared configuration to a client auto-configured by Spring
+   * Cloud AWS, without the call timeouts which would cut short long polling such as SQS receives.
+   *
+   * @param <T> The type of client builder.
+   * @return The client customizer.
+   */
+  public <T> AwsClientCustomizer<T> longPollingCustomizer() {
+    return new SharedClientCustomizer<>(longPollingOverrideConfiguration);
+  }
+
+  /**
+   * A customizer which applies the shared HTTP clients and an override configuration.
+   *
+   * @param <T> The type of client builder.
+   */
+  private class SharedClientCustomizer<T> implements AwsClientCustomizer<T> {
+
+    private final ClientOverrideConfiguration overrideConfiguration;
+
+    SharedClientCustomizer(ClientOverrideConfiguration overrideConfiguration) {
+      this.overrideConfiguration = overrideConfiguration;
+    }
+
+    @Override
+    public ClientOverrideConfiguration overrideConfiguration() {
+      return overrideConfiguration;
+    }
+
+    @Override
+    public SdkHttpClient httpClient() {
+      return httpClient;
+    }
+
+    @Override
+    public SdkAsyncHttpClient asyncHttpClient() {
+      return asyncHttpClient;
+    }
+  }
+}
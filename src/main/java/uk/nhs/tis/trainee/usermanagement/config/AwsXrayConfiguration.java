@@ -21,12 +21,24 @@
 
 package uk.nhs.tis.trainee.usermanagement.config;
 
+import com.amazonaws.xray.AWSXRay;
+import com.amazonaws.xray.AWSXRayRecorder;
+import com.amazonaws.xray.AWSXRayRecorderBuilder;
+import com.amazonaws.xray.interceptors.TracingInterceptor;
 import com.amazonaws.xray.jakarta.servlet.AWSXRayServletFilter;
+import com.amazonaws.xray.strategy.IgnoreErrorContextMissingStrategy;
+import com.amazonaws.xray.strategy.jakarta.SegmentNamingStrategy;
+import com.amazonaws.xray.strategy.sampling.LocalizedSamplingStrategy;
 import jakarta.servlet.Filter;
+import java.io.IOException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.Resource;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
 
 /**
  * Configuration for AWS XRay tracing.
@@ -36,14 +48,79 @@ import org.springframework.context.annotation.Configuration;
     + ".isEmpty('${com.amazonaws.xray.emitters.daemon-address}')")
 public class AwsXrayConfiguration {
 
+  private final String segmentName;
+
   /**
-   * Create a tracing filter for HTTP requests.
+   * Configuration for AWS XRay tracing.
    *
    * @param environment The current environment e.g. local or preprod.
+   */
+  AwsXrayConfiguration(@Value("${application.environment}") String environment) {
+    segmentName = "tis-trainee-user-management-" + environment;
+  }
+
+  /**
+   * Create the global XRay recorder, sampling requests with the configured rules. Work outside a
+   * traced request, such as scheduled tasks, is silently untraced rather than logging errors.
+   *
+   * @param samplingRules The sampling rules to apply.
+   * @return The XRay recorder.
+   * @throws IOException If the sampling rules could not be read.
+   */
+  @Bean
+  public AWSXRayRecorder awsXrayRecorder(
+      @Value("${application.xray.sampling-rules}") Resource samplingRules) throws IOException {
+    AWSXRayRecorder recorder = AWSXRayRecorderBuilder.standard()
+        .withSamplingStrategy(new LocalizedSamplingStrategy(samplingRules.getURL()))
+        .withContextMissingStrategy(new IgnoreErrorContextMissingStrategy())
+        .build();
+    AWSXRay.setGlobalRecorder(recorder);
+    return recorder;
+  }
+
+  /**
+   * Create a tracing filter for HTTP requests.
+   *
+   * @param recorder The XRay recorder.
    * @return The tracing filter.
    */
   @Bean
-  public Filter tracingFilter(@Value("${application.environment}") String environment) {
-    return new AWSXRayServletFilter("tis-trainee-user-management-" + environment);
+  public Filter tracingFilter(AWSXRayRecorder recorder) {
+    return new AWSXRayServletFilter(SegmentNamingStrategy.fixed(segmentName), recorder);
+  }
+
+  /**
+   * Create an interceptor to trace each AWS SDK call as a subsegment, the interceptor is applied
+   * to every SDK client by the {@link AwsClientFactory}. The interceptor uses the global recorder
+   * so depends on it being configured first.
+   *
+   * @return The tracing interceptor.
+   */
+  @Bean
+  @DependsOn("awsXrayRecorder")
+  public ExecutionInterceptor tracingInterceptor() {
+    return new TracingInterceptor();
+  }
+
+  /**
+   * Trace each MongoDB command as a subsegment.
+   *
+   * @param recorder The XRay recorder.
+   * @return The MongoDB client customizer.
+   */
+  @Bean
+  public MongoClientSettingsBuilderCustomizer mongoTracingCustomizer(AWSXRayRecorder recorder) {
+    return builder -> builder.addCommandListener(new AwsXrayMongoCommandListener(recorder));
+  }
+
+  /**
+   * Create an aspect which traces each SQS listener invocation as a segment.
+   *
+   * @param recorder The XRay recorder.
+   * @return The listener tracing aspect.
+   */
+  @Bean
+  public AwsXrayListenerInterceptor listenerTracingInterceptor(AWSXRayRecorder recorder) {
+    return new AwsXrayListenerInterceptor(recorder, segmentName);
   }
 }
@@ -22,13 +22,15 @@
 package uk.nhs.tis.trainee.usermanagement.config;
 
 import com.amazonaws.xray.spring.aop.AbstractXRayInterceptor;
+import com.amazonaws.xray.spring.aop.XRayEnabled;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 
 /**
- * Interceptors for AWS XRay tracing.
+ * Interceptors for AWS XRay tracing, each method of an {@link XRayEnabled} resource or service is
+ * traced as a subsegment.
  */
 @Aspect
 @Component
@@ -37,7 +39,8 @@ import org.springframework.stereotype.Component;
 public class AwsXrayInterceptor extends AbstractXRayInterceptor {
 
   @Override
-  @Pointcut("@within(com.amazonaws.xray.spring.aop.XRayEnabled) && bean(*Resource)")
+  @Pointcut("@within(com.amazonaws.xray.spring.aop.XRayEnabled)"
+      + " && (bean(*Resource) || bean(*Service))")
   public void xrayEnabledClasses() {
 
   }
@@ -0,0 +1,83 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.config;
+
+import com.amazonaws.xray.AWSXRayRecorder;
+import com.amazonaws.xray.entities.Entity;
+import com.amazonaws.xray.strategy.sampling.SamplingRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * An aspect which traces each SQS listener invocation as an XRay segment, as messages do not pass
+ * through the HTTP tracing filter. The sampling rules are matched with an HTTP method of
+ * {@code SQS} and a URL path of {@code <listener class>.<listener method>}.
+ */
+@Aspect
+public class AwsXrayListenerInterceptor {
+
+  static final String SAMPLING_METHOD = "SQS";
+
+  private final AWSXRayRecorder recorder;
+  private final String segmentName;
+
+  /**
+   * Create an aspect to trace SQS listeners.
+   *
+   * @param recorder    The XRay recorder.
+   * @param segmentName The name to give listener segments.
+   */
+  AwsXrayListenerInterceptor(AWSXRayRecorder recorder, String segmentName) {
+    this.recorder = recorder;
+    this.segmentName = segmentName;
+  }
+
+  /**
+   * Trace an SQS listener invocation, if sampled.
+   *
+   * @param pjp The listener join point.
+   * @return The result of the listener.
+   * @throws Throwable Any error thrown by the listener.
+   */
+  @Around("@annotation(io.awspring.cloud.sqs.annotation.SqsListener)")
+  public Object traceListener(ProceedingJoinPoint pjp) throws Throwable {
+    String listener = pjp.getSignature().getDeclaringType().getSimpleName() + "."
+        + pjp.getSignature().getName();
+    SamplingRequest samplingRequest = new SamplingRequest(segmentName, null, listener,
+        SAMPLING_METHOD, recorder.getOrigin());
+
+    Entity segment = recorder.getSamplingStrategy().shouldTrace(samplingRequest).isSampled()
+        ? recorder.beginSegment(segmentName)
+        : recorder.beginNoOpSegment();
+    segment.putAnnotation("listener", listener);
+
+    try {
+      return pjp.proceed();
+    } catch (Throwable t) {
+      segment.addException(t);
+      throw t;
+    } finally {
+      recorder.endSegment();
+    }
+  }
+}
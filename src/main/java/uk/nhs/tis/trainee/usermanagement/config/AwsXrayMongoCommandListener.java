@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.config;
+
+import com.amazonaws.xray.AWSXRayRecorder;
+import com.amazonaws.xray.entities.Namespace;
+import com.amazonaws.xray.entities.Subsegment;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A MongoDB command listener which traces each command as an XRay subsegment of the current
+ * trace, commands issued outside a trace are ignored.
+ */
+class AwsXrayMongoCommandListener implements CommandListener {
+
+  private static final String SUBSEGMENT_NAME = "MongoDB";
+  private static final String METADATA_NAMESPACE = "mongodb";
+
+  private final AWSXRayRecorder recorder;
+  private final Map<Integer, Subsegment> subsegments = new ConcurrentHashMap<>();
+
+  AwsXrayMongoCommandListener(AWSXRayRecorder recorder) {
+    this.recorder = recorder;
+  }
+
+  @Override
+  public void commandStarted(CommandStartedEvent event) {
+    if (recorder.getTraceEntity() == null) {
+      return;
+    }
+
+    Subsegment subsegment = recorder.beginSubsegment(SUBSEGMENT_NAME);
+    subsegment.setNamespace(Namespace.REMOTE.toString());
+    subsegment.putMetadata(METADATA_NAMESPACE, "command", event.getCommandName());
+    subsegment.putMetadata(METADATA_NAMESPACE, "database", event.getDatabaseName());
+    subsegments.put(event.getRequestId(), subsegment);
+  }
+
+  @Override
+  public void commandSucceeded(CommandSucceededEvent event) {
+    Subsegment subsegment = subsegments.remove(event.getRequestId());
+
+    if (subsegment != null) {
+      recorder.endSubsegment();
+    }
+  }
+
+  @Override
+  public void commandFailed(CommandFailedEvent event) {
+    Subsegment subsegment = subsegments.remove(event.getRequestId());
+
+    if (subsegment != null) {
+      subsegment.addException(event.getThrowable());
+      recorder.endSubsegment();
+    }
+  }
+}
@@ -21,6 +21,10 @@
 
 package uk.nhs.tis.trainee.usermanagement.config;
 
+import static uk.nhs.tis.trainee.usermanagement.service.LoginHistoryService.LOGIN_HISTORY_CACHE;
+import static uk.nhs.tis.trainee.usermanagement.service.UserAccountService.USER_EXISTS_CACHE;
+import static uk.nhs.tis.trainee.usermanagement.service.UserAccountService.USER_ID_CACHE;
+
 import java.time.Duration;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
@@ -44,17 +48,21 @@ public class CacheConfiguration {
 
   private final String prefix;
   private final Duration ttl;
+  private final Duration loginHistoryTtl;
 
   /**
    * Configuration for caching behaviour.
    *
-   * @param prefix The cache key prefix.
-   * @param ttl    The time-to-live for cached data.
+   * @param prefix          The cache key prefix.
+   * @param ttl             The time-to-live for cached data.
+   * @param loginHistoryTtl The time-to-live for cached login history.
    */
   CacheConfiguration(@Value("${application.cache.key-prefix}") String prefix,
-      @Value("${application.cache.time-to-live}") Duration ttl) {
+      @Value("${application.cache.time-to-live}") Duration ttl,
+      @Value("${application.cache.login-history.time-to-live}") Duration loginHistoryTtl) {
     this.prefix = prefix;
     this.ttl = ttl;
+    this.loginHistoryTtl = loginHistoryTtl;
   }
 
   /**
@@ -72,7 +80,8 @@ public class CacheConfiguration {
   }
 
   /**
-   * Create a cache manager with configured TTL and Prefix.
+   * Create a cache manager with configured TTL and Prefix. Statistics are enabled so that hit, miss
+   * and put metrics are published for each of the caches.
    *
    * @param factory The connection factory to use.
    * @return The built cache manager.
@@ -85,6 +94,10 @@ public class CacheConfiguration {
 
     return RedisCacheManagerBuilder.fromConnectionFactory(factory)
         .cacheDefaults(configuration)
+        .withCacheConfiguration(USER_ID_CACHE, configuration)
+        .withCacheConfiguration(USER_EXISTS_CACHE, configuration)
+        .withCacheConfiguration(LOGIN_HISTORY_CACHE, configuration.entryTtl(loginHistoryTtl))
+        .enableStatistics()
         .build();
   }
 }
@@ -36,14 +36,17 @@ public class CognitoConfiguration {
   /**
    * Get a default Cognito IDP client.
    *
+   * @param regionProvider      The AWS region provider.
+   * @param credentialsProvider The AWS credentials provider.
+   * @param clientFactory       The factory to build the client with the shared configuration.
    * @return The built client.
    */
   @Bean
   public CognitoIdentityProviderClient getCognitoIdentityProviderClient(
-      AwsRegionProvider regionProvider, AwsCredentialsProvider credentialsProvider) {
-    return CognitoIdentityProviderClient.builder()
+      AwsRegionProvider regionProvider, AwsCredentialsProvider credentialsProvider,
+      AwsClientFactory clientFactory) {
+    return clientFactory.buildSync(CognitoIdentityProviderClient.builder()
         .region(regionProvider.getRegion())
-        .credentialsProvider(credentialsProvider)
-        .build();
+        .credentialsProvider(credentialsProvider));
   }
 }
@@ -0,0 +1,269 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.step.StepMeterRegistry;
+import io.micrometer.core.instrument.util.NamedThreadFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A meter registry which writes each step's metrics as CloudWatch Embedded Metric Format (EMF)
+ * JSON lines, which CloudWatch Logs extracts into metrics without any calls to the CloudWatch API.
+ *
+ * <p>Each meter is written as a single document, with its tags as dimensions and each of its
+ * statistics, including any client-side percentiles, as a metric.
+ */
+public class EmfMeterRegistry extends StepMeterRegistry {
+
+  private static final String LOGGER_NAME = "emf-metrics";
+
+  private static final String UNIT_COUNT = "Count";
+  private static final String UNIT_MILLISECONDS = "Milliseconds";
+  private static final String UNIT_NONE = "None";
+
+  private static final int HIGH_RESOLUTION = 1;
+  private static final int STANDARD_RESOLUTION = 60;
+  private static final Duration STANDARD_RESOLUTION_STEP = Duration.ofSeconds(STANDARD_RESOLUTION);
+
+  private final EmfConfig config;
+  private final Consumer<String> sink;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  /**
+   * Create a registry which writes to the {@value #LOGGER_NAME} logger, which is configured to
+   * write the bare lines to the console where the container log driver will forward them to
+   * CloudWatch Logs.
+   *
+   * @param config The registry configuration.
+   * @param clock  The clock to use for timings.
+   */
+  public EmfMeterRegistry(EmfConfig config, Clock clock) {
+    this(config, clock, LoggerFactory.getLogger(LOGGER_NAME)::info);
+    start(new NamedThreadFactory("emf-metrics-publisher"));
+  }
+
+  /**
+   * Create a registry which writes to the given sink, the publishing thread is not started.
+   *
+   * @param config The registry configuration.
+   * @param clock  The clock to use for timings.
+   * @param sink   The consumer of each EMF line.
+   */
+  EmfMeterRegistry(EmfConfig config, Clock clock, Consumer<String> sink) {
+    super(config, clock);
+    this.config = config;
+    this.sink = sink;
+  }
+
+  @Override
+  protected void publish() {
+    long timestamp = clock.wallTime();
+
+    for (Meter meter : getMeters()) {
+      List<MetricValue> values = meter.match(
+          this::gaugeValues,
+          this::counterValues,
+          this::timerValues,
+          this::summaryValues,
+          this::longTaskTimerValues,
+          this::timeGaugeValues,
+          this::functionCounterValues,
+          this::functionTimerValues,
+          this::meterValues);
+
+      values.removeIf(value -> Double.isNaN(value.value()) || Double.isInfinite(value.value()));
+
+      if (!values.isEmpty()) {
+        sink.accept(toEmf(meter, values, timestamp));
+      }
+    }
+  }
+
+  @Override
+  protected TimeUnit getBaseTimeUnit() {
+    return TimeUnit.MILLISECONDS;
+  }
+
+  /**
+   * Build the EMF document for a meter.
+   *
+   * @param meter     The meter the values belong to.
+   * @param values    The metric values to include.
+   * @param timestamp The epoch millisecond timestamp of the values.
+   * @return The EMF JSON line.
+   */
+  private String toEmf(Meter meter, List<MetricValue> values, long timestamp) {
+    ObjectNode document = objectMapper.createObjectNode();
+    ObjectNode aws = document.putObject("_aws");
+    aws.put("Timestamp", timestamp);
+
+    ObjectNode directive = aws.putArray("CloudWatchMetrics").addObject();
+    directive.put("Namespace", config.namespace());
+    ArrayNode dimensions = directive.putArray("Dimensions").addArray();
+    ArrayNode metrics = directive.putArray("Metrics");
+
+    for (Tag tag : getConventionTags(meter.getId())) {
+      dimensions.add(tag.getKey());
+      document.put(tag.getKey(), tag.getValue());
+    }
+
+    // High resolution storage only helps when publishing more often than each minute.
+    int resolution = config.step().compareTo(STANDARD_RESOLUTION_STEP) < 0
+        ? HIGH_RESOLUTION : STANDARD_RESOLUTION;
+
+    for (MetricValue value : values) {
+      metrics.addObject()
+          .put("Name", value.name())
+          .put("Unit", value.unit())
+          .put("StorageResolution", resolution);
+      document.put(value.name(), value.value());
+    }
+
+    return document.toString();
+  }
+
+  private List<MetricValue> gaugeValues(Gauge gauge) {
+    return values(new MetricValue(name(gauge), UNIT_NONE, gauge.value()));
+  }
+
+  private List<MetricValue> counterValues(Counter counter) {
+    return values(new MetricValue(name(counter), UNIT_COUNT, counter.count()));
+  }
+
+  private List<MetricValue> timerValues(Timer timer) {
+    HistogramSnapshot snapshot = timer.takeSnapshot();
+    String name = name(timer);
+    List<MetricValue> values = values(
+        new MetricValue(name + ".count", UNIT_COUNT, snapshot.count()),
+        new MetricValue(name + ".sum", UNIT_MILLISECONDS, snapshot.total(getBaseTimeUnit())),
+        new MetricValue(name + ".max", UNIT_MILLISECONDS, snapshot.max(getBaseTimeUnit())));
+    addPercentiles(values, name, UNIT_MILLISECONDS, snapshot, true);
+    return values;
+  }
+
+  private List<MetricValue> summaryValues(DistributionSummary summary) {
+    HistogramSnapshot snapshot = summary.takeSnapshot();
+    String name = name(summary);
+    List<MetricValue> values = values(
+        new MetricValue(name + ".count", UNIT_COUNT, snapshot.count()),
+        new MetricValue(name + ".sum", UNIT_NONE, snapshot.total()),
+        new MetricValue(name + ".max", UNIT_NONE, snapshot.max()));
+    addPercentiles(values, name, UNIT_NONE, snapshot, false);
+    return values;
+  }
+
+  private List<MetricValue> longTaskTimerValues(LongTaskTimer timer) {
+    String name = name(timer);
+    return values(
+        new MetricValue(name + ".active", UNIT_COUNT, timer.activeTasks()),
+        new MetricValue(name + ".duration", UNIT_MILLISECONDS, timer.duration(getBaseTimeUnit())));
+  }
+
+  private List<MetricValue> timeGaugeValues(TimeGauge gauge) {
+    return values(new MetricValue(name(gauge), UNIT_MILLISECONDS, gauge.value(getBaseTimeUnit())));
+  }
+
+  private List<MetricValue> functionCounterValues(FunctionCounter counter) {
+    return values(new MetricValue(name(counter), UNIT_COUNT, counter.count()));
+  }
+
+  private List<MetricValue> functionTimerValues(FunctionTimer timer) {
+    String name = name(timer);
+    return values(
+        new MetricValue(name + ".count", UNIT_COUNT, timer.count()),
+        new MetricValue(name + ".sum", UNIT_MILLISECONDS, timer.totalTime(getBaseTimeUnit())));
+  }
+
+  private List<MetricValue> meterValues(Meter meter) {
+    List<MetricValue> values = new ArrayList<>();
+    String name = name(meter);
+
+    for (Measurement measurement : meter.measure()) {
+      String statistic = measurement.getStatistic().getTagValueRepresentation();
+      values.add(new MetricValue(name + "." + statistic, UNIT_NONE, measurement.getValue()));
+    }
+
+    return values;
+  }
+
+  /**
+   * Add a metric for each client-side percentile of a distribution, e.g. {@code name.p99}.
+   *
+   * @param values   The values to add to.
+   * @param name     The base metric name.
+   * @param unit     The unit of the distribution.
+   * @param snapshot The snapshot of the distribution.
+   * @param timed    Whether the distribution is of times, which are converted to the base unit.
+   */
+  private void addPercentiles(List<MetricValue> values, String name, String unit,
+      HistogramSnapshot snapshot, boolean timed) {
+    for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+      double value = timed ? percentile.value(getBaseTimeUnit()) : percentile.value();
+      String suffix = String.format(Locale.ROOT, "%.4f", percentile.percentile() * 100)
+          .replaceAll("\\.?0+$", "")
+          .replace('.', '_');
+      values.add(new MetricValue(name + ".p" + suffix, unit, value));
+    }
+  }
+
+  private String name(Meter meter) {
+    return getConventionName(meter.getId());
+  }
+
+  private static List<MetricValue> values(MetricValue... values) {
+    return new ArrayList<>(List.of(values));
+  }
+
+  /**
+   * A single metric value in an EMF document.
+   *
+   * @param name  The metric name.
+   * @param unit  The CloudWatch unit of the value.
+   * @param value The value.
+   */
+  private record MetricValue(String name, String unit, double value) {
+
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration for background task executors.
+ */
+@Configuration
+public class ExecutorConfiguration {
+
+  public static final String COGNITO_TASK_EXECUTOR = "cognitoTaskExecutor";
+  public static final String JOB_TASK_EXECUTOR = "jobTaskExecutor";
+
+  /**
+   * Create the default application executor, which Spring Boot stops auto-configuring once any
+   * other executor bean is defined.
+   *
+   * @param builder The builder configured from the {@code spring.task.execution} properties.
+   * @return The built executor.
+   */
+  @Primary
+  @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+      AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+  public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+    return builder.build();
+  }
+
+  /**
+   * Create a bounded executor for background Cognito work, such as prefetching.
+   *
+   * @param poolSize      The number of threads in the pool.
+   * @param queueCapacity The number of tasks which may be queued before rejecting new tasks.
+   * @return The built executor.
+   */
+  @Bean(COGNITO_TASK_EXECUTOR)
+  public ThreadPoolTaskExecutor cognitoTaskExecutor(
+      @Value("${application.executor.cognito.pool-size}") int poolSize,
+      @Value("${application.executor.cognito.queue-capacity}") int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("cognito-");
+    return executor;
+  }
+
+  /**
+   * Create an executor for running background jobs, kept apart from the application executor so
+   * that long-running jobs can not hold up other asynchronous work. Jobs beyond the pool size are
+   * queued rather than rejected, as a submitted job has already been persisted.
+   *
+   * @param poolSize The number of jobs which may run at once.
+   * @return The built executor.
+   */
+  @Bean(JOB_TASK_EXECUTOR)
+  public ThreadPoolTaskExecutor jobTaskExecutor(
+      @Value("${application.executor.jobs.pool-size}") int poolSize) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setThreadNamePrefix("job-runner-");
+    return executor;
+  }
+}
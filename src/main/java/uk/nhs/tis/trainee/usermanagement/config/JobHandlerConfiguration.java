@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2022 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
+import uk.nhs.tis.trainee.usermanagement.service.CognitoRateLimiter;
+import uk.nhs.tis.trainee.usermanagement.service.GroupMembershipIndex;
+import uk.nhs.tis.trainee.usermanagement.service.GroupMembershipJobHandler;
+import uk.nhs.tis.trainee.usermanagement.service.UserAccountService;
+
+/**
+ * Configuration of the background job handlers which are shared between job types.
+ */
+@Configuration
+public class JobHandlerConfiguration {
+
+  /**
+   * Get a handler for bulk group enrolment jobs.
+   *
+   * @param userAccountService   The user account service to change group membership with.
+   * @param groupMembershipIndex The index of group membership.
+   * @param rateLimiter          The shared rate limiter for bulk Cognito requests.
+   * @return The built handler.
+   */
+  @Bean
+  public GroupMembershipJobHandler groupEnrolmentJobHandler(UserAccountService userAccountService,
+      GroupMembershipIndex groupMembershipIndex, CognitoRateLimiter rateLimiter) {
+    return new GroupMembershipJobHandler(JobType.GROUP_ENROLMENT, userAccountService,
+        groupMembershipIndex, rateLimiter);
+  }
+
+  /**
+   * Get a handler for bulk group withdrawal jobs.
+   *
+   * @param userAccountService   The user account service to change group membership with.
+   * @param groupMembershipIndex The index of group membership.
+   * @param rateLimiter          The shared rate limiter for bulk Cognito requests.
+   * @return The built handler.
+   */
+  @Bean
+  public GroupMembershipJobHandler groupWithdrawalJobHandler(
+      UserAccountService userAccountService, GroupMembershipIndex groupMembershipIndex,
+      CognitoRateLimiter rateLimiter) {
+    return new GroupMembershipJobHandler(JobType.GROUP_WITHDRAWAL, userAccountService,
+        groupMembershipIndex, rateLimiter);
+  }
+}
@@ -22,6 +22,7 @@
 package uk.nhs.tis.trainee.usermanagement.config;
 
 import java.util.UUID;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
@@ -46,4 +47,14 @@ public class MongoConfiguration {
   public BeforeConvertCallback<AccountEvent> accountEventBeforeConvertCallback() {
     return (entity, collection) -> entity.id() == null ? entity.withId(UUID.randomUUID()) : entity;
   }
+
+  /**
+   * Record the duration of each MongoDB command against the cost of the current request.
+   *
+   * @return The MongoDB client customizer.
+   */
+  @Bean
+  public MongoClientSettingsBuilderCustomizer requestCostCustomizer() {
+    return builder -> builder.addCommandListener(new RequestCostMongoCommandListener());
+  }
 }
@@ -23,40 +23,130 @@ package uk.nhs.tis.trainee.usermanagement.config;
 
 import com.transformuk.hee.tis.profile.client.service.impl.JwtProfileServiceImpl;
 import com.transformuk.hee.tis.security.service.JwtProfileService;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
 import java.time.Duration;
+import org.apache.hc.client5.http.ConnectionRequestTimeoutException;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
+import uk.nhs.tis.trainee.usermanagement.service.MetricsService;
 
 /**
  * Manually configure the profile service's rest template as the profile-client dependency is not
  * fully compatible with Spring Boot 3.
+ *
+ * <p>The profile service is called to authenticate API requests, so its client is bounded to a
+ * fixed pool of connections which acts as a bulkhead. Callers wait at most the acquire timeout
+ * for a connection before failing fast, rather than piling up behind a slow profile service.
  */
 @Configuration
 public class ProfileClientConfiguration {
 
-  private final int timeout;
+  private static final String POOL_NAME = "profile";
+  private static final Duration CONNECTION_TIME_TO_LIVE = Duration.ofMinutes(5);
+  private static final Duration CONNECTION_MAX_IDLE_TIME = Duration.ofSeconds(30);
+
+  private final Duration connectTimeout;
+  private final Duration readTimeout;
+  private final int maxConnections;
+  private final Duration acquireTimeout;
+
+  /**
+   * Configure the profile service's client.
+   *
+   * @param connectTimeout The maximum time to wait to establish a connection.
+   * @param readTimeout    The maximum time to wait for a response.
+   * @param maxConnections The maximum number of concurrent calls to the profile service.
+   * @param acquireTimeout The maximum time to wait for a pooled connection to become available.
+   */
+  public ProfileClientConfiguration(
+      @Value("${application.profile-client.connect-timeout}") Duration connectTimeout,
+      @Value("${application.profile-client.read-timeout}") Duration readTimeout,
+      @Value("${application.profile-client.max-connections}") int maxConnections,
+      @Value("${application.profile-client.acquire-timeout}") Duration acquireTimeout) {
+    this.connectTimeout = connectTimeout;
+    this.readTimeout = readTimeout;
+    this.maxConnections = maxConnections;
+    this.acquireTimeout = acquireTimeout;
+  }
 
-  public ProfileClientConfiguration(@Value("${PROFILE_REST_TIMEOUT:30000}") int timeout) {
-    this.timeout = timeout;
+  /**
+   * Create the bounded connection pool for the profile service.
+   *
+   * @return The connection manager.
+   */
+  @Bean
+  public PoolingHttpClientConnectionManager profileConnectionManager() {
+    return PoolingHttpClientConnectionManagerBuilder.create()
+        .setMaxConnTotal(maxConnections)
+        .setMaxConnPerRoute(maxConnections)
+        .setDefaultConnectionConfig(ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.of(connectTimeout))
+            .setSocketTimeout(Timeout.of(readTimeout))
+            .setTimeToLive(TimeValue.of(CONNECTION_TIME_TO_LIVE))
+            .build())
+        .build();
   }
 
+  /**
+   * Publish the utilisation of the profile service's connection pool, the leased and pending
+   * connections show how close the bulkhead is to rejecting calls.
+   *
+   * @param connectionManager The profile service's connection manager.
+   * @return The pool metrics binder.
+   */
+  @Bean
+  public MeterBinder profileConnectionPoolMetrics(
+      PoolingHttpClientConnectionManager connectionManager) {
+    return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME);
+  }
 
   /**
    * Create a {@link JwtProfileService} bean.
    *
-   * @param builder The rest template builder.
+   * @param builder           The rest template builder.
+   * @param connectionManager The profile service's connection manager.
+   * @param metricsService    The metrics service to count rejected calls with.
    * @return The created bean.
    */
   @Bean
-  public JwtProfileService jwtProfileService(RestTemplateBuilder builder) {
-    Duration timeoutDuration = Duration.ofSeconds(timeout);
-    RestTemplate restTemplate = builder.requestFactory(HttpComponentsClientHttpRequestFactory.class)
-        .readTimeout(timeoutDuration)
-        .connectTimeout(timeoutDuration)
+  public JwtProfileService jwtProfileService(RestTemplateBuilder builder,
+      PoolingHttpClientConnectionManager connectionManager, MetricsService metricsService) {
+    CloseableHttpClient httpClient = HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(RequestConfig.custom()
+            .setConnectionRequestTimeout(Timeout.of(acquireTimeout))
+            .setResponseTimeout(Timeout.of(readTimeout))
+            .build())
+        .evictExpiredConnections()
+        .evictIdleConnections(TimeValue.of(CONNECTION_MAX_IDLE_TIME))
+        .build();
+
+    ClientHttpRequestInterceptor rejectionCounter = (request, body, execution) -> {
+      try {
+        return execution.execute(request, body);
+      } catch (ConnectionRequestTimeoutException e) {
+        metricsService.incrementProfileClientRejectedCounter();
+        throw e;
+      }
+    };
+
+    RestTemplate restTemplate = builder
+        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+        .additionalInterceptors(rejectionCounter)
         .build();
 
     return new JwtProfileServiceImpl(restTemplate);
@@ -0,0 +1,186 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.config;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.SlidingWindowType;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataIntegrityViolationException;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.AbortedException;
+import uk.nhs.tis.trainee.usermanagement.enumeration.Dependency;
+
+/**
+ * Configuration for the circuit breakers and bulkheads isolating each downstream dependency.
+ *
+ * <p>Every dependency shares the same circuit breaker thresholds, while each bulkhead is sized to
+ * the dependency's expected concurrency. A full bulkhead waits at most the maximum wait before
+ * rejecting the call, so a slow dependency cannot hold every request and listener thread.
+ */
+@Configuration
+public class ResilienceConfiguration {
+
+  private static final int HALF_OPEN_CALLS = 3;
+
+  private final float failureRateThreshold;
+  private final Duration slowCallDurationThreshold;
+  private final int slidingWindowSize;
+  private final int minimumCalls;
+  private final Duration openDuration;
+  private final Duration bulkheadMaxWait;
+  private final Map<Dependency, Integer> bulkheadLimits;
+
+  /**
+   * Configure the circuit breakers and bulkheads.
+   *
+   * @param failureRateThreshold      The percentage of failed or slow calls which opens a breaker.
+   * @param slowCallDurationThreshold The duration after which a call is considered slow.
+   * @param slidingWindowSize         The number of recent calls used to calculate the rates.
+   * @param minimumCalls              The number of calls needed before the rates are calculated.
+   * @param openDuration              The time a breaker stays open before allowing trial calls.
+   * @param bulkheadMaxWait           The maximum time to wait to enter a full bulkhead.
+   * @param cognitoLimit              The maximum concurrent calls to Cognito.
+   * @param messagingLimit            The maximum concurrent calls to SNS and SQS.
+   * @param auditLimit                The maximum concurrent writes to the audit store.
+   * @param cacheLimit                The maximum concurrent calls to the Redis cache.
+   */
+  public ResilienceConfiguration(
+      @Value("${application.resilience.failure-rate-threshold}") float failureRateThreshold,
+      @Value("${application.resilience.slow-call-duration-threshold}")
+      Duration slowCallDurationThreshold,
+      @Value("${application.resilience.sliding-window-size}") int slidingWindowSize,
+      @Value("${application.resilience.minimum-calls}") int minimumCalls,
+      @Value("${application.resilience.open-duration}") Duration openDuration,
+      @Value("${application.resilience.bulkhead.max-wait}") Duration bulkheadMaxWait,
+      @Value("${application.resilience.bulkhead.cognito}") int cognitoLimit,
+      @Value("${application.resilience.bulkhead.messaging}") int messagingLimit,
+      @Value("${application.resilience.bulkhead.audit}") int auditLimit,
+      @Value("${application.resilience.bulkhead.cache}") int cacheLimit) {
+    this.failureRateThreshold = failureRateThreshold;
+    this.slowCallDurationThreshold = slowCallDurationThreshold;
+    this.slidingWindowSize = slidingWindowSize;
+    this.minimumCalls = minimumCalls;
+    this.openDuration = openDuration;
+    this.bulkheadMaxWait = bulkheadMaxWait;
+
+    bulkheadLimits = new EnumMap<>(Dependency.class);
+    bulkheadLimits.put(Dependency.COGNITO, cognitoLimit);
+    bulkheadLimits.put(Dependency.MESSAGING, messagingLimit);
+    bulkheadLimits.put(Dependency.AUDIT, auditLimit);
+    bulkheadLimits.put(Dependency.CACHE, cacheLimit);
+  }
+
+  /**
+   * Create the circuit breaker registry, only failures of the dependency itself are recorded. Calls
+   * rejected by a full bulkhead or an open circuit breaker of a nested dependency, or aborted by
+   * the caller, never reached the dependency, so they are ignored rather than counted as failures
+   * or successes.
+   *
+   * @return The circuit breaker registry.
+   */
+  @Bean
+  public CircuitBreakerRegistry circuitBreakerRegistry() {
+    CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+        .slidingWindowType(SlidingWindowType.COUNT_BASED)
+        .slidingWindowSize(slidingWindowSize)
+        .minimumNumberOfCalls(minimumCalls)
+        .failureRateThreshold(failureRateThreshold)
+        .slowCallRateThreshold(failureRateThreshold)
+        .slowCallDurationThreshold(slowCallDurationThreshold)
+        .waitDurationInOpenState(openDuration)
+        .permittedNumberOfCallsInHalfOpenState(HALF_OPEN_CALLS)
+        .recordException(ResilienceConfiguration::isDependencyFailure)
+        .ignoreExceptions(BulkheadFullException.class, CallNotPermittedException.class,
+            AbortedException.class)
+        .build();
+    return CircuitBreakerRegistry.of(config);
+  }
+
+  /**
+   * Create the bulkhead registry, with a bulkhead sized for each dependency.
+   *
+   * @return The bulkhead registry.
+   */
+  @Bean
+  public BulkheadRegistry bulkheadRegistry() {
+    BulkheadConfig defaults = BulkheadConfig.custom()
+        .maxWaitDuration(bulkheadMaxWait)
+        .build();
+    BulkheadRegistry registry = BulkheadRegistry.of(defaults);
+
+    bulkheadLimits.forEach((dependency, limit) -> registry.bulkhead(
+        dependency.getInstanceName(),
+        BulkheadConfig.from(defaults).maxConcurrentCalls(limit).build()));
+    return registry;
+  }
+
+  /**
+   * Publish the state, failure rate and call counts of each circuit breaker.
+   *
+   * @param registry The circuit breaker registry.
+   * @return The circuit breaker metrics binder.
+   */
+  @Bean
+  public MeterBinder circuitBreakerMetrics(CircuitBreakerRegistry registry) {
+    return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry);
+  }
+
+  /**
+   * Publish the available and maximum concurrent calls of each bulkhead.
+   *
+   * @param registry The bulkhead registry.
+   * @return The bulkhead metrics binder.
+   */
+  @Bean
+  public MeterBinder bulkheadMetrics(BulkheadRegistry registry) {
+    return TaggedBulkheadMetrics.ofBulkheadRegistry(registry);
+  }
+
+  /**
+   * Whether an exception indicates the dependency is unhealthy. Client errors, such as a user not
+   * being found or a request being throttled, show the dependency is responding and must not open
+   * its circuit breaker.
+   *
+   * @param throwable The exception thrown by the call.
+   * @return Whether the exception should be recorded as a failure.
+   */
+  static boolean isDependencyFailure(Throwable throwable) {
+    if (throwable instanceof AwsServiceException e) {
+      return e.statusCode() >= 500;
+    }
+
+    return !(throwable instanceof DataIntegrityViolationException);
+  }
+}
@@ -21,6 +21,7 @@
 
 package uk.nhs.tis.trainee.usermanagement.dto;
 
+import java.io.Serializable;
 import java.time.Instant;
 import lombok.Value;
 
@@ -28,7 +29,7 @@ import lombok.Value;
  * Details of a user login event.
  */
 @Value
-public class UserLoginDetailsDto {
+public class UserLoginDetailsDto implements Serializable {
 
   String eventId;
   Instant eventDate;
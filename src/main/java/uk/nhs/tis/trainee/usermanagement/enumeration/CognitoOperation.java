@@ -0,0 +1,65 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.enumeration;
+
+/**
+ * The Cognito operations used by the service, for per-operation metrics.
+ */
+public enum CognitoOperation {
+  ADMIN_ADD_USER_TO_GROUP("AdminAddUserToGroup", true),
+  ADMIN_DELETE_USER("AdminDeleteUser", false),
+  ADMIN_GET_USER("AdminGetUser", true),
+  ADMIN_LIST_GROUPS_FOR_USER("AdminListGroupsForUser", false),
+  ADMIN_LIST_USER_AUTH_EVENTS("AdminListUserAuthEvents", false),
+  ADMIN_REMOVE_USER_FROM_GROUP("AdminRemoveUserFromGroup", true),
+  ADMIN_SET_USER_MFA_PREFERENCE("AdminSetUserMFAPreference", true),
+  ADMIN_UPDATE_USER_ATTRIBUTES("AdminUpdateUserAttributes", true),
+  LIST_USERS("ListUsers", false),
+  LIST_USERS_IN_GROUP("ListUsersInGroup", false);
+
+  private final String operationName;
+  private final boolean mauBillable;
+
+  CognitoOperation(String operationName, boolean mauBillable) {
+    this.operationName = operationName;
+    this.mauBillable = mauBillable;
+  }
+
+  /**
+   * Get the Cognito API name of the operation.
+   *
+   * @return The operation name.
+   */
+  public String getOperationName() {
+    return operationName;
+  }
+
+  /**
+   * Whether the operation acts on an individual user in a way that counts them as a monthly active
+   * user (MAU) for the purposes of billing.
+   *
+   * @return Whether the operation is MAU billable.
+   */
+  public boolean isMauBillable() {
+    return mauBillable;
+  }
+}
@@ -21,7 +21,6 @@
 
 package uk.nhs.tis.trainee.usermanagement.event;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Getter;
 import uk.nhs.tis.trainee.usermanagement.dto.ContactDetailsDto;
 
@@ -29,12 +28,12 @@ import uk.nhs.tis.trainee.usermanagement.dto.ContactDetailsDto;
  * An event wrapper for ContactDetails changes.
  */
 @Getter
-public class ContactDetailsEvent extends RecordEvent {
+public class ContactDetailsEvent extends RecordEvent<ContactDetailsDto> {
 
   private ContactDetailsDto contactDetails;
 
   @Override
-  protected void unpackData(JsonNode data) {
-    contactDetails = getObjectMapper().convertValue(data, ContactDetailsDto.class);
+  protected void unpackData(ContactDetailsDto data) {
+    contactDetails = data;
   }
 }
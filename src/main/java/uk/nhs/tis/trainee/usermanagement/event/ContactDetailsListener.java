@@ -22,11 +22,17 @@
 package uk.nhs.tis.trainee.usermanagement.event;
 
 import io.awspring.cloud.sqs.annotation.SqsListener;
+import io.awspring.cloud.sqs.listener.SqsHeaders.MessageSystemAttributes;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 import uk.nhs.tis.trainee.usermanagement.dto.ContactDetailsDto;
+import uk.nhs.tis.trainee.usermanagement.enumeration.ContactDetailsOutcome;
+import uk.nhs.tis.trainee.usermanagement.service.MetricsService;
 import uk.nhs.tis.trainee.usermanagement.service.UserAccountService;
 
 /**
@@ -37,44 +43,84 @@ import uk.nhs.tis.trainee.usermanagement.service.UserAccountService;
 public class ContactDetailsListener {
 
   private final UserAccountService service;
+  private final MetricsService metricsService;
 
-  public ContactDetailsListener(UserAccountService service) {
+  public ContactDetailsListener(UserAccountService service, MetricsService metricsService) {
     this.service = service;
+    this.metricsService = metricsService;
   }
 
   /**
    * Handle contact details being updated.
    *
-   * @param event The contact details update event.
+   * @param event         The contact details update event.
+   * @param sentTimestamp The epoch millisecond the message was sent to the queue, if available.
    */
   @SqsListener("${application.aws.sqs.contact-details.updated}")
-  public void handleContactDetailsUpdate(ContactDetailsEvent event) {
+  public void handleContactDetailsUpdate(ContactDetailsEvent event,
+      @Header(name = MessageSystemAttributes.SQS_SENT_TIMESTAMP, required = false)
+      String sentTimestamp) {
+    long start = System.nanoTime();
+    recordMessageAge(sentTimestamp);
+
     log.info("Received contact details update event '{}'.", event.getContactDetails());
 
     ContactDetailsDto dto = event.getContactDetails();
     String traineeId = dto.traineeId();
-    Set<String> userAccountIds = service.getUserAccountIds(traineeId);
+    ContactDetailsOutcome outcome = ContactDetailsOutcome.FAILED;
 
-    switch (userAccountIds.size()) {
-      case 0 -> log.info("No account exists for trainee {}, skipping username update.", traineeId);
-      case 1 -> {
-        String accountId = userAccountIds.iterator().next();
-        service.updateContactDetails(accountId, dto.email(), dto.forenames(), dto.surname());
-      }
-      default -> {
-        Optional<String> accountId = service.deleteDuplicateAccounts(traineeId, userAccountIds,
-            dto.email());
+    try {
+      Set<String> userAccountIds = service.getUserAccountIds(traineeId);
 
-        if (accountId.isPresent()) {
-          service.updateContactDetails(accountId.get(), dto.email(), dto.forenames(),
-              dto.surname());
-        } else {
-          String message = String.format(
-              "%s accounts found for trainee %s, unable to update contact details. Found: [%s]",
-              userAccountIds.size(), traineeId, String.join(",", userAccountIds));
-          throw new IllegalArgumentException(message);
+      switch (userAccountIds.size()) {
+        case 0 -> {
+          log.info("No account exists for trainee {}, skipping username update.", traineeId);
+          outcome = ContactDetailsOutcome.NO_ACCOUNT;
+        }
+        case 1 -> {
+          String accountId = userAccountIds.iterator().next();
+          service.updateContactDetails(accountId, dto.email(), dto.forenames(), dto.surname());
+          outcome = ContactDetailsOutcome.SINGLE_ACCOUNT;
+        }
+        default -> {
+          Optional<String> accountId = service.deleteDuplicateAccounts(traineeId, userAccountIds,
+              dto.email());
+
+          if (accountId.isPresent()) {
+            service.updateContactDetails(accountId.get(), dto.email(), dto.forenames(),
+                dto.surname());
+            outcome = ContactDetailsOutcome.DUPLICATES_RESOLVED;
+          } else {
+            outcome = ContactDetailsOutcome.DUPLICATES_UNRESOLVED;
+            String message = String.format(
+                "%s accounts found for trainee %s, unable to update contact details. Found: [%s]",
+                userAccountIds.size(), traineeId, String.join(",", userAccountIds));
+            throw new IllegalArgumentException(message);
+          }
         }
       }
+    } finally {
+      metricsService.recordContactDetailsUpdate(outcome,
+          Duration.ofNanos(System.nanoTime() - start));
+    }
+  }
+
+  /**
+   * Record the time the message spent on the queue, the metric is skipped if the sent timestamp is
+   * unavailable or invalid so the update is still handled.
+   *
+   * @param sentTimestamp The epoch millisecond the message was sent to the queue, may be null.
+   */
+  private void recordMessageAge(String sentTimestamp) {
+    if (sentTimestamp == null) {
+      return;
+    }
+
+    try {
+      Instant sent = Instant.ofEpochMilli(Long.parseLong(sentTimestamp));
+      metricsService.recordContactDetailsMessageAge(Duration.between(sent, Instant.now()));
+    } catch (NumberFormatException e) {
+      log.warn("Unable to parse sent timestamp '{}', skipping message age.", sentTimestamp);
     }
   }
 }
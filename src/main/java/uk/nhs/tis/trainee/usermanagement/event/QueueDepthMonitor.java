@@ -0,0 +1,100 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.event;
+
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import uk.nhs.tis.trainee.usermanagement.service.MetricsService;
+
+/**
+ * Periodically polls the approximate depth of the contact details queue, so listener concurrency
+ * can be sized against the real backlog.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.cloud.aws.sqs.enabled", havingValue = "true",
+    matchIfMissing = true)
+public class QueueDepthMonitor {
+
+  private final SqsAsyncClient sqsClient;
+  private final MetricsService metricsService;
+  private final String queue;
+
+  private String queueUrl;
+
+  /**
+   * Create a monitor for the contact details queue depth.
+   *
+   * @param sqsClient      The SQS client to get queue attributes with.
+   * @param metricsService The service to record the queue depth with.
+   * @param queue          The name or URL of the contact details queue.
+   */
+  QueueDepthMonitor(SqsAsyncClient sqsClient, MetricsService metricsService,
+      @Value("${application.aws.sqs.contact-details.updated}") String queue) {
+    this.sqsClient = sqsClient;
+    this.metricsService = metricsService;
+    this.queue = queue;
+  }
+
+  /**
+   * Poll the approximate number of visible and in-flight messages on the queue.
+   */
+  @Scheduled(fixedDelayString = "${application.aws.sqs.depth-poll-interval}",
+      initialDelayString = "${application.aws.sqs.depth-poll-interval}")
+  public void pollQueueDepth() {
+    if (!StringUtils.hasText(queue)) {
+      return;
+    }
+
+    try {
+      if (queueUrl == null) {
+        queueUrl = queue.startsWith("http") ? queue : sqsClient.getQueueUrl(
+            GetQueueUrlRequest.builder().queueName(queue).build()).join().queueUrl();
+      }
+
+      GetQueueAttributesRequest request = GetQueueAttributesRequest.builder()
+          .queueUrl(queueUrl)
+          .attributeNames(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES,
+              QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE)
+          .build();
+      Map<QueueAttributeName, String> attributes = sqsClient.getQueueAttributes(request).join()
+          .attributes();
+
+      metricsService.recordContactDetailsQueueDepth(
+          Long.parseLong(attributes.getOrDefault(
+              QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES, "0")),
+          Long.parseLong(attributes.getOrDefault(
+              QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE, "0")));
+    } catch (RuntimeException e) {
+      log.warn("Unable to poll the depth of queue '{}'.", queue, e);
+    }
+  }
+}
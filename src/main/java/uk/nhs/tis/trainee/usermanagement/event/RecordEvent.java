@@ -21,45 +21,45 @@
 
 package uk.nhs.tis.trainee.usermanagement.event;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.json.JsonMapper;
 import lombok.Getter;
 
 /**
- * An abstract representation of a record event.
+ * An abstract representation of a record event. The record is bound directly from the token
+ * stream, only the fields of the data type are read and any other record content is skipped
+ * without being materialized.
+ *
+ * @param <T> The type to bind the record data to.
  */
 @Getter
-public abstract class RecordEvent {
-
-  private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
-      .findAndAddModules()
-      .build();
+public abstract class RecordEvent<T> {
 
   /**
-   * Unpack the record node of the event JSON.
+   * Unpack the record of the event JSON.
    *
-   * @param recordNode The node to unpack.
+   * @param record The record to unpack.
    */
   @JsonProperty("record")
-  private void unpackRecord(JsonNode recordNode) {
-    unpackData(recordNode.get("data"));
+  private void unpackRecord(EventRecord<T> record) {
+    unpackData(record == null ? null : record.data());
   }
 
   /**
-   * Unpack the data node of the event JSON.
+   * Unpack the data of the event JSON.
    *
-   * @param dataNode The data node to unpack.
+   * @param data The bound data, null if not present.
    */
-  protected abstract void unpackData(JsonNode dataNode);
+  protected abstract void unpackData(T data);
 
   /**
-   * Get a configured object mapper to use for object conversion.
+   * The record of a record event, other record fields such as metadata are ignored.
    *
-   * @return The configured object mapper.
+   * @param data The record data.
+   * @param <T>  The type to bind the record data to.
    */
-  protected ObjectMapper getObjectMapper() {
-    return OBJECT_MAPPER;
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  record EventRecord<T>(T data) {
+
   }
 }
@@ -27,7 +27,6 @@ import java.util.List;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminGetUserResponse;
-import software.amazon.awssdk.services.cognitoidentityprovider.model.AttributeType;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
 import uk.nhs.tis.trainee.usermanagement.dto.UserAccountDetailsDto;
 import uk.nhs.tis.trainee.usermanagement.enumeration.MfaType;
@@ -45,14 +44,27 @@ public interface UserAccountDetailsMapper {
    * @param groups Groups to associate with the user.
    * @return The converted DTO.
    */
-  @Mapping(target = "id", expression = "java(getId(user.attributes()))")
-  @Mapping(target = "email", expression = "java(getEmail(user.attributes()))")
-  @Mapping(target = "mfaStatus", expression = "java(getCustomMfaType(user.attributes()))")
+  default UserAccountDetailsDto toDto(UserType user, List<String> groups) {
+    return toDto(user, UserAttributes.from(user.attributes()), groups);
+  }
+
+  /**
+   * Convert a {@link UserType} to a {@link UserAccountDetailsDto}, using its already indexed
+   * attributes.
+   *
+   * @param user       The user type to convert.
+   * @param attributes The indexed attributes of the user.
+   * @param groups     Groups to associate with the user.
+   * @return The converted DTO.
+   */
+  @Mapping(target = "id", source = "attributes.sub")
+  @Mapping(target = "email", source = "attributes.email")
+  @Mapping(target = "mfaStatus", source = "attributes.mfaType")
   @Mapping(target = "userStatus", expression = "java(user.userStatusAsString())")
   @Mapping(target = "groups", source = "groups")
   @Mapping(target = "accountCreated", expression = "java(user.userCreateDate())")
-  @Mapping(target = "traineeId", expression = "java(getTraineeId(user.attributes()))")
-  UserAccountDetailsDto toDto(UserType user, List<String> groups);
+  @Mapping(target = "traineeId", source = "attributes.tisId")
+  UserAccountDetailsDto toDto(UserType user, UserAttributes attributes, List<String> groups);
 
   /**
    * Convert a {@link AdminGetUserResponse} to a {@link UserAccountDetailsDto}.
@@ -61,70 +73,27 @@ public interface UserAccountDetailsMapper {
    * @param groups Groups to associate with the user.
    * @return The converted DTO.
    */
-  @Mapping(target = "id", expression = "java(getId(result.userAttributes()))")
-  @Mapping(target = "email", expression = "java(getEmail(result.userAttributes()))")
-  @Mapping(target = "mfaStatus",
-      expression = "java(MfaType.fromAdminGetUserResult(result).toString())")
-  @Mapping(target = "userStatus", expression = "java(result.userStatusAsString())")
-  @Mapping(target = "groups", source = "groups")
-  @Mapping(target = "accountCreated", expression = "java(result.userCreateDate())")
-  @Mapping(target = "traineeId", expression = "java(getTraineeId(result.userAttributes()))")
-  UserAccountDetailsDto toDto(AdminGetUserResponse result, List<String> groups);
-
-  /**
-   * Get the user ID from the user attributes.
-   *
-   * @param attributes The attribute list.
-   * @return The attribute value, or null if not found in the list.
-   */
-  default String getId(List<AttributeType> attributes) {
-    return getAttribute("sub", attributes);
-
+  default UserAccountDetailsDto toDto(AdminGetUserResponse result, List<String> groups) {
+    return toDto(result, UserAttributes.from(result.userAttributes()), groups);
   }
 
   /**
-   * Get the email from the user attributes.
+   * Convert a {@link AdminGetUserResponse} to a {@link UserAccountDetailsDto}, using its already
+   * indexed attributes.
    *
-   * @param attributes The attribute list.
-   * @return The attribute value, or null if not found in the list.
-   */
-  default String getEmail(List<AttributeType> attributes) {
-    return getAttribute("email", attributes);
-  }
-
-  /**
-   * Get the custom MFA Type attribute from the user attributes.
-   *
-   * @param attributes The attribute list.
-   * @return The attribute value, or null if not found in the list.
-   */
-  default String getCustomMfaType(List<AttributeType> attributes) {
-    return getAttribute("custom:mfaType", attributes);
-  }
-
-  /**
-   * Get the trainee ID from the user attributes.
-   *
-   * @param attributes The attribute list.
-   * @return The attribute value, or null if not found in the list.
-   */
-  default String getTraineeId(List<AttributeType> attributes) {
-    return getAttribute("custom:tisId", attributes);
-
-  }
-
-  /**
-   * Get the named attribute from an {@link AttributeType} list.
-   *
-   * @param name       The name of the attribute to find.
-   * @param attributes The attribute list.
-   * @return The attribute value, or null if not found.
+   * @param result     The result to convert.
+   * @param attributes The indexed attributes of the user.
+   * @param groups     Groups to associate with the user.
+   * @return The converted DTO.
    */
-  default String getAttribute(String name, List<AttributeType> attributes) {
-    return attributes == null ? null : attributes.stream()
-        .filter(ua -> ua.name().equals(name))
-        .map(AttributeType::value)
-        .findAny()
-        .orElse(null);
-  }
+  @Mapping(target = "id", source = "attributes.sub")
+  @Mapping(target = "email", source = "attributes.email")
+  @Mapping(target = "mfaStatus",
+      expression = "java(MfaType.fromAdminGetUserResult(result).toString())")
+  @Mapping(target = "userStatus", expression = "java(result.userStatusAsString())")
+  @Mapping(target = "groups", source = "groups")
+  @Mapping(target = "accountCreated", expression = "java(result.userCreateDate())")
+  @Mapping(target = "traineeId", source = "attributes.tisId")
+  UserAccountDetailsDto toDto(AdminGetUserResponse result, UserAttributes attributes,
+      List<String> groups);
 }
@@ -0,0 +1,72 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.mapper;
+
+import java.util.List;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AttributeType;
+
+/**
+ * The Cognito user attributes used by this service, indexed from a user's attribute list in a
+ * single pass.
+ *
+ * @param sub     The user's sub, or null if not present.
+ * @param email   The user's email, or null if not present.
+ * @param mfaType The user's custom MFA type, or null if not present.
+ * @param tisId   The user's TIS ID, or null if not present.
+ */
+public record UserAttributes(String sub, String email, String mfaType, String tisId) {
+
+  public static final String ATTRIBUTE_EMAIL = "email";
+  public static final String ATTRIBUTE_MFA_TYPE = "custom:mfaType";
+  public static final String ATTRIBUTE_SUB = "sub";
+  public static final String ATTRIBUTE_TIS_ID = "custom:tisId";
+
+  /**
+   * Index the used attributes from an {@link AttributeType} list. Where an attribute appears more
+   * than once the first value is used, other attributes are ignored.
+   *
+   * @param attributes The attribute list, may be null.
+   * @return The indexed attributes.
+   */
+  public static UserAttributes from(List<AttributeType> attributes) {
+    String sub = null;
+    String email = null;
+    String mfaType = null;
+    String tisId = null;
+
+    if (attributes != null) {
+      for (AttributeType attribute : attributes) {
+        switch (attribute.name()) {
+          case ATTRIBUTE_SUB -> sub = sub == null ? attribute.value() : sub;
+          case ATTRIBUTE_EMAIL -> email = email == null ? attribute.value() : email;
+          case ATTRIBUTE_MFA_TYPE -> mfaType = mfaType == null ? attribute.value() : mfaType;
+          case ATTRIBUTE_TIS_ID -> tisId = tisId == null ? attribute.value() : tisId;
+          default -> {
+            // Other attributes are not used.
+          }
+        }
+      }
+    }
+
+    return new UserAttributes(sub, email, mfaType, tisId);
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.model;
+
+import java.time.Instant;
+import java.util.Set;
+import lombok.Builder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * The outcome of resolving the duplicate accounts of a single trainee during a pool-wide duplicate
+ * account resolution run.
+ *
+ * @param id                 The unique identifier of the outcome, unique per run and trainee.
+ * @param reportId           The ID of the run the outcome belongs to.
+ * @param traineeId          The ID of the trainee.
+ * @param accountIds         The IDs of the duplicate user accounts found for the trainee.
+ * @param profileEmail       The email of the duplicate user accounts, if they all have the same
+ *                           email.
+ * @param status             The status of the outcome.
+ * @param remainingAccountId The ID of the remaining user account, if resolved.
+ * @param reason             The reason the duplicates were not resolved, if applicable.
+ * @param processed          The time the trainee's duplicates were processed.
+ */
+@Document("DuplicateResolutionOutcome")
+@CompoundIndex(def = "{'reportId': 1, 'status': 1}")
+@Builder(toBuilder = true)
+public record DuplicateResolutionOutcome(
+    @Id
+    String id,
+
+    String reportId,
+    String traineeId,
+    Set<String> accountIds,
+    String profileEmail,
+    Status status,
+    String remainingAccountId,
+    String reason,
+    Instant processed) {
+
+  /**
+   * The status of a duplicate account resolution outcome.
+   */
+  public enum Status {
+    PENDING,
+    RESOLVED,
+    UNRESOLVED,
+    FAILED
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.model;
+
+import java.time.Instant;
+import java.util.Map;
+import lombok.Builder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * The progress of a pool-wide duplicate account resolution run, the outcome for each trainee is
+ * stored separately as a {@link DuplicateResolutionOutcome}.
+ *
+ * @param id            The unique identifier of the run.
+ * @param status        The current status of the run.
+ * @param started       The time the run was started.
+ * @param updated       The time progress was last recorded.
+ * @param scanCompleted The time the user pool scan was completed.
+ * @param completed     The time the run was completed.
+ * @param accountCount  The number of user accounts scanned.
+ * @param traineeCount  The number of trainees found with duplicate accounts.
+ * @param outcomes      The number of trainees with each outcome status, populated when read.
+ * @param failureReason The reason the run failed, if applicable.
+ * @param active        Set only while the run is active, its unique index prevents concurrent runs.
+ * @param owner         The ID of the instance running the run, if any.
+ * @param leaseExpires  The time the owner's lease expires, after which another instance may resume
+ *                      the run. Renewed periodically by the owner while it is running.
+ * @param version       The version of the report, used to detect changes by other instances.
+ */
+@Document("DuplicateResolutionReport")
+@Builder(toBuilder = true)
+public record DuplicateResolutionReport(
+    @Id
+    String id,
+
+    @Indexed
+    Status status,
+
+    Instant started,
+    Instant updated,
+    Instant scanCompleted,
+    Instant completed,
+    long accountCount,
+    long traineeCount,
+    Map<DuplicateResolutionOutcome.Status, Long> outcomes,
+    String failureReason,
+
+    @Indexed(unique = true, sparse = true)
+    Boolean active,
+
+    String owner,
+    Instant leaseExpires,
+
+    @Version
+    Long version) {
+
+  /**
+   * The status of a duplicate account resolution run.
+   */
+  public enum Status {
+    SCANNING,
+    RESOLVING,
+    COMPLETED,
+    FAILED;
+
+    /**
+     * Whether runs with this status still have work remaining.
+     *
+     * @return true if the run is not yet completed or failed.
+     */
+    public boolean isActive() {
+      return this == SCANNING || this == RESOLVING;
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.model;
+
+import java.time.Instant;
+import java.util.Map;
+import lombok.Builder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A background job processing a batch of items, the progress of each item is stored separately as
+ * a {@link JobItem}.
+ *
+ * @param id            The unique identifier of the job.
+ * @param type          The type of the job.
+ * @param status        The current status of the job.
+ * @param parameters    The parameters shared by all items of the job.
+ * @param concurrency   The maximum number of items of the job to process concurrently.
+ * @param itemCount     The number of items in the job.
+ * @param items         The number of items with each status, populated when read.
+ * @param submitted     The time the job was submitted.
+ * @param started       The time processing of the job started.
+ * @param updated       The time progress was last recorded.
+ * @param completed     The time the job was completed or cancelled.
+ * @param failureReason The reason the job failed, if applicable.
+ * @param owner         The ID of the instance running the job, if any.
+ * @param leaseExpires  The time the owner's lease expires, after which another instance may resume
+ *                      the job. Renewed periodically by the owner while the job is active.
+ * @param version       The version of the job, used to detect cancellation and other changes.
+ */
+@Document("Job")
+@Builder(toBuilder = true)
+public record Job(
+    @Id
+    String id,
+
+    JobType type,
+
+    @Indexed
+    Status status,
+
+    Map<String, String> parameters,
+    int concurrency,
+    long itemCount,
+    Map<JobItem.Status, Long> items,
+    Instant submitted,
+    Instant started,
+    Instant updated,
+    Instant completed,
+    String failureReason,
+    String owner,
+    Instant leaseExpires,
+
+    @Version
+    Long version) {
+
+  /**
+   * The parameter holding the name of the user group for group membership jobs.
+   */
+  public static final String PARAMETER_GROUP_NAME = "groupName";
+
+  /**
+   * The status of a background job.
+   */
+  public enum Status {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.model;
+
+import java.time.Instant;
+import lombok.Builder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A single item processed as part of a background {@link Job}.
+ *
+ * @param id        The unique identifier of the item, unique per job and key.
+ * @param jobId     The ID of the job the item belongs to.
+ * @param key       The key of the item within the job, such as a username.
+ * @param status    The status of the item.
+ * @param message   Additional details of the result, such as a failure reason.
+ * @param processed The time the item was processed.
+ */
+@Document("JobItem")
+@CompoundIndex(def = "{'jobId': 1, 'status': 1}")
+@Builder(toBuilder = true)
+public record JobItem(
+    @Id
+    String id,
+
+    String jobId,
+    String key,
+    Status status,
+    String message,
+    Instant processed) {
+
+  /**
+   * The status of a job item.
+   */
+  public enum Status {
+    PENDING,
+    SUCCEEDED,
+    SKIPPED,
+    FAILED
+  }
+}
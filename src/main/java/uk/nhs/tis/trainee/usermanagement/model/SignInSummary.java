@@ -0,0 +1,60 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.model;
+
+import java.time.Instant;
+import lombok.Builder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A summary of the sign-in history of a user account, maintained incrementally from the Cognito
+ * auth events so that it can be read without paging through the full history.
+ *
+ * @param userId               The ID of the user account.
+ * @param lastSuccessfulSignIn The time of the last successful sign-in, null if never successful.
+ * @param failedSignInCount    The number of failed sign-in attempts.
+ * @param lastEventId          The ID of the newest auth event included in the summary.
+ * @param lastEventDate        The time of the newest auth event included in the summary.
+ * @param lastChecked          The time the summary was last refreshed from Cognito.
+ * @param version              The version of the summary, used to detect concurrent refreshes.
+ */
+@Document("SignInSummary")
+@Builder(toBuilder = true)
+public record SignInSummary(
+    @Id
+    String userId,
+
+    Instant lastSuccessfulSignIn,
+    int failedSignInCount,
+    String lastEventId,
+    Instant lastEventDate,
+
+    @Indexed
+    Instant lastChecked,
+
+    @Version
+    Long version) {
+
+}
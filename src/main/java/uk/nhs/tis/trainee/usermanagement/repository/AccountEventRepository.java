@@ -21,13 +21,32 @@
 
 package uk.nhs.tis.trainee.usermanagement.repository;
 
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import uk.nhs.tis.trainee.usermanagement.model.AccountEvent;
+import uk.nhs.tis.trainee.usermanagement.model.AccountEventType;
 
 /**
  * Repository for {@link AccountEvent} entities.
  */
 public interface AccountEventRepository extends MongoRepository<AccountEvent, UUID> {
 
+  /**
+   * Stream all account events from a database cursor, the stream must be closed after use.
+   *
+   * @return A stream of all account events.
+   */
+  Stream<AccountEvent> streamAllBy();
+
+  /**
+   * Find the most recent account event of the given type for a trainee.
+   *
+   * @param traineeId The ID of the trainee.
+   * @param type      The type of event.
+   * @return The most recent matching event, or empty if none found.
+   */
+  Optional<AccountEvent> findFirstByTraineeIdAndTypeOrderByCreatedDesc(String traineeId,
+      AccountEventType type);
 }
@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionReport;
+import uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionReport.Status;
+
+/**
+ * Repository for {@link DuplicateResolutionReport} entities.
+ */
+public interface DuplicateResolutionReportRepository extends
+    MongoRepository<DuplicateResolutionReport, String> {
+
+  /**
+   * Find the most recently started report with one of the given statuses.
+   *
+   * @param statuses The statuses to match.
+   * @return The most recent matching report, or empty if none match.
+   */
+  Optional<DuplicateResolutionReport> findFirstByStatusInOrderByStartedDesc(
+      Collection<Status> statuses);
+
+  /**
+   * Find the reports with one of the given statuses whose lease has expired or been released.
+   *
+   * @param statuses The statuses to match.
+   * @param now      The current time.
+   * @return The abandoned reports.
+   */
+  @Query("{ 'status': { '$in': ?0 },"
+      + " '$or': [ { 'leaseExpires': null }, { 'leaseExpires': { '$lt': ?1 } } ] }")
+  List<DuplicateResolutionReport> findAbandoned(Collection<Status> statuses, Instant now);
+
+  /**
+   * Claim an abandoned report for the given owner, if it has not already been claimed.
+   *
+   * @param id           The ID of the report.
+   * @param statuses     The statuses the report must have.
+   * @param now          The current time.
+   * @param owner        The ID of the claiming instance.
+   * @param leaseExpires The time the claimed lease expires.
+   * @return The number of claimed reports, zero if another instance holds the lease.
+   */
+  @Query("{ '_id': ?0, 'status': { '$in': ?1 },"
+      + " '$or': [ { 'leaseExpires': null }, { 'leaseExpires': { '$lt': ?2 } } ] }")
+  @Update("{ '$set': { 'owner': ?3, 'leaseExpires': ?4 }, '$inc': { 'version': 1 } }")
+  long claim(String id, Collection<Status> statuses, Instant now, String owner,
+      Instant leaseExpires);
+
+  /**
+   * Renew the leases of all reports with one of the given statuses held by the given owner.
+   *
+   * @param owner        The ID of the owning instance.
+   * @param statuses     The statuses to match.
+   * @param leaseExpires The time the renewed leases expire.
+   * @return The number of renewed leases.
+   */
+  @Query("{ 'owner': ?0, 'status': { '$in': ?1 } }")
+  @Update("{ '$set': { 'leaseExpires': ?2 } }")
+  long renewLeases(String owner, Collection<Status> statuses, Instant leaseExpires);
+
+  /**
+   * Release the lease of a report, if still held by the given owner, so that it may be resumed.
+   *
+   * @param id    The ID of the report.
+   * @param owner The ID of the owning instance.
+   * @return The number of released leases.
+   */
+  @Query("{ '_id': ?0, 'owner': ?1 }")
+  @Update("{ '$unset': { 'owner': '', 'leaseExpires': '' } }")
+  long releaseLease(String id, String owner);
+}
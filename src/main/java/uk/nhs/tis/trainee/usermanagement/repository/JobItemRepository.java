@@ -0,0 +1,53 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import uk.nhs.tis.trainee.usermanagement.model.JobItem;
+import uk.nhs.tis.trainee.usermanagement.model.JobItem.Status;
+
+/**
+ * Repository for {@link JobItem} entities.
+ */
+public interface JobItemRepository extends MongoRepository<JobItem, String> {
+
+  /**
+   * Find the items of a job with the given status.
+   *
+   * @param jobId    The ID of the job.
+   * @param status   The status to match.
+   * @param pageable The page of items to find.
+   * @return The matching items.
+   */
+  List<JobItem> findByJobIdAndStatus(String jobId, Status status, Pageable pageable);
+
+  /**
+   * Count the items of a job with the given status.
+   *
+   * @param jobId  The ID of the job.
+   * @param status The status to match.
+   * @return The number of matching items.
+   */
+  long countByJobIdAndStatus(String jobId, Status status);
+}
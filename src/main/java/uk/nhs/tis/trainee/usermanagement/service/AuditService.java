@@ -25,6 +25,7 @@ import static uk.nhs.tis.trainee.usermanagement.model.AccountEventType.EMAIL_UPD
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import uk.nhs.tis.trainee.usermanagement.enumeration.Dependency;
 import uk.nhs.tis.trainee.usermanagement.model.AccountEvent;
 import uk.nhs.tis.trainee.usermanagement.model.AccountEvent.EmailUpdatedDetail;
 import uk.nhs.tis.trainee.usermanagement.repository.AccountEventRepository;
@@ -37,9 +38,17 @@ import uk.nhs.tis.trainee.usermanagement.repository.AccountEventRepository;
 public class AuditService {
 
   private final AccountEventRepository repository;
+  private final DependencyGuard guard;
 
-  public AuditService(AccountEventRepository repository) {
+  /**
+   * Create a service for recording audit events.
+   *
+   * @param repository The repository to record audit events in.
+   * @param guard      The guard isolating writes to the audit store.
+   */
+  public AuditService(AccountEventRepository repository, DependencyGuard guard) {
     this.repository = repository;
+    this.guard = guard;
   }
 
   /**
@@ -60,6 +69,6 @@ public class AuditService {
         .type(EMAIL_UPDATED)
         .detail(emailUpdatedDetail)
         .build();
-    repository.insert(event);
+    guard.run(Dependency.AUDIT, () -> repository.insert(event));
   }
 }
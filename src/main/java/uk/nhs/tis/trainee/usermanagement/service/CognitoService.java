@@ -21,7 +21,12 @@
 
 package uk.nhs.tis.trainee.usermanagement.service;
 
+import com.amazonaws.xray.spring.aop.XRayEnabled;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -44,42 +49,70 @@ import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminSetUse
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminUpdateUserAttributesRequest;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AttributeType;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.GroupType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersInGroupRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersInGroupResponse;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersRequest;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.TooManyRequestsException;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
 import uk.nhs.tis.trainee.usermanagement.dto.UserAccountDetailsDto;
+import uk.nhs.tis.trainee.usermanagement.enumeration.CognitoOperation;
+import uk.nhs.tis.trainee.usermanagement.enumeration.CognitoOutcome;
+import uk.nhs.tis.trainee.usermanagement.enumeration.CostComponent;
+import uk.nhs.tis.trainee.usermanagement.enumeration.Dependency;
 import uk.nhs.tis.trainee.usermanagement.enumeration.MfaType;
 import uk.nhs.tis.trainee.usermanagement.mapper.UserAccountDetailsMapper;
+import uk.nhs.tis.trainee.usermanagement.mapper.UserAttributes;
 
 /**
  * A wrapper around common Cognito endpoints adding additional functionality and caching.
  */
 @Slf4j
 @Service
+@XRayEnabled
 public class CognitoService {
 
   private static final String ATTRIBUTE_EMAIL = "email";
   private static final String ATTRIBUTE_MFA_TYPE = "custom:mfaType";
   private static final String ATTRIBUTE_SUB = "sub";
+  private static final int MAX_THROTTLED_RETRIES = 5;
 
   private final CognitoIdentityProviderClient cognitoClient;
   private final String userPoolId;
   private final UserAccountDetailsMapper mapper;
+  private final CognitoRateLimiter rateLimiter;
+  private final MetricsService metricsService;
+  private final DependencyGuard guard;
+  private final ThreadLocal<Boolean> paced = ThreadLocal.withInitial(() -> false);
+  private final SingleFlight<String, ListUsersResponse> userLookups;
+  private final SingleFlight<String, List<String>> groupLookups;
 
   /**
    * Construct an instance of the CognitoService.
    *
-   * @param cognitoClient The CognitoIdentityProviderClient to use.
-   * @param userPoolId    The user pool to connect to.
-   * @param mapper        A user details mapper.
+   * @param cognitoClient  The CognitoIdentityProviderClient to use.
+   * @param userPoolId     The user pool to connect to.
+   * @param mapper         A user details mapper.
+   * @param rateLimiter    The shared rate limiter for bulk Cognito requests.
+   * @param metricsService The service used to record per-operation request metrics.
+   * @param guard          The guard isolating calls to Cognito.
    */
   public CognitoService(CognitoIdentityProviderClient cognitoClient,
       @Value("${application.aws.cognito.user-pool-id}") String userPoolId,
-      UserAccountDetailsMapper mapper) {
+      UserAccountDetailsMapper mapper, CognitoRateLimiter rateLimiter,
+      MetricsService metricsService, DependencyGuard guard) {
     this.cognitoClient = cognitoClient;
     this.userPoolId = userPoolId;
     this.mapper = mapper;
+    this.rateLimiter = rateLimiter;
+    this.metricsService = metricsService;
+    this.guard = guard;
+
+    userLookups = new SingleFlight<>(shared -> metricsService.incrementCognitoCoalescingCounter(
+        CognitoOperation.LIST_USERS, shared), this::recordSharedWait);
+    groupLookups = new SingleFlight<>(shared -> metricsService.incrementCognitoCoalescingCounter(
+        CognitoOperation.ADMIN_LIST_GROUPS_FOR_USER, shared), this::recordSharedWait);
   }
 
   /**
@@ -88,6 +121,10 @@ public class CognitoService {
    * data is not available via alternative endpoints, then {@code adminGetUser()} will still be used
    * as a fallback.
    *
+   * <p>Concurrent lookups of the same username share a single {@code ListUsers} and
+   * {@code AdminListGroupsForUser} request, unless a write to a user was made after the shared
+   * request was sent.
+   *
    * <p><b>Warning</b>: this will contribute to monthly active user (MAU) count for the purposes of
    * billing if the fallback is used.
    *
@@ -98,15 +135,14 @@ public class CognitoService {
     UserType user = getUser(username);
     List<String> groups = getUserGroups(username);
 
+    UserAttributes attributes = UserAttributes.from(user.attributes());
+
     // Exclude NO_MFA for now, there is no guarantee that the attribute is set when MFA is set up.
-    boolean mfaTypeAvailable = user.attributes().stream()
-        .filter(ua -> ua.name().equals(ATTRIBUTE_MFA_TYPE))
-        .map(AttributeType::value)
-        .map(MfaType::valueOf)
-        .anyMatch(mfa -> mfa != MfaType.NO_MFA);
+    boolean mfaTypeAvailable = attributes.mfaType() != null
+        && MfaType.valueOf(attributes.mfaType()) != MfaType.NO_MFA;
 
     if (mfaTypeAvailable) {
-      return mapper.toDto(user, groups);
+      return mapper.toDto(user, attributes, groups);
     } else {
       log.info("MFA details not available via attributes, calling AdminGetUser endpoint.");
       AdminGetUserResponse response = getUserFallback(username);
@@ -129,14 +165,15 @@ public class CognitoService {
    * @return The user matching the username.
    * @throws UserNotFoundException If no users were found for the given username.
    */
-  private UserType getUser(String username) {
+  UserType getUser(String username) {
     String attribute = username.contains("@") ? ATTRIBUTE_EMAIL : ATTRIBUTE_SUB;
     ListUsersRequest request = ListUsersRequest.builder()
         .userPoolId(userPoolId)
         .filter(String.format("%s=\"%s\"", attribute, username))
         .build();
 
-    ListUsersResponse response = cognitoClient.listUsers(request);
+    ListUsersResponse response = userLookups.execute(username,
+        () -> call(CognitoOperation.LIST_USERS, () -> cognitoClient.listUsers(request)));
     List<UserType> users = response.users();
 
     if (users.isEmpty()) {
@@ -161,7 +198,18 @@ public class CognitoService {
         .userPoolId(userPoolId)
         .username(username)
         .build();
-    return cognitoClient.adminGetUser(request);
+    return call(CognitoOperation.ADMIN_GET_USER, () -> cognitoClient.adminGetUser(request));
+  }
+
+  /**
+   * Check whether a user is currently a member of a group, according to Cognito.
+   *
+   * @param username  The username for the account.
+   * @param groupName The name of the group.
+   * @return Whether the user is a member of the group, false if the user was not found.
+   */
+  public boolean isUserInGroup(String username, String groupName) {
+    return getUserGroups(username).contains(groupName);
   }
 
   /**
@@ -177,15 +225,19 @@ public class CognitoService {
         .username(username)
         .build();
 
-    try {
-      AdminListGroupsForUserResponse response = cognitoClient.adminListGroupsForUser(request);
-      return response.groups().stream()
-          .map(GroupType::groupName)
-          .toList();
-    } catch (UserNotFoundException e) {
-      log.info("User '{}' not found while retrieving groups.", username);
-      return List.of();
-    }
+    return groupLookups.execute(username, () -> {
+      try {
+        AdminListGroupsForUserResponse response = call(
+            CognitoOperation.ADMIN_LIST_GROUPS_FOR_USER,
+            () -> cognitoClient.adminListGroupsForUser(request));
+        return response.groups().stream()
+            .map(GroupType::groupName)
+            .toList();
+      } catch (UserNotFoundException e) {
+        log.info("User '{}' not found while retrieving groups.", username);
+        return List.of();
+      }
+    });
   }
 
   /**
@@ -200,7 +252,8 @@ public class CognitoService {
         .username(userId)
         .userAttributes(attributeTypes)
         .build();
-    cognitoClient.adminUpdateUserAttributes(updateRequest);
+    written(() -> call(CognitoOperation.ADMIN_UPDATE_USER_ATTRIBUTES,
+        () -> cognitoClient.adminUpdateUserAttributes(updateRequest)));
 
     String attributes = attributeTypes.stream()
         .map(AttributeType::name)
@@ -212,14 +265,16 @@ public class CognitoService {
    * @see CognitoIdentityProviderClient#adminAddUserToGroup(AdminAddUserToGroupRequest)
    */
   public AdminAddUserToGroupResponse adminAddUserToGroup(AdminAddUserToGroupRequest request) {
-    return cognitoClient.adminAddUserToGroup(request);
+    return written(() -> call(CognitoOperation.ADMIN_ADD_USER_TO_GROUP,
+        () -> cognitoClient.adminAddUserToGroup(request)));
   }
 
   /**
    * @see CognitoIdentityProviderClient#adminDeleteUser(AdminDeleteUserRequest)
    */
   public AdminDeleteUserResponse adminDeleteUser(AdminDeleteUserRequest request) {
-    return cognitoClient.adminDeleteUser(request);
+    return written(() -> call(CognitoOperation.ADMIN_DELETE_USER,
+        () -> cognitoClient.adminDeleteUser(request)));
   }
 
   /**
@@ -227,7 +282,8 @@ public class CognitoService {
    */
   public AdminListUserAuthEventsResponse adminListUserAuthEvents(
       AdminListUserAuthEventsRequest request) {
-    return cognitoClient.adminListUserAuthEvents(request);
+    return call(CognitoOperation.ADMIN_LIST_USER_AUTH_EVENTS,
+        () -> cognitoClient.adminListUserAuthEvents(request));
   }
 
   /**
@@ -235,7 +291,8 @@ public class CognitoService {
    */
   public AdminRemoveUserFromGroupResponse adminRemoveUserFromGroup(
       AdminRemoveUserFromGroupRequest request) {
-    return cognitoClient.adminRemoveUserFromGroup(request);
+    return written(() -> call(CognitoOperation.ADMIN_REMOVE_USER_FROM_GROUP,
+        () -> cognitoClient.adminRemoveUserFromGroup(request)));
   }
 
   /**
@@ -243,13 +300,241 @@ public class CognitoService {
    */
   public AdminSetUserMfaPreferenceResponse adminSetUserMfaPreference(
       AdminSetUserMfaPreferenceRequest request) {
-    return cognitoClient.adminSetUserMFAPreference(request);
+    return written(() -> call(CognitoOperation.ADMIN_SET_USER_MFA_PREFERENCE,
+        () -> cognitoClient.adminSetUserMFAPreference(request)));
   }
 
   /**
    * @see CognitoIdentityProviderClient#listUsers(ListUsersRequest)
    */
   public ListUsersResponse listUsers(ListUsersRequest request) {
-    return cognitoClient.listUsers(request);
+    return call(CognitoOperation.LIST_USERS, () -> cognitoClient.listUsers(request));
+  }
+
+  /**
+   * Run bulk work, acquiring a permit from the shared rate limiter before each Cognito request the
+   * work makes on the current thread. The permits acquired always match the requests made, however
+   * many lookups or fallbacks the work needs. Scans are already paced and are not paced twice.
+   *
+   * @param work The work to run.
+   * @param <T>  The result type.
+   * @return The result of the work.
+   */
+  public <T> T paced(Supplier<T> work) {
+    boolean wasPaced = paced.get();
+    paced.set(true);
+
+    try {
+      return work.get();
+    } finally {
+      paced.set(wasPaced);
+    }
+  }
+
+  /**
+   * Run bulk work, acquiring a permit from the shared rate limiter before each Cognito request the
+   * work makes on the current thread.
+   *
+   * @param work The work to run.
+   * @see #paced(Supplier)
+   */
+  public void runPaced(Runnable work) {
+    paced(() -> {
+      work.run();
+      return null;
+    });
+  }
+
+  /**
+   * Scan all users in the user pool, one page at a time, within the shared Cognito rate limit.
+   * Throttled requests are retried a limited number of times and only a single page of users is
+   * held at any time.
+   *
+   * @param pageConsumer The consumer to pass each page of users to.
+   * @throws TooManyRequestsException If a page was still throttled after retrying.
+   * @throws CancellationException    If the thread was interrupted before the scan completed.
+   */
+  public void scanUsers(Consumer<List<UserType>> pageConsumer) {
+    String paginationToken = null;
+    boolean morePages = true;
+    int throttledRetries = 0;
+
+    while (morePages) {
+      ListUsersRequest request = ListUsersRequest.builder()
+          .userPoolId(userPoolId)
+          .paginationToken(paginationToken)
+          .build();
+
+      rateLimiter.acquire();
+      checkNotInterrupted("the user pool");
+      ListUsersResponse response;
+
+      try {
+        response = send(CognitoOperation.LIST_USERS, () -> cognitoClient.listUsers(request));
+      } catch (TooManyRequestsException tmre) {
+        throttledRetries = retryThrottled(tmre, throttledRetries);
+        continue;
+      }
+
+      throttledRetries = 0;
+      pageConsumer.accept(response.users());
+      paginationToken = response.paginationToken();
+      morePages = paginationToken != null;
+    }
+  }
+
+  /**
+   * Scan all users in a user group, one page at a time, within the shared Cognito rate limit.
+   * Throttled requests are retried a limited number of times.
+   *
+   * @param groupName    The name of the group to scan.
+   * @param pageConsumer The consumer to pass each page of users to.
+   * @throws TooManyRequestsException If a page was still throttled after retrying.
+   * @throws CancellationException    If the thread was interrupted before the scan completed.
+   */
+  public void scanUsersInGroup(String groupName, Consumer<List<UserType>> pageConsumer) {
+    String nextToken = null;
+    boolean morePages = true;
+    int throttledRetries = 0;
+
+    while (morePages) {
+      ListUsersInGroupRequest request = ListUsersInGroupRequest.builder()
+          .userPoolId(userPoolId)
+          .groupName(groupName)
+          .nextToken(nextToken)
+          .build();
+
+      rateLimiter.acquire();
+      checkNotInterrupted("group " + groupName);
+      ListUsersInGroupResponse response;
+
+      try {
+        response = send(CognitoOperation.LIST_USERS_IN_GROUP,
+            () -> cognitoClient.listUsersInGroup(request));
+      } catch (TooManyRequestsException tmre) {
+        throttledRetries = retryThrottled(tmre, throttledRetries);
+        continue;
+      }
+
+      throttledRetries = 0;
+      pageConsumer.accept(response.users());
+      nextToken = response.nextToken();
+      morePages = nextToken != null;
+    }
+  }
+
+  /**
+   * Fail a scan if the current thread has been interrupted, so a partial scan is never mistaken
+   * for a complete one. The interrupt flag is left set.
+   *
+   * @param scanned A description of what was being scanned.
+   * @throws CancellationException If the thread has been interrupted.
+   */
+  private void checkNotInterrupted(String scanned) {
+    if (Thread.currentThread().isInterrupted()) {
+      throw new CancellationException("Interrupted while scanning " + scanned + ".");
+    }
+  }
+
+  /**
+   * Decide whether a throttled scan request should be retried.
+   *
+   * @param exception The throttling exception.
+   * @param retries   The number of times the request has already been retried.
+   * @return The updated number of retries.
+   * @throws TooManyRequestsException If the request has been retried too many times.
+   */
+  private int retryThrottled(TooManyRequestsException exception, int retries) {
+    if (retries >= MAX_THROTTLED_RETRIES) {
+      log.error("Cognito requests have exceeded the limit {} times in a row, abandoning scan.",
+          retries + 1);
+      throw exception;
+    }
+
+    log.warn("Cognito requests have exceed the limit, retrying page.");
+    return retries + 1;
+  }
+
+  /**
+   * Make a write request, then stop sharing in-flight lookups so that later lookups see the write.
+   * Lookups are keyed by whichever email or sub the caller used, which may differ from the
+   * username written to, so all in-flight lookups are invalidated rather than a single key.
+   *
+   * @param request The write request to make.
+   * @param <T>     The response type.
+   * @return The response.
+   */
+  private <T> T written(Supplier<T> request) {
+    try {
+      return request.get();
+    } finally {
+      userLookups.invalidateAll();
+      groupLookups.invalidateAll();
+    }
+  }
+
+  /**
+   * Record the time a lookup spent waiting for a shared Cognito request against the current
+   * request, which did not send the request itself.
+   *
+   * @param duration The time spent waiting.
+   */
+  private void recordSharedWait(Duration duration) {
+    RequestCost.record(CostComponent.COGNITO, duration);
+  }
+
+  /**
+   * Make a Cognito request, first acquiring a permit from the shared rate limiter if the current
+   * thread is running paced work.
+   *
+   * @param operation The Cognito operation being requested.
+   * @param request   The request to make.
+   * @param <T>       The response type.
+   * @return The response.
+   * @see #paced(Supplier)
+   */
+  private <T> T call(CognitoOperation operation, Supplier<T> request) {
+    if (paced.get()) {
+      rateLimiter.acquire();
+    }
+
+    return send(operation, request);
+  }
+
+  /**
+   * Make a Cognito request through Cognito's circuit breaker and bulkhead. Rejected requests are
+   * never sent, so they are not recorded against the operation.
+   *
+   * @param operation The Cognito operation being requested.
+   * @param request   The request to make.
+   * @param <T>       The response type.
+   * @return The response.
+   */
+  private <T> T send(CognitoOperation operation, Supplier<T> request) {
+    return guard.call(Dependency.COGNITO, () -> timed(operation, request));
+  }
+
+  /**
+   * Make a Cognito request, recording its duration and outcome against the operation.
+   *
+   * @param operation The Cognito operation being requested.
+   * @param request   The request to make.
+   * @param <T>       The response type.
+   * @return The response.
+   */
+  private <T> T timed(CognitoOperation operation, Supplier<T> request) {
+    long start = System.nanoTime();
+    CognitoOutcome outcome = CognitoOutcome.SUCCESS;
+
+    try {
+      return request.get();
+    } catch (RuntimeException e) {
+      outcome = CognitoOutcome.fromException(e);
+      throw e;
+    } finally {
+      Duration duration = Duration.ofNanos(System.nanoTime() - start);
+      metricsService.recordCognitoRequest(operation, outcome, duration);
+      RequestCost.record(CostComponent.COGNITO, duration);
+    }
   }
 }
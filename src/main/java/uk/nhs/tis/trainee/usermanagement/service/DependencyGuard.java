@@ -0,0 +1,151 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker.StateTransition;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uk.nhs.tis.trainee.usermanagement.enumeration.Dependency;
+
+/**
+ * Isolates calls to each downstream dependency behind a circuit breaker and a bulkhead. An open
+ * circuit breaker rejects calls immediately, without waiting on the dependency, while the bulkhead
+ * limits how many threads a slow dependency can hold at once.
+ */
+@Slf4j
+@Component
+public class DependencyGuard {
+
+  private final Map<Dependency, CircuitBreaker> circuitBreakers;
+  private final Map<Dependency, Bulkhead> bulkheads;
+  private final MetricsService metricsService;
+
+  /**
+   * Create a guard with a circuit breaker and bulkhead for every dependency.
+   *
+   * @param circuitBreakerRegistry The registry to get each dependency's circuit breaker from.
+   * @param bulkheadRegistry       The registry to get each dependency's bulkhead from.
+   * @param metricsService         The service used to record transitions and fallbacks.
+   */
+  public DependencyGuard(CircuitBreakerRegistry circuitBreakerRegistry,
+      BulkheadRegistry bulkheadRegistry, MetricsService metricsService) {
+    this.metricsService = metricsService;
+    circuitBreakers = new EnumMap<>(Dependency.class);
+    bulkheads = new EnumMap<>(Dependency.class);
+
+    for (Dependency dependency : Dependency.values()) {
+      CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(
+          dependency.getInstanceName());
+      circuitBreaker.getEventPublisher().onStateTransition(
+          event -> onStateTransition(dependency, event.getStateTransition()));
+      circuitBreakers.put(dependency, circuitBreaker);
+      bulkheads.put(dependency, bulkheadRegistry.bulkhead(dependency.getInstanceName()));
+    }
+  }
+
+  /**
+   * Call a dependency through its circuit breaker and bulkhead.
+   *
+   * @param dependency The dependency being called.
+   * @param call       The call to make.
+   * @param <T>        The result type.
+   * @return The result of the call.
+   * @throws CallNotPermittedException If the dependency's circuit breaker is open.
+   * @throws BulkheadFullException     If the dependency's bulkhead stayed full for too long.
+   */
+  public <T> T call(Dependency dependency, Supplier<T> call) {
+    // The breaker is checked first, so an open breaker never waits to enter a full bulkhead.
+    return CircuitBreaker.decorateSupplier(circuitBreakers.get(dependency),
+        Bulkhead.decorateSupplier(bulkheads.get(dependency), call)).get();
+  }
+
+  /**
+   * Call a dependency through its circuit breaker and bulkhead, using the fallback if the call
+   * was rejected. Failures of the call itself are still thrown.
+   *
+   * @param dependency The dependency being called.
+   * @param call       The call to make.
+   * @param fallback   The fallback to use if the call is rejected.
+   * @param <T>        The result type.
+   * @return The result of the call, or the fallback if rejected.
+   */
+  public <T> T call(Dependency dependency, Supplier<T> call, Supplier<T> fallback) {
+    try {
+      return call(dependency, call);
+    } catch (CallNotPermittedException | BulkheadFullException e) {
+      log.debug("Call to {} rejected, using fallback.", dependency, e);
+      metricsService.incrementDependencyFallbackCounter(dependency);
+      return fallback.get();
+    }
+  }
+
+  /**
+   * Run a call to a dependency through its circuit breaker and bulkhead.
+   *
+   * @param dependency The dependency being called.
+   * @param call       The call to make.
+   * @throws CallNotPermittedException If the dependency's circuit breaker is open.
+   * @throws BulkheadFullException     If the dependency's bulkhead stayed full for too long.
+   */
+  public void run(Dependency dependency, Runnable call) {
+    call(dependency, () -> {
+      call.run();
+      return null;
+    });
+  }
+
+  /**
+   * Get the current state of a dependency's circuit breaker.
+   *
+   * @param dependency The dependency to get the state of.
+   * @return The circuit breaker state.
+   */
+  public CircuitBreaker.State getState(Dependency dependency) {
+    return circuitBreakers.get(dependency).getState();
+  }
+
+  /**
+   * Log and count a change in a dependency's circuit breaker state.
+   *
+   * @param dependency The dependency whose circuit breaker changed state.
+   * @param transition The state transition.
+   */
+  private void onStateTransition(Dependency dependency, StateTransition transition) {
+    if (transition.getToState() == CircuitBreaker.State.OPEN) {
+      log.warn("Circuit breaker for {} opened, calls will be rejected.", dependency);
+    } else {
+      log.info("Circuit breaker for {} transitioned from {} to {}.", dependency,
+          transition.getFromState(), transition.getToState());
+    }
+
+    metricsService.incrementCircuitBreakerTransitionCounter(dependency, transition.getToState());
+  }
+}
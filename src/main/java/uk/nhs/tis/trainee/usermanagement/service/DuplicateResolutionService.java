@@ -0,0 +1,471 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static uk.nhs.tis.trainee.usermanagement.model.AccountEventType.EMAIL_UPDATED;
+import static uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionOutcome.Status.FAILED;
+import static uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionOutcome.Status.PENDING;
+import static uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionOutcome.Status.RESOLVED;
+import static uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionOutcome.Status.UNRESOLVED;
+import static uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionReport.Status.COMPLETED;
+import static uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionReport.Status.RESOLVING;
+import static uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionReport.Status.SCANNING;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
+import uk.nhs.tis.trainee.usermanagement.mapper.UserAttributes;
+import uk.nhs.tis.trainee.usermanagement.model.AccountEvent.EmailUpdatedDetail;
+import uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionOutcome;
+import uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionReport;
+import uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionReport.Status;
+import uk.nhs.tis.trainee.usermanagement.repository.AccountEventRepository;
+import uk.nhs.tis.trainee.usermanagement.repository.DuplicateResolutionOutcomeRepository;
+import uk.nhs.tis.trainee.usermanagement.repository.DuplicateResolutionReportRepository;
+
+/**
+ * A service for finding and resolving duplicate accounts across the whole user pool. Progress is
+ * persisted so that an interrupted run can be resumed, the instance running a run holds a lease on
+ * it which is renewed while it runs and any instance may claim a run once its lease expires.
+ */
+@Slf4j
+@Service
+public class DuplicateResolutionService {
+
+  private static final List<Status> ACTIVE_STATUSES = List.of(SCANNING, RESOLVING);
+
+  private final CognitoService cognitoService;
+  private final UserAccountService userAccountService;
+  private final AccountEventRepository accountEventRepository;
+  private final DuplicateResolutionReportRepository reportRepository;
+  private final DuplicateResolutionOutcomeRepository outcomeRepository;
+  private final TaskExecutor taskExecutor;
+  private final int parallelism;
+  private final Duration staleAfter;
+  private final String owner = UUID.randomUUID().toString();
+
+  /**
+   * Construct an instance of the DuplicateResolutionService.
+   *
+   * @param cognitoService         The Cognito service to scan the user pool and pace resolution
+   *                               with.
+   * @param userAccountService     The user account service to resolve duplicates with.
+   * @param accountEventRepository The repository of account events, used to find current emails.
+   * @param reportRepository       The repository of run reports.
+   * @param outcomeRepository      The repository of per-trainee outcomes.
+   * @param taskExecutor           The executor to run the job in the background with.
+   * @param parallelism            The number of trainees to resolve concurrently.
+   * @param staleAfter             How long a lease on an active run lasts without renewal before
+   *                               the run is considered abandoned and may be resumed.
+   */
+  DuplicateResolutionService(CognitoService cognitoService,
+      UserAccountService userAccountService, AccountEventRepository accountEventRepository,
+      DuplicateResolutionReportRepository reportRepository,
+      DuplicateResolutionOutcomeRepository outcomeRepository, TaskExecutor taskExecutor,
+      @Value("${application.duplicate-resolution.parallelism}") int parallelism,
+      @Value("${application.duplicate-resolution.stale-after}") Duration staleAfter) {
+    this.cognitoService = cognitoService;
+    this.userAccountService = userAccountService;
+    this.accountEventRepository = accountEventRepository;
+    this.reportRepository = reportRepository;
+    this.outcomeRepository = outcomeRepository;
+    this.taskExecutor = taskExecutor;
+    this.parallelism = parallelism;
+    this.staleAfter = staleAfter;
+  }
+
+  /**
+   * Start a new duplicate resolution run in the background.
+   *
+   * @return The report of the started run, or empty if a run is already active.
+   */
+  public Optional<DuplicateResolutionReport> start() {
+    Optional<DuplicateResolutionReport> active = reportRepository
+        .findFirstByStatusInOrderByStartedDesc(ACTIVE_STATUSES);
+
+    if (active.isPresent()) {
+      log.info("Duplicate resolution run {} is already active.", active.get().id());
+      return Optional.empty();
+    }
+
+    Instant now = Instant.now();
+    DuplicateResolutionReport report;
+
+    try {
+      // The unique active flag stops a run being started concurrently by another instance.
+      report = reportRepository.save(DuplicateResolutionReport.builder()
+          .id(UUID.randomUUID().toString())
+          .status(SCANNING)
+          .started(now)
+          .updated(now)
+          .active(true)
+          .owner(owner)
+          .leaseExpires(now.plus(staleAfter))
+          .build());
+    } catch (DuplicateKeyException e) {
+      log.info("Another duplicate resolution run was started concurrently.");
+      return Optional.empty();
+    }
+
+    log.info("Starting duplicate resolution run {}.", report.id());
+    taskExecutor.execute(() -> run(report));
+    return Optional.of(report);
+  }
+
+  /**
+   * Renew the leases of the runs being run by this instance.
+   */
+  @Scheduled(fixedDelayString = "${application.duplicate-resolution.heartbeat-interval}",
+      initialDelayString = "${application.duplicate-resolution.heartbeat-interval}")
+  public void renewLeases() {
+    reportRepository.renewLeases(owner, ACTIVE_STATUSES, Instant.now().plus(staleAfter));
+  }
+
+  /**
+   * Claim and resume any active run whose lease has expired, such as after a restart. The claim is
+   * atomic so that only one instance resumes each run.
+   */
+  @Scheduled(fixedDelayString = "${application.duplicate-resolution.heartbeat-interval}",
+      initialDelayString = "${application.duplicate-resolution.heartbeat-interval}")
+  public void resumeAbandoned() {
+    Instant now = Instant.now();
+
+    for (DuplicateResolutionReport abandoned : reportRepository.findAbandoned(ACTIVE_STATUSES,
+        now)) {
+      long claimed = reportRepository.claim(abandoned.id(), ACTIVE_STATUSES, now, owner,
+          now.plus(staleAfter));
+
+      if (claimed > 0) {
+        reportRepository.findById(abandoned.id()).ifPresent(report -> {
+          log.info("Resuming abandoned duplicate resolution run {}.", report.id());
+          taskExecutor.execute(() -> run(report));
+        });
+      }
+    }
+  }
+
+  /**
+   * Get the report for a duplicate resolution run, including the current outcome counts.
+   *
+   * @param id The ID of the run.
+   * @return The report, or empty if not found.
+   */
+  public Optional<DuplicateResolutionReport> getReport(String id) {
+    return reportRepository.findById(id).map(report -> {
+      Map<DuplicateResolutionOutcome.Status, Long> outcomes = new EnumMap<>(
+          DuplicateResolutionOutcome.Status.class);
+
+      for (DuplicateResolutionOutcome.Status status : DuplicateResolutionOutcome.Status.values()) {
+        outcomes.put(status, outcomeRepository.countByReportIdAndStatus(id, status));
+      }
+
+      return report.toBuilder().outcomes(outcomes).build();
+    });
+  }
+
+  /**
+   * Get a page of the outcomes of a duplicate resolution run with a given status.
+   *
+   * @param id     The ID of the run.
+   * @param status The outcome status to get.
+   * @param page   The page number.
+   * @param size   The page size.
+   * @return The page of outcomes.
+   */
+  public List<DuplicateResolutionOutcome> getOutcomes(String id,
+      DuplicateResolutionOutcome.Status status, int page, int size) {
+    return outcomeRepository.findByReportIdAndStatus(id, status, PageRequest.of(page, size));
+  }
+
+  /**
+   * Run, or continue, a duplicate resolution run. The run stops if the report is changed by another
+   * instance, such as after this instance's lease expired and the run was claimed elsewhere.
+   *
+   * @param report The report of the run.
+   */
+  void run(DuplicateResolutionReport report) {
+    String id = report.id();
+
+    try {
+      if (report.status() == SCANNING) {
+        report = scan(report);
+      }
+
+      if (report.status() == RESOLVING) {
+        report = resolve(report);
+      }
+
+      log.info("Duplicate resolution run {} finished with status {}.", report.id(),
+          report.status());
+    } catch (OptimisticLockingFailureException e) {
+      log.warn("Duplicate resolution run {} was taken over by another instance.", id);
+    } catch (RuntimeException e) {
+      log.error("Duplicate resolution run {} failed.", id, e);
+      fail(report, e);
+    } finally {
+      reportRepository.releaseLease(id, owner);
+    }
+  }
+
+  /**
+   * Mark a run as failed, unless it has since been claimed by another instance.
+   *
+   * @param report The report of the run.
+   * @param cause  The cause of the failure.
+   */
+  private void fail(DuplicateResolutionReport report, RuntimeException cause) {
+    // Progress may have been saved since the run started, so fail the latest version of the report.
+    DuplicateResolutionReport latest = reportRepository.findById(report.id()).orElse(report);
+
+    if (latest.owner() != null && !latest.owner().equals(owner)) {
+      log.warn("Duplicate resolution run {} was taken over by another instance.", report.id());
+      return;
+    }
+
+    try {
+      reportRepository.save(latest.toBuilder()
+          .status(Status.FAILED)
+          .updated(Instant.now())
+          .failureReason(cause.getMessage())
+          .active(null)
+          .build());
+    } catch (OptimisticLockingFailureException e) {
+      log.warn("Duplicate resolution run {} was taken over by another instance.", report.id());
+    }
+  }
+
+  /**
+   * Save the progress of a run, extending this instance's lease on it.
+   *
+   * @param report The report to save.
+   * @return The saved report.
+   * @throws OptimisticLockingFailureException If the run was changed by another instance.
+   */
+  private DuplicateResolutionReport saveProgress(DuplicateResolutionReport report) {
+    Instant now = Instant.now();
+    return reportRepository.save(report.toBuilder()
+        .updated(now)
+        .owner(owner)
+        .leaseExpires(now.plus(staleAfter))
+        .build());
+  }
+
+  /**
+   * Scan the user pool for trainees with more than one user account and record a pending outcome
+   * for each.
+   *
+   * @param report The report of the run.
+   * @return The updated report, unchanged if the scan was interrupted.
+   */
+  private DuplicateResolutionReport scan(DuplicateResolutionReport report) {
+    log.info("Scanning user pool for duplicate accounts.");
+    Map<String, Set<String>> traineeAccountIds = new HashMap<>();
+    Map<String, Set<String>> traineeEmails = new HashMap<>();
+    long[] accountCount = {0};
+
+    try {
+      cognitoService.scanUsers(users -> {
+        for (UserType user : users) {
+          UserAttributes attributes = UserAttributes.from(user.attributes());
+          String tisId = attributes.tisId();
+          String sub = attributes.sub();
+
+          if (tisId != null && sub != null) {
+            traineeAccountIds.computeIfAbsent(tisId, id -> new HashSet<>()).add(sub);
+
+            if (attributes.email() != null) {
+              traineeEmails.computeIfAbsent(tisId, id -> new HashSet<>())
+                  .add(attributes.email().toLowerCase(Locale.ROOT));
+            }
+          }
+
+          accountCount[0]++;
+        }
+      });
+    } catch (CancellationException e) {
+      log.warn("Interrupted scanning for duplicate accounts in run {}.", report.id());
+      return report;
+    }
+
+    List<DuplicateResolutionOutcome> outcomes = new ArrayList<>();
+
+    traineeAccountIds.forEach((traineeId, accountIds) -> {
+      String outcomeId = report.id() + ":" + traineeId;
+
+      // Outcomes from an earlier, interrupted, attempt are kept as they may already be processed.
+      if (accountIds.size() > 1 && !outcomeRepository.existsById(outcomeId)) {
+        Set<String> emails = traineeEmails.getOrDefault(traineeId, Set.of());
+        outcomes.add(DuplicateResolutionOutcome.builder()
+            .id(outcomeId)
+            .reportId(report.id())
+            .traineeId(traineeId)
+            .accountIds(accountIds)
+            .profileEmail(emails.size() == 1 ? emails.iterator().next() : null)
+            .status(PENDING)
+            .build());
+      }
+    });
+
+    outcomeRepository.saveAll(outcomes);
+    long traineeCount = traineeAccountIds.values().stream()
+        .filter(accountIds -> accountIds.size() > 1)
+        .count();
+    log.info("Found {} trainees with duplicate accounts from {} accounts.", traineeCount,
+        accountCount[0]);
+
+    return saveProgress(report.toBuilder()
+        .status(RESOLVING)
+        .scanCompleted(Instant.now())
+        .accountCount(accountCount[0])
+        .traineeCount(traineeCount)
+        .build());
+  }
+
+  /**
+   * Resolve the pending outcomes of a run, multiple trainees are resolved concurrently.
+   *
+   * @param report The report of the run.
+   * @return The updated report, unchanged if resolution was interrupted.
+   */
+  private DuplicateResolutionReport resolve(DuplicateResolutionReport report) {
+    ExecutorService workers = Executors.newFixedThreadPool(parallelism,
+        new CustomizableThreadFactory("duplicate-resolution-"));
+
+    try {
+      List<DuplicateResolutionOutcome> pending = nextPending(report);
+
+      while (!pending.isEmpty()) {
+        List<Future<?>> futures = pending.stream()
+            .<Future<?>>map(outcome -> workers.submit(() -> resolve(outcome)))
+            .toList();
+
+        for (Future<?> future : futures) {
+          future.get();
+        }
+
+        report = saveProgress(report);
+        pending = nextPending(report);
+      }
+    } catch (InterruptedException e) {
+      log.warn("Interrupted resolving duplicate accounts in run {}.", report.id());
+      Thread.currentThread().interrupt();
+      return report;
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Unable to resolve duplicate accounts.", e.getCause());
+    } finally {
+      workers.shutdownNow();
+    }
+
+    return saveProgress(report.toBuilder()
+        .status(COMPLETED)
+        .completed(Instant.now())
+        .active(null)
+        .build());
+  }
+
+  /**
+   * Get the next batch of pending outcomes, each worker is given one outcome per batch.
+   *
+   * @param report The report of the run.
+   * @return The next pending outcomes, empty if there are none left or the run was interrupted.
+   */
+  private List<DuplicateResolutionOutcome> nextPending(DuplicateResolutionReport report) {
+    if (Thread.currentThread().isInterrupted()) {
+      return List.of();
+    }
+
+    return outcomeRepository.findByReportIdAndStatus(report.id(), PENDING,
+        PageRequest.of(0, parallelism));
+  }
+
+  /**
+   * Resolve a single trainee's duplicate accounts, using the trainee's most recent known TIS email
+   * as the current email. If the trainee's email has never been updated then the email shared by
+   * all of the duplicate accounts is used instead. Each Cognito request made is paced by the shared
+   * rate limiter.
+   *
+   * @param outcome The pending outcome to resolve.
+   */
+  private void resolve(DuplicateResolutionOutcome outcome) {
+    String traineeId = outcome.traineeId();
+    DuplicateResolutionOutcome.DuplicateResolutionOutcomeBuilder result = outcome.toBuilder();
+
+    try {
+      Optional<String> currentEmail = accountEventRepository
+          .findFirstByTraineeIdAndTypeOrderByCreatedDesc(traineeId, EMAIL_UPDATED)
+          .map(event -> event.detail() instanceof EmailUpdatedDetail detail ? detail.after()
+              : null)
+          .or(() -> Optional.ofNullable(outcome.profileEmail()));
+
+      if (currentEmail.isEmpty()) {
+        log.info("No current email known for trainee {}, skipping de-duplication.", traineeId);
+        result.status(UNRESOLVED).reason("No current email known for trainee.");
+      } else {
+        Optional<String> remainingAccountId = cognitoService.paced(
+            () -> userAccountService.deleteDuplicateAccounts(traineeId,
+                new HashSet<>(outcome.accountIds()), currentEmail.get()));
+
+        if (remainingAccountId.isPresent()) {
+          result.status(RESOLVED).remainingAccountId(remainingAccountId.get());
+        } else {
+          result.status(UNRESOLVED).reason("Could not determine the main account.");
+        }
+      }
+    } catch (RuntimeException e) {
+      log.warn("Unable to resolve duplicate accounts for trainee {}.", traineeId, e);
+      result.status(FAILED).reason(e.getMessage());
+    }
+
+    DuplicateResolutionOutcome processed = result.processed(Instant.now()).build();
+
+    if (Thread.currentThread().isInterrupted() && processed.status() != RESOLVED) {
+      // Leave the outcome pending so that it is retried when the run is resumed.
+      return;
+    }
+
+    outcomeRepository.save(processed);
+  }
+}
@@ -25,14 +25,33 @@ import static io.awspring.cloud.sns.core.SnsHeaders.MESSAGE_GROUP_ID_HEADER;
 import static io.awspring.cloud.sns.core.SnsHeaders.NOTIFICATION_SUBJECT_HEADER;
 
 import com.amazonaws.xray.spring.aop.XRayEnabled;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.awspring.cloud.sns.core.SnsTemplate;
+import io.awspring.cloud.sqs.operations.SendResult;
 import io.awspring.cloud.sqs.operations.SqsTemplate;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.support.GenericMessage;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sns.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchResponse;
+import software.amazon.awssdk.services.sns.model.SnsException;
+import uk.nhs.tis.trainee.usermanagement.enumeration.Dependency;
 import uk.nhs.tis.trainee.usermanagement.event.DataRequestEvent;
 import uk.nhs.tis.trainee.usermanagement.event.EmailUpdateEvent;
 import uk.nhs.tis.trainee.usermanagement.event.ProfileMoveEvent;
@@ -48,25 +67,37 @@ public class EventPublishService {
   protected static final String REQUEST_SCHEMA = "tcs";
   protected static final String REQUEST_TABLE = "Person";
 
+  // The maximum number of messages SNS accepts in a single batch request.
+  private static final int SNS_BATCH_SIZE = 10;
+  private static final String PRODUCER = "tis-trainee-user-management";
+  private static final String MESSAGING_UNAVAILABLE = "Messaging is currently unavailable.";
+
   private final SnsTemplate notificationMessagingTemplate;
   private final SqsTemplate queueMessagingTemplate;
   private final String profileMoveTopicArn;
   private final String userAccountUpdateTopicArn;
   private final String queueUrl;
   private final MetricsService metricsService;
+  private final SnsClient snsClient;
+  private final ObjectMapper objectMapper;
+  private final DependencyGuard guard;
 
   EventPublishService(SnsTemplate notificationMessagingTemplate,
       @Value("${application.aws.sns.user-account.update}") String userAccountUpdateTopicArn,
       @Value("${application.aws.sns.profile-move.request}") String profileMoveTopicArn,
       SqsTemplate queueMessagingTemplate,
       @Value("${application.aws.sqs.request}") String requestQueueUrl,
-      MetricsService metricsService) {
+      MetricsService metricsService, SnsClient snsClient, ObjectMapper objectMapper,
+      DependencyGuard guard) {
     this.notificationMessagingTemplate = notificationMessagingTemplate;
     this.userAccountUpdateTopicArn = userAccountUpdateTopicArn;
     this.profileMoveTopicArn = profileMoveTopicArn;
     this.queueMessagingTemplate = queueMessagingTemplate;
     this.queueUrl = requestQueueUrl;
     this.metricsService = metricsService;
+    this.snsClient = snsClient;
+    this.objectMapper = objectMapper;
+    this.guard = guard;
   }
 
   /**
@@ -77,16 +108,56 @@ public class EventPublishService {
   public void publishSingleProfileSyncEvent(String traineeTisId) {
     log.info("Sending single profile sync event for trainee id '{}'", traineeTisId);
 
+    Message<DataRequestEvent> message = buildProfileSyncMessage(traineeTisId);
+    guard.run(Dependency.MESSAGING, () -> queueMessagingTemplate.send(queueUrl, message));
+
+    metricsService.incrementResyncCounter();
+  }
+
+  /**
+   * Publish a batch of profile sync events in a single request, each trainee keeps its own message
+   * group so syncs of the same trainee remain ordered. While messaging is unavailable every event
+   * is returned as failed without being sent.
+   *
+   * @param traineeTisIds The TIS IDs of the trainees to sync, no more than ten.
+   * @return The reason each failed event could not be sent, keyed by TIS ID.
+   */
+  public Map<String, String> publishProfileSyncEvents(List<String> traineeTisIds) {
+    log.info("Sending {} profile sync events.", traineeTisIds.size());
+
+    List<Message<DataRequestEvent>> messages = traineeTisIds.stream()
+        .map(this::buildProfileSyncMessage)
+        .toList();
+    SendResult.Batch<DataRequestEvent> result = guard.call(Dependency.MESSAGING,
+        () -> queueMessagingTemplate.sendMany(queueUrl, messages), () -> null);
+
+    if (result == null) {
+      log.warn("Messaging unavailable, {} profile sync events not sent.", traineeTisIds.size());
+      return traineeTisIds.stream()
+          .collect(Collectors.toMap(Function.identity(), id -> MESSAGING_UNAVAILABLE,
+              (first, second) -> first));
+    }
+
+    metricsService.incrementResyncCounter(result.successful().size());
+    return result.failed().stream()
+        .collect(Collectors.toMap(failed -> failed.message().getPayload().getId(),
+            SendResult.Failed::errorMessage, (first, second) -> first));
+  }
+
+  /**
+   * Build a profile sync message for the given trainee.
+   *
+   * @param traineeTisId The TIS ID of the trainee to sync.
+   * @return The built message.
+   */
+  private Message<DataRequestEvent> buildProfileSyncMessage(String traineeTisId) {
     DataRequestEvent dataRequestEvent = new DataRequestEvent(REQUEST_TABLE, traineeTisId);
 
     Map<String, Object> headers = new HashMap<>();
     String messageGroupId = String.format("%s_%s_%s", REQUEST_SCHEMA, REQUEST_TABLE, traineeTisId);
     headers.put("message-group-id", messageGroupId);
 
-    GenericMessage<DataRequestEvent> message = new GenericMessage<>(dataRequestEvent, headers);
-    queueMessagingTemplate.send(queueUrl, message);
-
-    metricsService.incrementResyncCounter();
+    return new GenericMessage<>(dataRequestEvent, headers);
   }
 
   /**
@@ -102,11 +173,13 @@ public class EventPublishService {
     log.info("Publishing email update event for previous email '{}' and new email '{}'.",
         previousEmail, newEmail);
     EmailUpdateEvent event = new EmailUpdateEvent(userId, traineeId, previousEmail, newEmail);
-    notificationMessagingTemplate.convertAndSend(userAccountUpdateTopicArn, event, Map.of(
-        NOTIFICATION_SUBJECT_HEADER, "Account Email Updated",
-        MESSAGE_GROUP_ID_HEADER, userId,
-        "producer", "tis-trainee-user-management"
-    ));
+    guard.run(Dependency.MESSAGING,
+        () -> notificationMessagingTemplate.convertAndSend(userAccountUpdateTopicArn, event,
+            Map.of(
+                NOTIFICATION_SUBJECT_HEADER, "Account Email Updated",
+                MESSAGE_GROUP_ID_HEADER, userId,
+                "producer", PRODUCER
+            )));
   }
 
   /**
@@ -122,10 +195,103 @@ public class EventPublishService {
 
     String messageGroupId = String.format("%s_%s", fromTisId, toTisId);
 
-    notificationMessagingTemplate.convertAndSend(profileMoveTopicArn, event, Map.of(
-        NOTIFICATION_SUBJECT_HEADER, "Profile Data Move",
-        MESSAGE_GROUP_ID_HEADER, messageGroupId,
-        "producer", "tis-trainee-user-management"
-    ));
+    guard.run(Dependency.MESSAGING,
+        () -> notificationMessagingTemplate.convertAndSend(profileMoveTopicArn, event, Map.of(
+            NOTIFICATION_SUBJECT_HEADER, "Profile Data Move",
+            MESSAGE_GROUP_ID_HEADER, messageGroupId,
+            "producer", PRODUCER
+        )));
+  }
+
+  /**
+   * Publish a batch of move profile data events, using as few SNS requests as possible. The events
+   * are published in the order given. A batch rejected by SNS is returned as failed and the
+   * following batches are still sent. While messaging is unavailable the remaining events are
+   * returned as failed without being sent.
+   *
+   * @param events The move profile data events to publish.
+   * @return The events which could not be published.
+   */
+  public Set<ProfileMoveEvent> publishProfileMoveEvents(List<ProfileMoveEvent> events) {
+    Set<ProfileMoveEvent> failures = new HashSet<>();
+
+    for (int i = 0; i < events.size(); i += SNS_BATCH_SIZE) {
+      List<ProfileMoveEvent> batch = events.subList(i,
+          Math.min(i + SNS_BATCH_SIZE, events.size()));
+      log.info("Sending {} move profile data events.", batch.size());
+
+      List<PublishBatchRequestEntry> entries = new ArrayList<>();
+
+      for (int j = 0; j < batch.size(); j++) {
+        ProfileMoveEvent event = batch.get(j);
+        entries.add(PublishBatchRequestEntry.builder()
+            .id(String.valueOf(j))
+            .message(toJson(event))
+            .subject("Profile Data Move")
+            .messageGroupId(String.format("%s_%s", event.fromTraineeId(), event.toTraineeId()))
+            .messageAttributes(Map.of(
+                "producer", stringAttribute(PRODUCER),
+                "contentType", stringAttribute("application/json")))
+            .build());
+      }
+
+      PublishBatchRequest request = PublishBatchRequest.builder()
+          .topicArn(profileMoveTopicArn)
+          .publishBatchRequestEntries(entries)
+          .build();
+      PublishBatchResponse response;
+
+      try {
+        response = guard.call(Dependency.MESSAGING, () -> snsClient.publishBatch(request),
+            () -> null);
+      } catch (SnsException e) {
+        log.error("Failed to send {} move profile data events.", batch.size(), e);
+        failures.addAll(batch);
+        continue;
+      }
+
+      if (response == null) {
+        List<ProfileMoveEvent> remaining = events.subList(i, events.size());
+        log.warn("Messaging unavailable, {} move profile data events not sent.", remaining.size());
+        failures.addAll(remaining);
+        break;
+      }
+
+      for (BatchResultErrorEntry error : response.failed()) {
+        ProfileMoveEvent event = batch.get(Integer.parseInt(error.id()));
+        log.error("Failed to send move profile data event from trainee {} to trainee {}: {}",
+            event.fromTraineeId(), event.toTraineeId(), error.message());
+        failures.add(event);
+      }
+    }
+
+    return failures;
+  }
+
+  /**
+   * Serialize an event to JSON.
+   *
+   * @param event The event to serialize.
+   * @return The JSON representation of the event.
+   */
+  private String toJson(Object event) {
+    try {
+      return objectMapper.writeValueAsString(event);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Build a string SNS message attribute.
+   *
+   * @param value The value of the attribute.
+   * @return The built message attribute.
+   */
+  private static MessageAttributeValue stringAttribute(String value) {
+    return MessageAttributeValue.builder()
+        .dataType("String")
+        .stringValue(value)
+        .build();
   }
 }
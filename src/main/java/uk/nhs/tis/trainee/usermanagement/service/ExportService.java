@@ -0,0 +1,143 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
+import uk.nhs.tis.trainee.usermanagement.dto.UserAccountDetailsDto;
+import uk.nhs.tis.trainee.usermanagement.mapper.UserAccountDetailsMapper;
+import uk.nhs.tis.trainee.usermanagement.model.AccountEvent;
+import uk.nhs.tis.trainee.usermanagement.repository.AccountEventRepository;
+
+/**
+ * A service for exporting bulk data as newline delimited JSON (NDJSON). Records are written as
+ * they are read, so memory use does not grow with the size of the export.
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+  private static final char NDJSON_DELIMITER = '\n';
+
+  private final AccountEventRepository accountEventRepository;
+  private final CognitoService cognitoService;
+  private final UserAccountDetailsMapper mapper;
+  private final ObjectWriter writer;
+
+  /**
+   * Construct an instance of the ExportService.
+   *
+   * @param accountEventRepository The repository of account events.
+   * @param cognitoService         The Cognito service to scan users with.
+   * @param mapper                 A user details mapper.
+   * @param objectMapper           The object mapper to serialize records with.
+   */
+  ExportService(AccountEventRepository accountEventRepository, CognitoService cognitoService,
+      UserAccountDetailsMapper mapper, ObjectMapper objectMapper) {
+    this.accountEventRepository = accountEventRepository;
+    this.cognitoService = cognitoService;
+    this.mapper = mapper;
+    writer = objectMapper.writer()
+        .withRootValueSeparator((String) null)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+  }
+
+  /**
+   * Export all account events to the given output stream.
+   *
+   * @param out The output stream to write the NDJSON to, it will not be closed.
+   * @return The number of exported account events.
+   * @throws IOException If the events could not be written.
+   */
+  public long exportAccountEvents(OutputStream out) throws IOException {
+    log.info("Exporting all account events.");
+    long count = 0;
+
+    try (Stream<AccountEvent> events = accountEventRepository.streamAllBy();
+        JsonGenerator generator = writer.createGenerator(out)) {
+      for (AccountEvent event : (Iterable<AccountEvent>) events::iterator) {
+        writeLine(generator, event);
+        count++;
+      }
+    }
+
+    log.info("Exported {} account events.", count);
+    return count;
+  }
+
+  /**
+   * Export all user accounts in the user pool to the given output stream.
+   *
+   * @param out The output stream to write the NDJSON to, it will not be closed.
+   * @return The number of exported user accounts.
+   * @throws IOException If the user accounts could not be written.
+   */
+  public long exportUserAccounts(OutputStream out) throws IOException {
+    log.info("Exporting all user accounts.");
+    AtomicLong count = new AtomicLong();
+
+    try (JsonGenerator generator = writer.createGenerator(out)) {
+      cognitoService.scanUsers(users -> {
+        for (UserType user : users) {
+          UserAccountDetailsDto dto = mapper.toDto(user, List.of());
+
+          try {
+            writeLine(generator, dto);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }
+
+        count.addAndGet(users.size());
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+
+    log.info("Exported {} user accounts.", count.get());
+    return count.get();
+  }
+
+  /**
+   * Write a single record as a line of JSON.
+   *
+   * @param generator The generator to write with.
+   * @param value     The value to write.
+   * @throws IOException If the value could not be written.
+   */
+  private void writeLine(JsonGenerator generator, Object value) throws IOException {
+    writer.writeValue(generator, value);
+    generator.writeRaw(NDJSON_DELIMITER);
+  }
+}
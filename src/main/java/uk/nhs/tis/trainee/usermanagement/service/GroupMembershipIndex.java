@@ -0,0 +1,267 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
+import uk.nhs.tis.trainee.usermanagement.mapper.UserAttributes;
+
+/**
+ * An in-memory index of user group membership, built from a single scan of each group so that bulk
+ * changes can skip users who are already in, or out of, the group. Scanned members are indexed by
+ * username, sub and email so any of them may be used to look up membership.
+ *
+ * <p>The index is held per instance, so changes made by other instances are only seen once the
+ * group is re-scanned. Expired groups are evicted on a schedule and re-scanned when next used, so
+ * the index is reconciled with Cognito at least once per time to live.
+ */
+@Slf4j
+@Service
+public class GroupMembershipIndex {
+
+  private final CognitoService cognitoService;
+  private final Duration timeToLive;
+  private final Map<String, CompletableFuture<Membership>> memberships = new ConcurrentHashMap<>();
+
+  /**
+   * Construct an instance of the GroupMembershipIndex.
+   *
+   * @param cognitoService The Cognito service to scan groups with.
+   * @param timeToLive     How long a scanned group's membership is trusted before re-scanning.
+   */
+  GroupMembershipIndex(CognitoService cognitoService,
+      @Value("${application.group-membership.time-to-live}") Duration timeToLive) {
+    this.cognitoService = cognitoService;
+    this.timeToLive = timeToLive;
+  }
+
+  /**
+   * Check whether a user is a member of a group.
+   *
+   * @param groupName The name of the group.
+   * @param username  The username, sub or email of the user.
+   * @return Whether the user is a member of the group.
+   * @throws CancellationException If the thread was interrupted while the group was scanned.
+   */
+  public boolean isMember(String groupName, String username) {
+    return getMembership(groupName).members().containsKey(normalise(username));
+  }
+
+  /**
+   * Record that a user has been added to a group, if the group is indexed. Only the given
+   * identifier is recorded, as looking up the user's other identifiers would cost a further
+   * Cognito request.
+   *
+   * @param groupName The name of the group.
+   * @param username  The username, sub or email of the user.
+   */
+  public void recordEnrolment(String groupName, String username) {
+    CompletableFuture<Membership> scan = memberships.get(groupName);
+
+    if (scan != null) {
+      // Applied once any in-progress scan completes, so the enrolment is not lost.
+      scan.thenAccept(membership -> {
+        String member = normalise(username);
+
+        if (membership.members().putIfAbsent(member, member) == null) {
+          membership.unlinked().set(true);
+        }
+      });
+    }
+  }
+
+  /**
+   * Record that a user has been removed from a group, if the group is indexed. All indexed
+   * identifiers of the user are removed, not only the one given. If the identifier is not indexed
+   * but enrolments have been recorded by a single identifier, the user may be indexed under another
+   * identifier so the group is re-scanned when next used.
+   *
+   * @param groupName The name of the group.
+   * @param username  The username, sub or email of the user.
+   */
+  public void recordWithdrawal(String groupName, String username) {
+    CompletableFuture<Membership> scan = memberships.get(groupName);
+
+    if (scan != null) {
+      // Applied once any in-progress scan completes, so the withdrawal is not lost.
+      scan.thenAccept(membership -> {
+        String member = membership.members().get(normalise(username));
+
+        if (member != null) {
+          membership.members().values().removeIf(member::equals);
+        } else if (membership.unlinked().get()) {
+          memberships.remove(groupName, scan);
+        }
+      });
+    }
+  }
+
+  /**
+   * Evict groups whose membership has outlived the time to live, so that they are re-scanned when
+   * next used rather than being held indefinitely.
+   */
+  @Scheduled(fixedDelayString = "${application.group-membership.time-to-live}",
+      initialDelayString = "${application.group-membership.time-to-live}")
+  public void evictExpired() {
+    memberships.entrySet().removeIf(entry -> isExpired(entry.getValue()));
+  }
+
+  /**
+   * Get the indexed membership of a group, scanning the group if not indexed or expired. Only one
+   * scan of a group runs at a time, concurrent callers wait for it to complete. A failed scan is
+   * not cached.
+   *
+   * @param groupName The name of the group.
+   * @return The membership of the group.
+   */
+  private Membership getMembership(String groupName) {
+    while (true) {
+      CompletableFuture<Membership> existing = memberships.get(groupName);
+
+      if (existing != null && !isExpired(existing)) {
+        return await(existing);
+      }
+
+      CompletableFuture<Membership> scan = new CompletableFuture<>();
+      boolean claimed = existing == null
+          ? memberships.putIfAbsent(groupName, scan) == null
+          : memberships.replace(groupName, existing, scan);
+
+      if (claimed) {
+        try {
+          scan.complete(scan(groupName));
+        } catch (RuntimeException e) {
+          memberships.remove(groupName, scan);
+          scan.completeExceptionally(e);
+        }
+
+        return await(scan);
+      }
+    }
+  }
+
+  /**
+   * Check whether a scan has completed and its membership has outlived the time to live.
+   *
+   * @param scan The scan to check.
+   * @return Whether the scan has expired, false while the scan is in progress.
+   */
+  private boolean isExpired(CompletableFuture<Membership> scan) {
+    return scan.isDone() && !scan.isCompletedExceptionally()
+        && !scan.join().scanned().plus(timeToLive).isAfter(Instant.now());
+  }
+
+  /**
+   * Wait for a scan to complete.
+   *
+   * @param scan The scan to wait for.
+   * @return The scanned membership.
+   * @throws CancellationException If the thread was interrupted while waiting.
+   */
+  private static Membership await(CompletableFuture<Membership> scan) {
+    try {
+      return scan.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted waiting for a group scan.");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+
+      throw new IllegalStateException("Unable to scan group.", e.getCause());
+    }
+  }
+
+  /**
+   * Scan the members of a group.
+   *
+   * @param groupName The name of the group.
+   * @return The membership of the group.
+   */
+  private Membership scan(String groupName) {
+    log.info("Indexing the members of the '{}' group.", groupName);
+    Map<String, String> members = new ConcurrentHashMap<>();
+
+    cognitoService.scanUsersInGroup(groupName, users -> {
+      for (UserType user : users) {
+        index(members, user);
+      }
+    });
+
+    log.info("Indexed {} identifiers for the '{}' group.", members.size(), groupName);
+    return new Membership(members, Instant.now(), new AtomicBoolean());
+  }
+
+  /**
+   * Index the username, sub and email of a member.
+   *
+   * @param members The normalised identifiers of members, mapped to their username.
+   * @param user    The member to index.
+   */
+  private static void index(Map<String, String> members, UserType user) {
+    String member = normalise(user.username());
+    members.put(member, member);
+
+    UserAttributes attributes = UserAttributes.from(user.attributes());
+    if (attributes.email() != null) {
+      members.put(normalise(attributes.email()), member);
+    }
+    if (attributes.sub() != null) {
+      members.put(normalise(attributes.sub()), member);
+    }
+  }
+
+  /**
+   * Normalise a user identifier, emails are matched case-insensitively.
+   *
+   * @param identifier The identifier to normalise.
+   * @return The normalised identifier.
+   */
+  private static String normalise(String identifier) {
+    return identifier.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * The indexed membership of a group.
+   *
+   * @param members  The normalised identifiers of the group's members, mapped to their username.
+   * @param scanned  The time the group was scanned.
+   * @param unlinked Whether any member was recorded by a single identifier since the scan.
+   */
+  private record Membership(Map<String, String> members, Instant scanned,
+      AtomicBoolean unlinked) {
+
+  }
+}
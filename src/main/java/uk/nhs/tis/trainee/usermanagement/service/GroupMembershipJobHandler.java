@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static uk.nhs.tis.trainee.usermanagement.model.Job.PARAMETER_GROUP_NAME;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.FAILED;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.SKIPPED;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.SUCCEEDED;
+
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.JobItem;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
+
+/**
+ * A job handler which adds each user in a bulk group enrolment job to the group, or removes each
+ * user in a bulk group withdrawal job from the group. Users who the index shows are already in, or
+ * out of, the group are skipped without a Cognito request, a stale index only costs an idempotent
+ * change.
+ */
+public class GroupMembershipJobHandler implements JobHandler {
+
+  private final JobType type;
+  private final boolean enrol;
+  private final UserAccountService userAccountService;
+  private final GroupMembershipIndex groupMembershipIndex;
+  private final CognitoRateLimiter rateLimiter;
+
+  /**
+   * Construct a group membership job handler.
+   *
+   * @param type                 The type of job handled, either group enrolment or withdrawal.
+   * @param userAccountService   The user account service to change group membership with.
+   * @param groupMembershipIndex The index of group membership.
+   * @param rateLimiter          The shared rate limiter for bulk Cognito requests.
+   */
+  public GroupMembershipJobHandler(JobType type, UserAccountService userAccountService,
+      GroupMembershipIndex groupMembershipIndex, CognitoRateLimiter rateLimiter) {
+    if (type != JobType.GROUP_ENROLMENT && type != JobType.GROUP_WITHDRAWAL) {
+      throw new IllegalArgumentException("Unsupported group membership job type " + type);
+    }
+
+    this.type = type;
+    this.enrol = type == JobType.GROUP_ENROLMENT;
+    this.userAccountService = userAccountService;
+    this.groupMembershipIndex = groupMembershipIndex;
+    this.rateLimiter = rateLimiter;
+  }
+
+  @Override
+  public JobType getType() {
+    return type;
+  }
+
+  @Override
+  public JobItem process(Job job, JobItem item) {
+    String groupName = job.parameters().get(PARAMETER_GROUP_NAME);
+
+    if (groupMembershipIndex.isMember(groupName, item.key()) == enrol) {
+      String message = enrol ? "Already a member." : "Not a member.";
+      return item.toBuilder().status(SKIPPED).message(message).build();
+    }
+
+    try {
+      rateLimiter.acquire();
+
+      if (enrol) {
+        userAccountService.enrollToUserGroup(item.key(), groupName);
+      } else {
+        userAccountService.withdrawFromUserGroup(item.key(), groupName);
+      }
+
+      return item.toBuilder().status(SUCCEEDED).build();
+    } catch (UserNotFoundException e) {
+      return item.toBuilder().status(FAILED).message("User not found.").build();
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import uk.nhs.tis.trainee.usermanagement.enumeration.Dependency;
+
+/**
+ * A cache decorator which calls the cache through its {@link DependencyGuard}. By default, while
+ * the cache is unavailable reads are treated as misses and writes are skipped, so callers fall back
+ * to the source of the data rather than failing. Caches which are the only source of an answer
+ * can instead fail fast, so a rejected read is not mistaken for a miss. Value loaders are called
+ * outside the guard.
+ */
+public class GuardedCache implements Cache {
+
+  private final Cache delegate;
+  private final DependencyGuard guard;
+  private final boolean fallback;
+
+  /**
+   * Decorate a cache to isolate it behind the cache's circuit breaker and bulkhead, treating
+   * rejected reads as misses and skipping rejected writes.
+   *
+   * @param delegate The cache to decorate.
+   * @param guard    The guard to call the cache through.
+   */
+  public GuardedCache(Cache delegate, DependencyGuard guard) {
+    this(delegate, guard, true);
+  }
+
+  /**
+   * Decorate a cache to isolate it behind the cache's circuit breaker and bulkhead.
+   *
+   * @param delegate The cache to decorate.
+   * @param guard    The guard to call the cache through.
+   * @param fallback Whether rejected reads are treated as misses and rejected writes skipped, or
+   *                 the rejection is thrown to the caller.
+   */
+  public GuardedCache(Cache delegate, DependencyGuard guard, boolean fallback) {
+    this.delegate = delegate;
+    this.guard = guard;
+    this.fallback = fallback;
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return delegate.getNativeCache();
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    return call(() -> delegate.get(key));
+  }
+
+  @Override
+  public <T> T get(Object key, Class<T> type) {
+    return call(() -> delegate.get(key, type));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    // Only the cache calls are guarded, the loader's own failures are not the cache's failures.
+    ValueWrapper cached = get(key);
+
+    if (cached != null) {
+      return (T) cached.get();
+    }
+
+    T value;
+
+    try {
+      value = valueLoader.call();
+    } catch (Exception e) {
+      throw new ValueRetrievalException(key, valueLoader, e);
+    }
+
+    put(key, value);
+    return value;
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    call(() -> {
+      delegate.put(key, value);
+      return null;
+    });
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    return call(() -> delegate.putIfAbsent(key, value));
+  }
+
+  @Override
+  public void evict(Object key) {
+    // A skipped eviction could leave stale data, so rejections are not hidden from the caller.
+    guard.run(Dependency.CACHE, () -> delegate.evict(key));
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    return guard.call(Dependency.CACHE, () -> delegate.evictIfPresent(key));
+  }
+
+  @Override
+  public void clear() {
+    guard.run(Dependency.CACHE, delegate::clear);
+  }
+
+  @Override
+  public boolean invalidate() {
+    return guard.call(Dependency.CACHE, delegate::invalidate);
+  }
+
+  /**
+   * Call the cache through the guard, falling back to null when rejected if enabled.
+   *
+   * @param call The cache call to make.
+   * @param <T>  The result type.
+   * @return The result of the call, or null if rejected and fallback is enabled.
+   */
+  private <T> T call(Supplier<T> call) {
+    return fallback
+        ? guard.call(Dependency.CACHE, call, () -> null)
+        : guard.call(Dependency.CACHE, call);
+  }
+}
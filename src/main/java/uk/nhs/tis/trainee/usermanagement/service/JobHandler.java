@@ -0,0 +1,73 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import java.util.List;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.JobItem;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
+
+/**
+ * A handler which processes the items of a particular type of background job.
+ */
+public interface JobHandler {
+
+  /**
+   * Get the type of job handled.
+   *
+   * @return The handled job type.
+   */
+  JobType getType();
+
+  /**
+   * Process a single item of a job, any exception thrown marks the item as failed.
+   *
+   * @param job  The job the item belongs to.
+   * @param item The pending item to process.
+   * @return The processed item, with an updated status.
+   */
+  JobItem process(Job job, JobItem item);
+
+  /**
+   * Get the maximum number of items to process together, handlers which can apply several items in
+   * a single downstream request should override this and {@link #processBatch(Job, List)}.
+   *
+   * @return The batch size, one by default.
+   */
+  default int getBatchSize() {
+    return 1;
+  }
+
+  /**
+   * Process a batch of items of a job, any exception thrown marks every item in the batch as
+   * failed. By default each item is processed individually.
+   *
+   * @param job   The job the items belong to.
+   * @param items The pending items to process, no more than the batch size.
+   * @return The processed items, with updated statuses.
+   */
+  default List<JobItem> processBatch(Job job, List<JobItem> items) {
+    return items.stream()
+        .map(item -> process(job, item))
+        .toList();
+  }
+}
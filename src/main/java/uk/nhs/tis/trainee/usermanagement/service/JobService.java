@@ -0,0 +1,539 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static uk.nhs.tis.trainee.usermanagement.config.ExecutorConfiguration.JOB_TASK_EXECUTOR;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.FAILED;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.PENDING;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.Job.Status;
+import uk.nhs.tis.trainee.usermanagement.model.JobItem;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
+import uk.nhs.tis.trainee.usermanagement.repository.JobItemRepository;
+import uk.nhs.tis.trainee.usermanagement.repository.JobRepository;
+
+/**
+ * A service for submitting and tracking background jobs. The items of a job are processed
+ * concurrently, in chunks, by the {@link JobHandler} for the job's type. Each processed item is
+ * persisted as it completes, so an interrupted job can be resumed from where it stopped. The
+ * instance running a job holds a lease on it which is renewed while the job is active, any instance
+ * may claim the job once its lease expires.
+ */
+@Slf4j
+@Service
+public class JobService {
+
+  private static final Set<Status> ACTIVE_STATUSES = Set.of(Status.QUEUED, Status.RUNNING);
+  private static final int MAX_CANCEL_ATTEMPTS = 3;
+
+  private final JobRepository jobRepository;
+  private final JobItemRepository itemRepository;
+  private final Map<JobType, JobHandler> handlers;
+  private final TaskExecutor taskExecutor;
+  private final MetricsService metricsService;
+  private final int defaultConcurrency;
+  private final int maxConcurrency;
+  private final Duration staleAfter;
+  private final String owner = UUID.randomUUID().toString();
+
+  /**
+   * Construct an instance of the JobService.
+   *
+   * @param jobRepository      The repository of jobs.
+   * @param itemRepository     The repository of job items.
+   * @param handlers           The available job handlers.
+   * @param taskExecutor       The executor to run jobs in the background with.
+   * @param metricsService     The service to record job metrics with.
+   * @param defaultConcurrency The number of items of a job to process concurrently, when not
+   *                           given for the job.
+   * @param maxConcurrency     The maximum number of items of a job to process concurrently.
+   * @param staleAfter         How long a lease on an active job lasts without renewal before the
+   *                           job is considered abandoned and may be resumed.
+   */
+  JobService(JobRepository jobRepository, JobItemRepository itemRepository,
+      List<JobHandler> handlers, @Qualifier(JOB_TASK_EXECUTOR) TaskExecutor taskExecutor,
+      MetricsService metricsService,
+      @Value("${application.jobs.concurrency}") int defaultConcurrency,
+      @Value("${application.jobs.max-concurrency}") int maxConcurrency,
+      @Value("${application.jobs.stale-after}") Duration staleAfter) {
+    this.jobRepository = jobRepository;
+    this.itemRepository = itemRepository;
+    this.handlers = handlers.stream()
+        .collect(Collectors.toMap(JobHandler::getType, Function.identity()));
+    this.taskExecutor = taskExecutor;
+    this.metricsService = metricsService;
+    this.defaultConcurrency = defaultConcurrency;
+    this.maxConcurrency = maxConcurrency;
+    this.staleAfter = staleAfter;
+  }
+
+  /**
+   * Submit a job to be processed in the background, with the default concurrency.
+   *
+   * @param type       The type of job.
+   * @param keys       The keys of the items to process, duplicates are ignored.
+   * @param parameters The parameters shared by all items.
+   * @return The submitted job.
+   */
+  public Job submit(JobType type, List<String> keys, Map<String, String> parameters) {
+    return submit(type, keys, parameters, null);
+  }
+
+  /**
+   * Submit a job to be processed in the background.
+   *
+   * @param type        The type of job.
+   * @param keys        The keys of the items to process, duplicates are ignored.
+   * @param parameters  The parameters shared by all items.
+   * @param concurrency The number of items to process concurrently, null for the default.
+   * @return The submitted job.
+   */
+  public Job submit(JobType type, List<String> keys, Map<String, String> parameters,
+      Integer concurrency) {
+    Job job = createJob(type, parameters, concurrency);
+    job = addItems(job, keys);
+
+    Job submittedJob = job;
+    taskExecutor.execute(() -> run(submittedJob));
+    return job;
+  }
+
+  /**
+   * Submit a job to be processed in the background with the default concurrency, where the item
+   * keys are not yet known.
+   *
+   * @param type       The type of job.
+   * @param keySource  The source of the keys of the items to process, duplicates are ignored.
+   * @param parameters The parameters shared by all items.
+   * @return The submitted job, with no items until the keys have been gathered.
+   */
+  public Job submit(JobType type, Supplier<? extends Collection<String>> keySource,
+      Map<String, String> parameters) {
+    return submit(type, keySource, parameters, null);
+  }
+
+  /**
+   * Submit a job to be processed in the background, where the item keys are not yet known. The
+   * keys are gathered in the background before the items are processed, so that a slow source
+   * does not hold up the caller.
+   *
+   * @param type        The type of job.
+   * @param keySource   The source of the keys of the items to process, duplicates are ignored.
+   * @param parameters  The parameters shared by all items.
+   * @param concurrency The number of items to process concurrently, null for the default.
+   * @return The submitted job, with no items until the keys have been gathered.
+   */
+  public Job submit(JobType type, Supplier<? extends Collection<String>> keySource,
+      Map<String, String> parameters, Integer concurrency) {
+    Job job = createJob(type, parameters, concurrency);
+
+    taskExecutor.execute(() -> {
+      Job jobWithItems;
+
+      try {
+        jobWithItems = addItems(job, keySource.get());
+      } catch (OptimisticLockingFailureException e) {
+        log.info("Job {} was cancelled while its items were gathered.", job.id());
+        return;
+      } catch (RuntimeException e) {
+        log.error("Unable to gather the items of job {}.", job.id(), e);
+        fail(job, e.getMessage());
+        return;
+      }
+
+      run(jobWithItems);
+    });
+    return job;
+  }
+
+  /**
+   * Create a queued job with no items.
+   *
+   * @param type        The type of job.
+   * @param parameters  The parameters shared by all items.
+   * @param concurrency The number of items to process concurrently, null for the default. Limited
+   *                    to the maximum concurrency.
+   * @return The created job.
+   */
+  private Job createJob(JobType type, Map<String, String> parameters, Integer concurrency) {
+    if (!handlers.containsKey(type)) {
+      throw new IllegalArgumentException("No handler available for job type " + type);
+    }
+
+    Instant now = Instant.now();
+    return jobRepository.save(Job.builder()
+        .id(UUID.randomUUID().toString())
+        .type(type)
+        .status(Status.QUEUED)
+        .parameters(parameters)
+        .concurrency(concurrency == null ? defaultConcurrency
+            : Math.max(1, Math.min(concurrency, maxConcurrency)))
+        .submitted(now)
+        .updated(now)
+        .owner(owner)
+        .leaseExpires(now.plus(staleAfter))
+        .build());
+  }
+
+  /**
+   * Add a pending item to a job for each key. Items are only ever inserted, so that an item which
+   * already exists keeps its progress rather than being reset to pending.
+   *
+   * @param job  The job to add items to.
+   * @param keys The keys of the items, duplicates are ignored.
+   * @return The updated job.
+   * @throws OptimisticLockingFailureException If the job was cancelled while adding the items.
+   */
+  private Job addItems(Job job, Collection<String> keys) {
+    LinkedHashSet<String> uniqueKeys = new LinkedHashSet<>(keys);
+    List<JobItem> items = uniqueKeys.stream()
+        .map(key -> JobItem.builder()
+            .id(job.id() + ":" + key)
+            .jobId(job.id())
+            .key(key)
+            .status(PENDING)
+            .build())
+        .toList();
+
+    try {
+      itemRepository.insert(items);
+    } catch (DuplicateKeyException e) {
+      // The bulk insert stops at the first existing item, so the remainder are inserted singly.
+      log.info("Some items of job {} already exist, keeping their progress.", job.id());
+      items.forEach(this::insertIfAbsent);
+    }
+
+    log.info("Submitted {} job {} with {} items.", job.type(), job.id(), items.size());
+    return saveProgress(job.toBuilder().itemCount(items.size()).build());
+  }
+
+  /**
+   * Insert a job item, unless an item with the same ID already exists.
+   *
+   * @param item The item to insert.
+   */
+  private void insertIfAbsent(JobItem item) {
+    try {
+      itemRepository.insert(item);
+    } catch (DuplicateKeyException e) {
+      log.debug("Job item {} already exists.", item.id());
+    }
+  }
+
+  /**
+   * Renew the leases of the active jobs owned by this instance.
+   */
+  @Scheduled(fixedDelayString = "${application.jobs.heartbeat-interval}",
+      initialDelayString = "${application.jobs.heartbeat-interval}")
+  public void renewLeases() {
+    jobRepository.renewLeases(owner, ACTIVE_STATUSES, Instant.now().plus(staleAfter));
+  }
+
+  /**
+   * Claim and resume any active jobs whose lease has expired, such as after a restart. The claim is
+   * atomic so that only one instance resumes each job, items already processed are not processed
+   * again.
+   */
+  @Scheduled(fixedDelayString = "${application.jobs.heartbeat-interval}",
+      initialDelayString = "${application.jobs.heartbeat-interval}")
+  public void resumeAbandoned() {
+    Instant now = Instant.now();
+
+    for (Job abandoned : jobRepository.findAbandoned(ACTIVE_STATUSES, now)) {
+      long claimed = jobRepository.claim(abandoned.id(), ACTIVE_STATUSES, now, owner,
+          now.plus(staleAfter));
+
+      if (claimed > 0) {
+        jobRepository.findById(abandoned.id()).ifPresent(this::resume);
+      }
+    }
+  }
+
+  /**
+   * Resume a claimed job, a job abandoned before its items were gathered can not be resumed.
+   *
+   * @param job The claimed job.
+   */
+  private void resume(Job job) {
+    if (job.status() == Status.QUEUED && job.itemCount() == 0) {
+      log.warn("Job {} was abandoned before its items were gathered.", job.id());
+      fail(job, "Interrupted before the job items were gathered.");
+    } else {
+      log.info("Resuming abandoned {} job {}.", job.type(), job.id());
+      taskExecutor.execute(() -> run(job));
+    }
+  }
+
+  /**
+   * Cancel a job, any items not yet processed are left pending. A running job stops once its
+   * current chunk of items has been processed. The cancellation is retried if the job is changed
+   * concurrently, such as by a running job checkpointing its progress.
+   *
+   * @param id The ID of the job.
+   * @return The job, unchanged if it had already finished, or empty if not found.
+   */
+  public Optional<Job> cancel(String id) {
+    for (int attempt = 1; ; attempt++) {
+      Optional<Job> job = jobRepository.findById(id);
+
+      if (job.isEmpty()) {
+        return job;
+      }
+
+      if (!ACTIVE_STATUSES.contains(job.get().status())) {
+        log.info("Job {} has already finished with status {}.", id, job.get().status());
+        return job;
+      }
+
+      try {
+        log.info("Cancelling {} job {}.", job.get().type(), id);
+        return Optional.of(finish(job.get(), Status.CANCELLED, null));
+      } catch (OptimisticLockingFailureException e) {
+        if (attempt >= MAX_CANCEL_ATTEMPTS) {
+          throw e;
+        }
+
+        log.info("Job {} changed while being cancelled, retrying.", id);
+      }
+    }
+  }
+
+  /**
+   * Get a job, including the current item counts.
+   *
+   * @param id The ID of the job.
+   * @return The job, or empty if not found.
+   */
+  public Optional<Job> getJob(String id) {
+    return jobRepository.findById(id).map(job -> {
+      Map<JobItem.Status, Long> items = new EnumMap<>(JobItem.Status.class);
+
+      for (JobItem.Status status : JobItem.Status.values()) {
+        items.put(status, itemRepository.countByJobIdAndStatus(id, status));
+      }
+
+      return job.toBuilder().items(items).build();
+    });
+  }
+
+  /**
+   * Get a page of the items of a job with a given status.
+   *
+   * @param id     The ID of the job.
+   * @param status The item status to get.
+   * @param page   The page number.
+   * @param size   The page size.
+   * @return The page of items.
+   */
+  public List<JobItem> getItems(String id, JobItem.Status status, int page, int size) {
+    return itemRepository.findByJobIdAndStatus(id, status, PageRequest.of(page, size));
+  }
+
+  /**
+   * Process the pending items of a job, one chunk at a time. Progress is checkpointed after each
+   * chunk, at which point the job stops if it has been cancelled or claimed by another instance.
+   *
+   * @param job The job to run.
+   */
+  void run(Job job) {
+    JobHandler handler = handlers.get(job.type());
+    int concurrency = job.concurrency() > 0 ? job.concurrency() : defaultConcurrency;
+    ExecutorService workers = Executors.newFixedThreadPool(concurrency,
+        new CustomizableThreadFactory("job-" + job.type().name().toLowerCase() + "-"));
+
+    try {
+      job = saveProgress(job.toBuilder()
+          .status(Status.RUNNING)
+          .started(job.started() == null ? Instant.now() : job.started())
+          .build());
+
+      int batchSize = Math.max(1, handler.getBatchSize());
+      int chunkSize = concurrency * batchSize;
+      List<JobItem> pending = nextPending(job, chunkSize);
+
+      while (!pending.isEmpty()) {
+        Job runningJob = job;
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < pending.size(); i += batchSize) {
+          List<JobItem> batch = pending.subList(i, Math.min(i + batchSize, pending.size()));
+          futures.add(workers.submit(() -> process(handler, runningJob, batch)));
+        }
+
+        for (Future<?> future : futures) {
+          future.get();
+        }
+
+        job = saveProgress(job);
+        pending = nextPending(job, chunkSize);
+      }
+
+      if (Thread.currentThread().isInterrupted()) {
+        log.warn("Interrupted running job {}.", job.id());
+        return;
+      }
+
+      job = finish(job, Status.COMPLETED, null);
+      log.info("Completed {} job {}.", job.type(), job.id());
+    } catch (OptimisticLockingFailureException e) {
+      log.info("Stopped job {} as it was cancelled or claimed by another instance.", job.id());
+    } catch (InterruptedException e) {
+      log.warn("Interrupted running job {}.", job.id());
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException | RuntimeException e) {
+      log.error("Job {} failed.", job.id(), e);
+      fail(job, e.getMessage());
+    } finally {
+      workers.shutdownNow();
+      jobRepository.releaseLease(job.id(), owner);
+    }
+  }
+
+  /**
+   * Save the progress of a job, extending this instance's lease on it.
+   *
+   * @param job The job to save.
+   * @return The saved job.
+   * @throws OptimisticLockingFailureException If the job was changed elsewhere since it was read,
+   *                                           such as by being cancelled.
+   */
+  private Job saveProgress(Job job) {
+    Instant now = Instant.now();
+    return jobRepository.save(job.toBuilder()
+        .updated(now)
+        .owner(owner)
+        .leaseExpires(now.plus(staleAfter))
+        .build());
+  }
+
+  /**
+   * Record that a job has failed, unless it has since been cancelled or claimed elsewhere.
+   *
+   * @param job           The job which has failed.
+   * @param failureReason The reason the job failed.
+   */
+  private void fail(Job job, String failureReason) {
+    try {
+      finish(job, Status.FAILED, failureReason);
+    } catch (OptimisticLockingFailureException e) {
+      log.info("Job {} was cancelled or claimed by another instance before it failed.", job.id());
+    }
+  }
+
+  /**
+   * Record that a job has finished and the time taken.
+   *
+   * @param job           The job which has finished.
+   * @param status        The final status of the job.
+   * @param failureReason The reason the job failed, if applicable.
+   * @return The finished job.
+   * @throws OptimisticLockingFailureException If the job was changed elsewhere since it was read.
+   */
+  private Job finish(Job job, Status status, String failureReason) {
+    Instant now = Instant.now();
+    Job finished = jobRepository.save(job.toBuilder()
+        .status(status)
+        .updated(now)
+        .completed(now)
+        .failureReason(failureReason)
+        .build());
+
+    Instant started = job.started() == null ? job.submitted() : job.started();
+    if (started != null) {
+      metricsService.recordJobDuration(job.type(), status, Duration.between(started, now));
+    }
+    return finished;
+  }
+
+  /**
+   * Get the next chunk of pending items, each worker is given one batch of items.
+   *
+   * @param job       The job to get the items of.
+   * @param chunkSize The number of items in the chunk.
+   * @return The next pending items, empty if there are none left or the job was interrupted.
+   */
+  private List<JobItem> nextPending(Job job, int chunkSize) {
+    if (Thread.currentThread().isInterrupted()) {
+      return List.of();
+    }
+
+    return itemRepository.findByJobIdAndStatus(job.id(), PENDING, PageRequest.of(0, chunkSize));
+  }
+
+  /**
+   * Process a batch of items of a job and record the results.
+   *
+   * @param handler The handler for the job type.
+   * @param job     The job the items belong to.
+   * @param batch   The items to process.
+   */
+  private void process(JobHandler handler, Job job, List<JobItem> batch) {
+    List<JobItem> processed;
+
+    try {
+      processed = batch.size() == 1
+          ? List.of(handler.process(job, batch.get(0)))
+          : handler.processBatch(job, batch);
+    } catch (RuntimeException e) {
+      log.warn("Unable to process {} items of job {}.", batch.size(), job.id(), e);
+      processed = batch.stream()
+          .map(item -> item.toBuilder().status(FAILED).message(e.getMessage()).build())
+          .toList();
+    }
+
+    Instant now = Instant.now();
+
+    for (JobItem item : processed) {
+      itemRepository.save(item.toBuilder().processed(now).build());
+      metricsService.incrementJobItemCounter(job.type(), item.status());
+    }
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static uk.nhs.tis.trainee.usermanagement.config.ExecutorConfiguration.COGNITO_TASK_EXECUTOR;
+
+import com.amazonaws.xray.spring.aop.XRayEnabled;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListUserAuthEventsRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListUserAuthEventsResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AuthEventType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
+import uk.nhs.tis.trainee.usermanagement.dto.UserLoginDetailsDto;
+import uk.nhs.tis.trainee.usermanagement.dto.UserLoginHistoryPageDto;
+
+/**
+ * A service for paging through user login history. New auth events are only ever added to the
+ * newest page, so older pages are cached for a short time and the following page is prefetched in
+ * the background. The newest page is always read from Cognito.
+ */
+@Slf4j
+@Service
+@XRayEnabled
+public class LoginHistoryService {
+
+  public static final String LOGIN_HISTORY_CACHE = "LoginHistory";
+
+  private static final int MAX_PAGE_SIZE = 60;
+  private static final UserLoginHistoryPageDto EMPTY_PAGE = new UserLoginHistoryPageDto(List.of(),
+      null);
+
+  private final CognitoService cognitoService;
+  private final CognitoRateLimiter rateLimiter;
+  private final String userPoolId;
+  private final Cache cache;
+  private final TaskExecutor taskExecutor;
+
+  /**
+   * Construct an instance of the LoginHistoryService.
+   *
+   * @param cognitoService The Cognito service to read auth events from.
+   * @param rateLimiter    The shared rate limiter for background Cognito requests.
+   * @param userPoolId     The user pool to read auth events from.
+   * @param cacheManager   The cache manager to cache pages with.
+   * @param taskExecutor   The executor to prefetch pages with.
+   * @param guard          The guard isolating calls to the cache.
+   */
+  LoginHistoryService(CognitoService cognitoService, CognitoRateLimiter rateLimiter,
+      @Value("${application.aws.cognito.user-pool-id}") String userPoolId,
+      CacheManager cacheManager,
+      @Qualifier(COGNITO_TASK_EXECUTOR) TaskExecutor taskExecutor, DependencyGuard guard) {
+    this.cognitoService = cognitoService;
+    this.rateLimiter = rateLimiter;
+    this.userPoolId = userPoolId;
+    cache = new RequestCostCache(
+        new TracedCache(new GuardedCache(cacheManager.getCache(LOGIN_HISTORY_CACHE), guard)));
+    this.taskExecutor = taskExecutor;
+  }
+
+  /**
+   * Get a page of login history for the account associated with the given username.
+   *
+   * @param username  The username for the account.
+   * @param nextToken The token of the page to get, null for the newest page.
+   * @param pageSize  The maximum number of login events in the page, up to 60.
+   * @return The page of login events, empty if the user was not found.
+   */
+  public UserLoginHistoryPageDto getLoginHistory(String username, String nextToken,
+      int pageSize) {
+    int size = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
+    String key = getCacheKey(username, nextToken, size);
+
+    // Only pages addressed by a token are stable, the newest page gains every new auth event.
+    boolean cacheable = nextToken != null;
+    UserLoginHistoryPageDto page = cacheable ? cache.get(key, UserLoginHistoryPageDto.class) : null;
+
+    if (page == null) {
+      log.info("Retrieving login events for user with username '{}'.", username);
+      Optional<UserLoginHistoryPageDto> fetchedPage = fetchPage(username, nextToken, size);
+
+      if (fetchedPage.isEmpty()) {
+        return EMPTY_PAGE;
+      }
+
+      page = fetchedPage.get();
+
+      if (cacheable) {
+        cache.put(key, page);
+      }
+    }
+
+    prefetch(username, page.nextToken(), size);
+    return page;
+  }
+
+  /**
+   * Prefetch and cache the given page of login history in the background. The prefetch is skipped
+   * if the executor is busy.
+   *
+   * @param username  The username for the account.
+   * @param nextToken The token of the page to prefetch, nothing is fetched if null.
+   * @param pageSize  The maximum number of login events in the page.
+   */
+  private void prefetch(String username, String nextToken, int pageSize) {
+    if (nextToken == null) {
+      return;
+    }
+
+    String key = getCacheKey(username, nextToken, pageSize);
+
+    try {
+      taskExecutor.execute(() -> {
+        try {
+          if (cache.get(key) == null) {
+            rateLimiter.acquire();
+            fetchPage(username, nextToken, pageSize).ifPresent(page -> cache.put(key, page));
+          }
+        } catch (RuntimeException e) {
+          log.warn("Unable to prefetch login events for user '{}'.", username, e);
+        }
+      });
+    } catch (TaskRejectedException e) {
+      log.debug("Prefetch executor is busy, skipping login events prefetch for user '{}'.",
+          username);
+    }
+  }
+
+  /**
+   * Fetch a page of login history from Cognito.
+   *
+   * @param username  The username for the account.
+   * @param nextToken The token of the page to get, null for the newest page.
+   * @param pageSize  The maximum number of login events in the page.
+   * @return The page of login events, empty if the user was not found.
+   */
+  private Optional<UserLoginHistoryPageDto> fetchPage(String username, String nextToken,
+      int pageSize) {
+    AdminListUserAuthEventsRequest request = AdminListUserAuthEventsRequest.builder()
+        .userPoolId(userPoolId)
+        .username(username)
+        .maxResults(pageSize) //results are sorted in descending CreationDate order
+        .nextToken(nextToken)
+        .build();
+
+    try {
+      AdminListUserAuthEventsResponse result = cognitoService.adminListUserAuthEvents(request);
+      List<UserLoginDetailsDto> events = getLoginDetailsListFromAuthEvents(result);
+      return Optional.of(new UserLoginHistoryPageDto(events, result.nextToken()));
+    } catch (UserNotFoundException e) {
+      log.info("User '{}' not found.", username);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Retrieve the list of UserLoginDetailsDtos from the user auth events list.
+   *
+   * @param authEventsResult the result of the auth events call.
+   * @return the list of UserLoginDetailsDtos, or an empty list if no auth events exist.
+   */
+  List<UserLoginDetailsDto> getLoginDetailsListFromAuthEvents(
+      AdminListUserAuthEventsResponse authEventsResult) {
+    List<AuthEventType> authEvents = authEventsResult.authEvents();
+
+    return authEvents.stream()
+        .map(authEvent -> {
+          String eventId = authEvent.eventId();
+          Instant eventDate = authEvent.creationDate();
+          String event = authEvent.eventTypeAsString();
+          String eventResult = authEvent.eventResponseAsString();
+          String device = authEvent.eventContextData().deviceName();
+          String challenges = authEvent.challengeResponses().stream()
+              .map(it -> it.challengeName() + ":" + it.challengeResponse())
+              .collect(Collectors.joining(", "));
+
+          return new UserLoginDetailsDto(eventId, eventDate, event, eventResult, challenges,
+              device);
+        })
+        .toList();
+  }
+
+  /**
+   * Get the cache key for a page of login history.
+   *
+   * @param username  The username for the account.
+   * @param nextToken The token of the page.
+   * @param pageSize  The maximum number of login events in the page.
+   * @return The cache key.
+   */
+  private String getCacheKey(String username, String nextToken, int pageSize) {
+    return String.format("%s:%d:%s", username, pageSize, nextToken == null ? "" : nextToken);
+  }
+}
@@ -21,17 +21,33 @@
 
 package uk.nhs.tis.trainee.usermanagement.service;
 
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.UserStatusType;
+import uk.nhs.tis.trainee.usermanagement.enumeration.CognitoOperation;
+import uk.nhs.tis.trainee.usermanagement.enumeration.CognitoOutcome;
+import uk.nhs.tis.trainee.usermanagement.enumeration.ContactDetailsOutcome;
+import uk.nhs.tis.trainee.usermanagement.enumeration.Dependency;
 import uk.nhs.tis.trainee.usermanagement.enumeration.MfaType;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.JobItem;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
 
 /**
- * A service for defining and publishing metrics.
+ * A service for defining and publishing metrics. Meters tagged by job, Cognito operation,
+ * listener outcome or dependency are registered on first use, as most tag combinations are never
+ * seen and every registered meter is published each step.
  */
 @Service
 @Slf4j
@@ -40,13 +56,75 @@ public class MetricsService {
   protected static final String METRIC_NAME_MFA_RESET = "account.mfa.reset";
   protected static final String METRIC_NAME_ACCOUNT_DELETE = "account.delete";
   protected static final String METRIC_RESYNC = "data.resync";
+  protected static final String METRIC_DUPLICATE_RESOLUTION = "account.duplicate.resolution";
+  protected static final String METRIC_JOB_ITEMS = "job.items";
+  protected static final String METRIC_JOB_DURATION = "job.duration";
+  protected static final String METRIC_COGNITO_REQUESTS = "cognito.requests";
+  protected static final String METRIC_COGNITO_MAU_BILLABLE = "cognito.requests.mau.billable";
+  protected static final String METRIC_COGNITO_COALESCING = "cognito.requests.coalescing";
+  protected static final String METRIC_USER_INDEX_SCAN = "user.index.scan";
+  protected static final String METRIC_USER_INDEX_SCAN_PAGES = "user.index.scan.pages";
+  protected static final String METRIC_USER_INDEX_SCAN_USERS = "user.index.scan.users";
+  protected static final String METRIC_USER_INDEX_SCAN_THROTTLED = "user.index.scan.throttled";
+  protected static final String METRIC_USER_INDEX_ENTRIES = "user.index.entries";
+  protected static final String METRIC_USER_INDEX_AGE = "user.index.age";
+  protected static final String METRIC_USER_INDEX_LOOKUPS = "user.index.lookups";
+  protected static final String METRIC_CONTACT_DETAILS = "listener.contact.details";
+  protected static final String METRIC_CONTACT_DETAILS_AGE = "listener.contact.details.age";
+  protected static final String METRIC_CONTACT_DETAILS_QUEUE_DEPTH =
+      "listener.contact.details.queue.depth";
+  protected static final String METRIC_PROFILE_CLIENT_REJECTED = "profile.client.rejected";
+  protected static final String METRIC_CIRCUIT_BREAKER_TRANSITIONS = "circuit.breaker.transitions";
+  protected static final String METRIC_DEPENDENCY_FALLBACKS = "dependency.fallbacks";
 
   protected static final String TAG_MFA = "MfaType";
   protected static final String TAG_USER_STATUS = "UserStatus";
+  protected static final String TAG_OUTCOME = "Outcome";
+  protected static final String TAG_JOB_TYPE = "JobType";
+  protected static final String TAG_STATUS = "Status";
+  protected static final String TAG_OPERATION = "Operation";
+  protected static final String TAG_RESULT = "Result";
+  protected static final String TAG_STATE = "State";
+  protected static final String TAG_DEPENDENCY = "Dependency";
+
+  private static final Duration[] COGNITO_SLOS = {
+      Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+      Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofMillis(2500)
+  };
 
   protected final Map<MfaType, Map<UserStatusType, Counter>> deleteAccountCounters;
   protected final Map<MfaType, Counter> resetMfaCounters;
   protected final Counter resyncCounter;
+  protected final Timer resolvedDuplicateTimer;
+  protected final Timer unresolvedDuplicateTimer;
+  protected final Map<JobType, Map<JobItem.Status, Counter>> jobItemCounters =
+      new ConcurrentHashMap<>();
+  protected final Map<JobType, Map<Job.Status, Timer>> jobTimers = new ConcurrentHashMap<>();
+  protected final Map<CognitoOperation, Map<CognitoOutcome, Timer>> cognitoTimers =
+      new ConcurrentHashMap<>();
+  protected final Map<CognitoOperation, Counter> cognitoMauCounters = new ConcurrentHashMap<>();
+  protected final Map<CognitoOperation, Counter> cognitoIssuedCounters =
+      new ConcurrentHashMap<>();
+  protected final Map<CognitoOperation, Counter> cognitoSharedCounters =
+      new ConcurrentHashMap<>();
+  protected final Timer userIndexScanTimer;
+  protected final Counter userIndexPageCounter;
+  protected final Counter userIndexUserCounter;
+  protected final Counter userIndexThrottleCounter;
+  protected final Counter userIndexHitCounter;
+  protected final Counter userIndexMissCounter;
+  protected final AtomicLong userIndexEntries = new AtomicLong();
+  protected volatile Instant userIndexRefreshed;
+  protected final Map<ContactDetailsOutcome, Timer> contactDetailsTimers =
+      new ConcurrentHashMap<>();
+  protected final Timer contactDetailsAgeTimer;
+  protected final AtomicLong contactDetailsQueueVisible = new AtomicLong();
+  protected final AtomicLong contactDetailsQueueInFlight = new AtomicLong();
+  protected final Counter profileClientRejectedCounter;
+  protected final Map<Dependency, Map<CircuitBreaker.State, Counter>> circuitBreakerCounters =
+      new ConcurrentHashMap<>();
+  protected final Map<Dependency, Counter> dependencyFallbackCounters = new ConcurrentHashMap<>();
+  private final MeterRegistry meterRegistry;
 
   /**
    * Initialise the metrics service.
@@ -54,6 +132,7 @@ public class MetricsService {
    * @param meterRegistry The Meter Registry to use.
    */
   public MetricsService(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
 
     this.deleteAccountCounters = new EnumMap<>(MfaType.class);
     this.resetMfaCounters = new EnumMap<>(MfaType.class);
@@ -71,6 +150,30 @@ public class MetricsService {
     }
 
     resyncCounter = meterRegistry.counter(METRIC_RESYNC);
+    resolvedDuplicateTimer = meterRegistry.timer(METRIC_DUPLICATE_RESOLUTION,
+        TAG_OUTCOME, "Resolved");
+    unresolvedDuplicateTimer = meterRegistry.timer(METRIC_DUPLICATE_RESOLUTION,
+        TAG_OUTCOME, "Unresolved");
+
+    userIndexScanTimer = meterRegistry.timer(METRIC_USER_INDEX_SCAN);
+    userIndexPageCounter = meterRegistry.counter(METRIC_USER_INDEX_SCAN_PAGES);
+    userIndexUserCounter = meterRegistry.counter(METRIC_USER_INDEX_SCAN_USERS);
+    userIndexThrottleCounter = meterRegistry.counter(METRIC_USER_INDEX_SCAN_THROTTLED);
+    userIndexHitCounter = meterRegistry.counter(METRIC_USER_INDEX_LOOKUPS, TAG_RESULT, "Hit");
+    userIndexMissCounter = meterRegistry.counter(METRIC_USER_INDEX_LOOKUPS, TAG_RESULT, "Miss");
+    meterRegistry.gauge(METRIC_USER_INDEX_ENTRIES, userIndexEntries);
+    meterRegistry.gauge(METRIC_USER_INDEX_AGE, Tags.empty(), this,
+        MetricsService::getUserIndexAgeSeconds);
+
+    contactDetailsAgeTimer = Timer.builder(METRIC_CONTACT_DETAILS_AGE)
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .register(meterRegistry);
+    meterRegistry.gauge(METRIC_CONTACT_DETAILS_QUEUE_DEPTH, Tags.of(TAG_STATE, "Visible"),
+        contactDetailsQueueVisible);
+    meterRegistry.gauge(METRIC_CONTACT_DETAILS_QUEUE_DEPTH, Tags.of(TAG_STATE, "InFlight"),
+        contactDetailsQueueInFlight);
+
+    profileClientRejectedCounter = meterRegistry.counter(METRIC_PROFILE_CLIENT_REJECTED);
   }
 
   /**
@@ -98,4 +201,238 @@ public class MetricsService {
   public void incrementResyncCounter() {
     this.resyncCounter.increment();
   }
+
+  /**
+   * Increment the Account Resync counter by the given amount.
+   *
+   * @param count The number of resyncs to add.
+   */
+  public void incrementResyncCounter(int count) {
+    this.resyncCounter.increment(count);
+  }
+
+  /**
+   * Record the time taken to resolve a trainee's duplicate accounts.
+   *
+   * @param duration The time taken to identify the main account.
+   * @param resolved Whether the main account could be identified.
+   */
+  public void recordDuplicateResolution(Duration duration, boolean resolved) {
+    Timer timer = resolved ? resolvedDuplicateTimer : unresolvedDuplicateTimer;
+    timer.record(duration);
+  }
+
+  /**
+   * Increment the processed job item counter, the rate of which gives the job throughput.
+   *
+   * @param jobType The type of the job the item belongs to.
+   * @param status  The status the item was processed to.
+   */
+  public void incrementJobItemCounter(JobType jobType, JobItem.Status status) {
+    jobItemCounters.computeIfAbsent(jobType, type -> new ConcurrentHashMap<>())
+        .computeIfAbsent(status, st -> meterRegistry.counter(METRIC_JOB_ITEMS,
+            TAG_JOB_TYPE, jobType.name(),
+            TAG_STATUS, status.name()))
+        .increment();
+  }
+
+  /**
+   * Record the time taken to run a job.
+   *
+   * @param jobType  The type of the job.
+   * @param status   The status the job finished with.
+   * @param duration The time taken to run the job.
+   */
+  public void recordJobDuration(JobType jobType, Job.Status status, Duration duration) {
+    jobTimers.computeIfAbsent(jobType, type -> new ConcurrentHashMap<>())
+        .computeIfAbsent(status, st -> meterRegistry.timer(METRIC_JOB_DURATION,
+            TAG_JOB_TYPE, jobType.name(),
+            TAG_STATUS, status.name()))
+        .record(duration);
+  }
+
+  /**
+   * Record the time taken by a Cognito request, successful requests for operations which count
+   * towards monthly active users are also counted separately to track billing.
+   *
+   * @param operation The Cognito operation requested.
+   * @param outcome   The outcome of the request.
+   * @param duration  The time taken by the request.
+   */
+  public void recordCognitoRequest(CognitoOperation operation, CognitoOutcome outcome,
+      Duration duration) {
+    cognitoTimers.computeIfAbsent(operation, op -> new ConcurrentHashMap<>())
+        .computeIfAbsent(outcome, out -> buildCognitoTimer(operation, outcome))
+        .record(duration);
+
+    if (outcome == CognitoOutcome.SUCCESS && operation.isMauBillable()) {
+      cognitoMauCounters.computeIfAbsent(operation,
+              op -> meterRegistry.counter(METRIC_COGNITO_MAU_BILLABLE,
+                  TAG_OPERATION, operation.getOperationName()))
+          .increment();
+    }
+  }
+
+  /**
+   * Build the timer for a Cognito operation and outcome, timers are only registered once used as
+   * most combinations are never seen. Latency distributions are only published for successful
+   * requests, failed requests are dominated by retries and timeouts so only their rate is useful.
+   *
+   * @param operation The Cognito operation requested.
+   * @param outcome   The outcome of the request.
+   * @return The registered timer.
+   */
+  private Timer buildCognitoTimer(CognitoOperation operation, CognitoOutcome outcome) {
+    Timer.Builder builder = Timer.builder(METRIC_COGNITO_REQUESTS)
+        .tag(TAG_OPERATION, operation.getOperationName())
+        .tag(TAG_OUTCOME, outcome.name());
+
+    if (outcome == CognitoOutcome.SUCCESS) {
+      builder.publishPercentiles(0.5, 0.95, 0.99)
+          .publishPercentileHistogram()
+          .serviceLevelObjectives(COGNITO_SLOS);
+    }
+
+    return builder.register(meterRegistry);
+  }
+
+  /**
+   * Count a coalescable Cognito lookup, the ratio of shared to total lookups gives the proportion
+   * of requests saved by coalescing concurrent identical lookups.
+   *
+   * @param operation The Cognito operation looked up.
+   * @param shared    Whether the lookup shared another caller's in-flight request, rather than
+   *                  issuing its own.
+   */
+  public void incrementCognitoCoalescingCounter(CognitoOperation operation, boolean shared) {
+    Map<CognitoOperation, Counter> counters = shared ? cognitoSharedCounters
+        : cognitoIssuedCounters;
+    counters.computeIfAbsent(operation, op -> meterRegistry.counter(METRIC_COGNITO_COALESCING,
+            TAG_OPERATION, operation.getOperationName(),
+            TAG_RESULT, shared ? "Shared" : "Issued"))
+        .increment();
+  }
+
+  /**
+   * Count a page of users scanned while refreshing the user account index, the rates of which
+   * give the pages and users scanned per second.
+   *
+   * @param userCount The number of users in the page.
+   */
+  public void incrementUserIndexPageCounter(int userCount) {
+    userIndexPageCounter.increment();
+    userIndexUserCounter.increment(userCount);
+  }
+
+  /**
+   * Count a throttled request retried while refreshing the user account index.
+   */
+  public void incrementUserIndexThrottleCounter() {
+    userIndexThrottleCounter.increment();
+  }
+
+  /**
+   * Record a completed full refresh of the user account index, resetting the index age.
+   *
+   * @param duration   The time taken to scan the user pool.
+   * @param entryCount The number of trainees in the rebuilt index.
+   */
+  public void recordUserIndexRefresh(Duration duration, long entryCount) {
+    userIndexScanTimer.record(duration);
+    userIndexEntries.set(entryCount);
+    userIndexRefreshed = Instant.now();
+  }
+
+  /**
+   * Count a lookup of a trainee's user account IDs, the ratio of which gives the index hit rate.
+   *
+   * @param hit Whether the account IDs were already indexed.
+   */
+  public void incrementUserIndexLookupCounter(boolean hit) {
+    Counter counter = hit ? userIndexHitCounter : userIndexMissCounter;
+    counter.increment();
+  }
+
+  /**
+   * Get the time since the user account index was last fully refreshed.
+   *
+   * @return The age of the index in seconds, or NaN if it has not been refreshed.
+   */
+  double getUserIndexAgeSeconds() {
+    Instant refreshed = userIndexRefreshed;
+    return refreshed == null ? Double.NaN
+        : Duration.between(refreshed, Instant.now()).toMillis() / 1000.0;
+  }
+
+  /**
+   * Record the time taken to handle a contact details update, the rate of which gives the listener
+   * throughput.
+   *
+   * @param outcome  The branch taken while handling the update.
+   * @param duration The time taken to handle the update.
+   */
+  public void recordContactDetailsUpdate(ContactDetailsOutcome outcome, Duration duration) {
+    contactDetailsTimers.computeIfAbsent(outcome, out -> Timer.builder(METRIC_CONTACT_DETAILS)
+            .tag(TAG_OUTCOME, outcome.name())
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry))
+        .record(duration);
+  }
+
+  /**
+   * Record the time a contact details update waited between being sent to the queue and being
+   * received by the listener.
+   *
+   * @param age The age of the message when received.
+   */
+  public void recordContactDetailsMessageAge(Duration age) {
+    contactDetailsAgeTimer.record(age);
+  }
+
+  /**
+   * Record the approximate depth of the contact details queue.
+   *
+   * @param visible  The number of messages waiting to be received.
+   * @param inFlight The number of messages received but not yet deleted.
+   */
+  public void recordContactDetailsQueueDepth(long visible, long inFlight) {
+    contactDetailsQueueVisible.set(visible);
+    contactDetailsQueueInFlight.set(inFlight);
+  }
+
+  /**
+   * Increment the count of profile service calls rejected because every pooled connection was
+   * leased for longer than the acquire timeout.
+   */
+  public void incrementProfileClientRejectedCounter() {
+    profileClientRejectedCounter.increment();
+  }
+
+  /**
+   * Increment the count of a dependency's circuit breaker transitioning to a new state.
+   *
+   * @param dependency The dependency whose circuit breaker changed state.
+   * @param state      The state transitioned to.
+   */
+  public void incrementCircuitBreakerTransitionCounter(Dependency dependency,
+      CircuitBreaker.State state) {
+    circuitBreakerCounters.computeIfAbsent(dependency, dep -> new ConcurrentHashMap<>())
+        .computeIfAbsent(state, st -> meterRegistry.counter(METRIC_CIRCUIT_BREAKER_TRANSITIONS,
+            TAG_DEPENDENCY, dependency.name(),
+            TAG_STATE, state.name()))
+        .increment();
+  }
+
+  /**
+   * Increment the count of calls to a dependency which were answered by a fallback, because the
+   * dependency's circuit breaker was open or its bulkhead was full.
+   *
+   * @param dependency The dependency which was not called.
+   */
+  public void incrementDependencyFallbackCounter(Dependency dependency) {
+    dependencyFallbackCounters.computeIfAbsent(dependency,
+            dep -> meterRegistry.counter(METRIC_DEPENDENCY_FALLBACKS,
+                TAG_DEPENDENCY, dependency.name()))
+        .increment();
+  }
 }
@@ -0,0 +1,62 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.FAILED;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.SUCCEEDED;
+
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.JobItem;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
+
+/**
+ * A job handler which resets the MFA of each user in a bulk MFA reset job.
+ */
+@Component
+public class MfaResetJobHandler implements JobHandler {
+
+  private final UserAccountService userAccountService;
+  private final CognitoService cognitoService;
+
+  MfaResetJobHandler(UserAccountService userAccountService, CognitoService cognitoService) {
+    this.userAccountService = userAccountService;
+    this.cognitoService = cognitoService;
+  }
+
+  @Override
+  public JobType getType() {
+    return JobType.MFA_RESET;
+  }
+
+  @Override
+  public JobItem process(Job job, JobItem item) {
+    try {
+      // A reset makes at least four requests, more if the MFA type must be looked up.
+      cognitoService.runPaced(() -> userAccountService.resetUserAccountMfa(item.key()));
+      return item.toBuilder().status(SUCCEEDED).build();
+    } catch (UserNotFoundException e) {
+      return item.toBuilder().status(FAILED).message("User not found.").build();
+    }
+  }
+}
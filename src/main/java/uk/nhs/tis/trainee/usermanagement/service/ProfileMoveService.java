@@ -0,0 +1,139 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import uk.nhs.tis.trainee.usermanagement.dto.ProfileMoveBatchDto;
+import uk.nhs.tis.trainee.usermanagement.dto.ProfileMoveDto;
+import uk.nhs.tis.trainee.usermanagement.event.ProfileMoveEvent;
+
+/**
+ * A service for moving trainee data between TIS IDs in bulk.
+ */
+@Slf4j
+@Service
+public class ProfileMoveService {
+
+  private final EventPublishService eventPublishService;
+
+  ProfileMoveService(EventPublishService eventPublishService) {
+    this.eventPublishService = eventPublishService;
+  }
+
+  /**
+   * Validate and publish a batch of profile moves. Chains of moves are collapsed so that every
+   * source moves directly to its final target, e.g. moves from A to B and from B to C are
+   * published as moves from A to C and from B to C.
+   *
+   * @param moves The moves to make.
+   * @return The published and failed moves.
+   * @throws IllegalArgumentException If the moves are invalid, conflicting or cyclic.
+   */
+  public ProfileMoveBatchDto moveProfiles(List<ProfileMoveDto> moves) {
+    List<ProfileMoveEvent> events = planMoves(moves);
+    log.info("Publishing {} profile moves from {} requested.", events.size(), moves.size());
+
+    Set<ProfileMoveEvent> failures = eventPublishService.publishProfileMoveEvents(events);
+    List<ProfileMoveDto> published = new ArrayList<>();
+    List<ProfileMoveDto> failed = new ArrayList<>();
+
+    for (ProfileMoveEvent event : events) {
+      ProfileMoveDto move = new ProfileMoveDto(event.fromTraineeId(), event.toTraineeId());
+
+      if (failures.contains(event)) {
+        failed.add(move);
+      } else {
+        published.add(move);
+      }
+    }
+
+    return new ProfileMoveBatchDto(published, failed);
+  }
+
+  /**
+   * Validate a batch of profile moves and collapse any chains into their final target. Once
+   * collapsed, no move targets the source of another move, so the moves are independent of each
+   * other.
+   *
+   * @param moves The moves to plan.
+   * @return The collapsed moves, in the order the sources were first given.
+   * @throws IllegalArgumentException If the moves are invalid, conflicting or cyclic.
+   */
+  List<ProfileMoveEvent> planMoves(List<ProfileMoveDto> moves) {
+    if (moves.isEmpty()) {
+      throw new IllegalArgumentException("No profile moves given.");
+    }
+
+    Map<String, String> targets = new LinkedHashMap<>();
+
+    for (ProfileMoveDto move : moves) {
+      String from = move.fromTisId();
+      String to = move.toTisId();
+
+      if (from == null || from.isBlank() || to == null || to.isBlank()) {
+        throw new IllegalArgumentException("Profile moves must have a from and to TIS ID.");
+      }
+
+      if (from.equals(to)) {
+        throw new IllegalArgumentException(
+            String.format("Trainee '%s' cannot be moved to itself.", from));
+      }
+
+      String existingTarget = targets.putIfAbsent(from, to);
+
+      if (existingTarget != null && !existingTarget.equals(to)) {
+        throw new IllegalArgumentException(
+            String.format("Trainee '%s' cannot be moved to both '%s' and '%s'.", from,
+                existingTarget, to));
+      }
+    }
+
+    List<ProfileMoveEvent> events = new ArrayList<>();
+
+    for (Entry<String, String> move : targets.entrySet()) {
+      String from = move.getKey();
+      String target = move.getValue();
+      Set<String> visited = new HashSet<>(Set.of(from));
+
+      while (targets.containsKey(target)) {
+        if (!visited.add(target)) {
+          throw new IllegalArgumentException(
+              String.format("Profile moves from trainee '%s' form a cycle.", from));
+        }
+
+        target = targets.get(target);
+      }
+
+      events.add(new ProfileMoveEvent(from, target));
+    }
+
+    return events;
+  }
+}
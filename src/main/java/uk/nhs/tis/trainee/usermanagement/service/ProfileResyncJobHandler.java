@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.FAILED;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.SUCCEEDED;
+
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.JobItem;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
+
+/**
+ * A job handler which requests a profile sync for each trainee in a bulk resync job, sending the
+ * sync requests in batches at a limited rate.
+ */
+@Component
+public class ProfileResyncJobHandler implements JobHandler {
+
+  // The maximum number of messages SQS accepts in a single batch request.
+  private static final int SQS_BATCH_SIZE = 10;
+
+  private final EventPublishService eventPublishService;
+  private final RateLimiter rateLimiter;
+
+  /**
+   * Construct an instance of the ProfileResyncJobHandler.
+   *
+   * @param eventPublishService The service to publish sync requests with.
+   * @param messagesPerSecond   The maximum number of sync requests to send per second.
+   */
+  ProfileResyncJobHandler(EventPublishService eventPublishService,
+      @Value("${application.profile-resync.messages-per-second}") double messagesPerSecond) {
+    this.eventPublishService = eventPublishService;
+    rateLimiter = new RateLimiter("Profile resync", messagesPerSecond);
+  }
+
+  @Override
+  public JobType getType() {
+    return JobType.PROFILE_RESYNC;
+  }
+
+  @Override
+  public int getBatchSize() {
+    return SQS_BATCH_SIZE;
+  }
+
+  @Override
+  public JobItem process(Job job, JobItem item) {
+    return processBatch(job, List.of(item)).get(0);
+  }
+
+  @Override
+  public List<JobItem> processBatch(Job job, List<JobItem> items) {
+    rateLimiter.acquire(items.size());
+
+    List<String> traineeIds = items.stream().map(JobItem::key).toList();
+    Map<String, String> failures = eventPublishService.publishProfileSyncEvents(traineeIds);
+
+    return items.stream()
+        .map(item -> failures.containsKey(item.key())
+            ? item.toBuilder().status(FAILED).message(failures.get(item.key())).build()
+            : item.toBuilder().status(SUCCEEDED).build())
+        .toList();
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A rate limiter which spaces permits evenly, used to pace bulk and background work against
+ * downstream quotas.
+ */
+@Slf4j
+public class RateLimiter {
+
+  private final String name;
+  private final long intervalNanos;
+  private long nextPermitNanos;
+
+  /**
+   * Create a rate limiter.
+   *
+   * @param name             The name of the limited resource, used for logging.
+   * @param permitsPerSecond The maximum number of permits to allow per second.
+   */
+  public RateLimiter(String name, double permitsPerSecond) {
+    if (permitsPerSecond <= 0) {
+      throw new IllegalArgumentException(name + " permits per second must be positive.");
+    }
+
+    this.name = name;
+    intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    nextPermitNanos = System.nanoTime();
+  }
+
+  /**
+   * Wait until a single permit is available.
+   */
+  public void acquire() {
+    acquire(1);
+  }
+
+  /**
+   * Wait until the given number of permits are available. If the thread is interrupted while
+   * waiting then the interrupt flag is restored and the method returns early.
+   *
+   * @param permits The number of permits to acquire.
+   */
+  public void acquire(int permits) {
+    long waitNanos = reserve(permits);
+
+    if (waitNanos > 0) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(waitNanos);
+      } catch (InterruptedException e) {
+        log.warn("Interrupted while waiting for the {} rate limit.", name);
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Reserve the given number of permits.
+   *
+   * @param permits The number of permits to reserve.
+   * @return The time to wait, in nanoseconds, before the reserved permits may be used.
+   */
+  synchronized long reserve(int permits) {
+    long now = System.nanoTime();
+    long permitAt = Math.max(now, nextPermitNanos);
+    nextPermitNanos = permitAt + intervalNanos * permits;
+    return permitAt - now;
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.LongAdder;
+import uk.nhs.tis.trainee.usermanagement.enumeration.CostComponent;
+
+/**
+ * A request-scoped accumulator of the time spent and calls made to each downstream dependency.
+ * Costs are recorded against the current thread, so work handed off to other threads is only
+ * attributed to the request when wrapped with {@link #propagate(Runnable)}, and recording outside a
+ * request has no effect.
+ */
+public final class RequestCost {
+
+  private static final ThreadLocal<RequestCost> CURRENT = new ThreadLocal<>();
+
+  private final long startNanos = System.nanoTime();
+  private final Map<CostComponent, Totals> costs = new EnumMap<>(CostComponent.class);
+
+  private RequestCost() {
+    for (CostComponent component : CostComponent.values()) {
+      costs.put(component, new Totals());
+    }
+  }
+
+  /**
+   * Begin accumulating costs for the current thread.
+   *
+   * @return The new cost accumulator.
+   */
+  public static RequestCost begin() {
+    RequestCost cost = new RequestCost();
+    CURRENT.set(cost);
+    return cost;
+  }
+
+  /**
+   * Stop accumulating costs for the current thread.
+   */
+  public static void end() {
+    CURRENT.remove();
+  }
+
+  /**
+   * Wrap a task so that the costs it records are attributed to the current request, whichever
+   * thread it runs on. Tasks are returned unwrapped outside a request.
+   *
+   * @param task The task to wrap.
+   * @return The wrapped task.
+   */
+  public static Runnable propagate(Runnable task) {
+    RequestCost cost = CURRENT.get();
+
+    if (cost == null) {
+      return task;
+    }
+
+    return () -> {
+      RequestCost previous = CURRENT.get();
+      CURRENT.set(cost);
+
+      try {
+        task.run();
+      } finally {
+        if (previous == null) {
+          CURRENT.remove();
+        } else {
+          CURRENT.set(previous);
+        }
+      }
+    };
+  }
+
+  /**
+   * Record a call to a downstream dependency against the current request, if there is one.
+   *
+   * @param component The dependency called.
+   * @param duration  The duration of the call.
+   */
+  public static void record(CostComponent component, Duration duration) {
+    RequestCost cost = CURRENT.get();
+
+    if (cost != null) {
+      Totals totals = cost.costs.get(component);
+      totals.count.increment();
+      totals.nanos.add(duration.toNanos());
+    }
+  }
+
+  /**
+   * Get the number of calls made to a dependency.
+   *
+   * @param component The dependency.
+   * @return The number of calls.
+   */
+  public long getCount(CostComponent component) {
+    return costs.get(component).count.sum();
+  }
+
+  /**
+   * Get the total time spent calling a dependency.
+   *
+   * @param component The dependency.
+   * @return The total duration.
+   */
+  public Duration getDuration(CostComponent component) {
+    return Duration.ofNanos(costs.get(component).nanos.sum());
+  }
+
+  /**
+   * Get the time elapsed since the request began.
+   *
+   * @return The elapsed duration.
+   */
+  public Duration getElapsed() {
+    return Duration.ofNanos(System.nanoTime() - startNanos);
+  }
+
+  /**
+   * Format the accumulated costs as a Server-Timing header value, e.g.
+   * {@code cognito;dur=12.3;desc="2 calls", redis;dur=0.8;desc="1 call", total;dur=15.0}.
+   *
+   * @return The header value.
+   */
+  public String toServerTiming() {
+    StringJoiner joiner = new StringJoiner(", ");
+
+    for (CostComponent component : CostComponent.values()) {
+      long count = getCount(component);
+      joiner.add(String.format(Locale.ROOT, "%s;dur=%.1f;desc=\"%d %s\"",
+          component.getMetricName(), toMillis(getDuration(component)), count,
+          count == 1 ? "call" : "calls"));
+    }
+
+    joiner.add(String.format(Locale.ROOT, "total;dur=%.1f", toMillis(getElapsed())));
+    return joiner.toString();
+  }
+
+  private static double toMillis(Duration duration) {
+    return duration.toNanos() / 1_000_000.0;
+  }
+
+  /**
+   * The running totals for a single dependency, which may be recorded from several threads.
+   */
+  private static class Totals {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import uk.nhs.tis.trainee.usermanagement.enumeration.CostComponent;
+
+/**
+ * A cache decorator which records the time spent on each cache operation against the current
+ * request's {@link RequestCost}. The caches themselves are left undecorated in the cache manager,
+ * so that cache statistics continue to be bound to the underlying Redis caches.
+ */
+public class RequestCostCache implements Cache {
+
+  private final Cache delegate;
+
+  /**
+   * Decorate a cache to record request costs.
+   *
+   * @param delegate The cache to decorate.
+   */
+  public RequestCostCache(Cache delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return delegate.getNativeCache();
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    return timed(() -> delegate.get(key));
+  }
+
+  @Override
+  public <T> T get(Object key, Class<T> type) {
+    return timed(() -> delegate.get(key, type));
+  }
+
+  @Override
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    long start = System.nanoTime();
+    long[] loaderNanos = new long[1];
+
+    try {
+      return delegate.get(key, () -> {
+        long loaderStart = System.nanoTime();
+
+        try {
+          return valueLoader.call();
+        } finally {
+          loaderNanos[0] = System.nanoTime() - loaderStart;
+        }
+      });
+    } finally {
+      // The loader's own cost is recorded separately, so only the cache time is attributed here.
+      RequestCost.record(CostComponent.REDIS,
+          Duration.ofNanos(System.nanoTime() - start - loaderNanos[0]));
+    }
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    timed(() -> {
+      delegate.put(key, value);
+      return null;
+    });
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    return timed(() -> delegate.putIfAbsent(key, value));
+  }
+
+  @Override
+  public void evict(Object key) {
+    timed(() -> {
+      delegate.evict(key);
+      return null;
+    });
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    return timed(() -> delegate.evictIfPresent(key));
+  }
+
+  @Override
+  public void clear() {
+    timed(() -> {
+      delegate.clear();
+      return null;
+    });
+  }
+
+  @Override
+  public boolean invalidate() {
+    return timed(delegate::invalidate);
+  }
+
+  /**
+   * Perform a cache operation, recording its duration.
+   *
+   * @param operation The cache operation.
+   * @param <T>       The result type of the operation.
+   * @return The result of the operation.
+   */
+  private static <T> T timed(Supplier<T> operation) {
+    long start = System.nanoTime();
+
+    try {
+      return operation.get();
+    } finally {
+      RequestCost.record(CostComponent.REDIS, Duration.ofNanos(System.nanoTime() - start));
+    }
+  }
+}
@@ -0,0 +1,267 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListUserAuthEventsRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListUserAuthEventsResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AuthEventType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.EventResponseType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.EventType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.TooManyRequestsException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
+import uk.nhs.tis.trainee.usermanagement.model.SignInSummary;
+import uk.nhs.tis.trainee.usermanagement.repository.SignInSummaryRepository;
+
+/**
+ * A service maintaining a persisted index of sign-in history per user account. Each refresh only
+ * reads the auth events newer than the last event already summarised.
+ */
+@Slf4j
+@Service
+public class SignInIndexService {
+
+  private static final int MAX_THROTTLED_RETRIES = 5;
+
+  private final CognitoService cognitoService;
+  private final CognitoRateLimiter rateLimiter;
+  private final SignInSummaryRepository repository;
+  private final String userPoolId;
+  private final Duration pollInterval;
+  private final int batchSize;
+
+  /**
+   * Construct an instance of the SignInIndexService.
+   *
+   * @param cognitoService The Cognito service to read auth events from.
+   * @param rateLimiter    The shared rate limiter for bulk Cognito requests.
+   * @param repository     The repository of sign-in summaries.
+   * @param userPoolId     The user pool to read auth events from.
+   * @param pollInterval   How often summaries should be refreshed.
+   * @param batchSize      The maximum number of summaries to refresh in each poll.
+   */
+  SignInIndexService(CognitoService cognitoService, CognitoRateLimiter rateLimiter,
+      SignInSummaryRepository repository,
+      @Value("${application.aws.cognito.user-pool-id}") String userPoolId,
+      @Value("${application.sign-in-index.poll-interval}") Duration pollInterval,
+      @Value("${application.sign-in-index.batch-size}") int batchSize) {
+    this.cognitoService = cognitoService;
+    this.rateLimiter = rateLimiter;
+    this.repository = repository;
+    this.userPoolId = userPoolId;
+    this.pollInterval = pollInterval;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Get the sign-in summary for a user account, the summary will be built if not yet indexed or
+   * incrementally refreshed if not checked within the poll interval.
+   *
+   * @param userId The ID of the user account.
+   * @return The sign-in summary, or empty if the user was not found.
+   */
+  public Optional<SignInSummary> getSignInSummary(String userId) {
+    Optional<SignInSummary> summary = repository.findById(userId);
+
+    if (summary.isPresent() && !isStale(summary.get())) {
+      return summary;
+    }
+
+    return refresh(summary.orElseGet(() -> SignInSummary.builder().userId(userId).build()));
+  }
+
+  /**
+   * Get the last successful sign-in timestamp for a user account.
+   *
+   * @param userId The ID of the user account.
+   * @return The timestamp of the last successful sign-in, or null if no success found.
+   */
+  public Instant getLastSuccessfulSignIn(String userId) {
+    return getSignInSummary(userId)
+        .map(SignInSummary::lastSuccessfulSignIn)
+        .orElse(null);
+  }
+
+  /**
+   * Refresh the summaries which have not been checked within the poll interval.
+   */
+  @Scheduled(fixedDelayString = "${application.sign-in-index.poll-interval}",
+      initialDelayString = "${application.sign-in-index.poll-interval}")
+  public void refreshStaleSummaries() {
+    Instant cutoff = Instant.now().minus(pollInterval);
+    List<SignInSummary> staleSummaries = repository.findByLastCheckedBeforeOrderByLastCheckedAsc(
+        cutoff, PageRequest.of(0, batchSize));
+
+    if (!staleSummaries.isEmpty()) {
+      log.info("Refreshing {} stale sign-in summaries.", staleSummaries.size());
+      staleSummaries.forEach(this::refresh);
+    }
+  }
+
+  /**
+   * Refresh the sign-in summary for a user account, only auth events newer than the previously
+   * summarised event are requested from Cognito.
+   *
+   * @param userId The ID of the user account.
+   * @return The refreshed summary, or empty if the user was not found.
+   */
+  public Optional<SignInSummary> refresh(String userId) {
+    return refresh(repository.findById(userId)
+        .orElseGet(() -> SignInSummary.builder().userId(userId).build()));
+  }
+
+  /**
+   * Refresh a sign-in summary, only auth events newer than the previously summarised event are
+   * requested from Cognito. If the summary is refreshed concurrently then the concurrent result is
+   * kept, as it includes the same events.
+   *
+   * @param previous The current summary, with no events summarised if not yet indexed.
+   * @return The refreshed summary, or empty if the user was not found.
+   */
+  private Optional<SignInSummary> refresh(SignInSummary previous) {
+    String userId = previous.userId();
+    String watermarkId = previous.lastEventId();
+    Instant watermarkDate = previous.lastEventDate();
+
+    String newestEventId = null;
+    Instant newestEventDate = null;
+    Instant lastSuccess = null;
+    int failures = 0;
+
+    String paginationToken = null;
+    boolean morePages = true;
+    int throttledRetries = 0;
+
+    while (morePages && !Thread.currentThread().isInterrupted()) {
+      AdminListUserAuthEventsRequest request = AdminListUserAuthEventsRequest.builder()
+          .userPoolId(userPoolId)
+          .username(userId)
+          .nextToken(paginationToken)
+          .build();
+
+      AdminListUserAuthEventsResponse response;
+
+      try {
+        rateLimiter.acquire();
+        response = cognitoService.adminListUserAuthEvents(request);
+      } catch (TooManyRequestsException tmre) {
+        if (++throttledRetries > MAX_THROTTLED_RETRIES) {
+          log.warn("Cognito requests are still limited, leaving sign-in summary for user '{}'.",
+              userId);
+          return repository.findById(userId);
+        }
+
+        log.warn("Cognito requests have exceed the limit, retrying auth events.");
+        continue;
+      } catch (UserNotFoundException e) {
+        log.info("User '{}' not found, removing sign-in summary.", userId);
+        repository.deleteById(userId);
+        return Optional.empty();
+      }
+
+      throttledRetries = 0;
+
+      for (AuthEventType event : response.authEvents()) {
+        if (isWatermark(event, watermarkId, watermarkDate)) {
+          morePages = false;
+          break;
+        }
+
+        if (newestEventId == null) {
+          newestEventId = event.eventId();
+          newestEventDate = event.creationDate();
+        }
+
+        if (EventType.SIGN_IN.equals(event.eventType())) {
+          if (EventResponseType.PASS.equals(event.eventResponse())) {
+            lastSuccess = lastSuccess == null ? event.creationDate() : lastSuccess;
+          } else if (EventResponseType.FAIL.equals(event.eventResponse())) {
+            failures++;
+          }
+        }
+      }
+
+      paginationToken = response.nextToken();
+      morePages = morePages && paginationToken != null;
+    }
+
+    if (morePages) {
+      log.warn("Interrupted refreshing sign-in summary for user '{}'.", userId);
+      return repository.findById(userId);
+    }
+
+    SignInSummary summary = previous.toBuilder()
+        .lastSuccessfulSignIn(lastSuccess != null ? lastSuccess : previous.lastSuccessfulSignIn())
+        .failedSignInCount(previous.failedSignInCount() + failures)
+        .lastEventId(newestEventId != null ? newestEventId : watermarkId)
+        .lastEventDate(newestEventDate != null ? newestEventDate : watermarkDate)
+        .lastChecked(Instant.now())
+        .build();
+
+    try {
+      return Optional.of(repository.save(summary));
+    } catch (OptimisticLockingFailureException | DuplicateKeyException e) {
+      log.info("Sign-in summary for user '{}' was refreshed concurrently, keeping that refresh.",
+          userId);
+      return repository.findById(userId);
+    }
+  }
+
+  /**
+   * Check whether a summary has not been checked within the poll interval.
+   *
+   * @param summary The summary to check.
+   * @return Whether the summary is stale.
+   */
+  private boolean isStale(SignInSummary summary) {
+    Instant lastChecked = summary.lastChecked();
+    return lastChecked == null || lastChecked.isBefore(Instant.now().minus(pollInterval));
+  }
+
+  /**
+   * Check whether an event has already been included in the summary. Events are returned newest
+   * first, so any event at or before the watermark has already been counted.
+   *
+   * @param event         The event to check.
+   * @param watermarkId   The ID of the newest summarised event.
+   * @param watermarkDate The time of the newest summarised event.
+   * @return Whether the event has already been summarised.
+   */
+  private boolean isWatermark(AuthEventType event, String watermarkId, Instant watermarkDate) {
+    if (watermarkId != null && watermarkId.equals(event.eventId())) {
+      return true;
+    }
+
+    return watermarkDate != null && event.creationDate() != null
+        && event.creationDate().isBefore(watermarkDate);
+  }
+}
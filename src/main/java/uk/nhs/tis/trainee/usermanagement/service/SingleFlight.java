@@ -0,0 +1,136 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key, so that only the first caller makes the call and
+ * any callers arriving while it is in flight share its result or exception. Nothing is cached, a
+ * call made after the in-flight call completes is made again, as is a call made after
+ * {@link #invalidateAll()}.
+ *
+ * @param <K> The key type.
+ * @param <V> The result type, which must be safe to share between threads.
+ */
+public class SingleFlight<K, V> {
+
+  private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final Consumer<Boolean> listener;
+  private final Consumer<Duration> waitListener;
+
+  /**
+   * Create a single flight group.
+   *
+   * @param listener     A listener given true for each call which shared an in-flight call, or
+   *                     false for each call which was made.
+   * @param waitListener A listener given the time each sharing caller waited for the in-flight
+   *                     call, whether it succeeded or failed.
+   */
+  public SingleFlight(Consumer<Boolean> listener, Consumer<Duration> waitListener) {
+    this.listener = listener;
+    this.waitListener = waitListener;
+  }
+
+  /**
+   * Make the call, or share the in-flight call for the same key.
+   *
+   * @param key  The key identifying identical calls.
+   * @param call The call to make.
+   * @return The result of the call.
+   */
+  public V execute(K key, Supplier<V> call) {
+    CompletableFuture<V> future = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+
+    if (existing != null) {
+      listener.accept(true);
+      long start = System.nanoTime();
+
+      try {
+        return await(existing);
+      } finally {
+        waitListener.accept(Duration.ofNanos(System.nanoTime() - start));
+      }
+    }
+
+    listener.accept(false);
+
+    try {
+      V result = call.get();
+      future.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, future);
+    }
+  }
+
+  /**
+   * Stop sharing the calls currently in flight, so that later callers make a new call instead of
+   * sharing a result which may predate a write. Callers already sharing a call are unaffected.
+   */
+  public void invalidateAll() {
+    inFlight.clear();
+  }
+
+  /**
+   * Get the number of calls currently in flight.
+   *
+   * @return The number of in-flight calls.
+   */
+  public int getInFlightCount() {
+    return inFlight.size();
+  }
+
+  /**
+   * Wait for an in-flight call to complete, throwing the call's exception if it failed.
+   *
+   * @param future The future of the in-flight call.
+   * @return The result of the call.
+   */
+  private V await(CompletableFuture<V> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+
+      if (cause instanceof Error error) {
+        throw error;
+      }
+
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import com.amazonaws.xray.AWSXRay;
+import com.amazonaws.xray.AWSXRayRecorder;
+import com.amazonaws.xray.entities.Namespace;
+import com.amazonaws.xray.entities.Subsegment;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+
+/**
+ * A cache decorator which traces each cache operation as an XRay subsegment of the current trace,
+ * operations outside a trace are not traced. A value loader is called outside the cache's
+ * subsegments, so that its own calls are not attributed to the cache.
+ */
+public class TracedCache implements Cache {
+
+  private static final String SUBSEGMENT_NAME = "Redis";
+  private static final String METADATA_NAMESPACE = "cache";
+
+  private final Cache delegate;
+  private final Supplier<AWSXRayRecorder> recorder;
+
+  /**
+   * Decorate a cache to trace with the global XRay recorder, which is looked up on each operation
+   * as it may be configured after the cache is created.
+   *
+   * @param delegate The cache to decorate.
+   */
+  public TracedCache(Cache delegate) {
+    this(delegate, AWSXRay::getGlobalRecorder);
+  }
+
+  /**
+   * Decorate a cache to trace with the given XRay recorder.
+   *
+   * @param delegate The cache to decorate.
+   * @param recorder A supplier of the XRay recorder.
+   */
+  TracedCache(Cache delegate, Supplier<AWSXRayRecorder> recorder) {
+    this.delegate = delegate;
+    this.recorder = recorder;
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return delegate.getNativeCache();
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    return traced("get", () -> delegate.get(key));
+  }
+
+  @Override
+  public <T> T get(Object key, Class<T> type) {
+    return traced("get", () -> delegate.get(key, type));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    ValueWrapper cached = get(key);
+
+    if (cached != null) {
+      return (T) cached.get();
+    }
+
+    T value;
+
+    try {
+      value = valueLoader.call();
+    } catch (Exception e) {
+      throw new ValueRetrievalException(key, valueLoader, e);
+    }
+
+    put(key, value);
+    return value;
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    traced("put", () -> {
+      delegate.put(key, value);
+      return null;
+    });
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    return traced("putIfAbsent", () -> delegate.putIfAbsent(key, value));
+  }
+
+  @Override
+  public void evict(Object key) {
+    traced("evict", () -> {
+      delegate.evict(key);
+      return null;
+    });
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    return traced("evictIfPresent", () -> delegate.evictIfPresent(key));
+  }
+
+  @Override
+  public void clear() {
+    traced("clear", () -> {
+      delegate.clear();
+      return null;
+    });
+  }
+
+  @Override
+  public boolean invalidate() {
+    return traced("invalidate", delegate::invalidate);
+  }
+
+  /**
+   * Perform a cache operation, tracing it as a subsegment if there is a current trace.
+   *
+   * @param operationName The name of the cache operation.
+   * @param operation     The cache operation.
+   * @param <T>           The result type of the operation.
+   * @return The result of the operation.
+   */
+  private <T> T traced(String operationName, Supplier<T> operation) {
+    AWSXRayRecorder xrayRecorder = recorder.get();
+
+    if (xrayRecorder == null || xrayRecorder.getTraceEntity() == null) {
+      return operation.get();
+    }
+
+    Subsegment subsegment = xrayRecorder.beginSubsegment(SUBSEGMENT_NAME);
+    subsegment.setNamespace(Namespace.REMOTE.toString());
+    subsegment.putMetadata(METADATA_NAMESPACE, "name", getName());
+    subsegment.putMetadata(METADATA_NAMESPACE, "operation", operationName);
+
+    try {
+      return operation.get();
+    } catch (RuntimeException e) {
+      subsegment.addException(e);
+      throw e;
+    } finally {
+      xrayRecorder.endSubsegment();
+    }
+  }
+}
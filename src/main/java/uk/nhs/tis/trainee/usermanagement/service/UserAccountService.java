@@ -24,31 +24,27 @@ package uk.nhs.tis.trainee.usermanagement.service;
 import static uk.nhs.tis.trainee.usermanagement.enumeration.MfaType.NO_MFA;
 
 import com.amazonaws.xray.spring.aop.XRayEnabled;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StopWatch;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminAddUserToGroupRequest;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminDeleteUserRequest;
-import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListUserAuthEventsRequest;
-import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListUserAuthEventsResponse;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminRemoveUserFromGroupRequest;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminSetUserMfaPreferenceRequest;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AttributeType;
-import software.amazon.awssdk.services.cognitoidentityprovider.model.AuthEventType;
-import software.amazon.awssdk.services.cognitoidentityprovider.model.EventResponseType;
-import software.amazon.awssdk.services.cognitoidentityprovider.model.EventType;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersRequest;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersResponse;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.TooManyRequestsException;
@@ -56,8 +52,10 @@ import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoun
 import software.amazon.awssdk.services.cognitoidentityprovider.model.UserStatusType;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
 import uk.nhs.tis.trainee.usermanagement.dto.UserAccountDetailsDto;
-import uk.nhs.tis.trainee.usermanagement.dto.UserLoginDetailsDto;
+import uk.nhs.tis.trainee.usermanagement.enumeration.Dependency;
 import uk.nhs.tis.trainee.usermanagement.enumeration.MfaType;
+import uk.nhs.tis.trainee.usermanagement.mapper.UserAttributes;
+import uk.nhs.tis.trainee.usermanagement.model.SignInSummary;
 
 /**
  * A service for accessing user account data.
@@ -67,38 +65,48 @@ import uk.nhs.tis.trainee.usermanagement.enumeration.MfaType;
 @XRayEnabled
 public class UserAccountService {
 
-  private static final String USER_ID_CACHE = "UserId";
+  public static final String USER_ID_CACHE = "UserId";
+  public static final String USER_EXISTS_CACHE = "UserExists";
 
   private static final String NO_ACCOUNT = "NO_ACCOUNT";
-  private static final Integer MAX_LOGIN_EVENTS = 10;
 
   private static final String ATTRIBUTE_EMAIL = "email";
   private static final String ATTRIBUTE_EMAIL_VERIFIED = "email_verified";
   private static final String ATTRIBUTE_MFA_TYPE = "custom:mfaType";
-  private static final String ATTRIBUTE_SUB = "sub";
-  private static final String ATTRIBUTE_TIS_ID = "custom:tisId";
 
   private final MetricsService metricsService;
 
   private final CognitoService cognitoService;
   private final String userPoolId;
   private final Cache cache;
+  private final Cache existsCache;
 
   private final AuditService auditService;
   private final EventPublishService eventPublishService;
+  private final SignInIndexService signInIndexService;
+  private final GroupMembershipIndex groupMembershipIndex;
 
   private Instant lastUserCaching = null;
 
   UserAccountService(CognitoService cognitoService,
       @Value("${application.aws.cognito.user-pool-id}") String userPoolId,
       CacheManager cacheManager, EventPublishService eventPublishService,
-      MetricsService metricsService, AuditService auditService) {
+      MetricsService metricsService, AuditService auditService,
+      SignInIndexService signInIndexService, GroupMembershipIndex groupMembershipIndex,
+      DependencyGuard guard) {
     this.cognitoService = cognitoService;
     this.userPoolId = userPoolId;
-    cache = cacheManager.getCache(USER_ID_CACHE);
+    // The index is the only record of which accounts a trainee has, so an unavailable cache must
+    // not be mistaken for a trainee without accounts, nor trigger a scan that cannot be stored.
+    cache = new RequestCostCache(
+        new TracedCache(new GuardedCache(cacheManager.getCache(USER_ID_CACHE), guard, false)));
+    existsCache = new RequestCostCache(
+        new TracedCache(new GuardedCache(cacheManager.getCache(USER_EXISTS_CACHE), guard)));
     this.eventPublishService = eventPublishService;
     this.metricsService = metricsService;
     this.auditService = auditService;
+    this.signInIndexService = signInIndexService;
+    this.groupMembershipIndex = groupMembershipIndex;
   }
 
   /**
@@ -124,6 +132,40 @@ public class UserAccountService {
     }
   }
 
+  /**
+   * Get whether a user account exists for the given username. Each answer is cached, so that the
+   * last known answer can be given while Cognito is unavailable.
+   *
+   * @param username The username for the account.
+   * @return Whether an account exists.
+   * @throws CallNotPermittedException If Cognito is unavailable and no answer is cached.
+   * @throws BulkheadFullException     If Cognito is saturated and no answer is cached.
+   */
+  public boolean doesUserAccountExist(String username) {
+    boolean exists;
+
+    try {
+      UserAccountDetailsDto userAccountDetails = getUserAccountDetails(username);
+      exists = !userAccountDetails.getUserStatus().equals(NO_ACCOUNT);
+    } catch (CallNotPermittedException | BulkheadFullException e) {
+      Boolean cachedExists = existsCache.get(username, Boolean.class);
+
+      if (cachedExists == null) {
+        throw e;
+      }
+
+      log.warn("Cognito unavailable, using cached existence for user '{}'.", username);
+      metricsService.incrementDependencyFallbackCounter(Dependency.COGNITO);
+      return cachedExists;
+    }
+
+    if (!Objects.equals(existsCache.get(username, Boolean.class), exists)) {
+      existsCache.put(username, exists);
+    }
+
+    return exists;
+  }
+
   /**
    * Update the Contact Details for the given user account.
    *
@@ -171,59 +213,14 @@ public class UserAccountService {
   }
 
   /**
-   * Get the list of user login event details for the account associated with the given username.
+   * Get the indexed sign-in summary for the given user account.
    *
-   * @param username The username for the account.
-   * @return The list of user login event details.
+   * @param userId The ID of the user account.
+   * @return The sign-in summary, or empty if the user was not found.
    */
-  public List<UserLoginDetailsDto> getUserLoginDetails(String username) {
-    log.info("Retrieving login events for user with username '{}'.", username);
-    AdminListUserAuthEventsRequest request = AdminListUserAuthEventsRequest.builder()
-        .userPoolId(userPoolId)
-        .username(username)
-        .maxResults(MAX_LOGIN_EVENTS) //results are sorted in descending CreationDate order
-        .build();
-
-    List<UserLoginDetailsDto> userLoginDetailsList;
-
-    try {
-      AdminListUserAuthEventsResponse result = cognitoService.adminListUserAuthEvents(request);
-      userLoginDetailsList = getLoginDetailsListFromAuthEvents(result);
-
-    } catch (UserNotFoundException e) {
-      log.info("User '{}' not found.", username);
-      return List.of();
-    }
-
-    return userLoginDetailsList;
-  }
-
-  /**
-   * Retrieve the list of UserLoginDetailsDtos from the user auth events list.
-   *
-   * @param authEventsResult the result of the auth events call.
-   * @return the list of UserLoginDetailsDtos, or an empty list if no auth events exist.
-   */
-  private List<UserLoginDetailsDto> getLoginDetailsListFromAuthEvents(
-      AdminListUserAuthEventsResponse authEventsResult) {
-    List<UserLoginDetailsDto> userLoginDetailsList = new ArrayList<>();
-    List<AuthEventType> authEvents = authEventsResult.authEvents();
-
-    authEvents.forEach(authEvent -> {
-      String eventId = authEvent.eventId();
-      Instant eventDate = authEvent.creationDate();
-      String event = authEvent.eventTypeAsString();
-      String eventResult = authEvent.eventResponseAsString();
-      String device = authEvent.eventContextData().deviceName();
-      String challenges = authEvent.challengeResponses().stream()
-          .map(it -> it.challengeName() + ":" + it.challengeResponse())
-          .collect(Collectors.joining(", "));
-
-      UserLoginDetailsDto eventDto
-          = new UserLoginDetailsDto(eventId, eventDate, event, eventResult, challenges, device);
-      userLoginDetailsList.add(eventDto);
-    });
-    return userLoginDetailsList;
+  public Optional<SignInSummary> getSignInSummary(String userId) {
+    log.info("Retrieving sign-in summary for user '{}'.", userId);
+    return signInIndexService.getSignInSummary(userId);
   }
 
   /**
@@ -275,6 +272,7 @@ public class UserAccountService {
     accountIds.stream()
         .filter(accountId -> !accountId.equals(mainAccount))
         .forEach(this::deleteCognitoAccount);
+    cache.put(traineeId, new HashSet<>(Set.of(mainAccount)));
     return Optional.of(mainAccount);
   }
 
@@ -288,6 +286,7 @@ public class UserAccountService {
    */
   private String identifyMainAccount(String traineeId, Set<String> accountIds,
       String currentEmail) {
+    long start = System.nanoTime();
     String currentEmailId = null;
 
     try {
@@ -301,6 +300,7 @@ public class UserAccountService {
     if (currentEmailId != null && accountIds.contains(currentEmailId)) {
       log.info("Found existing account {} for trainee {} matching current TIS email '{}'.",
           currentEmailId, traineeId, currentEmail);
+      metricsService.recordDuplicateResolution(Duration.ofNanos(System.nanoTime() - start), true);
       return currentEmailId;
     }
 
@@ -312,6 +312,7 @@ public class UserAccountService {
       }
     }
 
+    metricsService.recordDuplicateResolution(Duration.ofNanos(System.nanoTime() - start), false);
     return null;
   }
 
@@ -322,43 +323,7 @@ public class UserAccountService {
    * @return The timestamp of the last successful sign-in, or null if no success found.
    */
   private Instant getLastSuccessfulSignIn(String username) {
-    String paginationToken = null;
-
-    do {
-      AdminListUserAuthEventsRequest listAuthRequest = AdminListUserAuthEventsRequest.builder()
-          .userPoolId(userPoolId)
-          .username(username)
-          .nextToken(paginationToken)
-          .build();
-
-      try {
-        AdminListUserAuthEventsResponse result = cognitoService.adminListUserAuthEvents(
-            listAuthRequest);
-
-        Optional<Instant> lastSignIn = result.authEvents().stream()
-            .filter(event -> event.eventType().equals(EventType.SIGN_IN))
-            .filter(event -> event.eventResponse().equals(EventResponseType.PASS))
-            .map(AuthEventType::creationDate)
-            .findFirst();
-
-        if (lastSignIn.isPresent()) {
-          return lastSignIn.get();
-        } else {
-          paginationToken = result.nextToken();
-        }
-      } catch (TooManyRequestsException tmre) {
-        try {
-          // Cognito requests are limited to 5 per second.
-          log.warn("Cognito requests have exceed the limit.", tmre);
-          Thread.sleep(200);
-        } catch (InterruptedException ie) {
-          log.warn("Unable to sleep thread.", ie);
-          Thread.currentThread().interrupt();
-        }
-      }
-    } while (paginationToken != null);
-
-    return null;
+    return signInIndexService.getLastSuccessfulSignIn(username);
   }
 
   /**
@@ -397,6 +362,7 @@ public class UserAccountService {
         .build();
 
     cognitoService.adminAddUserToGroup(request);
+    groupMembershipIndex.recordEnrolment(groupName, username);
     log.info("User '{}' has been enrolled to the {} group.", username, groupName);
   }
 
@@ -415,6 +381,7 @@ public class UserAccountService {
         .build();
 
     cognitoService.adminRemoveUserFromGroup(request);
+    groupMembershipIndex.recordWithdrawal(groupName, username);
     log.info("User '{}' has been withdrawn from the {} group.", username, groupName);
   }
 
@@ -423,31 +390,67 @@ public class UserAccountService {
    *
    * @param personId The person ID to get the user IDs for.
    * @return The found user IDs, or empty if not found.
+   * @throws CallNotPermittedException If the cache's circuit breaker is open.
+   * @throws BulkheadFullException     If the cache's bulkhead stayed full for too long.
    */
-  @Cacheable(cacheNames = USER_ID_CACHE, unless = "#result.isEmpty()")
   public Set<String> getUserAccountIds(String personId) {
+    Set<String> cachedIds = cache.get(personId, Set.class);
+
+    if (cachedIds != null) {
+      metricsService.incrementUserIndexLookupCounter(true);
+      return cachedIds;
+    }
+
     log.info("User account not found in the cache.");
+    metricsService.incrementUserIndexLookupCounter(false);
 
     // Skip caching if we already cached in the last fifteen minutes.
     if (lastUserCaching == null || lastUserCaching.plus(Duration.ofMinutes(15))
         .isBefore(Instant.now())) {
       cacheAllUserAccountIds();
-      lastUserCaching = Instant.now();
     }
 
     Set<String> userAccountIds = cache.get(personId, Set.class);
     return userAccountIds != null ? userAccountIds : Set.of();
   }
 
+  /**
+   * Get the TIS IDs of all trainees with a user account, scanning the whole user pool within the
+   * shared Cognito rate limit. A partial set is never returned.
+   *
+   * @return The TIS IDs of all trainees with a user account.
+   * @throws TooManyRequestsException If the scan was still throttled after retrying.
+   * @throws CancellationException    If the thread was interrupted before the scan completed, the
+   *                                  interrupt flag is left set.
+   */
+  public Set<String> getAllTraineeIds() {
+    log.info("Retrieving the TIS IDs of all trainees with a user account.");
+    Set<String> traineeIds = new LinkedHashSet<>();
+
+    cognitoService.scanUsers(users -> {
+      for (UserType user : users) {
+        String tisId = UserAttributes.from(user.attributes()).tisId();
+
+        if (tisId != null) {
+          traineeIds.add(tisId);
+        }
+      }
+    });
+
+    log.info("Found {} trainees with a user account.", traineeIds.size());
+    return traineeIds;
+  }
+
   /**
    * Retrieve and cache a mapping of all person IDs to user IDs.
    */
   private void cacheAllUserAccountIds() {
     log.info("Caching all user account ids from Cognito.");
 
-    StopWatch cacheTimer = new StopWatch();
-    cacheTimer.start();
-
+    long start = System.nanoTime();
+    int pageCount = 0;
+    long userCount = 0;
+    Set<String> indexedIds = new HashSet<>();
     String paginationToken = null;
 
     do {
@@ -458,9 +461,15 @@ public class UserAccountService {
 
       try {
         ListUsersResponse result = cognitoService.listUsers(request);
-        cacheUserAccountIds(result);
+        indexedIds.addAll(cacheUserAccountIds(result));
         paginationToken = result.paginationToken();
+
+        pageCount++;
+        userCount += result.users().size();
+        metricsService.incrementUserIndexPageCounter(result.users().size());
       } catch (TooManyRequestsException tmre) {
+        metricsService.incrementUserIndexThrottleCounter();
+
         try {
           // Cognito requests are limited to 5 per second.
           log.warn("Cognito requests have exceed the limit.", tmre);
@@ -472,32 +481,36 @@ public class UserAccountService {
       }
     } while (paginationToken != null);
 
-    cacheTimer.stop();
-    log.info("Total time taken to cache all user accounts was: {}s",
-        cacheTimer.getTotalTimeSeconds());
+    lastUserCaching = Instant.now();
+    Duration duration = Duration.ofNanos(System.nanoTime() - start);
+    metricsService.recordUserIndexRefresh(duration, indexedIds.size());
+    log.info("Cached {} user accounts for {} trainees from {} pages in {}s.", userCount,
+        indexedIds.size(), pageCount, duration.toMillis() / 1000.0);
   }
 
   /**
    * Cache the user accounts ids for the given result.
    *
    * @param result The result of a ListUsersRequest.
+   * @return The trainee IDs the user account ids were cached against.
    */
-  private void cacheUserAccountIds(ListUsersResponse result) {
-    result.users().stream()
-        .map(UserType::attributes)
-        .map(attributes -> attributes.stream()
-            .collect(Collectors.toMap(AttributeType::name, AttributeType::value))
-        )
-        .forEach(attr -> {
-          String tisId = attr.get(ATTRIBUTE_TIS_ID);
-          Set<String> ids = cache.get(tisId, Set.class);
-
-          if (ids == null) {
-            ids = new HashSet<>();
-          }
-
-          ids.add(attr.get(ATTRIBUTE_SUB));
-          cache.put(tisId, ids);
-        });
+  Set<String> cacheUserAccountIds(ListUsersResponse result) {
+    Set<String> traineeIds = new HashSet<>();
+
+    for (UserType user : result.users()) {
+      UserAttributes attributes = UserAttributes.from(user.attributes());
+      String tisId = attributes.tisId();
+      Set<String> ids = cache.get(tisId, Set.class);
+
+      if (ids == null) {
+        ids = new HashSet<>();
+      }
+
+      ids.add(attributes.sub());
+      cache.put(tisId, ids);
+      traineeIds.add(tisId);
+    }
+
+    return traineeIds;
   }
 }
@@ -30,6 +30,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.testcontainers.containers.MongoDBContainer;
 import org.testcontainers.junit.jupiter.Container;
+import software.amazon.awssdk.services.sns.SnsClient;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -44,6 +45,9 @@ class TisTraineeUserManagementApplicationTest {
   @MockitoBean
   private SnsTemplate snsTemplate;
 
+  @MockitoBean
+  private SnsClient snsClient;
+
   @MockitoBean
   private SqsTemplate sqsTemplate;
 
@@ -0,0 +1,147 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.api;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionOutcome.Status.RESOLVED;
+import static uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionOutcome.Status.UNRESOLVED;
+import static uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionReport.Status.RESOLVING;
+import static uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionReport.Status.SCANNING;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionOutcome;
+import uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionReport;
+import uk.nhs.tis.trainee.usermanagement.service.DuplicateResolutionService;
+
+@WebMvcTest(DuplicateResolutionResource.class)
+class DuplicateResolutionResourceTest {
+
+  private static final String REPORT_ID = "report-1";
+
+  @Autowired
+  private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+  @MockitoBean
+  private DuplicateResolutionService service;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    service = mock(DuplicateResolutionService.class);
+    DuplicateResolutionResource resource = new DuplicateResolutionResource(service);
+    mockMvc = MockMvcBuilders.standaloneSetup(resource)
+        .setMessageConverters(jacksonMessageConverter)
+        .build();
+  }
+
+  @Test
+  void shouldReturnAcceptedWhenResolutionStarted() throws Exception {
+    DuplicateResolutionReport report = DuplicateResolutionReport.builder()
+        .id(REPORT_ID)
+        .status(SCANNING)
+        .build();
+    when(service.start()).thenReturn(Optional.of(report));
+
+    mockMvc.perform(post("/api/duplicate-accounts/resolution"))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.id").value(REPORT_ID))
+        .andExpect(jsonPath("$.status").value("SCANNING"));
+  }
+
+  @Test
+  void shouldReturnConflictWhenResolutionAlreadyActive() throws Exception {
+    when(service.start()).thenReturn(Optional.empty());
+
+    mockMvc.perform(post("/api/duplicate-accounts/resolution"))
+        .andExpect(status().isConflict());
+  }
+
+  @Test
+  void shouldReturnNotFoundWhenReportNotFound() throws Exception {
+    when(service.getReport(REPORT_ID)).thenReturn(Optional.empty());
+
+    mockMvc.perform(get("/api/duplicate-accounts/resolution/{id}", REPORT_ID))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void shouldGetReport() throws Exception {
+    DuplicateResolutionReport report = DuplicateResolutionReport.builder()
+        .id(REPORT_ID)
+        .status(RESOLVING)
+        .accountCount(100)
+        .traineeCount(3)
+        .outcomes(Map.of(RESOLVED, 2L))
+        .build();
+    when(service.getReport(REPORT_ID)).thenReturn(Optional.of(report));
+
+    mockMvc.perform(get("/api/duplicate-accounts/resolution/{id}", REPORT_ID))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value(REPORT_ID))
+        .andExpect(jsonPath("$.status").value("RESOLVING"))
+        .andExpect(jsonPath("$.accountCount").value(100))
+        .andExpect(jsonPath("$.traineeCount").value(3))
+        .andExpect(jsonPath("$.outcomes.RESOLVED").value(2));
+  }
+
+  @Test
+  void shouldGetOutcomes() throws Exception {
+    DuplicateResolutionOutcome outcome = DuplicateResolutionOutcome.builder()
+        .id(REPORT_ID + ":trainee-1")
+        .reportId(REPORT_ID)
+        .traineeId("trainee-1")
+        .accountIds(Set.of("sub-1", "sub-2"))
+        .status(UNRESOLVED)
+        .reason("Could not determine the main account.")
+        .build();
+    when(service.getOutcomes(REPORT_ID, UNRESOLVED, 1, 20)).thenReturn(List.of(outcome));
+
+    mockMvc.perform(get("/api/duplicate-accounts/resolution/{id}/outcomes", REPORT_ID)
+            .param("status", "UNRESOLVED")
+            .param("page", "1")
+            .param("size", "20"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].traineeId").value("trainee-1"))
+        .andExpect(jsonPath("$[0].accountIds", hasSize(2)))
+        .andExpect(jsonPath("$[0].status").value("UNRESOLVED"))
+        .andExpect(jsonPath("$[0].reason").value("Could not determine the main account."));
+  }
+}
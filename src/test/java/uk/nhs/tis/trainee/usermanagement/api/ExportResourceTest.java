@@ -0,0 +1,151 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.api;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import uk.nhs.tis.trainee.usermanagement.service.ExportService;
+
+class ExportResourceTest {
+
+  private static final String LINES = "{\"id\":\"1\"}\n{\"id\":\"2\"}\n";
+
+  private MockMvc mockMvc;
+  private ExportService service;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    service = mock(ExportService.class);
+    ExportResource resource = new ExportResource(service, new SyncTaskExecutor(),
+        Duration.ofMinutes(1));
+    mockMvc = MockMvcBuilders.standaloneSetup(resource).build();
+
+    when(service.exportAccountEvents(any())).thenAnswer(inv -> {
+      OutputStream out = inv.getArgument(0);
+      out.write(LINES.getBytes(StandardCharsets.UTF_8));
+      return 2L;
+    });
+    when(service.exportUserAccounts(any())).thenAnswer(inv -> {
+      OutputStream out = inv.getArgument(0);
+      out.write(LINES.getBytes(StandardCharsets.UTF_8));
+      return 2L;
+    });
+  }
+
+  @Test
+  void shouldStreamAccountEvents() throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/export/account-events"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+        .andExpect(content().string(LINES));
+  }
+
+  @Test
+  void shouldStreamUserAccounts() throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/export/user-accounts"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+        .andExpect(content().string(LINES));
+  }
+
+  @Test
+  void shouldCompressExportWhenGzipAccepted() throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/export/account-events")
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    byte[] body = mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+        .andReturn()
+        .getResponse()
+        .getContentAsByteArray();
+
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      assertThat("Unexpected content.", content, is(LINES));
+    }
+  }
+
+  @Test
+  void shouldNotCompressExportWhenGzipRefused() throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/export/account-events")
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+        .andExpect(content().string(LINES));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"gzip", "GZIP", "x-gzip", "deflate, gzip;q=0.5", "gzip; q=1.0", "*",
+      "identity, *;q=0.1"})
+  void shouldAcceptGzipWhenQualityPositive(String acceptEncoding) {
+    assertThat("Unexpected gzip acceptance.", ExportResource.acceptsGzip(acceptEncoding), is(true));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "identity", "deflate, br", "gzip;q=0", "gzip;q=0.0, deflate",
+      "*;q=0", "gzip;q=0, *", "*, gzip;q=0"})
+  void shouldNotAcceptGzipWhenAbsentOrQualityZero(String acceptEncoding) {
+    assertThat("Unexpected gzip acceptance.", ExportResource.acceptsGzip(acceptEncoding),
+        is(false));
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.api;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.FAILED;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.SUCCEEDED;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.Job.Status;
+import uk.nhs.tis.trainee.usermanagement.model.JobItem;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
+import uk.nhs.tis.trainee.usermanagement.service.JobService;
+
+@WebMvcTest(JobResource.class)
+class JobResourceTest {
+
+  private static final String JOB_ID = "job-1";
+
+  @Autowired
+  private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+  @MockitoBean
+  private JobService service;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    service = mock(JobService.class);
+    JobResource resource = new JobResource(service);
+    mockMvc = MockMvcBuilders.standaloneSetup(resource)
+        .setMessageConverters(jacksonMessageConverter)
+        .build();
+  }
+
+  @Test
+  void shouldReturnNotFoundWhenJobNotFound() throws Exception {
+    when(service.getJob(JOB_ID)).thenReturn(Optional.empty());
+
+    mockMvc.perform(get("/api/jobs/{id}", JOB_ID))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void shouldGetJob() throws Exception {
+    Job job = Job.builder()
+        .id(JOB_ID)
+        .type(JobType.MFA_RESET)
+        .status(Status.RUNNING)
+        .itemCount(10)
+        .items(Map.of(SUCCEEDED, 4L))
+        .build();
+    when(service.getJob(JOB_ID)).thenReturn(Optional.of(job));
+
+    mockMvc.perform(get("/api/jobs/{id}", JOB_ID))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value(JOB_ID))
+        .andExpect(jsonPath("$.type").value("MFA_RESET"))
+        .andExpect(jsonPath("$.status").value("RUNNING"))
+        .andExpect(jsonPath("$.itemCount").value(10))
+        .andExpect(jsonPath("$.items.SUCCEEDED").value(4));
+  }
+
+  @Test
+  void shouldGetItems() throws Exception {
+    JobItem item = JobItem.builder()
+        .id(JOB_ID + ":user1")
+        .jobId(JOB_ID)
+        .key("user1")
+        .status(FAILED)
+        .message("User not found.")
+        .build();
+    when(service.getItems(JOB_ID, FAILED, 2, 50)).thenReturn(List.of(item));
+
+    mockMvc.perform(get("/api/jobs/{id}/items", JOB_ID)
+            .param("status", "FAILED")
+            .param("page", "2")
+            .param("size", "50"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].key").value("user1"))
+        .andExpect(jsonPath("$[0].status").value("FAILED"))
+        .andExpect(jsonPath("$[0].message").value("User not found."));
+  }
+
+  @Test
+  void shouldReturnNotFoundWhenCancellingJobNotFound() throws Exception {
+    when(service.cancel(JOB_ID)).thenReturn(Optional.empty());
+
+    mockMvc.perform(post("/api/jobs/{id}/cancel", JOB_ID))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void shouldCancelJob() throws Exception {
+    Job job = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(Status.CANCELLED).build();
+    when(service.cancel(JOB_ID)).thenReturn(Optional.of(job));
+
+    mockMvc.perform(post("/api/jobs/{id}/cancel", JOB_ID))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value(JOB_ID))
+        .andExpect(jsonPath("$.status").value("CANCELLED"));
+  }
+
+  @Test
+  void shouldReturnConflictWhenCancellingFinishedJob() throws Exception {
+    Job job = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(Status.COMPLETED).build();
+    when(service.cancel(JOB_ID)).thenReturn(Optional.of(job));
+
+    mockMvc.perform(post("/api/jobs/{id}/cancel", JOB_ID))
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.status").value("COMPLETED"));
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.api;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import jakarta.servlet.FilterChain;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import uk.nhs.tis.trainee.usermanagement.enumeration.CostComponent;
+import uk.nhs.tis.trainee.usermanagement.service.RequestCost;
+
+class ServerTimingFilterTest {
+
+  private static final String SERVER_TIMING = ServerTimingFilter.SERVER_TIMING_HEADER;
+
+  private ServerTimingFilter filter;
+  private MockHttpServletResponse response;
+
+  @BeforeEach
+  void setUp() {
+    filter = new ServerTimingFilter(true);
+    response = new MockHttpServletResponse();
+  }
+
+  @Test
+  void shouldAddServerTimingWhenResponseHasNoBody() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user-account/1");
+    FilterChain chain = (req, res) ->
+        RequestCost.record(CostComponent.COGNITO, Duration.ofMillis(20));
+
+    filter.doFilter(request, response, chain);
+
+    assertThat("Unexpected Server-Timing.", response.getHeader(SERVER_TIMING),
+        startsWith("cognito;dur=20.0;desc=\"1 call\", redis;dur=0.0;desc=\"0 calls\""));
+  }
+
+  @Test
+  void shouldAddServerTimingBeforeBodyIsCommitted() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user-account/1");
+    FilterChain chain = (req, res) -> {
+      RequestCost.record(CostComponent.MONGO, Duration.ofMillis(3));
+      res.getWriter().write("body");
+      res.flushBuffer();
+      RequestCost.record(CostComponent.MONGO, Duration.ofMillis(3));
+    };
+
+    filter.doFilter(request, response, chain);
+
+    assertThat("Unexpected committed state.", response.isCommitted(), is(true));
+    assertThat("Unexpected body.", response.getContentAsString(), is("body"));
+    assertThat("Unexpected Server-Timing count.", response.getHeaders(SERVER_TIMING).size(),
+        is(1));
+    assertThat("Unexpected Server-Timing.", response.getHeader(SERVER_TIMING),
+        startsWith("cognito;dur=0.0;desc=\"0 calls\", redis;dur=0.0;desc=\"0 calls\", "
+            + "mongo;dur=3.0;desc=\"1 call\""));
+  }
+
+  @Test
+  void shouldNotAddServerTimingToNonApiRequests() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+    FilterChain chain = (req, res) -> { };
+
+    filter.doFilter(request, response, chain);
+
+    assertThat("Unexpected Server-Timing.", response.getHeader(SERVER_TIMING), nullValue());
+  }
+
+  @Test
+  void shouldNotRecordCostsAfterRequest() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user-account/1");
+    RequestCost[] requestCost = new RequestCost[1];
+    FilterChain chain = (req, res) -> requestCost[0] = RequestCost.begin();
+
+    filter.doFilter(request, response, chain);
+    RequestCost.record(CostComponent.REDIS, Duration.ofMillis(1));
+
+    assertThat("Unexpected Redis count.", requestCost[0].getCount(CostComponent.REDIS), is(0L));
+  }
+
+  @Test
+  void shouldNotAddServerTimingWhenHeaderDisabled() throws Exception {
+    filter = spy(new ServerTimingFilter(false));
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user-account/1");
+    FilterChain chain = (req, res) -> {
+      RequestCost.record(CostComponent.COGNITO, Duration.ofMillis(20));
+      res.getWriter().write("body");
+      res.flushBuffer();
+    };
+
+    filter.doFilter(request, response, chain);
+
+    assertThat("Unexpected Server-Timing.", response.getHeader(SERVER_TIMING), nullValue());
+    verify(filter).logCost(eq(request), eq(response),
+        argThat(cost -> cost.getCount(CostComponent.COGNITO) == 1));
+  }
+
+  @Test
+  void shouldLogCostWhenAsyncProcessingCompletes() throws Exception {
+    filter = spy(filter);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/export/1");
+    request.setAsyncSupported(true);
+    FilterChain chain = (req, res) -> req.startAsync();
+
+    filter.doFilter(request, response, chain);
+
+    verify(filter, never()).logCost(any(), any(), any());
+
+    request.getAsyncContext().complete();
+
+    verify(filter).logCost(eq(request), eq(response), any());
+  }
+
+  @Test
+  void shouldBeOrderedAfterSecurity() {
+    Order order = ServerTimingFilter.class.getAnnotation(Order.class);
+
+    assertThat("Unexpected filter order.", order.value(),
+        greaterThan(SecurityProperties.DEFAULT_FILTER_ORDER));
+  }
+}
@@ -23,18 +23,36 @@ package uk.nhs.tis.trainee.usermanagement.api;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import uk.nhs.tis.trainee.usermanagement.dto.ProfileMoveBatchDto;
+import uk.nhs.tis.trainee.usermanagement.dto.ProfileMoveDto;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
 import uk.nhs.tis.trainee.usermanagement.service.EventPublishService;
+import uk.nhs.tis.trainee.usermanagement.service.JobService;
+import uk.nhs.tis.trainee.usermanagement.service.ProfileMoveService;
+import uk.nhs.tis.trainee.usermanagement.service.UserAccountService;
 
 class TraineeProfileResourceTest {
 
@@ -43,11 +61,18 @@ class TraineeProfileResourceTest {
 
   private MockMvc mockMvc;
   private EventPublishService eventPublishService;
+  private UserAccountService userAccountService;
+  private JobService jobService;
+  private ProfileMoveService profileMoveService;
 
   @BeforeEach
   void setUp() {
     eventPublishService = mock(EventPublishService.class);
-    TraineeProfileResource resource = new TraineeProfileResource(eventPublishService);
+    userAccountService = mock(UserAccountService.class);
+    jobService = mock(JobService.class);
+    profileMoveService = mock(ProfileMoveService.class);
+    TraineeProfileResource resource = new TraineeProfileResource(eventPublishService,
+        userAccountService, jobService, profileMoveService);
     mockMvc = MockMvcBuilders.standaloneSetup(resource).build();
   }
 
@@ -64,6 +89,66 @@ class TraineeProfileResourceTest {
     assertThat("Unexpected traineeTisId.", traineeIdCaptor.getValue(), is(TRAINEE_ID));
   }
 
+  @Test
+  void shouldSubmitBulkProfileResyncJob() throws Exception {
+    Job job = Job.builder()
+        .id("job-1")
+        .type(JobType.PROFILE_RESYNC)
+        .status(Job.Status.QUEUED)
+        .itemCount(2)
+        .build();
+    when(jobService.submit(JobType.PROFILE_RESYNC, List.of(TRAINEE_ID, "other"), Map.of(),
+        null)).thenReturn(job);
+
+    mockMvc.perform(post("/api/trainee-profile/sync")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                ["%s", "other"]
+                """.formatted(TRAINEE_ID)))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Location", "/api/jobs/job-1"))
+        .andExpect(jsonPath("$.id").value("job-1"))
+        .andExpect(jsonPath("$.type").value("PROFILE_RESYNC"))
+        .andExpect(jsonPath("$.itemCount").value(2));
+
+    verifyNoInteractions(eventPublishService);
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenBulkProfileResyncHasNoTrainees() throws Exception {
+    mockMvc.perform(post("/api/trainee-profile/sync")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[]"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(jobService);
+  }
+
+  @Test
+  void shouldSubmitFullProfileResyncJobWithAllTrainees() throws Exception {
+    Job job = Job.builder()
+        .id("job-1")
+        .type(JobType.PROFILE_RESYNC)
+        .status(Job.Status.QUEUED)
+        .build();
+    ArgumentCaptor<Supplier<Collection<String>>> keySourceCaptor = ArgumentCaptor.captor();
+    when(jobService.submit(eq(JobType.PROFILE_RESYNC), keySourceCaptor.capture(), eq(Map.of()),
+        eq(4))).thenReturn(job);
+
+    mockMvc.perform(post("/api/trainee-profile/sync/all")
+            .param("concurrency", "4")
+            .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Location", "/api/jobs/job-1"))
+        .andExpect(jsonPath("$.id").value("job-1"));
+
+    verifyNoInteractions(userAccountService);
+
+    when(userAccountService.getAllTraineeIds()).thenReturn(Set.of(TRAINEE_ID));
+    assertThat("Unexpected trainee IDs.", keySourceCaptor.getValue().get(),
+        is(Set.of(TRAINEE_ID)));
+  }
+
   @Test
   void shouldTriggerProfileMove() throws Exception {
 
@@ -80,4 +165,45 @@ class TraineeProfileResourceTest {
     assertThat("Unexpected From Trainee Id.", fromIdCaptor.getValue(), is(TRAINEE_ID));
     assertThat("Unexpected To Trainee Id.", toIdCaptor.getValue(), is(TO_TRAINEE_ID));
   }
+
+  @Test
+  void shouldMoveBatchOfProfiles() throws Exception {
+    List<ProfileMoveDto> moves = List.of(new ProfileMoveDto("A", "B"),
+        new ProfileMoveDto("B", "C"));
+    when(profileMoveService.moveProfiles(moves)).thenReturn(new ProfileMoveBatchDto(
+        List.of(new ProfileMoveDto("A", "C")), List.of(new ProfileMoveDto("B", "C"))));
+
+    mockMvc.perform(post("/api/trainee-profile/move")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                [
+                  {"fromTisId": "A", "toTisId": "B"},
+                  {"fromTisId": "B", "toTisId": "C"}
+                ]
+                """))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.published[0].fromTisId").value("A"))
+        .andExpect(jsonPath("$.published[0].toTisId").value("C"))
+        .andExpect(jsonPath("$.failed[0].fromTisId").value("B"))
+        .andExpect(jsonPath("$.failed[0].toTisId").value("C"));
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenBatchOfProfileMovesInvalid() throws Exception {
+    when(profileMoveService.moveProfiles(any())).thenThrow(
+        new IllegalArgumentException("Profile moves from trainee 'A' form a cycle."));
+
+    mockMvc.perform(post("/api/trainee-profile/move")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                [
+                  {"fromTisId": "A", "toTisId": "B"},
+                  {"fromTisId": "B", "toTisId": "A"}
+                ]
+                """))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.detail").value("Profile moves from trainee 'A' form a cycle."));
+
+    verifyNoInteractions(eventPublishService);
+  }
 }
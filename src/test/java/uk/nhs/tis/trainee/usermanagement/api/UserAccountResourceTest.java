@@ -23,11 +23,13 @@ package uk.nhs.tis.trainee.usermanagement.api;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,6 +37,8 @@ import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -47,6 +51,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import uk.nhs.tis.trainee.usermanagement.dto.UserAccountDetailsDto;
 import uk.nhs.tis.trainee.usermanagement.dto.UserLoginDetailsDto;
+import uk.nhs.tis.trainee.usermanagement.dto.UserLoginHistoryPageDto;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
+import uk.nhs.tis.trainee.usermanagement.model.SignInSummary;
+import uk.nhs.tis.trainee.usermanagement.service.JobService;
+import uk.nhs.tis.trainee.usermanagement.service.LoginHistoryService;
 import uk.nhs.tis.trainee.usermanagement.service.UserAccountService;
 
 @WebMvcTest(UserAccountResource.class)
@@ -61,12 +71,21 @@ class UserAccountResourceTest {
   @MockitoBean
   private UserAccountService service;
 
+  @MockitoBean
+  private LoginHistoryService loginHistoryService;
+
+  @MockitoBean
+  private JobService jobService;
+
   private MockMvc mockMvc;
 
   @BeforeEach
   void setUp() {
     service = mock(UserAccountService.class);
-    UserAccountResource resource = new UserAccountResource(service);
+    loginHistoryService = mock(LoginHistoryService.class);
+    jobService = mock(JobService.class);
+    UserAccountResource resource = new UserAccountResource(service, loginHistoryService,
+        jobService);
     mockMvc = MockMvcBuilders.standaloneSetup(resource)
         .setMessageConverters(jacksonMessageConverter)
         .build();
@@ -74,12 +93,7 @@ class UserAccountResourceTest {
 
   @Test
   void shouldReturnExistenceFalseWhenUserAccountNotExists() throws Exception {
-    UserAccountDetailsDto userAccountDetails = UserAccountDetailsDto.builder()
-        .mfaStatus("NO_ACCOUNT")
-        .userStatus("NO_ACCOUNT")
-        .build();
-
-    when(service.getUserAccountDetails(EMAIL)).thenReturn(userAccountDetails);
+    when(service.doesUserAccountExist(EMAIL)).thenReturn(false);
 
     mockMvc.perform(get("/api/user-account/exists/{username}", EMAIL)
             .contentType(MediaType.APPLICATION_JSON))
@@ -90,15 +104,7 @@ class UserAccountResourceTest {
 
   @Test
   void shouldReturnExistenceTrueWhenUserAccountExists() throws Exception {
-    UserAccountDetailsDto userAccountDetails = UserAccountDetailsDto.builder()
-        .id(ID)
-        .email(EMAIL)
-        .mfaStatus("MFA_STATUS")
-        .userStatus("USER_STATUS")
-        .accountCreated(Instant.now())
-        .build();
-
-    when(service.getUserAccountDetails(EMAIL)).thenReturn(userAccountDetails);
+    when(service.doesUserAccountExist(EMAIL)).thenReturn(true);
 
     mockMvc.perform(get("/api/user-account/exists/{username}", EMAIL)
             .contentType(MediaType.APPLICATION_JSON))
@@ -151,7 +157,8 @@ class UserAccountResourceTest {
             "CHALLENGES",
             "DEVICE"));
 
-    when(service.getUserLoginDetails(EMAIL)).thenReturn(userLogins);
+    when(loginHistoryService.getLoginHistory(EMAIL, null, 10)).thenReturn(
+        new UserLoginHistoryPageDto(userLogins, "NEXT_TOKEN"));
 
     mockMvc.perform(get("/api/user-account/logins/{username}", EMAIL)
             .contentType(MediaType.APPLICATION_JSON))
@@ -165,6 +172,79 @@ class UserAccountResourceTest {
         .andExpect(jsonPath("$[0].device").value("DEVICE"));
   }
 
+  @Test
+  void shouldGetFirstLoginHistoryPageWhenNoTokenGiven() throws Exception {
+    when(loginHistoryService.getLoginHistory(EMAIL, null, 10)).thenReturn(
+        new UserLoginHistoryPageDto(List.of(), null));
+
+    mockMvc.perform(get("/api/user-account/login-history/{username}", EMAIL)
+            .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.events", hasSize(0)))
+        .andExpect(jsonPath("$.nextToken").doesNotExist());
+  }
+
+  @Test
+  void shouldGetLoginHistoryPageWhenTokenGiven() throws Exception {
+    Instant eventInstant = Instant.now();
+    String eventDateString = OffsetDateTime.ofInstant(eventInstant, ZoneOffset.UTC).toString();
+
+    List<UserLoginDetailsDto> userLogins = List.of(
+        new UserLoginDetailsDto(
+            "EVENT_ID",
+            eventInstant,
+            "EVENT",
+            "RESULT",
+            "CHALLENGES",
+            "DEVICE"));
+
+    when(loginHistoryService.getLoginHistory(EMAIL, "TOKEN_1", 25)).thenReturn(
+        new UserLoginHistoryPageDto(userLogins, "TOKEN_2"));
+
+    mockMvc.perform(get("/api/user-account/login-history/{username}", EMAIL)
+            .param("nextToken", "TOKEN_1")
+            .param("size", "25")
+            .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.events", hasSize(1)))
+        .andExpect(jsonPath("$.events[0].eventId").value("EVENT_ID"))
+        .andExpect(jsonPath("$.events[0].eventDate").value(eventDateString))
+        .andExpect(jsonPath("$.events[0].event").value("EVENT"))
+        .andExpect(jsonPath("$.events[0].result").value("RESULT"))
+        .andExpect(jsonPath("$.events[0].challenges").value("CHALLENGES"))
+        .andExpect(jsonPath("$.events[0].device").value("DEVICE"))
+        .andExpect(jsonPath("$.nextToken").value("TOKEN_2"));
+  }
+
+  @Test
+  void shouldReturnNotFoundWhenSignInSummaryNotFound() throws Exception {
+    when(service.getSignInSummary(ID)).thenReturn(Optional.empty());
+
+    mockMvc.perform(get("/api/user-account/sign-in-summary/{userId}", ID)
+            .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void shouldGetSignInSummary() throws Exception {
+    Instant lastSignIn = Instant.parse("2026-01-02T03:04:05Z");
+    SignInSummary summary = SignInSummary.builder()
+        .userId(ID)
+        .lastSuccessfulSignIn(lastSignIn)
+        .failedSignInCount(3)
+        .lastEventId("EVENT_ID")
+        .build();
+    when(service.getSignInSummary(ID)).thenReturn(Optional.of(summary));
+
+    mockMvc.perform(get("/api/user-account/sign-in-summary/{userId}", ID)
+            .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.userId").value(ID))
+        .andExpect(jsonPath("$.lastSuccessfulSignIn").value(lastSignIn.toString()))
+        .andExpect(jsonPath("$.failedSignInCount").value(3))
+        .andExpect(jsonPath("$.lastEventId").value("EVENT_ID"));
+  }
+
   @Test
   void shouldResetMfa() throws Exception {
     mockMvc.perform(post("/api/user-account/reset-mfa/{username}", EMAIL)
@@ -174,6 +254,41 @@ class UserAccountResourceTest {
     verify(service).resetUserAccountMfa(EMAIL);
   }
 
+  @Test
+  void shouldSubmitBulkMfaResetJob() throws Exception {
+    Job job = Job.builder()
+        .id("job-1")
+        .type(JobType.MFA_RESET)
+        .status(Job.Status.QUEUED)
+        .itemCount(2)
+        .build();
+    when(jobService.submit(JobType.MFA_RESET, List.of(EMAIL, "other@example.com"), Map.of(), 8))
+        .thenReturn(job);
+
+    mockMvc.perform(post("/api/user-account/reset-mfa")
+            .param("concurrency", "8")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                ["%s", "other@example.com"]
+                """.formatted(EMAIL)))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Location", "/api/jobs/job-1"))
+        .andExpect(jsonPath("$.id").value("job-1"))
+        .andExpect(jsonPath("$.type").value("MFA_RESET"))
+        .andExpect(jsonPath("$.status").value("QUEUED"))
+        .andExpect(jsonPath("$.itemCount").value(2));
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenBulkMfaResetHasNoUsers() throws Exception {
+    mockMvc.perform(post("/api/user-account/reset-mfa")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[]"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(jobService);
+  }
+
   @Test
   void shouldDeleteCognitoAccount() throws Exception {
     mockMvc.perform(delete("/api/user-account/{username}", EMAIL)
@@ -23,14 +23,24 @@ package uk.nhs.tis.trainee.usermanagement.api;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static uk.nhs.tis.trainee.usermanagement.model.Job.PARAMETER_GROUP_NAME;
 
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
+import uk.nhs.tis.trainee.usermanagement.service.JobService;
 import uk.nhs.tis.trainee.usermanagement.service.UserAccountService;
 
 class UserGroupsResourceTest {
@@ -40,11 +50,14 @@ class UserGroupsResourceTest {
 
   private MockMvc mockMvc;
   private UserAccountService service;
+  private JobService jobService;
 
   @BeforeEach
   void setUp() {
     service = mock(UserAccountService.class);
-    UserGroupsResource resource = new UserGroupsResource(service, BETA_PARTICIPANT_GROUP);
+    jobService = mock(JobService.class);
+    UserGroupsResource resource = new UserGroupsResource(service, jobService,
+        BETA_PARTICIPANT_GROUP);
     mockMvc = MockMvcBuilders.standaloneSetup(resource).build();
   }
 
@@ -65,4 +78,74 @@ class UserGroupsResourceTest {
 
     verify(service).withdrawFromUserGroup(USERNAME, BETA_PARTICIPANT_GROUP);
   }
+
+  @Test
+  void shouldSubmitBulkBetaParticipantEnrolmentJob() throws Exception {
+    Job job = Job.builder()
+        .id("job-1")
+        .type(JobType.GROUP_ENROLMENT)
+        .status(Job.Status.QUEUED)
+        .parameters(Map.of(PARAMETER_GROUP_NAME, BETA_PARTICIPANT_GROUP))
+        .itemCount(2)
+        .build();
+    when(jobService.submit(JobType.GROUP_ENROLMENT, List.of(USERNAME, "other-username"),
+        Map.of(PARAMETER_GROUP_NAME, BETA_PARTICIPANT_GROUP), null)).thenReturn(job);
+
+    mockMvc.perform(post("/api/user-groups/beta-participants/enroll")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                ["%s", "other-username"]
+                """.formatted(USERNAME)))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Location", "/api/jobs/job-1"))
+        .andExpect(jsonPath("$.id").value("job-1"))
+        .andExpect(jsonPath("$.type").value("GROUP_ENROLMENT"))
+        .andExpect(jsonPath("$.parameters.groupName").value(BETA_PARTICIPANT_GROUP))
+        .andExpect(jsonPath("$.itemCount").value(2));
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenBulkBetaParticipantEnrolmentHasNoUsers() throws Exception {
+    mockMvc.perform(post("/api/user-groups/beta-participants/enroll")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[]"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(jobService);
+  }
+
+  @Test
+  void shouldSubmitBulkBetaParticipantWithdrawalJob() throws Exception {
+    Job job = Job.builder()
+        .id("job-1")
+        .type(JobType.GROUP_WITHDRAWAL)
+        .status(Job.Status.QUEUED)
+        .parameters(Map.of(PARAMETER_GROUP_NAME, BETA_PARTICIPANT_GROUP))
+        .itemCount(2)
+        .build();
+    when(jobService.submit(JobType.GROUP_WITHDRAWAL, List.of(USERNAME, "other-username"),
+        Map.of(PARAMETER_GROUP_NAME, BETA_PARTICIPANT_GROUP), null)).thenReturn(job);
+
+    mockMvc.perform(post("/api/user-groups/beta-participants/withdraw")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                ["%s", "other-username"]
+                """.formatted(USERNAME)))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Location", "/api/jobs/job-1"))
+        .andExpect(jsonPath("$.id").value("job-1"))
+        .andExpect(jsonPath("$.type").value("GROUP_WITHDRAWAL"))
+        .andExpect(jsonPath("$.parameters.groupName").value(BETA_PARTICIPANT_GROUP))
+        .andExpect(jsonPath("$.itemCount").value(2));
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenBulkBetaParticipantWithdrawalHasNoUsers() throws Exception {
+    mockMvc.perform(post("/api/user-groups/beta-participants/withdraw")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[]"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(jobService);
+  }
 }
@@ -0,0 +1,257 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.cognito;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static uk.nhs.tis.trainee.usermanagement.cognito.SimulatedCognitoClient.email;
+import static uk.nhs.tis.trainee.usermanagement.cognito.SimulatedCognitoClient.sub;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminAddUserToGroupRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminDeleteUserRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminGetUserRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListUserAuthEventsRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListUserAuthEventsResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminUpdateUserAttributesRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AttributeType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.InvalidParameterException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersInGroupRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersInGroupResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.TooManyRequestsException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
+import uk.nhs.tis.trainee.usermanagement.cognito.SimulatedCognitoClient.Quota;
+
+class SimulatedCognitoClientTest {
+
+  @Test
+  void shouldPageThroughAllUsers() {
+    SimulatedCognitoClient client = SimulatedCognitoClient.builder()
+        .userCount(150)
+        .unlimited()
+        .build();
+
+    Set<String> usernames = new HashSet<>();
+    String token = null;
+    int pages = 0;
+
+    do {
+      ListUsersResponse response = client.listUsers(ListUsersRequest.builder()
+          .paginationToken(token)
+          .build());
+      response.users().forEach(user -> usernames.add(user.username()));
+      token = response.paginationToken();
+      pages++;
+    } while (token != null);
+
+    assertThat("Unexpected user count.", usernames, hasSize(150));
+    assertThat("Unexpected page count.", pages, is(3));
+  }
+
+  @Test
+  void shouldFindUserByEmailOrSubInLargePool() {
+    SimulatedCognitoClient client = SimulatedCognitoClient.builder()
+        .userCount(5_000_000)
+        .unlimited()
+        .build();
+
+    ListUsersResponse byEmail = client.listUsers(ListUsersRequest.builder()
+        .filter("email=\"" + email(4_999_999) + "\"")
+        .build());
+    ListUsersResponse bySub = client.listUsers(ListUsersRequest.builder()
+        .filter("sub = \"" + sub(4_999_999) + "\"")
+        .build());
+
+    assertThat("Unexpected user count.", byEmail.users(), hasSize(1));
+    assertThat("Unexpected username.", byEmail.users().get(0).username(), is(sub(4_999_999)));
+    assertThat("Unexpected user count.", bySub.users(), hasSize(1));
+    assertThat("Unexpected pagination token.", bySub.paginationToken(), nullValue());
+  }
+
+  @Test
+  void shouldFilterUsersByPrefix() {
+    SimulatedCognitoClient client = SimulatedCognitoClient.builder()
+        .userCount(200)
+        .unlimited()
+        .build();
+
+    ListUsersResponse response = client.listUsers(ListUsersRequest.builder()
+        .filter("email ^= \"trainee.1\"")
+        .build());
+
+    // trainee.1, trainee.10-19 and trainee.100-199.
+    assertThat("Unexpected user count.", response.users(), hasSize(60));
+    assertThat("Unexpected pagination token.", response.paginationToken(), notNullValue());
+  }
+
+  @Test
+  void shouldRejectFilterOnCustomAttribute() {
+    SimulatedCognitoClient client = SimulatedCognitoClient.builder().unlimited().build();
+
+    ListUsersRequest request = ListUsersRequest.builder()
+        .filter("custom:tisId=\"100001\"")
+        .build();
+    assertThrows(InvalidParameterException.class, () -> client.listUsers(request));
+  }
+
+  @Test
+  void shouldShareTisIdWithDuplicateAccounts() {
+    SimulatedCognitoClient client = SimulatedCognitoClient.builder()
+        .duplicateEvery(10)
+        .build();
+
+    assertThat("Unexpected TIS ID.", client.tisId(11), is(client.tisId(10)));
+    assertThat("Unexpected TIS ID.", client.tisId(12).equals(client.tisId(11)), is(false));
+  }
+
+  @Test
+  void shouldThrottleWhenQuotaExceeded() {
+    SimulatedCognitoClient client = SimulatedCognitoClient.builder()
+        .quota(Quota.USER_LIST, 1)
+        .build();
+    ListUsersRequest request = ListUsersRequest.builder().build();
+
+    // Make more than one further call, in case the first lands at the very end of a window.
+    assertThrows(TooManyRequestsException.class, () -> {
+      for (int i = 0; i < 3; i++) {
+        client.listUsers(request);
+      }
+    });
+    assertThat("Unexpected throttled count.", client.getThrottledCount(), is(1L));
+  }
+
+  @Test
+  void shouldInjectThrottlingAtConfiguredRate() {
+    SimulatedCognitoClient client = SimulatedCognitoClient.builder()
+        .unlimited()
+        .throttleRate(0.5)
+        .build();
+    AdminGetUserRequest request = AdminGetUserRequest.builder().username(sub(1)).build();
+
+    int throttled = 0;
+    for (int i = 0; i < 1_000; i++) {
+      try {
+        client.adminGetUser(request);
+      } catch (TooManyRequestsException e) {
+        throttled++;
+      }
+    }
+
+    assertThat("Unexpected throttled count.", throttled, greaterThan(400));
+    assertThat("Unexpected throttled count.", 1_000 - throttled, greaterThan(400));
+    assertThat("Unexpected call count.", client.getCallCount("AdminGetUser"), is(1_000L));
+  }
+
+  @Test
+  void shouldFindUserByUpdatedEmailOnly() {
+    SimulatedCognitoClient client = SimulatedCognitoClient.builder().unlimited().build();
+
+    client.adminUpdateUserAttributes(AdminUpdateUserAttributesRequest.builder()
+        .username(sub(5))
+        .userAttributes(AttributeType.builder().name("email").value("new@example.com").build())
+        .build());
+
+    ListUsersResponse byNewEmail = client.listUsers(ListUsersRequest.builder()
+        .filter("email=\"new@example.com\"")
+        .build());
+    ListUsersResponse byOldEmail = client.listUsers(ListUsersRequest.builder()
+        .filter("email=\"" + email(5) + "\"")
+        .build());
+
+    assertThat("Unexpected user count.", byNewEmail.users(), hasSize(1));
+    assertThat("Unexpected username.", byNewEmail.users().get(0).username(), is(sub(5)));
+    assertThat("Unexpected user count.", byOldEmail.users(), hasSize(0));
+  }
+
+  @Test
+  void shouldNotFindDeletedUser() {
+    SimulatedCognitoClient client = SimulatedCognitoClient.builder().unlimited().build();
+
+    client.adminDeleteUser(AdminDeleteUserRequest.builder().username(email(7)).build());
+
+    AdminGetUserRequest request = AdminGetUserRequest.builder().username(sub(7)).build();
+    assertThrows(UserNotFoundException.class, () -> client.adminGetUser(request));
+  }
+
+  @Test
+  void shouldPageThroughGroupMembers() {
+    SimulatedCognitoClient client = SimulatedCognitoClient.builder()
+        .userCount(1_000)
+        .group("beta", 10)
+        .unlimited()
+        .build();
+
+    client.adminAddUserToGroup(AdminAddUserToGroupRequest.builder()
+        .groupName("beta")
+        .username(sub(5))
+        .build());
+
+    ListUsersInGroupResponse first = client.listUsersInGroup(ListUsersInGroupRequest.builder()
+        .groupName("beta")
+        .build());
+    ListUsersInGroupResponse second = client.listUsersInGroup(ListUsersInGroupRequest.builder()
+        .groupName("beta")
+        .nextToken(first.nextToken())
+        .build());
+
+    assertThat("Unexpected user count.", first.users(), hasSize(60));
+    List<String> usernames = first.users().stream().map(UserType::username).toList();
+    assertThat("Unexpected member.", usernames.get(1), is(sub(5)));
+    assertThat("Unexpected user count.", second.users(), hasSize(41));
+    assertThat("Unexpected next token.", second.nextToken(), nullValue());
+  }
+
+  @Test
+  void shouldPageThroughAuthEvents() {
+    SimulatedCognitoClient client = SimulatedCognitoClient.builder()
+        .authEventsPerUser(75)
+        .unlimited()
+        .build();
+
+    AdminListUserAuthEventsResponse first = client.adminListUserAuthEvents(
+        AdminListUserAuthEventsRequest.builder().username(sub(1)).maxResults(60).build());
+    AdminListUserAuthEventsResponse second = client.adminListUserAuthEvents(
+        AdminListUserAuthEventsRequest.builder()
+            .username(sub(1))
+            .maxResults(60)
+            .nextToken(first.nextToken())
+            .build());
+
+    assertThat("Unexpected event count.", first.authEvents(), hasSize(60));
+    assertThat("Unexpected event count.", second.authEvents(), hasSize(15));
+    assertThat("Unexpected next token.", second.nextToken(), nullValue());
+    assertThat("Unexpected event order.",
+        first.authEvents().get(0).creationDate().isAfter(first.authEvents().get(1).creationDate()),
+        is(true));
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.time.Duration;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import software.amazon.awssdk.core.SdkSystemSetting;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import uk.nhs.tis.trainee.usermanagement.enumeration.AwsHttpClientType;
+
+class AwsClientConfigurationTest {
+
+  @ParameterizedTest
+  @EnumSource(AwsHttpClientType.class)
+  void shouldNotSelectHttpServicesForTheJvm(AwsHttpClientType type) {
+    createConfiguration(type);
+
+    assertThat("Unexpected sync HTTP service.",
+        System.getProperty(SdkSystemSetting.SYNC_HTTP_SERVICE_IMPL.property()), nullValue());
+    assertThat("Unexpected async HTTP service.",
+        System.getProperty(SdkSystemSetting.ASYNC_HTTP_SERVICE_IMPL.property()), nullValue());
+  }
+
+  @ParameterizedTest
+  @EnumSource(AwsHttpClientType.class)
+  void shouldCreateHttpClientsOfConfiguredType(AwsHttpClientType type) {
+    AwsClientConfiguration configuration = createConfiguration(type);
+
+    try (SdkHttpClient httpClient = configuration.awsHttpClient();
+        SdkAsyncHttpClient asyncHttpClient = configuration.awsAsyncHttpClient()) {
+      switch (type) {
+        case APACHE -> {
+          assertThat("Unexpected HTTP client.", httpClient, instanceOf(ApacheHttpClient.class));
+          assertThat("Unexpected async HTTP client.", asyncHttpClient,
+              instanceOf(NettyNioAsyncHttpClient.class));
+        }
+        case CRT -> {
+          assertThat("Unexpected HTTP client.", httpClient, instanceOf(AwsCrtHttpClient.class));
+          assertThat("Unexpected async HTTP client.", asyncHttpClient,
+              instanceOf(AwsCrtAsyncHttpClient.class));
+        }
+        default -> throw new IllegalArgumentException("Unexpected type " + type);
+      }
+    }
+  }
+
+  /**
+   * Create a configuration with the given HTTP client type.
+   *
+   * @param type The HTTP client type.
+   * @return The created configuration.
+   */
+  private AwsClientConfiguration createConfiguration(AwsHttpClientType type) {
+    return new AwsClientConfiguration(type, 50, Duration.ofSeconds(2), Duration.ofSeconds(30),
+        Duration.ofSeconds(60), Duration.ofMinutes(5));
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+
+import io.awspring.cloud.autoconfigure.core.AwsClientCustomizer;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AnonymousCredentialsProvider;
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.retries.api.RetryStrategy;
+import software.amazon.awssdk.services.cloudwatch.CloudWatchAsyncClient;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+import software.amazon.awssdk.services.sns.SnsClientBuilder;
+import software.amazon.awssdk.services.sqs.SqsAsyncClientBuilder;
+
+class AwsClientFactoryTest {
+
+  private static final Duration API_CALL_TIMEOUT = Duration.ofSeconds(10);
+  private static final Duration API_CALL_ATTEMPT_TIMEOUT = Duration.ofSeconds(2);
+
+  private AwsClientFactory factory;
+  private SdkHttpClient httpClient;
+  private SdkAsyncHttpClient asyncHttpClient;
+  private RetryStrategy retryStrategy;
+  private ExecutionInterceptor interceptor;
+
+  @BeforeEach
+  void setUp() {
+    httpClient = mock(SdkHttpClient.class);
+    asyncHttpClient = mock(SdkAsyncHttpClient.class);
+    retryStrategy = AwsRetryStrategy.standardRetryStrategy().toBuilder()
+        .maxAttempts(5)
+        .build();
+    interceptor = mock(ExecutionInterceptor.class);
+
+    factory = new AwsClientFactory(httpClient, asyncHttpClient, retryStrategy, API_CALL_TIMEOUT,
+        API_CALL_ATTEMPT_TIMEOUT, List.of(interceptor));
+  }
+
+  @Test
+  void shouldBuildSyncClientWithSharedConfiguration() {
+    CognitoIdentityProviderClient client = factory.buildSync(
+        CognitoIdentityProviderClient.builder()
+            .region(Region.EU_WEST_2)
+            .credentialsProvider(AnonymousCredentialsProvider.create()));
+
+    ClientOverrideConfiguration configuration = client.serviceClientConfiguration()
+        .overrideConfiguration();
+    assertThat("Unexpected interceptors.", configuration.executionInterceptors(),
+        hasItem(interceptor));
+    assertThat("Unexpected call timeout.", configuration.apiCallTimeout().orElse(null),
+        is(API_CALL_TIMEOUT));
+    assertThat("Unexpected attempt timeout.", configuration.apiCallAttemptTimeout().orElse(null),
+        is(API_CALL_ATTEMPT_TIMEOUT));
+    assertThat("Unexpected max attempts.",
+        configuration.retryStrategy().map(RetryStrategy::maxAttempts).orElse(null), is(5));
+  }
+
+  @Test
+  void shouldBuildAsyncClientWithSharedConfiguration() {
+    CloudWatchAsyncClient client = factory.buildAsync(CloudWatchAsyncClient.builder()
+        .region(Region.EU_WEST_2)
+        .credentialsProvider(AnonymousCredentialsProvider.create()));
+
+    ClientOverrideConfiguration configuration = client.serviceClientConfiguration()
+        .overrideConfiguration();
+    assertThat("Unexpected interceptors.", configuration.executionInterceptors(),
+        hasItem(interceptor));
+    assertThat("Unexpected call timeout.", configuration.apiCallTimeout().orElse(null),
+        is(API_CALL_TIMEOUT));
+  }
+
+  @Test
+  void shouldCustomizeWithSharedHttpClientsAndConfiguration() {
+    AwsClientCustomizer<SnsClientBuilder> customizer = factory.customizer();
+
+    assertThat("Unexpected HTTP client.", customizer.httpClient(), sameInstance(httpClient));
+    assertThat("Unexpected async HTTP client.", customizer.asyncHttpClient(),
+        sameInstance(asyncHttpClient));
+
+    ClientOverrideConfiguration configuration = customizer.overrideConfiguration();
+    assertThat("Unexpected interceptors.", configuration.executionInterceptors(),
+        hasItem(interceptor));
+    assertThat("Unexpected retry strategy.", configuration.retryStrategy().orElse(null),
+        sameInstance(retryStrategy));
+    assertThat("Unexpected attempt timeout.", configuration.apiCallAttemptTimeout().orElse(null),
+        is(API_CALL_ATTEMPT_TIMEOUT));
+  }
+
+  @Test
+  void shouldCustomizeLongPollingClientsWithoutCallTimeouts() {
+    AwsClientCustomizer<SqsAsyncClientBuilder> customizer = factory.longPollingCustomizer();
+
+    assertThat("Unexpected async HTTP client.", customizer.asyncHttpClient(),
+        sameInstance(asyncHttpClient));
+
+    ClientOverrideConfiguration configuration = customizer.overrideConfiguration();
+    assertThat("Unexpected interceptors.", configuration.executionInterceptors(),
+        hasItem(interceptor));
+    assertThat("Unexpected retry strategy.", configuration.retryStrategy().orElse(null),
+        sameInstance(retryStrategy));
+    assertThat("Unexpected call timeout.", configuration.apiCallTimeout().orElse(null),
+        nullValue());
+    assertThat("Unexpected attempt timeout.", configuration.apiCallAttemptTimeout().orElse(null),
+        nullValue());
+  }
+}
@@ -23,9 +23,13 @@ package uk.nhs.tis.trainee.usermanagement.config;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 
+import com.amazonaws.xray.AWSXRay;
+import com.amazonaws.xray.AWSXRayRecorder;
+import com.amazonaws.xray.interceptors.TracingInterceptor;
 import com.amazonaws.xray.jakarta.servlet.AWSXRayServletFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,7 +44,10 @@ class AwsXrayConfigurationTest {
   @BeforeEach
   void setUp() {
     runner = new ApplicationContextRunner()
-        .withUserConfiguration(AwsXrayConfiguration.class);
+        .withUserConfiguration(AwsXrayConfiguration.class)
+        .withPropertyValues(
+            "application.environment=test",
+            "application.xray.sampling-rules=classpath:xray-sampling-rules.json");
   }
 
   @Test
@@ -74,4 +81,29 @@ class AwsXrayConfigurationTest {
                 instanceOf(AWSXRayServletFilter.class))
         ));
   }
+
+  @Test
+  void shouldSetGlobalRecorderWhenConfigEnabled() {
+    runner
+        .withPropertyValues(DAEMON_PROPERTY + "=https://localhost:1234")
+        .run(context -> assertThat("Unexpected global recorder.", AWSXRay.getGlobalRecorder(),
+            sameInstance(context.getBean(AWSXRayRecorder.class))));
+  }
+
+  @Test
+  void shouldRegisterSdkTracingInterceptorWhenConfigEnabled() {
+    runner
+        .withPropertyValues(DAEMON_PROPERTY + "=https://localhost:1234")
+        .run(context -> assertThat("Unexpected bean type.",
+            context.getBean("tracingInterceptor"), instanceOf(TracingInterceptor.class)));
+  }
+
+  @Test
+  void shouldRegisterListenerTracingWhenConfigEnabled() {
+    runner
+        .withPropertyValues(DAEMON_PROPERTY + "=https://localhost:1234")
+        .run(context -> assertThat("Unexpected bean type.",
+            context.getBean("listenerTracingInterceptor"),
+            instanceOf(AwsXrayListenerInterceptor.class)));
+  }
 }
@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.xray.AWSXRayRecorder;
+import com.amazonaws.xray.entities.Segment;
+import com.amazonaws.xray.strategy.sampling.SamplingRequest;
+import com.amazonaws.xray.strategy.sampling.SamplingResponse;
+import com.amazonaws.xray.strategy.sampling.SamplingStrategy;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import uk.nhs.tis.trainee.usermanagement.event.ContactDetailsListener;
+
+class AwsXrayListenerInterceptorTest {
+
+  private static final String SEGMENT_NAME = "test-segment";
+
+  private AwsXrayListenerInterceptor interceptor;
+  private AWSXRayRecorder recorder;
+  private SamplingStrategy samplingStrategy;
+  private ProceedingJoinPoint pjp;
+  private Segment segment;
+
+  @BeforeEach
+  void setUp() {
+    recorder = mock(AWSXRayRecorder.class);
+    samplingStrategy = mock(SamplingStrategy.class);
+    when(recorder.getSamplingStrategy()).thenReturn(samplingStrategy);
+
+    segment = mock(Segment.class);
+    when(recorder.beginSegment(SEGMENT_NAME)).thenReturn(segment);
+    when(recorder.beginNoOpSegment()).thenReturn(segment);
+
+    Signature signature = mock(Signature.class);
+    when(signature.getDeclaringType()).thenReturn(ContactDetailsListener.class);
+    when(signature.getName()).thenReturn("handleContactDetailsUpdate");
+    pjp = mock(ProceedingJoinPoint.class);
+    when(pjp.getSignature()).thenReturn(signature);
+
+    interceptor = new AwsXrayListenerInterceptor(recorder, SEGMENT_NAME);
+  }
+
+  @Test
+  void shouldSampleListenerBySqsMethodAndListenerPath() throws Throwable {
+    when(samplingStrategy.shouldTrace(any())).thenReturn(new SamplingResponse(true));
+
+    interceptor.traceListener(pjp);
+
+    ArgumentCaptor<SamplingRequest> requestCaptor = ArgumentCaptor.captor();
+    verify(samplingStrategy).shouldTrace(requestCaptor.capture());
+
+    SamplingRequest request = requestCaptor.getValue();
+    assertThat("Unexpected sampling method.", request.getMethod().orElse(null), is("SQS"));
+    assertThat("Unexpected sampling path.", request.getUrl().orElse(null),
+        is("ContactDetailsListener.handleContactDetailsUpdate"));
+  }
+
+  @Test
+  void shouldBeginSegmentWhenSampled() throws Throwable {
+    when(samplingStrategy.shouldTrace(any())).thenReturn(new SamplingResponse(true));
+    when(pjp.proceed()).thenReturn("result");
+
+    Object result = interceptor.traceListener(pjp);
+
+    assertThat("Unexpected result.", result, is("result"));
+    verify(recorder).beginSegment(SEGMENT_NAME);
+    verify(recorder, never()).beginNoOpSegment();
+    verify(recorder).endSegment();
+  }
+
+  @Test
+  void shouldBeginNoOpSegmentWhenNotSampled() throws Throwable {
+    when(samplingStrategy.shouldTrace(any())).thenReturn(new SamplingResponse(false));
+
+    interceptor.traceListener(pjp);
+
+    verify(recorder).beginNoOpSegment();
+    verify(recorder, never()).beginSegment(SEGMENT_NAME);
+    verify(recorder).endSegment();
+  }
+
+  @Test
+  void shouldRecordExceptionAndEndSegmentWhenListenerFails() throws Throwable {
+    when(samplingStrategy.shouldTrace(any())).thenReturn(new SamplingResponse(true));
+    IllegalArgumentException exception = new IllegalArgumentException("expected");
+    when(pjp.proceed()).thenThrow(exception);
+
+    assertThrows(IllegalArgumentException.class, () -> interceptor.traceListener(pjp));
+
+    verify(segment).addException(exception);
+    verify(recorder).endSegment();
+  }
+}
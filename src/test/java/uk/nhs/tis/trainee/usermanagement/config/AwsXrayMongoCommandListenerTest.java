@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.config;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.xray.AWSXRayRecorder;
+import com.amazonaws.xray.entities.Segment;
+import com.amazonaws.xray.entities.Subsegment;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AwsXrayMongoCommandListenerTest {
+
+  private static final int REQUEST_ID = 40;
+
+  private AwsXrayMongoCommandListener listener;
+  private AWSXRayRecorder recorder;
+  private Subsegment subsegment;
+
+  @BeforeEach
+  void setUp() {
+    recorder = mock(AWSXRayRecorder.class);
+    subsegment = mock(Subsegment.class);
+    when(recorder.beginSubsegment(any())).thenReturn(subsegment);
+
+    listener = new AwsXrayMongoCommandListener(recorder);
+  }
+
+  @Test
+  void shouldNotBeginSubsegmentWhenNotTraced() {
+    listener.commandStarted(startedEvent());
+    listener.commandSucceeded(succeededEvent());
+
+    verify(recorder, never()).beginSubsegment(any());
+    verify(recorder, never()).endSubsegment();
+  }
+
+  @Test
+  void shouldTraceCommandAsRemoteSubsegment() {
+    when(recorder.getTraceEntity()).thenReturn(mock(Segment.class));
+
+    listener.commandStarted(startedEvent());
+    listener.commandSucceeded(succeededEvent());
+
+    verify(recorder).beginSubsegment("MongoDB");
+    verify(subsegment).setNamespace("remote");
+    verify(subsegment).putMetadata("mongodb", "command", "find");
+    verify(subsegment).putMetadata("mongodb", "database", "users");
+    verify(recorder).endSubsegment();
+  }
+
+  @Test
+  void shouldRecordExceptionWhenCommandFails() {
+    when(recorder.getTraceEntity()).thenReturn(mock(Segment.class));
+    RuntimeException exception = new RuntimeException("expected");
+    CommandFailedEvent failedEvent = mock(CommandFailedEvent.class);
+    when(failedEvent.getRequestId()).thenReturn(REQUEST_ID);
+    when(failedEvent.getThrowable()).thenReturn(exception);
+
+    listener.commandStarted(startedEvent());
+    listener.commandFailed(failedEvent);
+
+    verify(subsegment).addException(exception);
+    verify(recorder).endSubsegment();
+  }
+
+  private static CommandStartedEvent startedEvent() {
+    CommandStartedEvent event = mock(CommandStartedEvent.class);
+    when(event.getRequestId()).thenReturn(REQUEST_ID);
+    when(event.getCommandName()).thenReturn("find");
+    when(event.getDatabaseName()).thenReturn("users");
+    return event;
+  }
+
+  private static CommandSucceededEvent succeededEvent() {
+    CommandSucceededEvent event = mock(CommandSucceededEvent.class);
+    when(event.getRequestId()).thenReturn(REQUEST_ID);
+    return event;
+  }
+}
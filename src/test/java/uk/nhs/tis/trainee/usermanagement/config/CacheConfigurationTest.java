@@ -36,7 +36,8 @@ class CacheConfigurationTest {
 
   @BeforeEach
   void setUp() {
-    this.configuration = new CacheConfiguration("CachePrefix", Duration.ofMinutes(5));
+    this.configuration = new CacheConfiguration("CachePrefix", Duration.ofMinutes(5),
+        Duration.ofMinutes(1));
   }
 
   @Test
@@ -27,9 +27,14 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.regions.providers.AwsRegionProvider;
 import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
@@ -37,10 +42,14 @@ import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityPr
 class CognitoConfigurationTest {
 
   private CognitoConfiguration configuration;
+  private AwsClientFactory clientFactory;
 
   @BeforeEach
   void setUp() {
     configuration = new CognitoConfiguration();
+    clientFactory = new AwsClientFactory(mock(SdkHttpClient.class),
+        mock(SdkAsyncHttpClient.class), AwsRetryStrategy.standardRetryStrategy(),
+        Duration.ofSeconds(10), Duration.ofSeconds(2), List.of());
   }
 
   @Test
@@ -50,9 +59,10 @@ class CognitoConfigurationTest {
     AwsCredentialsProvider credentialsProvider = mock(AwsCredentialsProvider.class);
 
     CognitoIdentityProviderClient cognitoIdp = configuration.getCognitoIdentityProviderClient(
-        regionProvider, credentialsProvider);
+        regionProvider, credentialsProvider, clientFactory);
     assertThat("Unexpected provider.", cognitoIdp, notNullValue());
 
     verify(regionProvider).getRegion();
   }
+
 }
@@ -0,0 +1,160 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class EmfMeterRegistryTest {
+
+  private static final String NAMESPACE = "test-namespace";
+  private static final Duration STEP = Duration.ofMinutes(1);
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private MockClock clock;
+  private List<String> lines;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MockClock();
+    lines = new ArrayList<>();
+  }
+
+  @Test
+  void shouldWriteCounterAsEmf() throws Exception {
+    EmfMeterRegistry registry = createRegistry(STEP);
+    Counter counter = Counter.builder("test.counter")
+        .tag("Outcome", "Success")
+        .register(registry);
+    counter.increment(3);
+
+    clock.add(STEP);
+    registry.publish();
+
+    assertThat("Unexpected line count.", lines, hasSize(1));
+    JsonNode document = objectMapper.readTree(lines.get(0));
+
+    JsonNode directive = document.get("_aws").get("CloudWatchMetrics").get(0);
+    assertThat("Unexpected namespace.", directive.get("Namespace").asText(), is(NAMESPACE));
+
+    JsonNode dimensions = directive.get("Dimensions").get(0);
+    assertThat("Unexpected dimension count.", dimensions.size(), is(1));
+    assertThat("Unexpected dimension.", dimensions.get(0).asText(), is("Outcome"));
+    assertThat("Unexpected dimension value.", document.get("Outcome").asText(), is("Success"));
+
+    JsonNode metric = directive.get("Metrics").get(0);
+    assertThat("Unexpected metric name.", metric.get("Name").asText(), is("test.counter"));
+    assertThat("Unexpected metric unit.", metric.get("Unit").asText(), is("Count"));
+    assertThat("Unexpected metric value.", document.get("test.counter").asDouble(), is(3.0));
+  }
+
+  @Test
+  void shouldWriteTimerStatisticsAndPercentilesAsEmf() throws Exception {
+    EmfMeterRegistry registry = createRegistry(STEP);
+    Timer timer = Timer.builder("test.timer")
+        .publishPercentiles(0.99, 0.999)
+        .distributionStatisticExpiry(Duration.ofMinutes(10))
+        .register(registry);
+    timer.record(Duration.ofMillis(100));
+    timer.record(Duration.ofMillis(200));
+
+    clock.add(STEP);
+    registry.publish();
+
+    assertThat("Unexpected line count.", lines, hasSize(1));
+    JsonNode document = objectMapper.readTree(lines.get(0));
+
+    JsonNode metrics = document.get("_aws").get("CloudWatchMetrics").get(0).get("Metrics");
+    Map<String, String> units = new HashMap<>();
+    metrics.forEach(metric -> units.put(metric.get("Name").asText(),
+        metric.get("Unit").asText()));
+
+    assertThat("Unexpected count unit.", units.get("test.timer.count"), is("Count"));
+    assertThat("Unexpected sum unit.", units.get("test.timer.sum"), is("Milliseconds"));
+    assertThat("Unexpected p99 unit.", units.get("test.timer.p99"), is("Milliseconds"));
+    assertThat("Unexpected p99.9 unit.", units.get("test.timer.p99_9"), is("Milliseconds"));
+
+    assertThat("Unexpected count.", document.get("test.timer.count").asDouble(), is(2.0));
+    assertThat("Unexpected sum.", document.get("test.timer.sum").asDouble(), is(300.0));
+    assertThat("Unexpected max.", document.get("test.timer.max").asDouble(), is(200.0));
+    assertThat("Unexpected p99.", document.get("test.timer.p99").asDouble(), closeTo(200, 20));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"PT10S,1", "PT1M,60", "PT5M,60"})
+  void shouldSetStorageResolutionFromStep(Duration step, int storageResolution)
+      throws Exception {
+    EmfMeterRegistry registry = createRegistry(step);
+    registry.counter("test.counter").increment();
+
+    clock.add(step);
+    registry.publish();
+
+    JsonNode metric = objectMapper.readTree(lines.get(0))
+        .get("_aws").get("CloudWatchMetrics").get(0).get("Metrics").get(0);
+    assertThat("Unexpected storage resolution.", metric.get("StorageResolution").asInt(),
+        is(storageResolution));
+  }
+
+  @Test
+  void shouldNotWriteMetersWithoutValues() {
+    EmfMeterRegistry registry = createRegistry(STEP);
+    registry.gauge("test.gauge", Double.NaN);
+
+    clock.add(STEP);
+    registry.publish();
+
+    assertThat("Unexpected line count.", lines, hasSize(0));
+  }
+
+  /**
+   * Create a registry which writes to the test's list of lines.
+   *
+   * @param step How often metrics are published.
+   * @return The created registry.
+   */
+  private EmfMeterRegistry createRegistry(Duration step) {
+    Map<String, String> properties = Map.of(
+        "emf.namespace", NAMESPACE,
+        "emf.step", step.toString());
+    EmfConfig config = properties::get;
+    return new EmfMeterRegistry(config, clock, lines::add);
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class ExecutorConfigurationTest {
+
+  private ExecutorConfiguration configuration;
+
+  @BeforeEach
+  void setUp() {
+    configuration = new ExecutorConfiguration();
+  }
+
+  @Test
+  void shouldBoundCognitoTaskExecutor() {
+    ThreadPoolTaskExecutor executor = configuration.cognitoTaskExecutor(3, 20);
+
+    assertThat("Unexpected core pool size.", executor.getCorePoolSize(), is(3));
+    assertThat("Unexpected max pool size.", executor.getMaxPoolSize(), is(3));
+    assertThat("Unexpected queue capacity.", executor.getQueueCapacity(), is(20));
+    assertThat("Unexpected thread name prefix.", executor.getThreadNamePrefix(), is("cognito-"));
+  }
+
+  @Test
+  void shouldQueueRatherThanRejectJobs() {
+    ThreadPoolTaskExecutor executor = configuration.jobTaskExecutor(2);
+
+    assertThat("Unexpected core pool size.", executor.getCorePoolSize(), is(2));
+    assertThat("Unexpected max pool size.", executor.getMaxPoolSize(), is(2));
+    assertThat("Unexpected queue capacity.", executor.getQueueCapacity(),
+        is(Integer.MAX_VALUE));
+    assertThat("Unexpected thread name prefix.", executor.getThreadNamePrefix(),
+        is("job-runner-"));
+  }
+}
@@ -23,53 +23,133 @@ package uk.nhs.tis.trainee.usermanagement.config;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.transformuk.hee.tis.profile.client.service.impl.JwtProfileServiceImpl;
 import com.transformuk.hee.tis.security.service.JwtProfileService;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
 import java.time.Duration;
+import java.util.function.Supplier;
+import org.apache.hc.client5.http.ConnectionRequestTimeoutException;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.invocation.InvocationOnMock;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.web.client.RestTemplate;
+import uk.nhs.tis.trainee.usermanagement.service.MetricsService;
 
 class ProfileClientConfigurationTest {
 
-  private static final int TIMEOUT = 12345;
+  private static final Duration CONNECT_TIMEOUT = Duration.ofMillis(100);
+  private static final Duration READ_TIMEOUT = Duration.ofMillis(200);
+  private static final int MAX_CONNECTIONS = 7;
+  private static final Duration ACQUIRE_TIMEOUT = Duration.ofMillis(50);
 
   private ProfileClientConfiguration configuration;
+  private MetricsService metricsService;
 
   @BeforeEach
   void setUp() {
-    configuration = new ProfileClientConfiguration(TIMEOUT);
+    configuration = new ProfileClientConfiguration(CONNECT_TIMEOUT, READ_TIMEOUT, MAX_CONNECTIONS,
+        ACQUIRE_TIMEOUT);
+    metricsService = mock(MetricsService.class);
   }
 
   @Test
   void shouldCreateProfileService() {
     RestTemplateBuilder builder = new RestTemplateBuilder();
+    PoolingHttpClientConnectionManager connectionManager = configuration.profileConnectionManager();
 
-    JwtProfileService service = configuration.jwtProfileService(builder);
+    JwtProfileService service = configuration.jwtProfileService(builder, connectionManager,
+        metricsService);
 
     assertThat("Unexpected service type.", service, instanceOf(JwtProfileServiceImpl.class));
   }
 
   @Test
-  void shouldSetClientParameters() {
+  void shouldBoundConnectionPool() {
+    PoolingHttpClientConnectionManager connectionManager = configuration.profileConnectionManager();
+
+    assertThat("Unexpected max connections.", connectionManager.getMaxTotal(),
+        is(MAX_CONNECTIONS));
+    assertThat("Unexpected max connections per route.", connectionManager.getDefaultMaxPerRoute(),
+        is(MAX_CONNECTIONS));
+  }
+
+  @Test
+  void shouldBindConnectionPoolMetrics() {
+    PoolingHttpClientConnectionManager connectionManager = configuration.profileConnectionManager();
+
+    MeterBinder binder = configuration.profileConnectionPoolMetrics(connectionManager);
+
+    assertThat("Unexpected binder type.", binder,
+        instanceOf(PoolingHttpClientConnectionManagerMetricsBinder.class));
+  }
+
+  @Test
+  void shouldCountRejectedCallsWhenPoolExhausted() throws IOException {
+    ClientHttpRequestInterceptor interceptor = buildAndCaptureInterceptor();
+
+    ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+    HttpRequest request = mock(HttpRequest.class);
+    byte[] body = new byte[0];
+    when(execution.execute(request, body)).thenThrow(
+        new ConnectionRequestTimeoutException("Timeout waiting for connection from pool"));
+
+    assertThrows(ConnectionRequestTimeoutException.class,
+        () -> interceptor.intercept(request, body, execution));
+
+    verify(metricsService).incrementProfileClientRejectedCounter();
+  }
+
+  @Test
+  void shouldNotCountRejectedCallsWhenOtherFailure() throws IOException {
+    ClientHttpRequestInterceptor interceptor = buildAndCaptureInterceptor();
+
+    ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+    HttpRequest request = mock(HttpRequest.class);
+    byte[] body = new byte[0];
+    when(execution.execute(request, body)).thenThrow(new SocketTimeoutException("Read timed out"));
+
+    assertThrows(SocketTimeoutException.class,
+        () -> interceptor.intercept(request, body, execution));
+
+    verify(metricsService, never()).incrementProfileClientRejectedCounter();
+  }
+
+  /**
+   * Build the profile service with a mock builder and capture the added interceptor.
+   *
+   * @return The captured interceptor.
+   */
+  private ClientHttpRequestInterceptor buildAndCaptureInterceptor() {
     RestTemplateBuilder builder = mock(RestTemplateBuilder.class);
-    when(builder.requestFactory((Class<? extends ClientHttpRequestFactory>) any()))
+    when(builder.requestFactory((Supplier<ClientHttpRequestFactory>) any()))
+        .thenAnswer(InvocationOnMock::getMock);
+    when(builder.additionalInterceptors((ClientHttpRequestInterceptor[]) any()))
         .thenAnswer(InvocationOnMock::getMock);
-    when(builder.readTimeout(any())).thenAnswer(InvocationOnMock::getMock);
-    when(builder.connectTimeout(any())).thenAnswer(InvocationOnMock::getMock);
+    when(builder.build()).thenReturn(new RestTemplate());
 
-    configuration.jwtProfileService(builder);
+    configuration.jwtProfileService(builder, configuration.profileConnectionManager(),
+        metricsService);
 
-    verify(builder).requestFactory(HttpComponentsClientHttpRequestFactory.class);
-    verify(builder).readTimeout(Duration.ofSeconds(TIMEOUT));
-    verify(builder).connectTimeout(Duration.ofSeconds(TIMEOUT));
+    ArgumentCaptor<ClientHttpRequestInterceptor> captor = ArgumentCaptor.captor();
+    verify(builder).additionalInterceptors(captor.capture());
+    return captor.getValue();
   }
 }
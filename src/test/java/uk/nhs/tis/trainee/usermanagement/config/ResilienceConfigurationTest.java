@@ -0,0 +1,133 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.TooManyRequestsException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
+import uk.nhs.tis.trainee.usermanagement.enumeration.Dependency;
+
+class ResilienceConfigurationTest {
+
+  private ResilienceConfiguration configuration;
+
+  @BeforeEach
+  void setUp() {
+    configuration = new ResilienceConfiguration(40, Duration.ofSeconds(3), 30, 15,
+        Duration.ofSeconds(45), Duration.ofMillis(200), 11, 12, 13, 14);
+  }
+
+  @Test
+  void shouldConfigureCircuitBreakers() {
+    CircuitBreakerRegistry registry = configuration.circuitBreakerRegistry();
+
+    CircuitBreakerConfig config = registry.circuitBreaker(Dependency.COGNITO.getInstanceName())
+        .getCircuitBreakerConfig();
+    assertThat("Unexpected failure rate threshold.", config.getFailureRateThreshold(), is(40f));
+    assertThat("Unexpected slow call rate threshold.", config.getSlowCallRateThreshold(),
+        is(40f));
+    assertThat("Unexpected slow call threshold.", config.getSlowCallDurationThreshold(),
+        is(Duration.ofSeconds(3)));
+    assertThat("Unexpected window size.", config.getSlidingWindowSize(), is(30));
+    assertThat("Unexpected minimum calls.", config.getMinimumNumberOfCalls(), is(15));
+  }
+
+  @Test
+  void shouldIgnoreRejectedCalls() {
+    CircuitBreakerConfig config = configuration.circuitBreakerRegistry()
+        .circuitBreaker(Dependency.CACHE.getInstanceName())
+        .getCircuitBreakerConfig();
+
+    CallNotPermittedException notPermitted = CallNotPermittedException
+        .createCallNotPermittedException(CircuitBreaker.ofDefaults("nested"));
+    BulkheadFullException bulkheadFull = BulkheadFullException
+        .createBulkheadFullException(Bulkhead.ofDefaults("nested"));
+    assertThat("Unexpected ignored exception.",
+        config.getIgnoreExceptionPredicate().test(notPermitted), is(true));
+    assertThat("Unexpected ignored exception.",
+        config.getIgnoreExceptionPredicate().test(bulkheadFull), is(true));
+  }
+
+  @Test
+  void shouldSizeBulkheadForEachDependency() {
+    BulkheadRegistry registry = configuration.bulkheadRegistry();
+
+    assertThat("Unexpected Cognito limit.", getMaxConcurrentCalls(registry, Dependency.COGNITO),
+        is(11));
+    assertThat("Unexpected messaging limit.",
+        getMaxConcurrentCalls(registry, Dependency.MESSAGING), is(12));
+    assertThat("Unexpected audit limit.", getMaxConcurrentCalls(registry, Dependency.AUDIT),
+        is(13));
+    assertThat("Unexpected cache limit.", getMaxConcurrentCalls(registry, Dependency.CACHE),
+        is(14));
+    assertThat("Unexpected max wait.", registry.bulkhead(Dependency.CACHE.getInstanceName())
+        .getBulkheadConfig().getMaxWaitDuration(), is(Duration.ofMillis(200)));
+  }
+
+  @Test
+  void shouldRecordDependencyFailures() {
+    assertThat("Unexpected failure.", ResilienceConfiguration.isDependencyFailure(
+        SdkClientException.create("Connection reset")), is(true));
+    assertThat("Unexpected failure.", ResilienceConfiguration.isDependencyFailure(
+        AwsServiceException.builder().statusCode(503).build()), is(true));
+    assertThat("Unexpected failure.", ResilienceConfiguration.isDependencyFailure(
+        new DataAccessResourceFailureException("Connection refused")), is(true));
+  }
+
+  @Test
+  void shouldNotRecordClientErrors() {
+    assertThat("Unexpected failure.", ResilienceConfiguration.isDependencyFailure(
+        UserNotFoundException.builder().statusCode(400).build()), is(false));
+    assertThat("Unexpected failure.", ResilienceConfiguration.isDependencyFailure(
+        TooManyRequestsException.builder().statusCode(429).build()), is(false));
+    assertThat("Unexpected failure.", ResilienceConfiguration.isDependencyFailure(
+        new DuplicateKeyException("Duplicate")), is(false));
+  }
+
+  /**
+   * Get the maximum concurrent calls of a dependency's bulkhead.
+   *
+   * @param registry   The bulkhead registry.
+   * @param dependency The dependency to get the limit for.
+   * @return The maximum concurrent calls.
+   */
+  private static int getMaxConcurrentCalls(BulkheadRegistry registry, Dependency dependency) {
+    return registry.bulkhead(dependency.getInstanceName()).getBulkheadConfig()
+        .getMaxConcurrentCalls();
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.enumeration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.InvalidParameterException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.TooManyRequestsException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
+
+class CognitoOutcomeTest {
+
+  @Test
+  void shouldReturnNotFoundWhenUserNotFound() {
+    CognitoOutcome outcome = CognitoOutcome.fromException(
+        UserNotFoundException.builder().build());
+
+    assertThat("Unexpected outcome.", outcome, is(CognitoOutcome.NOT_FOUND));
+  }
+
+  @Test
+  void shouldReturnNotFoundWhenResourceNotFound() {
+    CognitoOutcome outcome = CognitoOutcome.fromException(
+        ResourceNotFoundException.builder().build());
+
+    assertThat("Unexpected outcome.", outcome, is(CognitoOutcome.NOT_FOUND));
+  }
+
+  @Test
+  void shouldReturnThrottledWhenTooManyRequests() {
+    CognitoOutcome outcome = CognitoOutcome.fromException(
+        TooManyRequestsException.builder().build());
+
+    assertThat("Unexpected outcome.", outcome, is(CognitoOutcome.THROTTLED));
+  }
+
+  @Test
+  void shouldReturnErrorForOtherExceptions() {
+    CognitoOutcome outcome = CognitoOutcome.fromException(
+        InvalidParameterException.builder().build());
+
+    assertThat("Unexpected outcome.", outcome, is(CognitoOutcome.ERROR));
+  }
+}
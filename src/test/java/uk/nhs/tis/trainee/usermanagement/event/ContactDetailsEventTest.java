@@ -0,0 +1,100 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.event;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.nhs.tis.trainee.usermanagement.dto.ContactDetailsDto;
+
+class ContactDetailsEventTest {
+
+  private ObjectMapper mapper;
+
+  @BeforeEach
+  void setUp() {
+    mapper = JsonMapper.builder()
+        .findAndAddModules()
+        .build();
+  }
+
+  @Test
+  void shouldBindContactDetailsAndSkipOtherRecordContent() throws JsonProcessingException {
+    String eventJson = """
+        {
+          "record": {
+            "metadata": {
+              "timestamp": "2024-01-01T00:00:00.000000Z",
+              "record-type": "data",
+              "operation": "update",
+              "schema-name": "tcs",
+              "table-name": "ContactDetails",
+              "transaction-id": 123456789
+            },
+            "data": {
+              "id": "40",
+              "title": "Dr",
+              "forenames": "Anthony",
+              "surname": "Gilliam",
+              "email": "anthony.gilliam@example.com",
+              "address": {
+                "lines": ["1 Example Street", "Example Town"],
+                "postCode": "LS1 1AA"
+              },
+              "history": [{"email": "old@example.com"}, {"email": null}]
+            }
+          }
+        }
+        """;
+
+    ContactDetailsEvent event = mapper.readValue(eventJson, ContactDetailsEvent.class);
+
+    ContactDetailsDto contactDetails = event.getContactDetails();
+    assertThat("Unexpected trainee ID.", contactDetails.traineeId(), is("40"));
+    assertThat("Unexpected email.", contactDetails.email(), is("anthony.gilliam@example.com"));
+    assertThat("Unexpected forenames.", contactDetails.forenames(), is("Anthony"));
+    assertThat("Unexpected surname.", contactDetails.surname(), is("Gilliam"));
+  }
+
+  @Test
+  void shouldHaveNullContactDetailsWhenRecordHasNoData() throws JsonProcessingException {
+    String eventJson = """
+        {
+          "record": {
+            "metadata": {
+              "operation": "delete"
+            }
+          }
+        }
+        """;
+
+    ContactDetailsEvent event = mapper.readValue(eventJson, ContactDetailsEvent.class);
+
+    assertThat("Unexpected contact details.", event.getContactDetails(), nullValue());
+  }
+}
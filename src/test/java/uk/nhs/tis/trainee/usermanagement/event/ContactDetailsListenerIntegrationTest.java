@@ -58,6 +58,7 @@ import org.testcontainers.containers.localstack.LocalStackContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
+import software.amazon.awssdk.services.sns.SnsClient;
 import uk.nhs.tis.trainee.usermanagement.DockerImageNames;
 import uk.nhs.tis.trainee.usermanagement.dto.UserAccountDetailsDto;
 import uk.nhs.tis.trainee.usermanagement.model.AccountEvent;
@@ -125,6 +126,9 @@ class ContactDetailsListenerIntegrationTest {
   @MockitoBean
   private SnsTemplate snsTemplate;
 
+  @MockitoBean
+  private SnsClient snsClient;
+
   private Cache cache;
 
   @BeforeEach
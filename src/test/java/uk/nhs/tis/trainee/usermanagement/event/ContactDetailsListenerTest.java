@@ -23,6 +23,8 @@ package uk.nhs.tis.trainee.usermanagement.event;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -31,11 +33,15 @@ import static org.mockito.Mockito.when;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import uk.nhs.tis.trainee.usermanagement.enumeration.ContactDetailsOutcome;
+import uk.nhs.tis.trainee.usermanagement.service.MetricsService;
 import uk.nhs.tis.trainee.usermanagement.service.UserAccountService;
 
 class ContactDetailsListenerTest {
@@ -48,13 +54,15 @@ class ContactDetailsListenerTest {
 
   private ContactDetailsListener listener;
   private UserAccountService service;
+  private MetricsService metricsService;
 
   private ObjectMapper mapper;
 
   @BeforeEach
   void setUp() {
     service = mock(UserAccountService.class);
-    listener = new ContactDetailsListener(service);
+    metricsService = mock(MetricsService.class);
+    listener = new ContactDetailsListener(service, metricsService);
     mapper = JsonMapper.builder()
         .findAndAddModules()
         .build();
@@ -75,9 +83,10 @@ class ContactDetailsListenerTest {
 
     when(service.getUserAccountIds(TRAINEE_ID)).thenReturn(Set.of());
 
-    listener.handleContactDetailsUpdate(event);
+    listener.handleContactDetailsUpdate(event, null);
 
     verify(service, never()).updateContactDetails(any(), any(), any(), any());
+    verify(metricsService).recordContactDetailsUpdate(eq(ContactDetailsOutcome.NO_ACCOUNT), any());
   }
 
   @Test
@@ -99,9 +108,12 @@ class ContactDetailsListenerTest {
     when(service.deleteDuplicateAccounts(TRAINEE_ID, accountIds, EMAIL))
         .thenReturn(Optional.empty());
 
-    assertThrows(IllegalArgumentException.class, () -> listener.handleContactDetailsUpdate(event));
+    assertThrows(IllegalArgumentException.class,
+        () -> listener.handleContactDetailsUpdate(event, null));
 
     verify(service, never()).updateContactDetails(any(), any(), any(), any());
+    verify(metricsService).recordContactDetailsUpdate(
+        eq(ContactDetailsOutcome.DUPLICATES_UNRESOLVED), any());
   }
 
   @Test
@@ -125,9 +137,11 @@ class ContactDetailsListenerTest {
     when(service.deleteDuplicateAccounts(TRAINEE_ID, accountIds, EMAIL))
         .thenReturn(Optional.of(ACCOUNT_ID));
 
-    listener.handleContactDetailsUpdate(event);
+    listener.handleContactDetailsUpdate(event, null);
 
     verify(service).updateContactDetails(ACCOUNT_ID, EMAIL, FORENAMES, SURNAME);
+    verify(metricsService).recordContactDetailsUpdate(
+        eq(ContactDetailsOutcome.DUPLICATES_RESOLVED), any());
   }
 
   @Test
@@ -147,8 +161,77 @@ class ContactDetailsListenerTest {
 
     when(service.getUserAccountIds(TRAINEE_ID)).thenReturn(Set.of(ACCOUNT_ID));
 
-    listener.handleContactDetailsUpdate(event);
+    listener.handleContactDetailsUpdate(event, null);
 
     verify(service).updateContactDetails(ACCOUNT_ID, EMAIL, FORENAMES, SURNAME);
+    verify(metricsService).recordContactDetailsUpdate(eq(ContactDetailsOutcome.SINGLE_ACCOUNT),
+        any());
+    verify(metricsService, never()).recordContactDetailsMessageAge(any());
+  }
+
+  @Test
+  void shouldRecordFailedOutcomeWhenUpdateFails() throws JsonProcessingException {
+    String eventJson = """
+        {
+          "record": {
+            "data": {
+              "id": "%s",
+              "email": "%s"
+            }
+          }
+        }""".formatted(TRAINEE_ID, EMAIL);
+    ContactDetailsEvent event = mapper.readValue(eventJson, ContactDetailsEvent.class);
+
+    when(service.getUserAccountIds(TRAINEE_ID)).thenThrow(IllegalStateException.class);
+
+    assertThrows(IllegalStateException.class,
+        () -> listener.handleContactDetailsUpdate(event, null));
+
+    verify(metricsService).recordContactDetailsUpdate(eq(ContactDetailsOutcome.FAILED), any());
+  }
+
+  @Test
+  void shouldRecordMessageAgeWhenSentTimestampAvailable() throws JsonProcessingException {
+    String eventJson = """
+        {
+          "record": {
+            "data": {
+              "id": "%s",
+              "email": "%s"
+            }
+          }
+        }""".formatted(TRAINEE_ID, EMAIL);
+    ContactDetailsEvent event = mapper.readValue(eventJson, ContactDetailsEvent.class);
+
+    when(service.getUserAccountIds(TRAINEE_ID)).thenReturn(Set.of());
+    String sentTimestamp = String.valueOf(Instant.now().minusSeconds(30).toEpochMilli());
+
+    listener.handleContactDetailsUpdate(event, sentTimestamp);
+
+    verify(metricsService).recordContactDetailsMessageAge(
+        argThat(age -> age.compareTo(Duration.ofSeconds(30)) >= 0
+            && age.compareTo(Duration.ofSeconds(60)) < 0));
+  }
+
+  @Test
+  void shouldHandleUpdateWithoutMessageAgeWhenSentTimestampInvalid()
+      throws JsonProcessingException {
+    String eventJson = """
+        {
+          "record": {
+            "data": {
+              "id": "%s",
+              "email": "%s"
+            }
+          }
+        }""".formatted(TRAINEE_ID, EMAIL);
+    ContactDetailsEvent event = mapper.readValue(eventJson, ContactDetailsEvent.class);
+
+    when(service.getUserAccountIds(TRAINEE_ID)).thenReturn(Set.of());
+
+    listener.handleContactDetailsUpdate(event, "not-a-timestamp");
+
+    verify(metricsService, never()).recordContactDetailsMessageAge(any());
+    verify(metricsService).recordContactDetailsUpdate(eq(ContactDetailsOutcome.NO_ACCOUNT), any());
   }
 }
@@ -0,0 +1,130 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.event;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
+import uk.nhs.tis.trainee.usermanagement.service.MetricsService;
+
+class QueueDepthMonitorTest {
+
+  private static final String QUEUE_NAME = "contact-details-queue";
+  private static final String QUEUE_URL = "https://sqs.example.com/123/contact-details-queue";
+
+  private SqsAsyncClient sqsClient;
+  private MetricsService metricsService;
+
+  @BeforeEach
+  void setUp() {
+    sqsClient = mock(SqsAsyncClient.class);
+    metricsService = mock(MetricsService.class);
+
+    GetQueueUrlResponse urlResponse = GetQueueUrlResponse.builder().queueUrl(QUEUE_URL).build();
+    when(sqsClient.getQueueUrl((GetQueueUrlRequest) any())).thenReturn(
+        CompletableFuture.completedFuture(urlResponse));
+    when(sqsClient.getQueueAttributes((GetQueueAttributesRequest) any())).thenReturn(
+        CompletableFuture.completedFuture(GetQueueAttributesResponse.builder()
+            .attributes(Map.of(
+                QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES, "120",
+                QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE, "8"))
+            .build()));
+  }
+
+  @Test
+  void shouldRecordQueueDepth() {
+    QueueDepthMonitor monitor = new QueueDepthMonitor(sqsClient, metricsService, QUEUE_NAME);
+
+    monitor.pollQueueDepth();
+
+    verify(metricsService).recordContactDetailsQueueDepth(120, 8);
+
+    ArgumentCaptor<GetQueueAttributesRequest> requestCaptor = ArgumentCaptor.captor();
+    verify(sqsClient).getQueueAttributes(requestCaptor.capture());
+    assertThat("Unexpected queue URL.", requestCaptor.getValue().queueUrl(), is(QUEUE_URL));
+    assertThat("Unexpected attributes.", requestCaptor.getValue().attributeNames(),
+        is(List.of(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES,
+            QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE)));
+  }
+
+  @Test
+  void shouldResolveQueueUrlOnce() {
+    QueueDepthMonitor monitor = new QueueDepthMonitor(sqsClient, metricsService, QUEUE_NAME);
+
+    monitor.pollQueueDepth();
+    monitor.pollQueueDepth();
+
+    verify(sqsClient, times(1)).getQueueUrl((GetQueueUrlRequest) any());
+    verify(sqsClient, times(2)).getQueueAttributes((GetQueueAttributesRequest) any());
+  }
+
+  @Test
+  void shouldUseQueueUrlWhenConfiguredWithUrl() {
+    QueueDepthMonitor monitor = new QueueDepthMonitor(sqsClient, metricsService, QUEUE_URL);
+
+    monitor.pollQueueDepth();
+
+    verify(sqsClient, never()).getQueueUrl((GetQueueUrlRequest) any());
+    verify(metricsService).recordContactDetailsQueueDepth(120, 8);
+  }
+
+  @Test
+  void shouldNotPollWhenQueueNotConfigured() {
+    QueueDepthMonitor monitor = new QueueDepthMonitor(sqsClient, metricsService, "");
+
+    monitor.pollQueueDepth();
+
+    verifyNoInteractions(sqsClient, metricsService);
+  }
+
+  @Test
+  void shouldNotRecordQueueDepthWhenPollFails() {
+    when(sqsClient.getQueueAttributes((GetQueueAttributesRequest) any())).thenReturn(
+        CompletableFuture.failedFuture(QueueDoesNotExistException.builder().build()));
+    QueueDepthMonitor monitor = new QueueDepthMonitor(sqsClient, metricsService, QUEUE_URL);
+
+    monitor.pollQueueDepth();
+
+    verify(metricsService, never()).recordContactDetailsQueueDepth(anyLong(), anyLong());
+  }
+}
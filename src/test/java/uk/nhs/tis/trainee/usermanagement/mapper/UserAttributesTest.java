@@ -0,0 +1,89 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.mapper;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AttributeType;
+
+class UserAttributesTest {
+
+  @Test
+  void shouldIndexUsedAttributes() {
+    UserAttributes attributes = UserAttributes.from(List.of(
+        attribute("sub", "sub-1"),
+        attribute("email_verified", "true"),
+        attribute("custom:tisId", "12345"),
+        attribute("custom:mfaType", "SMS"),
+        attribute("given_name", "Anthony"),
+        attribute("email", "anthony.gilliam@example.com")));
+
+    assertThat("Unexpected sub.", attributes.sub(), is("sub-1"));
+    assertThat("Unexpected email.", attributes.email(), is("anthony.gilliam@example.com"));
+    assertThat("Unexpected MFA type.", attributes.mfaType(), is("SMS"));
+    assertThat("Unexpected TIS ID.", attributes.tisId(), is("12345"));
+  }
+
+  @Test
+  void shouldUseFirstValueWhenAttributeRepeated() {
+    UserAttributes attributes = UserAttributes.from(List.of(
+        attribute("custom:tisId", "12345"),
+        attribute("custom:tisId", "67890")));
+
+    assertThat("Unexpected TIS ID.", attributes.tisId(), is("12345"));
+  }
+
+  @Test
+  void shouldReturnNullValuesWhenAttributesMissing() {
+    UserAttributes attributes = UserAttributes.from(List.of(attribute("given_name", "Anthony")));
+
+    assertThat("Unexpected sub.", attributes.sub(), nullValue());
+    assertThat("Unexpected email.", attributes.email(), nullValue());
+    assertThat("Unexpected MFA type.", attributes.mfaType(), nullValue());
+    assertThat("Unexpected TIS ID.", attributes.tisId(), nullValue());
+  }
+
+  @Test
+  void shouldReturnNullValuesWhenAttributeListNull() {
+    UserAttributes attributes = UserAttributes.from(null);
+
+    assertThat("Unexpected sub.", attributes.sub(), nullValue());
+    assertThat("Unexpected email.", attributes.email(), nullValue());
+    assertThat("Unexpected MFA type.", attributes.mfaType(), nullValue());
+    assertThat("Unexpected TIS ID.", attributes.tisId(), nullValue());
+  }
+
+  /**
+   * Create a user attribute.
+   *
+   * @param name  The attribute name.
+   * @param value The attribute value.
+   * @return The attribute.
+   */
+  private static AttributeType attribute(String name, String value) {
+    return AttributeType.builder().name(name).value(value).build();
+  }
+}
@@ -25,14 +25,20 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static uk.nhs.tis.trainee.usermanagement.model.AccountEventType.EMAIL_UPDATED;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import uk.nhs.tis.trainee.usermanagement.enumeration.Dependency;
 import uk.nhs.tis.trainee.usermanagement.model.AccountEvent;
 import uk.nhs.tis.trainee.usermanagement.model.AccountEvent.EmailUpdatedDetail;
 import uk.nhs.tis.trainee.usermanagement.repository.AccountEventRepository;
@@ -47,11 +53,15 @@ class AuditServiceTest {
   private AuditService service;
 
   private AccountEventRepository repository;
+  private CircuitBreakerRegistry circuitBreakerRegistry;
 
   @BeforeEach
   void setUp() {
     repository = mock(AccountEventRepository.class);
-    service = new AuditService(repository);
+    circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    DependencyGuard guard = new DependencyGuard(circuitBreakerRegistry,
+        BulkheadRegistry.ofDefaults(), mock(MetricsService.class));
+    service = new AuditService(repository, guard);
   }
 
   @Test
@@ -75,4 +85,14 @@ class AuditServiceTest {
     assertThat("Unexpected new email.", eventDetail.after(), is("new.trainee@example.com"));
   }
 
+  @Test
+  void shouldNotWriteAuditEventWhenAuditCircuitBreakerOpen() {
+    circuitBreakerRegistry.circuitBreaker(Dependency.AUDIT.getInstanceName())
+        .transitionToOpenState();
+
+    assertThrows(CallNotPermittedException.class,
+        () -> service.accountEmailUpdated(USER_ID, TRAINEE_ID, EMAIL, "new.trainee@example.com"));
+
+    verifyNoInteractions(repository);
+  }
 }
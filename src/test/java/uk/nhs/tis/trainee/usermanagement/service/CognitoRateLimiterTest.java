@@ -0,0 +1,75 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CognitoRateLimiterTest {
+
+  @ParameterizedTest
+  @ValueSource(doubles = {0, -1})
+  void shouldThrowExceptionWhenRateNotPositive(double requestsPerSecond) {
+    assertThrows(IllegalArgumentException.class, () -> new CognitoRateLimiter(requestsPerSecond));
+  }
+
+  @Test
+  void shouldNotWaitForFirstPermit() {
+    CognitoRateLimiter rateLimiter = new CognitoRateLimiter(5);
+
+    long wait = rateLimiter.reserve(1);
+
+    assertThat("Unexpected wait.", wait, is(0L));
+  }
+
+  @Test
+  void shouldSpaceConsecutivePermits() {
+    CognitoRateLimiter rateLimiter = new CognitoRateLimiter(5);
+    long interval = TimeUnit.MILLISECONDS.toNanos(200);
+
+    rateLimiter.reserve(1);
+    long wait = rateLimiter.reserve(1);
+
+    assertThat("Unexpected wait.", wait, greaterThan(0L));
+    assertThat("Unexpected wait.", wait, lessThanOrEqualTo(interval));
+  }
+
+  @Test
+  void shouldSpaceByNumberOfPermitsReserved() {
+    CognitoRateLimiter rateLimiter = new CognitoRateLimiter(5);
+    long interval = TimeUnit.MILLISECONDS.toNanos(200);
+
+    rateLimiter.reserve(3);
+    long wait = rateLimiter.reserve(1);
+
+    assertThat("Unexpected wait.", wait, greaterThan(interval * 2));
+    assertThat("Unexpected wait.", wait, lessThanOrEqualTo(interval * 3));
+  }
+}
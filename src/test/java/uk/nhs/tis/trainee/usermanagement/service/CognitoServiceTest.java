@@ -30,18 +30,35 @@ import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.params.provider.EnumSource.Mode.EXCLUDE;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static software.amazon.awssdk.services.cognitoidentityprovider.model.UserStatusType.CONFIRMED;
 import static uk.nhs.tis.trainee.usermanagement.enumeration.MfaType.NO_MFA;
 import static uk.nhs.tis.trainee.usermanagement.enumeration.MfaType.SMS_MFA;
 import static uk.nhs.tis.trainee.usermanagement.enumeration.MfaType.SOFTWARE_TOKEN_MFA;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -67,12 +84,20 @@ import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminSetUse
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminUpdateUserAttributesRequest;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AttributeType;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.GroupType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersInGroupRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersInGroupResponse;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersRequest;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.TooManyRequestsException;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.UserStatusType;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
+import uk.nhs.tis.trainee.usermanagement.cognito.SimulatedCognitoClient;
 import uk.nhs.tis.trainee.usermanagement.dto.UserAccountDetailsDto;
+import uk.nhs.tis.trainee.usermanagement.enumeration.CognitoOperation;
+import uk.nhs.tis.trainee.usermanagement.enumeration.CognitoOutcome;
+import uk.nhs.tis.trainee.usermanagement.enumeration.CostComponent;
+import uk.nhs.tis.trainee.usermanagement.enumeration.Dependency;
 import uk.nhs.tis.trainee.usermanagement.enumeration.MfaType;
 import uk.nhs.tis.trainee.usermanagement.mapper.UserAccountDetailsMapper;
 import uk.nhs.tis.trainee.usermanagement.mapper.UserAccountDetailsMapperImpl;
@@ -95,13 +120,24 @@ class CognitoServiceTest {
   private CognitoService service;
 
   private CognitoIdentityProviderClient cognitoClient;
+  private CognitoRateLimiter rateLimiter;
+  private MetricsService metricsService;
+  private CircuitBreakerRegistry circuitBreakerRegistry;
+  private DependencyGuard guard;
 
   @BeforeEach
   void setUp() {
     cognitoClient = mock(CognitoIdentityProviderClient.class);
     UserAccountDetailsMapper mapper = new UserAccountDetailsMapperImpl();
 
-    service = new CognitoService(cognitoClient, USER_POOL_ID, mapper);
+    rateLimiter = mock(CognitoRateLimiter.class);
+    metricsService = mock(MetricsService.class);
+    circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    guard = new DependencyGuard(circuitBreakerRegistry, BulkheadRegistry.ofDefaults(),
+        metricsService);
+
+    service = new CognitoService(cognitoClient, USER_POOL_ID, mapper, rateLimiter,
+        metricsService, guard);
 
     // Cognito endpoints return empty results by default, rather than mocks returning null.
     AdminListGroupsForUserResponse groupResponse = AdminListGroupsForUserResponse.builder()
@@ -484,6 +520,32 @@ class CognitoServiceTest {
     assertThat("Unexpected user groups.", groups, hasItems(GROUP_1, GROUP_2));
   }
 
+  @ParameterizedTest
+  @CsvSource({GROUP_1 + ", true", "other-group, false"})
+  void shouldCheckWhetherUserInGroup(String groupName, boolean expected) {
+    AdminListGroupsForUserResponse response = AdminListGroupsForUserResponse.builder()
+        .groups(
+            GroupType.builder().groupName(GROUP_1).build(),
+            GroupType.builder().groupName(GROUP_2).build())
+        .build();
+    when(cognitoClient.adminListGroupsForUser((AdminListGroupsForUserRequest) any())).thenReturn(
+        response);
+
+    boolean member = service.isUserInGroup(EMAIL, groupName);
+
+    assertThat("Unexpected membership.", member, is(expected));
+  }
+
+  @Test
+  void shouldNotFindUserInGroupWhenUserNotFound() {
+    when(cognitoClient.adminListGroupsForUser((AdminListGroupsForUserRequest) any())).thenThrow(
+        UserNotFoundException.class);
+
+    boolean member = service.isUserInGroup(EMAIL, GROUP_1);
+
+    assertThat("Unexpected membership.", member, is(false));
+  }
+
   @Test
   void shouldUpdateUserAttributes() {
     List<AttributeType> attributes = List.of(
@@ -563,4 +625,401 @@ class CognitoServiceTest {
     var actualResponse = service.listUsers(request);
     assertThat("Unexpected result.", actualResponse, sameInstance(expectedResponse));
   }
+
+  @Test
+  void shouldRecordSuccessfulRequestMetrics() {
+    var request = AdminDeleteUserRequest.builder().build();
+    when(cognitoClient.adminDeleteUser(request)).thenReturn(
+        AdminDeleteUserResponse.builder().build());
+
+    service.adminDeleteUser(request);
+
+    verify(metricsService).recordCognitoRequest(eq(CognitoOperation.ADMIN_DELETE_USER),
+        eq(CognitoOutcome.SUCCESS), any());
+  }
+
+  @Test
+  void shouldRecordNotFoundRequestMetricsAndRethrow() {
+    var request = AdminListUserAuthEventsRequest.builder().build();
+    when(cognitoClient.adminListUserAuthEvents(request)).thenThrow(UserNotFoundException.class);
+
+    assertThrows(UserNotFoundException.class, () -> service.adminListUserAuthEvents(request));
+
+    verify(metricsService).recordCognitoRequest(eq(CognitoOperation.ADMIN_LIST_USER_AUTH_EVENTS),
+        eq(CognitoOutcome.NOT_FOUND), any());
+  }
+
+  @Test
+  void shouldRecordEachRequestMadeGettingUserDetails() {
+    UserType user = UserType.builder()
+        .username(USER_ID)
+        .attributes(
+            AttributeType.builder().name(ATTRIBUTE_SUB).value(USER_ID).build(),
+            AttributeType.builder().name(ATTRIBUTE_MFA_TYPE).value(SMS_MFA.name()).build())
+        .userStatus(CONFIRMED)
+        .build();
+    when(cognitoClient.listUsers((ListUsersRequest) any())).thenReturn(
+        ListUsersResponse.builder().users(user).build());
+
+    service.getUserDetails(EMAIL);
+
+    verify(metricsService).recordCognitoRequest(eq(CognitoOperation.LIST_USERS),
+        eq(CognitoOutcome.SUCCESS), any());
+    verify(metricsService).recordCognitoRequest(eq(CognitoOperation.ADMIN_LIST_GROUPS_FOR_USER),
+        eq(CognitoOutcome.SUCCESS), any());
+    verify(metricsService, never()).recordCognitoRequest(eq(CognitoOperation.ADMIN_GET_USER),
+        any(), any());
+  }
+
+  @Test
+  void shouldAcquirePermitForEachRequestWhenPaced() {
+    when(cognitoClient.listUsers((ListUsersRequest) any())).thenReturn(ListUsersResponse.builder()
+        .users(UserType.builder().attributes(List.of()).build())
+        .build());
+    when(cognitoClient.adminGetUser((AdminGetUserRequest) any())).thenReturn(
+        AdminGetUserResponse.builder().preferredMfaSetting(SMS_MFA.toString()).build());
+
+    service.paced(() -> service.getUserDetails(USER_ID));
+
+    // ListUsers, AdminListGroupsForUser, AdminGetUser and AdminUpdateUserAttributes.
+    verify(rateLimiter, times(4)).acquire();
+  }
+
+  @Test
+  void shouldNotAcquirePermitsWhenNotPaced() {
+    when(cognitoClient.listUsers((ListUsersRequest) any())).thenReturn(ListUsersResponse.builder()
+        .users(UserType.builder().attributes(List.of()).build())
+        .build());
+    when(cognitoClient.adminGetUser((AdminGetUserRequest) any())).thenReturn(
+        AdminGetUserResponse.builder().preferredMfaSetting(SMS_MFA.toString()).build());
+
+    service.getUserDetails(USER_ID);
+    service.runPaced(() -> {});
+    service.getUserDetails(USER_ID);
+
+    verifyNoInteractions(rateLimiter);
+  }
+
+  @Test
+  void shouldNotAcquirePermitsTwiceWhenScanPaced() {
+    when(cognitoClient.listUsers((ListUsersRequest) any()))
+        .thenReturn(ListUsersResponse.builder().paginationToken("page2").build())
+        .thenReturn(ListUsersResponse.builder().build());
+
+    service.runPaced(() -> service.scanUsers(users -> {}));
+
+    verify(rateLimiter, times(2)).acquire();
+  }
+
+  @Test
+  void shouldScanAllPagesOfUsers() {
+    UserType user1 = UserType.builder().username("user1").build();
+    UserType user2 = UserType.builder().username("user2").build();
+
+    ArgumentCaptor<ListUsersRequest> requestCaptor = ArgumentCaptor.captor();
+    when(cognitoClient.listUsers(requestCaptor.capture()))
+        .thenReturn(ListUsersResponse.builder().users(user1).paginationToken("page2").build())
+        .thenReturn(ListUsersResponse.builder().users(user2).build());
+
+    List<UserType> scanned = new ArrayList<>();
+    service.scanUsers(scanned::addAll);
+
+    assertThat("Unexpected scanned users.", scanned, is(List.of(user1, user2)));
+
+    List<ListUsersRequest> requests = requestCaptor.getAllValues();
+    assertThat("Unexpected request count.", requests, hasSize(2));
+    assertThat("Unexpected user pool.", requests.get(0).userPoolId(), is(USER_POOL_ID));
+    assertThat("Unexpected pagination token.", requests.get(1).paginationToken(), is("page2"));
+
+    verify(rateLimiter, times(2)).acquire();
+  }
+
+  @Test
+  void shouldRetryScanningPageWhenRateLimited() {
+    UserType user = UserType.builder().username("user1").build();
+
+    ArgumentCaptor<ListUsersRequest> requestCaptor = ArgumentCaptor.captor();
+    when(cognitoClient.listUsers(requestCaptor.capture()))
+        .thenThrow(TooManyRequestsException.class)
+        .thenReturn(ListUsersResponse.builder().users(user).build());
+
+    List<UserType> scanned = new ArrayList<>();
+    service.scanUsers(scanned::addAll);
+
+    assertThat("Unexpected scanned users.", scanned, is(List.of(user)));
+    assertThat("Unexpected request count.", requestCaptor.getAllValues(), hasSize(2));
+
+    verify(metricsService).recordCognitoRequest(eq(CognitoOperation.LIST_USERS),
+        eq(CognitoOutcome.THROTTLED), any());
+    verify(metricsService).recordCognitoRequest(eq(CognitoOperation.LIST_USERS),
+        eq(CognitoOutcome.SUCCESS), any());
+  }
+
+  @Test
+  void shouldFailScanWhenRateLimitedRepeatedly() {
+    when(cognitoClient.listUsers(any(ListUsersRequest.class)))
+        .thenThrow(TooManyRequestsException.class);
+
+    List<UserType> scanned = new ArrayList<>();
+    assertThrows(TooManyRequestsException.class, () -> service.scanUsers(scanned::addAll));
+
+    assertThat("Unexpected scanned users.", scanned, is(List.of()));
+    verify(cognitoClient, times(6)).listUsers(any(ListUsersRequest.class));
+  }
+
+  @Test
+  void shouldFailScanWhenInterrupted() {
+    UserType user = UserType.builder().username("user1").build();
+    when(cognitoClient.listUsers(any(ListUsersRequest.class)))
+        .thenReturn(ListUsersResponse.builder().users(user).paginationToken("page2").build());
+
+    List<UserType> scanned = new ArrayList<>();
+
+    try {
+      assertThrows(CancellationException.class, () -> service.scanUsers(users -> {
+        scanned.addAll(users);
+        Thread.currentThread().interrupt();
+      }));
+      assertThat("Unexpected interrupt flag.", Thread.currentThread().isInterrupted(), is(true));
+    } finally {
+      Thread.interrupted();
+    }
+
+    assertThat("Unexpected scanned users.", scanned, is(List.of(user)));
+    verify(cognitoClient).listUsers(any(ListUsersRequest.class));
+  }
+
+  @Test
+  void shouldScanAllPagesOfUsersInGroup() {
+    UserType user1 = UserType.builder().username("user1").build();
+    UserType user2 = UserType.builder().username("user2").build();
+
+    ArgumentCaptor<ListUsersInGroupRequest> requestCaptor = ArgumentCaptor.captor();
+    when(cognitoClient.listUsersInGroup(requestCaptor.capture()))
+        .thenReturn(ListUsersInGroupResponse.builder().users(user1).nextToken("page2").build())
+        .thenReturn(ListUsersInGroupResponse.builder().users(user2).build());
+
+    List<UserType> scanned = new ArrayList<>();
+    service.scanUsersInGroup("group1", scanned::addAll);
+
+    assertThat("Unexpected scanned users.", scanned, is(List.of(user1, user2)));
+
+    List<ListUsersInGroupRequest> requests = requestCaptor.getAllValues();
+    assertThat("Unexpected request count.", requests, hasSize(2));
+    assertThat("Unexpected user pool.", requests.get(0).userPoolId(), is(USER_POOL_ID));
+    assertThat("Unexpected group name.", requests.get(0).groupName(), is("group1"));
+    assertThat("Unexpected next token.", requests.get(1).nextToken(), is("page2"));
+
+    verify(rateLimiter, times(2)).acquire();
+  }
+
+  @Test
+  void shouldRetryScanningGroupPageWhenRateLimited() {
+    UserType user = UserType.builder().username("user1").build();
+
+    ArgumentCaptor<ListUsersInGroupRequest> requestCaptor = ArgumentCaptor.captor();
+    when(cognitoClient.listUsersInGroup(requestCaptor.capture()))
+        .thenThrow(TooManyRequestsException.class)
+        .thenReturn(ListUsersInGroupResponse.builder().users(user).build());
+
+    List<UserType> scanned = new ArrayList<>();
+    service.scanUsersInGroup("group1", scanned::addAll);
+
+    assertThat("Unexpected scanned users.", scanned, is(List.of(user)));
+    assertThat("Unexpected request count.", requestCaptor.getAllValues(), hasSize(2));
+  }
+
+  @Test
+  void shouldScanWholeSimulatedPoolWhenThrottled() {
+    SimulatedCognitoClient simulatedClient = SimulatedCognitoClient.builder()
+        .userCount(10_000)
+        .throttleRate(0.2)
+        .unlimited()
+        .build();
+    service = new CognitoService(simulatedClient, USER_POOL_ID, new UserAccountDetailsMapperImpl(),
+        rateLimiter, metricsService, guard);
+
+    Set<String> scanned = new HashSet<>();
+    service.scanUsers(users -> users.forEach(user -> scanned.add(user.username())));
+
+    assertThat("Unexpected scanned user count.", scanned, hasSize(10_000));
+    assertThat("Unexpected throttling.", simulatedClient.getThrottledCount() > 0, is(true));
+  }
+
+  @Test
+  void shouldNotCallCognitoWhenCircuitBreakerOpen() {
+    circuitBreakerRegistry.circuitBreaker(Dependency.COGNITO.getInstanceName())
+        .transitionToOpenState();
+
+    assertThrows(CallNotPermittedException.class, () -> service.getUserDetails(USER_ID));
+
+    verifyNoInteractions(cognitoClient);
+    verify(metricsService, never()).recordCognitoRequest(any(), any(), any());
+  }
+
+  @Test
+  void shouldShareCognitoRequestsBetweenConcurrentLookupsOfSameUser() throws Exception {
+    CountDownLatch releaseUsers = new CountDownLatch(1);
+    CountDownLatch releaseGroups = new CountDownLatch(1);
+    when(cognitoClient.listUsers((ListUsersRequest) any())).thenAnswer(inv -> {
+      releaseUsers.await(5, TimeUnit.SECONDS);
+      return ListUsersResponse.builder()
+          .users(UserType.builder()
+              .attributes(
+                  AttributeType.builder().name(ATTRIBUTE_SUB).value(USER_ID).build(),
+                  AttributeType.builder().name(ATTRIBUTE_MFA_TYPE).value(SMS_MFA.toString())
+                      .build()
+              )
+              .userStatus(CONFIRMED.toString())
+              .build())
+          .build();
+    });
+    when(cognitoClient.adminListGroupsForUser((AdminListGroupsForUserRequest) any())).thenAnswer(
+        inv -> {
+          releaseGroups.await(5, TimeUnit.SECONDS);
+          return AdminListGroupsForUserResponse.builder()
+              .groups(GroupType.builder().groupName("group1").build())
+              .build();
+        });
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      Future<RequestCost> first = executor.submit(() -> getUserDetailsCost(USER_ID));
+      Future<RequestCost> second = executor.submit(() -> getUserDetailsCost(USER_ID));
+
+      verify(metricsService, timeout(5000))
+          .incrementCognitoCoalescingCounter(CognitoOperation.LIST_USERS, true);
+      releaseUsers.countDown();
+      verify(metricsService, timeout(5000))
+          .incrementCognitoCoalescingCounter(CognitoOperation.ADMIN_LIST_GROUPS_FOR_USER, true);
+      releaseGroups.countDown();
+
+      for (Future<RequestCost> lookup : List.of(first, second)) {
+        RequestCost cost = lookup.get(5, TimeUnit.SECONDS);
+        assertThat("Unexpected Cognito cost count.", cost.getCount(CostComponent.COGNITO),
+            is(2L));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    verify(cognitoClient).listUsers((ListUsersRequest) any());
+    verify(cognitoClient).adminListGroupsForUser((AdminListGroupsForUserRequest) any());
+    verify(metricsService).incrementCognitoCoalescingCounter(CognitoOperation.LIST_USERS, false);
+    verify(metricsService).incrementCognitoCoalescingCounter(
+        CognitoOperation.ADMIN_LIST_GROUPS_FOR_USER, false);
+  }
+
+  @Test
+  void shouldNotShareCognitoRequestsBetweenSequentialLookupsOfSameUser() {
+    when(cognitoClient.listUsers((ListUsersRequest) any())).thenReturn(ListUsersResponse.builder()
+        .users(UserType.builder()
+            .attributes(
+                AttributeType.builder().name(ATTRIBUTE_MFA_TYPE).value(SMS_MFA.toString()).build()
+            )
+            .build())
+        .build()
+    );
+
+    service.getUserDetails(USER_ID);
+    service.getUserDetails(USER_ID);
+
+    verify(cognitoClient, times(2)).listUsers((ListUsersRequest) any());
+    verify(metricsService, never())
+        .incrementCognitoCoalescingCounter(CognitoOperation.LIST_USERS, true);
+  }
+
+  @Test
+  void shouldNotShareInFlightLookupWithLookupsAfterGroupChange() throws Exception {
+    assertInFlightLookupNotSharedAfterWrite(
+        () -> service.adminAddUserToGroup(AdminAddUserToGroupRequest.builder()
+            .userPoolId(USER_POOL_ID)
+            .username(USER_ID)
+            .groupName("group1")
+            .build()));
+  }
+
+  @Test
+  void shouldNotShareInFlightLookupWithLookupsAfterDelete() throws Exception {
+    assertInFlightLookupNotSharedAfterWrite(
+        () -> service.adminDeleteUser(AdminDeleteUserRequest.builder()
+            .userPoolId(USER_POOL_ID)
+            .username(USER_ID)
+            .build()));
+  }
+
+  @Test
+  void shouldNotShareInFlightLookupWithLookupsAfterMfaReset() throws Exception {
+    assertInFlightLookupNotSharedAfterWrite(
+        () -> service.adminSetUserMfaPreference(AdminSetUserMfaPreferenceRequest.builder()
+            .userPoolId(USER_POOL_ID)
+            .username(USER_ID)
+            .build()));
+  }
+
+  /**
+   * Assert that a lookup started before the write is not shared with a lookup made after it.
+   *
+   * @param write The write to make while the first lookup is in flight.
+   */
+  private void assertInFlightLookupNotSharedAfterWrite(Runnable write) throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicBoolean firstCall = new AtomicBoolean(true);
+    when(cognitoClient.listUsers((ListUsersRequest) any())).thenAnswer(inv -> {
+      if (firstCall.getAndSet(false)) {
+        started.countDown();
+        release.await(5, TimeUnit.SECONDS);
+      }
+
+      return ListUsersResponse.builder()
+          .users(UserType.builder()
+              .attributes(
+                  AttributeType.builder().name(ATTRIBUTE_SUB).value(USER_ID).build(),
+                  AttributeType.builder().name(ATTRIBUTE_MFA_TYPE).value(SMS_MFA.toString())
+                      .build()
+              )
+              .build())
+          .build();
+    });
+    when(cognitoClient.adminListGroupsForUser((AdminListGroupsForUserRequest) any())).thenReturn(
+        AdminListGroupsForUserResponse.builder().build());
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      Future<UserAccountDetailsDto> stale = executor.submit(() -> service.getUserDetails(USER_ID));
+      assertThat("Lookup not started.", started.await(5, TimeUnit.SECONDS), is(true));
+
+      write.run();
+      service.getUserDetails(USER_ID);
+
+      release.countDown();
+      stale.get(5, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    verify(cognitoClient, times(2)).listUsers((ListUsersRequest) any());
+    verify(metricsService, never())
+        .incrementCognitoCoalescingCounter(CognitoOperation.LIST_USERS, true);
+  }
+
+  /**
+   * Get the user details, returning the request cost accumulated by the lookup.
+   *
+   * @param username The username to look up.
+   * @return The request cost of the lookup.
+   */
+  private RequestCost getUserDetailsCost(String username) {
+    RequestCost cost = RequestCost.begin();
+
+    try {
+      service.getUserDetails(username);
+      return cost;
+    } finally {
+      RequestCost.end();
+    }
+  }
 }
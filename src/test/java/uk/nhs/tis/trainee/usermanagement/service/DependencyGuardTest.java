@@ -0,0 +1,242 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
+import uk.nhs.tis.trainee.usermanagement.config.ResilienceConfiguration;
+import uk.nhs.tis.trainee.usermanagement.enumeration.Dependency;
+
+class DependencyGuardTest {
+
+  private static final int WINDOW_SIZE = 4;
+
+  private DependencyGuard guard;
+  private CircuitBreakerRegistry circuitBreakerRegistry;
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    ResilienceConfiguration configuration = new ResilienceConfiguration(50, Duration.ofMinutes(1),
+        WINDOW_SIZE, WINDOW_SIZE, Duration.ofMinutes(1), Duration.ZERO, 1, 1, 1, 1);
+    circuitBreakerRegistry = configuration.circuitBreakerRegistry();
+    meterRegistry = new SimpleMeterRegistry();
+    guard = new DependencyGuard(circuitBreakerRegistry, configuration.bulkheadRegistry(),
+        new MetricsService(meterRegistry));
+  }
+
+  @Test
+  void shouldReturnResultWhenCallSucceeds() {
+    String result = guard.call(Dependency.COGNITO, () -> "result");
+
+    assertThat("Unexpected result.", result, is("result"));
+    assertThat("Unexpected state.", guard.getState(Dependency.COGNITO),
+        is(CircuitBreaker.State.CLOSED));
+  }
+
+  @Test
+  void shouldOpenCircuitBreakerWhenDependencyFailing() {
+    injectFailures(Dependency.COGNITO, () -> SdkClientException.create("Connection reset"));
+
+    assertThat("Unexpected state.", guard.getState(Dependency.COGNITO),
+        is(CircuitBreaker.State.OPEN));
+    assertThat("Unexpected transition count.", getTransitionCount(Dependency.COGNITO, "OPEN"),
+        is(1.0));
+  }
+
+  @Test
+  void shouldOnlyOpenCircuitBreakerOfFailingDependency() {
+    injectFailures(Dependency.COGNITO, () -> SdkClientException.create("Connection reset"));
+
+    for (Dependency dependency : Dependency.values()) {
+      CircuitBreaker.State expected = dependency == Dependency.COGNITO
+          ? CircuitBreaker.State.OPEN
+          : CircuitBreaker.State.CLOSED;
+      assertThat("Unexpected state.", guard.getState(dependency), is(expected));
+    }
+  }
+
+  @Test
+  void shouldNotOpenCircuitBreakerWhenClientErrors() {
+    injectFailures(Dependency.COGNITO,
+        () -> UserNotFoundException.builder().statusCode(400).message("Not found").build());
+
+    assertThat("Unexpected state.", guard.getState(Dependency.COGNITO),
+        is(CircuitBreaker.State.CLOSED));
+    assertThat("Unexpected transition count.", getTransitionCount(Dependency.COGNITO, "OPEN"),
+        is(0.0));
+  }
+
+  @Test
+  void shouldRejectCallsWithoutCallingDependencyWhenCircuitBreakerOpen() {
+    injectFailures(Dependency.MESSAGING, () -> SdkClientException.create("Connection reset"));
+    AtomicInteger calls = new AtomicInteger();
+
+    assertThrows(CallNotPermittedException.class,
+        () -> guard.call(Dependency.MESSAGING, calls::incrementAndGet));
+
+    assertThat("Unexpected call count.", calls.get(), is(0));
+  }
+
+  @Test
+  void shouldUseFallbackWhenCircuitBreakerOpen() {
+    injectFailures(Dependency.CACHE, () -> SdkClientException.create("Connection reset"));
+
+    String result = guard.call(Dependency.CACHE, () -> "result", () -> "fallback");
+
+    assertThat("Unexpected result.", result, is("fallback"));
+    assertThat("Unexpected fallback count.", meterRegistry.get("dependency.fallbacks")
+        .tags("Dependency", "CACHE").counter().count(), is(1.0));
+  }
+
+  @Test
+  void shouldThrowFailuresRatherThanUseFallback() {
+    assertThrows(SdkClientException.class, () -> guard.call(Dependency.CACHE, () -> {
+      throw SdkClientException.create("Connection reset");
+    }, () -> "fallback"));
+
+    assertThat("Unexpected fallback counter.", meterRegistry.find("dependency.fallbacks")
+        .tags("Dependency", "CACHE").counter(), nullValue());
+  }
+
+  @Test
+  void shouldRejectCallsWhenBulkheadFull() throws Exception {
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<Void> slowCall = CompletableFuture.runAsync(
+        () -> guard.run(Dependency.AUDIT, () -> {
+          entered.countDown();
+          awaitQuietly(release);
+        }));
+
+    try {
+      assertThat("Slow call did not start.", entered.await(5, TimeUnit.SECONDS), is(true));
+
+      assertThrows(BulkheadFullException.class, () -> guard.run(Dependency.AUDIT, () -> {
+      }));
+    } finally {
+      release.countDown();
+      slowCall.get(5, TimeUnit.SECONDS);
+    }
+
+    assertThat("Unexpected state.", guard.getState(Dependency.AUDIT),
+        is(CircuitBreaker.State.CLOSED));
+  }
+
+  @Test
+  void shouldCloseCircuitBreakerWhenDependencyRecovers() {
+    injectFailures(Dependency.COGNITO, () -> SdkClientException.create("Connection reset"));
+    circuitBreakerRegistry.circuitBreaker(Dependency.COGNITO.getInstanceName())
+        .transitionToHalfOpenState();
+
+    for (int i = 0; i < 3; i++) {
+      guard.call(Dependency.COGNITO, () -> "result");
+    }
+
+    assertThat("Unexpected state.", guard.getState(Dependency.COGNITO),
+        is(CircuitBreaker.State.CLOSED));
+    assertThat("Unexpected transition count.", getTransitionCount(Dependency.COGNITO, "HALF_OPEN"),
+        is(1.0));
+    assertThat("Unexpected transition count.", getTransitionCount(Dependency.COGNITO, "CLOSED"),
+        is(1.0));
+  }
+
+  @Test
+  void shouldReopenCircuitBreakerWhenDependencyStillFailing() {
+    injectFailures(Dependency.COGNITO, () -> SdkClientException.create("Connection reset"));
+    circuitBreakerRegistry.circuitBreaker(Dependency.COGNITO.getInstanceName())
+        .transitionToHalfOpenState();
+
+    for (int i = 0; i < 3; i++) {
+      assertThrows(SdkClientException.class, () -> guard.call(Dependency.COGNITO, () -> {
+        throw SdkClientException.create("Connection reset");
+      }));
+    }
+
+    assertThat("Unexpected state.", guard.getState(Dependency.COGNITO),
+        is(CircuitBreaker.State.OPEN));
+    assertThat("Unexpected transition count.", getTransitionCount(Dependency.COGNITO, "OPEN"),
+        is(2.0));
+  }
+
+  /**
+   * Fail enough calls to the dependency to fill its circuit breaker's sliding window.
+   *
+   * @param dependency The dependency to fail calls to.
+   * @param failure    The supplier of the exception to fail each call with.
+   */
+  private void injectFailures(Dependency dependency,
+      Supplier<? extends RuntimeException> failure) {
+    for (int i = 0; i < WINDOW_SIZE; i++) {
+      assertThrows(RuntimeException.class, () -> guard.call(dependency, () -> {
+        throw failure.get();
+      }));
+    }
+  }
+
+  /**
+   * Get the number of times a dependency's circuit breaker transitioned to the given state.
+   *
+   * @param dependency The dependency to get the transition count for.
+   * @param state      The state transitioned to.
+   * @return The transition count, zero if the dependency never transitioned to the state.
+   */
+  private double getTransitionCount(Dependency dependency, String state) {
+    Counter counter = meterRegistry.find("circuit.breaker.transitions")
+        .tags("Dependency", dependency.name(), "State", state)
+        .counter();
+    return counter == null ? 0 : counter.count();
+  }
+
+  /**
+   * Wait for the latch to be released, restoring the interrupt flag if interrupted.
+   *
+   * @param latch The latch to wait for.
+   */
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
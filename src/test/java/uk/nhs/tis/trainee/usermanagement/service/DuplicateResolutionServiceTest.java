@@ -0,0 +1,547 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.nhs.tis.trainee.usermanagement.model.AccountEventType.EMAIL_UPDATED;
+import static uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionOutcome.Status.FAILED;
+import static uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionOutcome.Status.PENDING;
+import static uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionOutcome.Status.RESOLVED;
+import static uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionOutcome.Status.UNRESOLVED;
+import static uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionReport.Status.COMPLETED;
+import static uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionReport.Status.RESOLVING;
+import static uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionReport.Status.SCANNING;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AttributeType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
+import uk.nhs.tis.trainee.usermanagement.model.AccountEvent;
+import uk.nhs.tis.trainee.usermanagement.model.AccountEvent.EmailUpdatedDetail;
+import uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionOutcome;
+import uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionReport;
+import uk.nhs.tis.trainee.usermanagement.model.DuplicateResolutionReport.Status;
+import uk.nhs.tis.trainee.usermanagement.repository.AccountEventRepository;
+import uk.nhs.tis.trainee.usermanagement.repository.DuplicateResolutionOutcomeRepository;
+import uk.nhs.tis.trainee.usermanagement.repository.DuplicateResolutionReportRepository;
+
+class DuplicateResolutionServiceTest {
+
+  private static final String REPORT_ID = "report-1";
+  private static final String TRAINEE_ID_1 = "trainee-1";
+  private static final String TRAINEE_ID_2 = "trainee-2";
+  private static final String EMAIL = "joe.bloggs@fake.email";
+
+  private DuplicateResolutionService service;
+  private CognitoService cognitoService;
+  private UserAccountService userAccountService;
+  private AccountEventRepository accountEventRepository;
+  private DuplicateResolutionReportRepository reportRepository;
+  private DuplicateResolutionOutcomeRepository outcomeRepository;
+  private TaskExecutor taskExecutor;
+
+  @BeforeEach
+  void setUp() {
+    cognitoService = mock(CognitoService.class);
+    userAccountService = mock(UserAccountService.class);
+    accountEventRepository = mock(AccountEventRepository.class);
+    reportRepository = mock(DuplicateResolutionReportRepository.class);
+    outcomeRepository = mock(DuplicateResolutionOutcomeRepository.class);
+    taskExecutor = mock(TaskExecutor.class);
+
+    when(reportRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+    when(outcomeRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+    when(cognitoService.paced(any())).thenAnswer(inv -> {
+      Supplier<?> work = inv.getArgument(0);
+      return work.get();
+    });
+
+    service = new DuplicateResolutionService(cognitoService, userAccountService,
+        accountEventRepository, reportRepository, outcomeRepository, taskExecutor, 2,
+        Duration.ofMinutes(10));
+  }
+
+  @Test
+  void shouldNotStartWhenRunAlreadyActive() {
+    DuplicateResolutionReport active = DuplicateResolutionReport.builder()
+        .id(REPORT_ID)
+        .status(RESOLVING)
+        .build();
+    when(reportRepository.findFirstByStatusInOrderByStartedDesc(any())).thenReturn(
+        Optional.of(active));
+
+    Optional<DuplicateResolutionReport> report = service.start();
+
+    assertThat("Unexpected report.", report, is(Optional.empty()));
+    verify(reportRepository, never()).save(any());
+    verifyNoInteractions(taskExecutor);
+  }
+
+  @Test
+  void shouldStartRunInBackgroundWhenNoRunActive() {
+    when(reportRepository.findFirstByStatusInOrderByStartedDesc(any())).thenReturn(
+        Optional.empty());
+
+    Optional<DuplicateResolutionReport> report = service.start();
+
+    assertThat("Unexpected report presence.", report.isPresent(), is(true));
+    assertThat("Unexpected report id.", report.get().id(), notNullValue());
+    assertThat("Unexpected report status.", report.get().status(), is(SCANNING));
+    assertThat("Unexpected report start.", report.get().started(), notNullValue());
+    assertThat("Unexpected report active flag.", report.get().active(), is(true));
+    assertThat("Unexpected report owner.", report.get().owner(), notNullValue());
+    assertThat("Unexpected report lease.", report.get().leaseExpires(), notNullValue());
+    verify(taskExecutor).execute(any());
+  }
+
+  @Test
+  void shouldNotStartWhenRunStartedConcurrently() {
+    when(reportRepository.findFirstByStatusInOrderByStartedDesc(any())).thenReturn(
+        Optional.empty());
+    when(reportRepository.save(any())).thenThrow(new DuplicateKeyException("expected"));
+
+    Optional<DuplicateResolutionReport> report = service.start();
+
+    assertThat("Unexpected report.", report, is(Optional.empty()));
+    verifyNoInteractions(taskExecutor);
+  }
+
+  @Test
+  void shouldRenewLeasesOfOwnedRuns() {
+    service.renewLeases();
+
+    verify(reportRepository).renewLeases(anyString(), eq(List.of(SCANNING, RESOLVING)),
+        any(Instant.class));
+  }
+
+  @Test
+  void shouldResumeAbandonedRunWhenClaimed() {
+    DuplicateResolutionReport abandoned = DuplicateResolutionReport.builder()
+        .id(REPORT_ID)
+        .status(RESOLVING)
+        .build();
+    when(reportRepository.findAbandoned(any(), any())).thenReturn(List.of(abandoned));
+    when(reportRepository.claim(eq(REPORT_ID), any(), any(), anyString(), any())).thenReturn(1L);
+    when(reportRepository.findById(REPORT_ID)).thenReturn(Optional.of(abandoned));
+
+    service.resumeAbandoned();
+
+    verify(taskExecutor).execute(any());
+  }
+
+  @Test
+  void shouldNotResumeAbandonedRunWhenClaimedElsewhere() {
+    DuplicateResolutionReport abandoned = DuplicateResolutionReport.builder()
+        .id(REPORT_ID)
+        .status(RESOLVING)
+        .build();
+    when(reportRepository.findAbandoned(any(), any())).thenReturn(List.of(abandoned));
+    when(reportRepository.claim(eq(REPORT_ID), any(), any(), anyString(), any())).thenReturn(0L);
+
+    service.resumeAbandoned();
+
+    verifyNoInteractions(taskExecutor);
+  }
+
+  @Test
+  void shouldStopRunWhenTakenOverByAnotherInstance() {
+    DuplicateResolutionOutcome pending = pendingOutcome();
+    when(outcomeRepository.findByReportIdAndStatus(eq(REPORT_ID), eq(PENDING), any()))
+        .thenReturn(List.of(pending));
+    when(accountEventRepository.findFirstByTraineeIdAndTypeOrderByCreatedDesc(TRAINEE_ID_1,
+        EMAIL_UPDATED)).thenReturn(Optional.empty());
+    when(reportRepository.save(any())).thenThrow(
+        new OptimisticLockingFailureException("expected"));
+
+    service.run(DuplicateResolutionReport.builder().id(REPORT_ID).status(RESOLVING).build());
+
+    verify(outcomeRepository, times(1)).findByReportIdAndStatus(eq(REPORT_ID), eq(PENDING),
+        any());
+    verify(reportRepository, never()).findById(any());
+    verify(reportRepository).releaseLease(eq(REPORT_ID), anyString());
+  }
+
+  @Test
+  void shouldRecordPendingOutcomesForTraineesWithDuplicatesWhenScanning() {
+    List<UserType> users = List.of(
+        user(TRAINEE_ID_1, "sub-1"),
+        user(TRAINEE_ID_1, "sub-2"),
+        user(TRAINEE_ID_2, "sub-3"),
+        user(null, "sub-4"));
+
+    doAnswer(inv -> {
+      Consumer<List<UserType>> consumer = inv.getArgument(0);
+      consumer.accept(users);
+      return null;
+    }).when(cognitoService).scanUsers(any());
+
+    when(outcomeRepository.findByReportIdAndStatus(eq(REPORT_ID), eq(PENDING), any()))
+        .thenReturn(List.of());
+
+    service.run(DuplicateResolutionReport.builder().id(REPORT_ID).status(SCANNING).build());
+
+    ArgumentCaptor<List<DuplicateResolutionOutcome>> outcomesCaptor = ArgumentCaptor.captor();
+    verify(outcomeRepository).saveAll(outcomesCaptor.capture());
+
+    List<DuplicateResolutionOutcome> outcomes = outcomesCaptor.getValue();
+    assertThat("Unexpected outcome count.", outcomes, hasSize(1));
+
+    DuplicateResolutionOutcome outcome = outcomes.get(0);
+    assertThat("Unexpected outcome id.", outcome.id(), is(REPORT_ID + ":" + TRAINEE_ID_1));
+    assertThat("Unexpected report id.", outcome.reportId(), is(REPORT_ID));
+    assertThat("Unexpected trainee id.", outcome.traineeId(), is(TRAINEE_ID_1));
+    assertThat("Unexpected account ids.", outcome.accountIds(), is(Set.of("sub-1", "sub-2")));
+    assertThat("Unexpected status.", outcome.status(), is(PENDING));
+
+    ArgumentCaptor<DuplicateResolutionReport> reportCaptor = ArgumentCaptor.captor();
+    verify(reportRepository, times(2)).save(reportCaptor.capture());
+
+    DuplicateResolutionReport scanned = reportCaptor.getAllValues().get(0);
+    assertThat("Unexpected status.", scanned.status(), is(RESOLVING));
+    assertThat("Unexpected account count.", scanned.accountCount(), is(4L));
+    assertThat("Unexpected trainee count.", scanned.traineeCount(), is(1L));
+    assertThat("Unexpected scan completion.", scanned.scanCompleted(), notNullValue());
+
+    DuplicateResolutionReport completed = reportCaptor.getAllValues().get(1);
+    assertThat("Unexpected status.", completed.status(), is(COMPLETED));
+    assertThat("Unexpected completion.", completed.completed(), notNullValue());
+    assertThat("Unexpected active flag.", completed.active(), nullValue());
+    verify(reportRepository).releaseLease(eq(REPORT_ID), anyString());
+  }
+
+  @ParameterizedTest
+  @CsvSource(nullValues = "null", textBlock = """
+      joe.bloggs@fake.email, Joe.Bloggs@fake.email, joe.bloggs@fake.email
+      joe.bloggs@fake.email, null,                  joe.bloggs@fake.email
+      joe.bloggs@fake.email, joe.other@fake.email,  null
+      null,                  null,                  null
+      """)
+  void shouldRecordSharedProfileEmailWhenScanning(String email1, String email2,
+      String profileEmail) {
+    List<UserType> users = List.of(user(TRAINEE_ID_1, "sub-1", email1),
+        user(TRAINEE_ID_1, "sub-2", email2));
+
+    doAnswer(inv -> {
+      Consumer<List<UserType>> consumer = inv.getArgument(0);
+      consumer.accept(users);
+      return null;
+    }).when(cognitoService).scanUsers(any());
+
+    when(outcomeRepository.findByReportIdAndStatus(eq(REPORT_ID), eq(PENDING), any()))
+        .thenReturn(List.of());
+
+    service.run(DuplicateResolutionReport.builder().id(REPORT_ID).status(SCANNING).build());
+
+    ArgumentCaptor<List<DuplicateResolutionOutcome>> outcomesCaptor = ArgumentCaptor.captor();
+    verify(outcomeRepository).saveAll(outcomesCaptor.capture());
+    assertThat("Unexpected profile email.", outcomesCaptor.getValue().get(0).profileEmail(),
+        is(profileEmail));
+  }
+
+  @Test
+  void shouldKeepExistingOutcomesWhenRescanning() {
+    List<UserType> users = List.of(user(TRAINEE_ID_1, "sub-1"), user(TRAINEE_ID_1, "sub-2"));
+
+    doAnswer(inv -> {
+      Consumer<List<UserType>> consumer = inv.getArgument(0);
+      consumer.accept(users);
+      return null;
+    }).when(cognitoService).scanUsers(any());
+
+    when(outcomeRepository.existsById(REPORT_ID + ":" + TRAINEE_ID_1)).thenReturn(true);
+    when(outcomeRepository.findByReportIdAndStatus(eq(REPORT_ID), eq(PENDING), any()))
+        .thenReturn(List.of());
+
+    service.run(DuplicateResolutionReport.builder().id(REPORT_ID).status(SCANNING).build());
+
+    verify(outcomeRepository).saveAll(List.of());
+  }
+
+  @Test
+  void shouldResolveDuplicatesUsingLatestTisEmail() {
+    DuplicateResolutionOutcome pending = pendingOutcome();
+    when(outcomeRepository.findByReportIdAndStatus(eq(REPORT_ID), eq(PENDING), any()))
+        .thenReturn(List.of(pending), List.of());
+
+    AccountEvent event = AccountEvent.builder()
+        .traineeId(TRAINEE_ID_1)
+        .type(EMAIL_UPDATED)
+        .detail(new EmailUpdatedDetail("old@fake.email", EMAIL))
+        .build();
+    when(accountEventRepository.findFirstByTraineeIdAndTypeOrderByCreatedDesc(TRAINEE_ID_1,
+        EMAIL_UPDATED)).thenReturn(Optional.of(event));
+    when(userAccountService.deleteDuplicateAccounts(TRAINEE_ID_1, Set.of("sub-1", "sub-2"),
+        EMAIL)).thenReturn(Optional.of("sub-1"));
+
+    service.run(DuplicateResolutionReport.builder().id(REPORT_ID).status(RESOLVING).build());
+
+    verify(cognitoService).paced(any());
+
+    ArgumentCaptor<DuplicateResolutionOutcome> outcomeCaptor = ArgumentCaptor.captor();
+    verify(outcomeRepository).save(outcomeCaptor.capture());
+
+    DuplicateResolutionOutcome outcome = outcomeCaptor.getValue();
+    assertThat("Unexpected status.", outcome.status(), is(RESOLVED));
+    assertThat("Unexpected remaining account.", outcome.remainingAccountId(), is("sub-1"));
+    assertThat("Unexpected reason.", outcome.reason(), nullValue());
+    assertThat("Unexpected processed time.", outcome.processed(), notNullValue());
+  }
+
+  @Test
+  void shouldResolveDuplicatesUsingProfileEmailWhenNoTisEmailKnown() {
+    DuplicateResolutionOutcome pending = pendingOutcome().toBuilder()
+        .profileEmail(EMAIL)
+        .build();
+    when(outcomeRepository.findByReportIdAndStatus(eq(REPORT_ID), eq(PENDING), any()))
+        .thenReturn(List.of(pending), List.of());
+    when(accountEventRepository.findFirstByTraineeIdAndTypeOrderByCreatedDesc(TRAINEE_ID_1,
+        EMAIL_UPDATED)).thenReturn(Optional.empty());
+    when(userAccountService.deleteDuplicateAccounts(TRAINEE_ID_1, Set.of("sub-1", "sub-2"),
+        EMAIL)).thenReturn(Optional.of("sub-1"));
+
+    service.run(DuplicateResolutionReport.builder().id(REPORT_ID).status(RESOLVING).build());
+
+    ArgumentCaptor<DuplicateResolutionOutcome> outcomeCaptor = ArgumentCaptor.captor();
+    verify(outcomeRepository).save(outcomeCaptor.capture());
+
+    DuplicateResolutionOutcome outcome = outcomeCaptor.getValue();
+    assertThat("Unexpected status.", outcome.status(), is(RESOLVED));
+    assertThat("Unexpected remaining account.", outcome.remainingAccountId(), is("sub-1"));
+  }
+
+  @Test
+  void shouldNotResolveDuplicatesWhenNoTisEmailKnown() {
+    DuplicateResolutionOutcome pending = pendingOutcome();
+    when(outcomeRepository.findByReportIdAndStatus(eq(REPORT_ID), eq(PENDING), any()))
+        .thenReturn(List.of(pending), List.of());
+    when(accountEventRepository.findFirstByTraineeIdAndTypeOrderByCreatedDesc(TRAINEE_ID_1,
+        EMAIL_UPDATED)).thenReturn(Optional.empty());
+
+    service.run(DuplicateResolutionReport.builder().id(REPORT_ID).status(RESOLVING).build());
+
+    verifyNoInteractions(userAccountService);
+
+    ArgumentCaptor<DuplicateResolutionOutcome> outcomeCaptor = ArgumentCaptor.captor();
+    verify(outcomeRepository).save(outcomeCaptor.capture());
+
+    DuplicateResolutionOutcome outcome = outcomeCaptor.getValue();
+    assertThat("Unexpected status.", outcome.status(), is(UNRESOLVED));
+    assertThat("Unexpected reason.", outcome.reason(), notNullValue());
+  }
+
+  @Test
+  void shouldRecordUnresolvedWhenMainAccountNotDetermined() {
+    DuplicateResolutionOutcome pending = pendingOutcome();
+    when(outcomeRepository.findByReportIdAndStatus(eq(REPORT_ID), eq(PENDING), any()))
+        .thenReturn(List.of(pending), List.of());
+
+    AccountEvent event = AccountEvent.builder()
+        .detail(new EmailUpdatedDetail("old@fake.email", EMAIL))
+        .build();
+    when(accountEventRepository.findFirstByTraineeIdAndTypeOrderByCreatedDesc(TRAINEE_ID_1,
+        EMAIL_UPDATED)).thenReturn(Optional.of(event));
+    when(userAccountService.deleteDuplicateAccounts(any(), any(), any())).thenReturn(
+        Optional.empty());
+
+    service.run(DuplicateResolutionReport.builder().id(REPORT_ID).status(RESOLVING).build());
+
+    ArgumentCaptor<DuplicateResolutionOutcome> outcomeCaptor = ArgumentCaptor.captor();
+    verify(outcomeRepository).save(outcomeCaptor.capture());
+    assertThat("Unexpected status.", outcomeCaptor.getValue().status(), is(UNRESOLVED));
+  }
+
+  @Test
+  void shouldRecordFailureWhenResolutionFails() {
+    DuplicateResolutionOutcome pending = pendingOutcome();
+    when(outcomeRepository.findByReportIdAndStatus(eq(REPORT_ID), eq(PENDING), any()))
+        .thenReturn(List.of(pending), List.of());
+
+    AccountEvent event = AccountEvent.builder()
+        .detail(new EmailUpdatedDetail("old@fake.email", EMAIL))
+        .build();
+    when(accountEventRepository.findFirstByTraineeIdAndTypeOrderByCreatedDesc(TRAINEE_ID_1,
+        EMAIL_UPDATED)).thenReturn(Optional.of(event));
+    when(userAccountService.deleteDuplicateAccounts(any(), any(), any())).thenThrow(
+        new IllegalStateException("expected"));
+
+    service.run(DuplicateResolutionReport.builder().id(REPORT_ID).status(RESOLVING).build());
+
+    ArgumentCaptor<DuplicateResolutionOutcome> outcomeCaptor = ArgumentCaptor.captor();
+    verify(outcomeRepository).save(outcomeCaptor.capture());
+
+    DuplicateResolutionOutcome outcome = outcomeCaptor.getValue();
+    assertThat("Unexpected status.", outcome.status(), is(FAILED));
+    assertThat("Unexpected reason.", outcome.reason(), is("expected"));
+  }
+
+  @Test
+  void shouldMarkRunFailedWhenScanFails() {
+    doThrow(new IllegalStateException("expected")).when(cognitoService).scanUsers(any());
+
+    service.run(DuplicateResolutionReport.builder().id(REPORT_ID).status(SCANNING).build());
+
+    ArgumentCaptor<DuplicateResolutionReport> reportCaptor = ArgumentCaptor.captor();
+    verify(reportRepository).save(reportCaptor.capture());
+
+    DuplicateResolutionReport report = reportCaptor.getValue();
+    assertThat("Unexpected status.", report.status(), is(Status.FAILED));
+    assertThat("Unexpected failure reason.", report.failureReason(), is("expected"));
+    assertThat("Unexpected active flag.", report.active(), nullValue());
+  }
+
+  @Test
+  void shouldNotMarkRunFailedWhenTakenOverByAnotherInstance() {
+    doThrow(new IllegalStateException("expected")).when(cognitoService).scanUsers(any());
+    when(reportRepository.findById(REPORT_ID)).thenReturn(Optional.of(
+        DuplicateResolutionReport.builder()
+            .id(REPORT_ID)
+            .status(SCANNING)
+            .owner("another-instance")
+            .build()));
+
+    service.run(DuplicateResolutionReport.builder().id(REPORT_ID).status(SCANNING).build());
+
+    verify(reportRepository, never()).save(any());
+  }
+
+  @Test
+  void shouldIncludeOutcomeCountsWhenGettingReport() {
+    when(reportRepository.findById(REPORT_ID)).thenReturn(Optional.of(
+        DuplicateResolutionReport.builder().id(REPORT_ID).status(RESOLVING).build()));
+    when(outcomeRepository.countByReportIdAndStatus(anyString(), any())).thenReturn(0L);
+    when(outcomeRepository.countByReportIdAndStatus(REPORT_ID, RESOLVED)).thenReturn(5L);
+    when(outcomeRepository.countByReportIdAndStatus(REPORT_ID, PENDING)).thenReturn(2L);
+
+    Optional<DuplicateResolutionReport> report = service.getReport(REPORT_ID);
+
+    assertThat("Unexpected report presence.", report.isPresent(), is(true));
+    Map<DuplicateResolutionOutcome.Status, Long> outcomes = report.get().outcomes();
+    assertThat("Unexpected resolved count.", outcomes.get(RESOLVED), is(5L));
+    assertThat("Unexpected pending count.", outcomes.get(PENDING), is(2L));
+    assertThat("Unexpected unresolved count.", outcomes.get(UNRESOLVED), is(0L));
+    assertThat("Unexpected failed count.", outcomes.get(FAILED), is(0L));
+  }
+
+  @Test
+  void shouldNotIncludeOutcomeCountsWhenReportNotFound() {
+    when(reportRepository.findById(REPORT_ID)).thenReturn(Optional.empty());
+
+    Optional<DuplicateResolutionReport> report = service.getReport(REPORT_ID);
+
+    assertThat("Unexpected report.", report, is(Optional.empty()));
+    verify(outcomeRepository, never()).countByReportIdAndStatus(any(), any());
+  }
+
+  @Test
+  void shouldGetOutcomePage() {
+    List<DuplicateResolutionOutcome> outcomes = List.of(pendingOutcome());
+    when(outcomeRepository.findByReportIdAndStatus(eq(REPORT_ID), eq(PENDING), any()))
+        .thenReturn(outcomes);
+
+    List<DuplicateResolutionOutcome> page = service.getOutcomes(REPORT_ID, PENDING, 0, 10);
+
+    assertThat("Unexpected outcomes.", page, is(outcomes));
+  }
+
+  /**
+   * Create a pending outcome for trainee one with two duplicate accounts.
+   *
+   * @return The pending outcome.
+   */
+  private static DuplicateResolutionOutcome pendingOutcome() {
+    return DuplicateResolutionOutcome.builder()
+        .id(REPORT_ID + ":" + TRAINEE_ID_1)
+        .reportId(REPORT_ID)
+        .traineeId(TRAINEE_ID_1)
+        .accountIds(Set.of("sub-1", "sub-2"))
+        .status(PENDING)
+        .build();
+  }
+
+  /**
+   * Create a Cognito user with the given TIS ID and sub.
+   *
+   * @param tisId The TIS ID of the user, may be null.
+   * @param sub   The sub of the user.
+   * @return The built user.
+   */
+  private static UserType user(String tisId, String sub) {
+    List<AttributeType> attributes = new ArrayList<>();
+    attributes.add(AttributeType.builder().name("sub").value(sub).build());
+
+    if (tisId != null) {
+      attributes.add(AttributeType.builder().name("custom:tisId").value(tisId).build());
+    }
+
+    return UserType.builder().username(sub).attributes(attributes).build();
+  }
+
+  /**
+   * Create a Cognito user with the given TIS ID, sub and email.
+   *
+   * @param tisId The TIS ID of the user.
+   * @param sub   The sub of the user.
+   * @param email The email of the user, may be null.
+   * @return The built user.
+   */
+  private static UserType user(String tisId, String sub, String email) {
+    UserType user = user(tisId, sub);
+
+    if (email == null) {
+      return user;
+    }
+
+    List<AttributeType> attributes = new ArrayList<>(user.attributes());
+    attributes.add(AttributeType.builder().name("email").value(email).build());
+    return user.toBuilder().attributes(attributes).build();
+  }
+}
@@ -26,19 +26,39 @@ import static io.awspring.cloud.sns.core.SnsHeaders.NOTIFICATION_SUBJECT_HEADER;
 import static org.hamcrest.CoreMatchers.hasItems;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.awspring.cloud.sns.core.SnsTemplate;
+import io.awspring.cloud.sqs.operations.SendResult;
 import io.awspring.cloud.sqs.operations.SqsTemplate;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchResponse;
+import software.amazon.awssdk.services.sns.model.SnsException;
+import uk.nhs.tis.trainee.usermanagement.enumeration.Dependency;
 import uk.nhs.tis.trainee.usermanagement.event.DataRequestEvent;
 import uk.nhs.tis.trainee.usermanagement.event.EmailUpdateEvent;
 import uk.nhs.tis.trainee.usermanagement.event.ProfileMoveEvent;
@@ -54,15 +74,21 @@ class EventPublishServiceTest {
   private MetricsService metricsService;
   private SnsTemplate notificationMessagingTemplate;
   private SqsTemplate queueMessagingTemplate;
+  private SnsClient snsClient;
+  private CircuitBreakerRegistry circuitBreakerRegistry;
 
   @BeforeEach
   void setUp() {
     metricsService = mock(MetricsService.class);
     notificationMessagingTemplate = mock(SnsTemplate.class);
     queueMessagingTemplate = mock(SqsTemplate.class);
+    snsClient = mock(SnsClient.class);
+    circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    DependencyGuard guard = new DependencyGuard(circuitBreakerRegistry,
+        BulkheadRegistry.ofDefaults(), metricsService);
     eventPublishService = new EventPublishService(notificationMessagingTemplate,
         USER_ACCOUNT_UPDATE_TOPIC, PROFILE_MOVE_TOPIC, queueMessagingTemplate, REQUEST_QUEUE_URL,
-        metricsService);
+        metricsService, snsClient, new ObjectMapper(), guard);
   }
 
   @Test
@@ -87,6 +113,70 @@ class EventPublishServiceTest {
     verify(metricsService).incrementResyncCounter();
   }
 
+  @Test
+  void shouldPublishProfileSyncEventsAsBatch() {
+    when(queueMessagingTemplate.<DataRequestEvent>sendMany(eq(REQUEST_QUEUE_URL), any()))
+        .thenReturn(new SendResult.Batch<>(List.of(), List.of()));
+
+    eventPublishService.publishProfileSyncEvents(List.of(TRAINEE_ID, "22222"));
+
+    ArgumentCaptor<Collection<Message<DataRequestEvent>>> messagesCaptor =
+        ArgumentCaptor.captor();
+    verify(queueMessagingTemplate).sendMany(eq(REQUEST_QUEUE_URL), messagesCaptor.capture());
+
+    List<Message<DataRequestEvent>> messages = List.copyOf(messagesCaptor.getValue());
+    assertThat("Unexpected message count.", messages.size(), is(2));
+
+    for (Message<DataRequestEvent> message : messages) {
+      DataRequestEvent event = message.getPayload();
+      assertThat("Unexpected table.", event.getTable(), is("Person"));
+
+      String expectedMessageGroupId = String.format("%s_%s_%s",
+          EventPublishService.REQUEST_SCHEMA, EventPublishService.REQUEST_TABLE, event.getId());
+      assertThat("Unexpected header.", message.getHeaders().get("message-group-id"),
+          is(expectedMessageGroupId));
+    }
+
+    assertThat("Unexpected trainee ID.", messages.get(0).getPayload().getId(), is(TRAINEE_ID));
+    assertThat("Unexpected trainee ID.", messages.get(1).getPayload().getId(), is("22222"));
+  }
+
+  @Test
+  void shouldReturnFailedProfileSyncEventsFromBatch() {
+    Message<DataRequestEvent> sent = MessageBuilder.withPayload(
+        new DataRequestEvent("Person", TRAINEE_ID)).build();
+    Message<DataRequestEvent> failed = MessageBuilder.withPayload(
+        new DataRequestEvent("Person", "22222")).build();
+
+    when(queueMessagingTemplate.<DataRequestEvent>sendMany(eq(REQUEST_QUEUE_URL), any()))
+        .thenReturn(new SendResult.Batch<>(
+            List.of(new SendResult<>(UUID.randomUUID(), REQUEST_QUEUE_URL, sent, Map.of())),
+            List.of(new SendResult.Failed<>("Throttled.", REQUEST_QUEUE_URL, failed, Map.of()))));
+
+    Map<String, String> failures = eventPublishService.publishProfileSyncEvents(
+        List.of(TRAINEE_ID, "22222"));
+
+    assertThat("Unexpected failures.", failures, is(Map.of("22222", "Throttled.")));
+    verify(metricsService).incrementResyncCounter(1);
+  }
+
+  @Test
+  void shouldReturnFirstFailureWhenProfileSyncEventFailsMoreThanOnceInBatch() {
+    Message<DataRequestEvent> failed = MessageBuilder.withPayload(
+        new DataRequestEvent("Person", TRAINEE_ID)).build();
+
+    when(queueMessagingTemplate.<DataRequestEvent>sendMany(eq(REQUEST_QUEUE_URL), any()))
+        .thenReturn(new SendResult.Batch<>(List.of(), List.of(
+            new SendResult.Failed<>("Throttled.", REQUEST_QUEUE_URL, failed, Map.of()),
+            new SendResult.Failed<>("Invalid.", REQUEST_QUEUE_URL, failed, Map.of()))));
+
+    Map<String, String> failures = eventPublishService.publishProfileSyncEvents(
+        List.of(TRAINEE_ID, TRAINEE_ID));
+
+    assertThat("Unexpected failures.", failures, is(Map.of(TRAINEE_ID, "Throttled.")));
+    verify(metricsService).incrementResyncCounter(0);
+  }
+
   @Test
   void shouldPublishEmailUpdateEvent() {
     String previousEmail = "previous.email@example.com";
@@ -140,4 +230,118 @@ class EventPublishServiceTest {
     assertThat("Unexpected producer.", headers.get("producer"), is("tis-trainee-user-management"));
     verifyNoInteractions(metricsService);
   }
+
+  @Test
+  void shouldPublishProfileMoveEventsInBatchesOfTen() throws Exception {
+    when(snsClient.publishBatch(any(PublishBatchRequest.class))).thenReturn(
+        PublishBatchResponse.builder().build());
+
+    List<ProfileMoveEvent> events = IntStream.range(0, 12)
+        .mapToObj(i -> new ProfileMoveEvent("from-" + i, "to-" + i))
+        .toList();
+
+    Set<ProfileMoveEvent> failures = eventPublishService.publishProfileMoveEvents(events);
+
+    assertThat("Unexpected failures.", failures, is(Set.of()));
+
+    ArgumentCaptor<PublishBatchRequest> requestCaptor = ArgumentCaptor.captor();
+    verify(snsClient, times(2)).publishBatch(requestCaptor.capture());
+
+    List<PublishBatchRequest> requests = requestCaptor.getAllValues();
+    assertThat("Unexpected entry count.", requests.get(0).publishBatchRequestEntries().size(),
+        is(10));
+    assertThat("Unexpected entry count.", requests.get(1).publishBatchRequestEntries().size(),
+        is(2));
+
+    PublishBatchRequestEntry entry = requests.get(1).publishBatchRequestEntries().get(1);
+    assertThat("Unexpected topic.", requests.get(1).topicArn(), is(PROFILE_MOVE_TOPIC));
+    assertThat("Unexpected subject.", entry.subject(), is("Profile Data Move"));
+    assertThat("Unexpected group ID.", entry.messageGroupId(), is("from-11_to-11"));
+    assertThat("Unexpected producer.", entry.messageAttributes().get("producer").stringValue(),
+        is("tis-trainee-user-management"));
+
+    ProfileMoveEvent event = new ObjectMapper().readValue(entry.message(),
+        ProfileMoveEvent.class);
+    assertThat("Unexpected From TIS ID.", event.fromTraineeId(), is("from-11"));
+    assertThat("Unexpected To TIS ID.", event.toTraineeId(), is("to-11"));
+  }
+
+  @Test
+  void shouldReturnFailedProfileMoveEvents() {
+    when(snsClient.publishBatch(any(PublishBatchRequest.class))).thenReturn(
+        PublishBatchResponse.builder()
+            .failed(BatchResultErrorEntry.builder().id("1").message("Throttled.").build())
+            .build());
+
+    ProfileMoveEvent sent = new ProfileMoveEvent("from-0", "to-0");
+    ProfileMoveEvent failed = new ProfileMoveEvent("from-1", "to-1");
+
+    Set<ProfileMoveEvent> failures = eventPublishService.publishProfileMoveEvents(
+        List.of(sent, failed));
+
+    assertThat("Unexpected failures.", failures, is(Set.of(failed)));
+  }
+
+  @Test
+  void shouldFailBatchAndContinueWhenProfileMoveBatchRequestFails() {
+    when(snsClient.publishBatch(any(PublishBatchRequest.class)))
+        .thenThrow(SnsException.builder().message("expected").build())
+        .thenReturn(PublishBatchResponse.builder().build());
+    List<ProfileMoveEvent> events = IntStream.range(0, 15)
+        .mapToObj(i -> new ProfileMoveEvent("from" + i, "to" + i))
+        .toList();
+
+    Set<ProfileMoveEvent> failures = eventPublishService.publishProfileMoveEvents(events);
+
+    assertThat("Unexpected failures.", failures, is(Set.copyOf(events.subList(0, 10))));
+    verify(snsClient, times(2)).publishBatch(any(PublishBatchRequest.class));
+  }
+
+  @Test
+  void shouldFailProfileSyncEventsWithoutSendingWhenMessagingCircuitBreakerOpen() {
+    circuitBreakerRegistry.circuitBreaker(Dependency.MESSAGING.getInstanceName())
+        .transitionToOpenState();
+
+    Map<String, String> failures = eventPublishService.publishProfileSyncEvents(
+        List.of("1", "2"));
+
+    assertThat("Unexpected failure count.", failures.size(), is(2));
+    assertThat("Unexpected failed IDs.", failures.keySet(), hasItems("1", "2"));
+    verifyNoInteractions(queueMessagingTemplate);
+    verify(metricsService).incrementDependencyFallbackCounter(Dependency.MESSAGING);
+  }
+
+  @Test
+  void shouldFailProfileMoveEventsWithoutSendingWhenMessagingCircuitBreakerOpen() {
+    circuitBreakerRegistry.circuitBreaker(Dependency.MESSAGING.getInstanceName())
+        .transitionToOpenState();
+    List<ProfileMoveEvent> events = IntStream.range(0, 12)
+        .mapToObj(i -> new ProfileMoveEvent("from" + i, "to" + i))
+        .toList();
+
+    Set<ProfileMoveEvent> failures = eventPublishService.publishProfileMoveEvents(events);
+
+    assertThat("Unexpected failure count.", failures.size(), is(12));
+    verifyNoInteractions(snsClient);
+    verify(metricsService).incrementDependencyFallbackCounter(Dependency.MESSAGING);
+  }
+
+  @Test
+  void shouldFailRemainingProfileMoveEventsWhenMessagingCircuitBreakerOpensMidway() {
+    CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(
+        Dependency.MESSAGING.getInstanceName());
+    when(snsClient.publishBatch(any(PublishBatchRequest.class))).thenAnswer(inv -> {
+      circuitBreaker.transitionToOpenState();
+      return PublishBatchResponse.builder().build();
+    });
+    List<ProfileMoveEvent> events = IntStream.range(0, 25)
+        .mapToObj(i -> new ProfileMoveEvent("from" + i, "to" + i))
+        .toList();
+
+    Set<ProfileMoveEvent> failures = eventPublishService.publishProfileMoveEvents(events);
+
+    assertThat("Unexpected failures.", failures, is(Set.copyOf(events.subList(10, 25))));
+    verify(snsClient).publishBatch(any(PublishBatchRequest.class));
+    verify(metricsService).incrementDependencyFallbackCounter(Dependency.MESSAGING);
+  }
 }
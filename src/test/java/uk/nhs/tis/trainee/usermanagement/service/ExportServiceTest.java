@@ -0,0 +1,147 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
+import uk.nhs.tis.trainee.usermanagement.mapper.UserAccountDetailsMapperImpl;
+import uk.nhs.tis.trainee.usermanagement.model.AccountEvent;
+import uk.nhs.tis.trainee.usermanagement.model.AccountEvent.EmailUpdatedDetail;
+import uk.nhs.tis.trainee.usermanagement.model.AccountEventType;
+import uk.nhs.tis.trainee.usermanagement.repository.AccountEventRepository;
+
+class ExportServiceTest {
+
+  private static final String USER_ID_1 = UUID.randomUUID().toString();
+  private static final String USER_ID_2 = UUID.randomUUID().toString();
+  private static final String TRAINEE_ID = "40";
+
+  private ExportService service;
+  private AccountEventRepository repository;
+  private CognitoService cognitoService;
+  private ObjectMapper objectMapper;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(AccountEventRepository.class);
+    cognitoService = mock(CognitoService.class);
+    objectMapper = JsonMapper.builder()
+        .findAndAddModules()
+        .build();
+
+    service = new ExportService(repository, cognitoService, new UserAccountDetailsMapperImpl(),
+        objectMapper);
+  }
+
+  @Test
+  void shouldExportNoLinesWhenNoAccountEvents() throws IOException {
+    when(repository.streamAllBy()).thenReturn(Stream.of());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    long count = service.exportAccountEvents(out);
+
+    assertThat("Unexpected export count.", count, is(0L));
+    assertThat("Unexpected export content.", out.size(), is(0));
+  }
+
+  @Test
+  void shouldExportAccountEventsAsLines() throws IOException {
+    AccountEvent event1 = AccountEvent.builder()
+        .id(UUID.randomUUID())
+        .userId(USER_ID_1)
+        .traineeId(TRAINEE_ID)
+        .type(AccountEventType.EMAIL_UPDATED)
+        .detail(new EmailUpdatedDetail("old@example.com", "new@example.com"))
+        .created(Instant.now())
+        .build();
+    AccountEvent event2 = event1.withId(UUID.randomUUID());
+    when(repository.streamAllBy()).thenReturn(Stream.of(event1, event2));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    long count = service.exportAccountEvents(out);
+
+    assertThat("Unexpected export count.", count, is(2L));
+
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertThat("Unexpected line count.", lines.length, is(2));
+
+    JsonNode line1 = objectMapper.readTree(lines[0]);
+    assertThat("Unexpected ID.", line1.get("id").asText(), is(event1.id().toString()));
+    assertThat("Unexpected user ID.", line1.get("userId").asText(), is(USER_ID_1));
+    assertThat("Unexpected detail.", line1.get("detail").get("after").asText(),
+        is("new@example.com"));
+
+    JsonNode line2 = objectMapper.readTree(lines[1]);
+    assertThat("Unexpected ID.", line2.get("id").asText(), is(event2.id().toString()));
+  }
+
+  @Test
+  void shouldExportUserAccountsFromEveryScannedPage() throws IOException {
+    UserType user1 = UserType.builder()
+        .attributes(attr -> attr.name("sub").value(USER_ID_1))
+        .build();
+    UserType user2 = UserType.builder()
+        .attributes(attr -> attr.name("sub").value(USER_ID_2))
+        .build();
+
+    doAnswer(inv -> {
+      Consumer<List<UserType>> consumer = inv.getArgument(0);
+      consumer.accept(List.of(user1));
+      consumer.accept(List.of(user2));
+      return null;
+    }).when(cognitoService).scanUsers(any());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    long count = service.exportUserAccounts(out);
+
+    assertThat("Unexpected export count.", count, is(2L));
+
+    String content = out.toString(StandardCharsets.UTF_8);
+    assertThat("Unexpected trailing delimiter.", content.endsWith("\n"), is(true));
+
+    String[] lines = content.split("\n");
+    assertThat("Unexpected line count.", lines.length, is(2));
+    assertThat("Unexpected ID.", objectMapper.readTree(lines[0]).get("id").asText(),
+        is(USER_ID_1));
+    assertThat("Unexpected ID.", objectMapper.readTree(lines[1]).get("id").asText(),
+        is(USER_ID_2));
+  }
+}
@@ -0,0 +1,236 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AttributeType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.TooManyRequestsException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
+
+class GroupMembershipIndexTest {
+
+  private static final String GROUP_NAME = "beta-participants";
+  private static final String USERNAME = "c1c9b1e8-3a63-4e0c-9c6c-a3a8f5b0d7e2";
+  private static final String SUB = "8f2d1d5c-6f26-4c5b-9a6f-1f2a8d3c4b5e";
+  private static final String EMAIL = "Joe.Bloggs@fake.email";
+  private static final String OTHER_SUB = "e4a9c2d1-7b3f-4e6a-9c8d-2f1e0a9b8c7d";
+  private static final String OTHER_EMAIL = "Other@fake.email";
+
+  private GroupMembershipIndex index;
+  private CognitoService cognitoService;
+
+  @BeforeEach
+  void setUp() {
+    cognitoService = mock(CognitoService.class);
+    index = new GroupMembershipIndex(cognitoService, Duration.ofMinutes(5));
+
+    UserType user = UserType.builder()
+        .username(USERNAME)
+        .attributes(
+            AttributeType.builder().name("sub").value(SUB).build(),
+            AttributeType.builder().name("email").value(EMAIL).build(),
+            AttributeType.builder().name("family_name").value("Bloggs").build())
+        .build();
+
+    doAnswer(inv -> {
+      Consumer<List<UserType>> consumer = inv.getArgument(1);
+      consumer.accept(List.of(user));
+      return null;
+    }).when(cognitoService).scanUsersInGroup(eq(GROUP_NAME), any());
+  }
+
+  @Test
+  void shouldFindMemberByUsername() {
+    assertThat("Unexpected membership.", index.isMember(GROUP_NAME, USERNAME), is(true));
+  }
+
+  @Test
+  void shouldFindMemberBySub() {
+    assertThat("Unexpected membership.", index.isMember(GROUP_NAME, SUB), is(true));
+  }
+
+  @Test
+  void shouldFindMemberByEmailIgnoringCase() {
+    assertThat("Unexpected membership.", index.isMember(GROUP_NAME, EMAIL.toUpperCase()),
+        is(true));
+  }
+
+  @Test
+  void shouldNotFindMemberByOtherAttributes() {
+    assertThat("Unexpected membership.", index.isMember(GROUP_NAME, "Bloggs"), is(false));
+  }
+
+  @Test
+  void shouldNotFindNonMember() {
+    assertThat("Unexpected membership.", index.isMember(GROUP_NAME, "other@fake.email"),
+        is(false));
+  }
+
+  @Test
+  void shouldScanGroupOnceWithinTimeToLive() {
+    index.isMember(GROUP_NAME, USERNAME);
+    index.isMember(GROUP_NAME, SUB);
+    index.isMember(GROUP_NAME, EMAIL);
+
+    verify(cognitoService).scanUsersInGroup(eq(GROUP_NAME), any());
+  }
+
+  @Test
+  void shouldRescanGroupWhenTimeToLiveExpired() {
+    index = new GroupMembershipIndex(cognitoService, Duration.ZERO);
+
+    index.isMember(GROUP_NAME, USERNAME);
+    index.isMember(GROUP_NAME, USERNAME);
+
+    verify(cognitoService, times(2)).scanUsersInGroup(eq(GROUP_NAME), any());
+  }
+
+  @Test
+  void shouldNotCacheFailedScan() {
+    doThrow(TooManyRequestsException.class)
+        .doAnswer(inv -> {
+          Consumer<List<UserType>> consumer = inv.getArgument(1);
+          consumer.accept(List.of(UserType.builder().username(USERNAME).build()));
+          return null;
+        })
+        .when(cognitoService).scanUsersInGroup(eq(GROUP_NAME), any());
+
+    assertThrows(TooManyRequestsException.class, () -> index.isMember(GROUP_NAME, USERNAME));
+
+    assertThat("Unexpected membership.", index.isMember(GROUP_NAME, USERNAME), is(true));
+    verify(cognitoService, times(2)).scanUsersInGroup(eq(GROUP_NAME), any());
+  }
+
+  @Test
+  void shouldNotCacheInterruptedScan() {
+    doThrow(CancellationException.class)
+        .doAnswer(inv -> null)
+        .when(cognitoService).scanUsersInGroup(eq(GROUP_NAME), any());
+
+    assertThrows(CancellationException.class, () -> index.isMember(GROUP_NAME, USERNAME));
+
+    assertThat("Unexpected membership.", index.isMember(GROUP_NAME, USERNAME), is(false));
+    verify(cognitoService, times(2)).scanUsersInGroup(eq(GROUP_NAME), any());
+  }
+
+  @Test
+  void shouldNotScanGroupWhenRecordingEnrolmentForUnindexedGroup() {
+    index.recordEnrolment(GROUP_NAME, OTHER_EMAIL);
+
+    verifyNoInteractions(cognitoService);
+  }
+
+  @Test
+  void shouldFindMemberByRecordedIdentifierAfterRecordingEnrolment() {
+    index.isMember(GROUP_NAME, USERNAME);
+
+    index.recordEnrolment(GROUP_NAME, OTHER_EMAIL);
+
+    assertThat("Unexpected membership.", index.isMember(GROUP_NAME, OTHER_EMAIL), is(true));
+    assertThat("Unexpected membership.", index.isMember(GROUP_NAME, OTHER_SUB), is(false));
+    verify(cognitoService).scanUsersInGroup(eq(GROUP_NAME), any());
+    verify(cognitoService, never()).getUser(any());
+  }
+
+  @Test
+  void shouldNotFindMemberAfterRecordingWithdrawalOfRecordedIdentifier() {
+    index.isMember(GROUP_NAME, USERNAME);
+    index.recordEnrolment(GROUP_NAME, OTHER_EMAIL);
+
+    index.recordWithdrawal(GROUP_NAME, OTHER_EMAIL);
+
+    assertThat("Unexpected membership.", index.isMember(GROUP_NAME, OTHER_EMAIL), is(false));
+  }
+
+  @Test
+  void shouldRescanGroupWhenWithdrawnIdentifierUnknownAfterRecordedEnrolment() {
+    index.isMember(GROUP_NAME, USERNAME);
+    index.recordEnrolment(GROUP_NAME, OTHER_EMAIL);
+
+    index.recordWithdrawal(GROUP_NAME, OTHER_SUB);
+    index.isMember(GROUP_NAME, USERNAME);
+
+    verify(cognitoService, times(2)).scanUsersInGroup(eq(GROUP_NAME), any());
+  }
+
+  @Test
+  void shouldNotRescanGroupWhenWithdrawnIdentifierUnknownWithoutRecordedEnrolment() {
+    index.isMember(GROUP_NAME, USERNAME);
+
+    index.recordWithdrawal(GROUP_NAME, OTHER_SUB);
+    index.isMember(GROUP_NAME, USERNAME);
+
+    verify(cognitoService).scanUsersInGroup(eq(GROUP_NAME), any());
+  }
+
+  @Test
+  void shouldEvictExpiredGroups() {
+    index = new GroupMembershipIndex(cognitoService, Duration.ZERO);
+    index.isMember(GROUP_NAME, USERNAME);
+
+    index.evictExpired();
+    index.recordEnrolment(GROUP_NAME, OTHER_EMAIL);
+
+    verify(cognitoService).scanUsersInGroup(eq(GROUP_NAME), any());
+    assertThat("Unexpected membership.", index.isMember(GROUP_NAME, OTHER_EMAIL), is(false));
+  }
+
+  @Test
+  void shouldNotEvictUnexpiredGroups() {
+    index.isMember(GROUP_NAME, USERNAME);
+
+    index.evictExpired();
+    index.isMember(GROUP_NAME, USERNAME);
+
+    verify(cognitoService).scanUsersInGroup(eq(GROUP_NAME), any());
+  }
+
+  @Test
+  void shouldNotFindMemberByAnyIdentifierAfterRecordingWithdrawal() {
+    index.isMember(GROUP_NAME, USERNAME);
+
+    index.recordWithdrawal(GROUP_NAME, EMAIL);
+
+    assertThat("Unexpected membership.", index.isMember(GROUP_NAME, USERNAME), is(false));
+    assertThat("Unexpected membership.", index.isMember(GROUP_NAME, SUB), is(false));
+    assertThat("Unexpected membership.", index.isMember(GROUP_NAME, EMAIL), is(false));
+    verify(cognitoService).scanUsersInGroup(eq(GROUP_NAME), any());
+  }
+}
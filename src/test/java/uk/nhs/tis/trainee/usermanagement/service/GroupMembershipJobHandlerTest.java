@@ -0,0 +1,182 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.nhs.tis.trainee.usermanagement.model.Job.PARAMETER_GROUP_NAME;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.FAILED;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.PENDING;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.SKIPPED;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.SUCCEEDED;
+
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.InOrder;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.TooManyRequestsException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.JobItem;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
+
+class GroupMembershipJobHandlerTest {
+
+  private static final String GROUP_NAME = "beta-participants";
+  private static final String USERNAME = "joe.bloggs@fake.email";
+
+  private UserAccountService userAccountService;
+  private GroupMembershipIndex groupMembershipIndex;
+  private CognitoRateLimiter rateLimiter;
+
+  private JobItem item;
+
+  @BeforeEach
+  void setUp() {
+    userAccountService = mock(UserAccountService.class);
+    groupMembershipIndex = mock(GroupMembershipIndex.class);
+    rateLimiter = mock(CognitoRateLimiter.class);
+
+    item = JobItem.builder().id("job-1:" + USERNAME).key(USERNAME).status(PENDING).build();
+  }
+
+  @Test
+  void shouldThrowExceptionWhenJobTypeNotGroupMembership() {
+    assertThrows(IllegalArgumentException.class, () -> handler(JobType.MFA_RESET));
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = JobType.class, names = {"GROUP_ENROLMENT", "GROUP_WITHDRAWAL"})
+  void shouldHandleGivenJobType(JobType type) {
+    assertThat("Unexpected job type.", handler(type).getType(), is(type));
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "GROUP_ENROLMENT, true, Already a member.",
+      "GROUP_WITHDRAWAL, false, Not a member."
+  })
+  void shouldSkipItemWhenIndexed(JobType type, boolean member, String message) {
+    when(groupMembershipIndex.isMember(GROUP_NAME, USERNAME)).thenReturn(member);
+
+    JobItem processed = handler(type).process(job(type), item);
+
+    assertThat("Unexpected item status.", processed.status(), is(SKIPPED));
+    assertThat("Unexpected item message.", processed.message(), is(message));
+    verifyNoInteractions(rateLimiter);
+    verifyNoInteractions(userAccountService);
+  }
+
+  @ParameterizedTest
+  @CsvSource({"GROUP_ENROLMENT, false", "GROUP_WITHDRAWAL, true"})
+  void shouldApplyChangeAfterAcquiringPermit(JobType type, boolean indexedMember) {
+    when(groupMembershipIndex.isMember(GROUP_NAME, USERNAME)).thenReturn(indexedMember);
+
+    JobItem processed = handler(type).process(job(type), item);
+
+    assertThat("Unexpected item status.", processed.status(), is(SUCCEEDED));
+    assertThat("Unexpected item message.", processed.message(), nullValue());
+
+    InOrder inOrder = inOrder(rateLimiter, userAccountService);
+    inOrder.verify(rateLimiter).acquire();
+    verifyChange(type, inOrder);
+  }
+
+  @ParameterizedTest
+  @CsvSource({"GROUP_ENROLMENT, false", "GROUP_WITHDRAWAL, true"})
+  void shouldFailItemWhenUserNotFound(JobType type, boolean indexedMember) {
+    when(groupMembershipIndex.isMember(GROUP_NAME, USERNAME)).thenReturn(indexedMember);
+    doThrow(UserNotFoundException.class).when(userAccountService)
+        .enrollToUserGroup(USERNAME, GROUP_NAME);
+    doThrow(UserNotFoundException.class).when(userAccountService)
+        .withdrawFromUserGroup(USERNAME, GROUP_NAME);
+
+    JobItem processed = handler(type).process(job(type), item);
+
+    assertThat("Unexpected item status.", processed.status(), is(FAILED));
+    assertThat("Unexpected item message.", processed.message(), is("User not found."));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"GROUP_ENROLMENT, false", "GROUP_WITHDRAWAL, true"})
+  void shouldThrowExceptionWhenChangeFails(JobType type, boolean indexedMember) {
+    when(groupMembershipIndex.isMember(GROUP_NAME, USERNAME)).thenReturn(indexedMember);
+    doThrow(TooManyRequestsException.class).when(userAccountService)
+        .enrollToUserGroup(USERNAME, GROUP_NAME);
+    doThrow(TooManyRequestsException.class).when(userAccountService)
+        .withdrawFromUserGroup(USERNAME, GROUP_NAME);
+
+    GroupMembershipJobHandler handler = handler(type);
+    Job job = job(type);
+
+    assertThrows(TooManyRequestsException.class, () -> handler.process(job, item));
+  }
+
+  /**
+   * Create a handler for the given job type.
+   *
+   * @param type The job type.
+   * @return The created handler.
+   */
+  private GroupMembershipJobHandler handler(JobType type) {
+    return new GroupMembershipJobHandler(type, userAccountService, groupMembershipIndex,
+        rateLimiter);
+  }
+
+  /**
+   * Create a job of the given type for the test group.
+   *
+   * @param type The job type.
+   * @return The created job.
+   */
+  private static Job job(JobType type) {
+    return Job.builder()
+        .id("job-1")
+        .type(type)
+        .parameters(Map.of(PARAMETER_GROUP_NAME, GROUP_NAME))
+        .build();
+  }
+
+  /**
+   * Verify that the group membership change for the given job type was applied, in order.
+   *
+   * @param type    The job type.
+   * @param inOrder The order to verify in.
+   */
+  private void verifyChange(JobType type, InOrder inOrder) {
+    if (type == JobType.GROUP_ENROLMENT) {
+      inOrder.verify(userAccountService).enrollToUserGroup(USERNAME, GROUP_NAME);
+    } else {
+      inOrder.verify(userAccountService).withdrawFromUserGroup(USERNAME, GROUP_NAME);
+    }
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueRetrievalException;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import uk.nhs.tis.trainee.usermanagement.enumeration.Dependency;
+
+class GuardedCacheTest {
+
+  private static final String KEY = "key";
+  private static final String VALUE = "value";
+
+  private Cache delegate;
+  private CircuitBreakerRegistry circuitBreakerRegistry;
+  private MetricsService metricsService;
+  private GuardedCache cache;
+
+  @BeforeEach
+  void setUp() {
+    delegate = new ConcurrentMapCache("test");
+    circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    metricsService = mock(MetricsService.class);
+    DependencyGuard guard = new DependencyGuard(circuitBreakerRegistry,
+        BulkheadRegistry.ofDefaults(), metricsService);
+    cache = new GuardedCache(delegate, guard);
+  }
+
+  @Test
+  void shouldDelegateWhenCacheAvailable() {
+    cache.put(KEY, VALUE);
+
+    assertThat("Unexpected delegate value.", delegate.get(KEY, String.class), is(VALUE));
+    assertThat("Unexpected value.", cache.get(KEY, String.class), is(VALUE));
+    assertThat("Unexpected wrapped value.", cache.get(KEY).get(), is(VALUE));
+  }
+
+  @Test
+  void shouldMissWhenCacheCircuitBreakerOpen() {
+    delegate.put(KEY, VALUE);
+    openCircuitBreaker();
+
+    assertThat("Unexpected value.", cache.get(KEY, String.class), nullValue());
+    assertThat("Unexpected wrapped value.", cache.get(KEY), nullValue());
+    verify(metricsService, times(2))
+        .incrementDependencyFallbackCounter(Dependency.CACHE);
+  }
+
+  @Test
+  void shouldSkipPutWhenCacheCircuitBreakerOpen() {
+    openCircuitBreaker();
+
+    cache.put(KEY, VALUE);
+
+    assertThat("Unexpected delegate value.", delegate.get(KEY), nullValue());
+  }
+
+  @Test
+  void shouldLoadValueWithoutCacheWhenCacheCircuitBreakerOpen() {
+    openCircuitBreaker();
+
+    String value = cache.get(KEY, () -> VALUE);
+
+    assertThat("Unexpected value.", value, is(VALUE));
+    assertThat("Unexpected delegate value.", delegate.get(KEY), nullValue());
+  }
+
+  @Test
+  void shouldThrowRejectedReadsAndWritesWhenFallbackDisabled() {
+    GuardedCache failFastCache = new GuardedCache(delegate,
+        new DependencyGuard(circuitBreakerRegistry, BulkheadRegistry.ofDefaults(), metricsService),
+        false);
+    delegate.put(KEY, VALUE);
+    openCircuitBreaker();
+
+    assertThrows(CallNotPermittedException.class, () -> failFastCache.get(KEY, String.class));
+    assertThrows(CallNotPermittedException.class, () -> failFastCache.get(KEY));
+    assertThrows(CallNotPermittedException.class, () -> failFastCache.put(KEY, "other"));
+    assertThat("Unexpected delegate value.", delegate.get(KEY, String.class), is(VALUE));
+    verifyNoInteractions(metricsService);
+  }
+
+  @Test
+  void shouldLoadAndCacheValueOnMiss() {
+    String value = cache.get(KEY, () -> VALUE);
+
+    assertThat("Unexpected value.", value, is(VALUE));
+    assertThat("Unexpected delegate value.", delegate.get(KEY, String.class), is(VALUE));
+  }
+
+  @Test
+  void shouldNotCallLoaderWhenValueCached() {
+    delegate.put(KEY, VALUE);
+
+    String value = cache.get(KEY, () -> {
+      throw new IllegalStateException("Loader should not be called.");
+    });
+
+    assertThat("Unexpected value.", value, is(VALUE));
+  }
+
+  @Test
+  void shouldNotRecordLoaderFailuresAgainstCache() {
+    for (int i = 0; i < 200; i++) {
+      assertThrows(ValueRetrievalException.class, () -> cache.get(KEY, () -> {
+        throw CallNotPermittedException.createCallNotPermittedException(
+            CircuitBreaker.ofDefaults(Dependency.COGNITO.getInstanceName()));
+      }));
+    }
+
+    CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(
+        Dependency.CACHE.getInstanceName());
+    assertThat("Unexpected circuit breaker state.", circuitBreaker.getState(),
+        is(CircuitBreaker.State.CLOSED));
+    assertThat("Unexpected failed calls.", circuitBreaker.getMetrics().getNumberOfFailedCalls(),
+        is(0));
+  }
+
+  @Test
+  void shouldNotHideRejectedEvictionWhenCacheCircuitBreakerOpen() {
+    Cache mockDelegate = mock(Cache.class);
+    cache = new GuardedCache(mockDelegate, new DependencyGuard(circuitBreakerRegistry,
+        BulkheadRegistry.ofDefaults(), metricsService));
+    openCircuitBreaker();
+
+    assertThrows(CallNotPermittedException.class, () -> cache.evict(KEY));
+
+    verifyNoInteractions(mockDelegate);
+  }
+
+  /**
+   * Open the cache's circuit breaker.
+   */
+  private void openCircuitBreaker() {
+    circuitBreakerRegistry.circuitBreaker(Dependency.CACHE.getInstanceName())
+        .transitionToOpenState();
+  }
+}
@@ -0,0 +1,660 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.FAILED;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.PENDING;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.SKIPPED;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.SUCCEEDED;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.Job.Status;
+import uk.nhs.tis.trainee.usermanagement.model.JobItem;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
+import uk.nhs.tis.trainee.usermanagement.repository.JobItemRepository;
+import uk.nhs.tis.trainee.usermanagement.repository.JobRepository;
+
+class JobServiceTest {
+
+  private static final String JOB_ID = "job-1";
+  private static final Duration STALE_AFTER = Duration.ofMinutes(10);
+
+  private JobService service;
+  private JobRepository jobRepository;
+  private JobItemRepository itemRepository;
+  private JobHandler handler;
+  private TaskExecutor taskExecutor;
+  private MetricsService metricsService;
+
+  @BeforeEach
+  void setUp() {
+    jobRepository = mock(JobRepository.class);
+    itemRepository = mock(JobItemRepository.class);
+    handler = mock(JobHandler.class);
+    when(handler.getType()).thenReturn(JobType.MFA_RESET);
+    taskExecutor = mock(TaskExecutor.class);
+
+    metricsService = mock(MetricsService.class);
+
+    when(jobRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+    when(itemRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+    service = new JobService(jobRepository, itemRepository, List.of(handler), taskExecutor,
+        metricsService, 2, 8, STALE_AFTER);
+  }
+
+  @Test
+  void shouldSubmitQueuedJobWithPendingItems() {
+    Job job = service.submit(JobType.MFA_RESET, List.of("user1", "user2", "user1"),
+        Map.of("key", "value"));
+
+    assertThat("Unexpected job id.", job.id(), notNullValue());
+    assertThat("Unexpected job type.", job.type(), is(JobType.MFA_RESET));
+    assertThat("Unexpected job status.", job.status(), is(Status.QUEUED));
+    assertThat("Unexpected job parameters.", job.parameters(), is(Map.of("key", "value")));
+    assertThat("Unexpected item count.", job.itemCount(), is(2L));
+    assertThat("Unexpected submitted time.", job.submitted(), notNullValue());
+
+    ArgumentCaptor<List<JobItem>> itemsCaptor = ArgumentCaptor.captor();
+    verify(itemRepository).insert(itemsCaptor.capture());
+
+    List<JobItem> items = itemsCaptor.getValue();
+    assertThat("Unexpected item count.", items, hasSize(2));
+    assertThat("Unexpected item key.", items.get(0).key(), is("user1"));
+    assertThat("Unexpected item key.", items.get(1).key(), is("user2"));
+
+    for (JobItem item : items) {
+      assertThat("Unexpected item id.", item.id(), is(job.id() + ":" + item.key()));
+      assertThat("Unexpected job id.", item.jobId(), is(job.id()));
+      assertThat("Unexpected item status.", item.status(), is(PENDING));
+    }
+
+    verify(taskExecutor).execute(any());
+  }
+
+  @Test
+  void shouldInsertMissingItemsSinglyWhenSomeItemsAlreadyExist() {
+    when(itemRepository.insert(anyList())).thenThrow(DuplicateKeyException.class);
+    when(itemRepository.insert(any(JobItem.class))).thenAnswer(inv -> {
+      JobItem item = inv.getArgument(0);
+
+      if (item.key().equals("user1")) {
+        throw new DuplicateKeyException("expected");
+      }
+      return item;
+    });
+
+    Job job = service.submit(JobType.MFA_RESET, List.of("user1", "user2"), Map.of());
+
+    assertThat("Unexpected item count.", job.itemCount(), is(2L));
+
+    ArgumentCaptor<JobItem> itemCaptor = ArgumentCaptor.captor();
+    verify(itemRepository, times(2)).insert(itemCaptor.capture());
+
+    List<JobItem> items = itemCaptor.getAllValues();
+    assertThat("Unexpected item key.", items.get(0).key(), is("user1"));
+    assertThat("Unexpected item key.", items.get(1).key(), is("user2"));
+    verify(itemRepository, never()).saveAll(any());
+    verify(taskExecutor).execute(any());
+  }
+
+  @Test
+  void shouldThrowExceptionWhenSubmittingJobWithNoHandler() {
+    service = new JobService(jobRepository, itemRepository, List.of(), taskExecutor,
+        metricsService, 2, 8, STALE_AFTER);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> service.submit(JobType.MFA_RESET, List.of("user1"), Map.of()));
+
+    verify(jobRepository, never()).save(any());
+    verifyNoInteractions(taskExecutor);
+  }
+
+  @Test
+  void shouldProcessPendingItemsWithHandler() {
+    Job job = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(Status.QUEUED).build();
+    JobItem item1 = pendingItem("user1");
+    JobItem item2 = pendingItem("user2");
+    when(itemRepository.findByJobIdAndStatus(eq(JOB_ID), eq(PENDING), any()))
+        .thenReturn(List.of(item1, item2), List.of());
+
+    when(handler.process(any(), eq(item1))).thenReturn(
+        item1.toBuilder().status(SUCCEEDED).build());
+    when(handler.process(any(), eq(item2))).thenReturn(
+        item2.toBuilder().status(SKIPPED).message("Skipped.").build());
+
+    service.run(job);
+
+    ArgumentCaptor<JobItem> itemCaptor = ArgumentCaptor.captor();
+    verify(itemRepository, times(2)).save(itemCaptor.capture());
+
+    Map<String, JobItem> processed = itemCaptor.getAllValues().stream()
+        .collect(Collectors.toMap(JobItem::key, item -> item));
+    assertThat("Unexpected item status.", processed.get("user1").status(), is(SUCCEEDED));
+    assertThat("Unexpected item status.", processed.get("user2").status(), is(SKIPPED));
+    assertThat("Unexpected item message.", processed.get("user2").message(), is("Skipped."));
+    assertThat("Unexpected processed time.", processed.get("user1").processed(), notNullValue());
+
+    ArgumentCaptor<Job> jobCaptor = ArgumentCaptor.captor();
+    verify(jobRepository, times(3)).save(jobCaptor.capture());
+
+    List<Job> savedJobs = jobCaptor.getAllValues();
+    assertThat("Unexpected job status.", savedJobs.get(0).status(), is(Status.RUNNING));
+    assertThat("Unexpected start time.", savedJobs.get(0).started(), notNullValue());
+    assertThat("Unexpected job status.", savedJobs.get(2).status(), is(Status.COMPLETED));
+    assertThat("Unexpected completed time.", savedJobs.get(2).completed(), notNullValue());
+  }
+
+  @Test
+  void shouldMarkItemFailedWhenHandlerThrowsException() {
+    Job job = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(Status.QUEUED).build();
+    JobItem item = pendingItem("user1");
+    when(itemRepository.findByJobIdAndStatus(eq(JOB_ID), eq(PENDING), any()))
+        .thenReturn(List.of(item), List.of());
+    when(handler.process(any(), any())).thenThrow(new IllegalStateException("expected"));
+
+    service.run(job);
+
+    ArgumentCaptor<JobItem> itemCaptor = ArgumentCaptor.captor();
+    verify(itemRepository).save(itemCaptor.capture());
+
+    JobItem processed = itemCaptor.getValue();
+    assertThat("Unexpected item status.", processed.status(), is(FAILED));
+    assertThat("Unexpected item message.", processed.message(), is("expected"));
+
+    ArgumentCaptor<Job> jobCaptor = ArgumentCaptor.captor();
+    verify(jobRepository, times(3)).save(jobCaptor.capture());
+    assertThat("Unexpected job status.", jobCaptor.getValue().status(), is(Status.COMPLETED));
+  }
+
+  @Test
+  void shouldProcessItemsInBatchesWhenHandlerSupportsBatching() {
+    Job job = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(Status.QUEUED).build();
+    JobItem item1 = pendingItem("user1");
+    JobItem item2 = pendingItem("user2");
+    JobItem item3 = pendingItem("user3");
+    when(handler.getBatchSize()).thenReturn(2);
+    when(itemRepository.findByJobIdAndStatus(eq(JOB_ID), eq(PENDING), any()))
+        .thenReturn(List.of(item1, item2, item3), List.of());
+
+    when(handler.processBatch(any(), eq(List.of(item1, item2)))).thenReturn(List.of(
+        item1.toBuilder().status(SUCCEEDED).build(),
+        item2.toBuilder().status(SUCCEEDED).build()));
+    when(handler.process(any(), eq(item3))).thenReturn(
+        item3.toBuilder().status(SUCCEEDED).build());
+
+    service.run(job);
+
+    ArgumentCaptor<Pageable> pageCaptor = ArgumentCaptor.captor();
+    verify(itemRepository, times(2)).findByJobIdAndStatus(eq(JOB_ID), eq(PENDING),
+        pageCaptor.capture());
+    assertThat("Unexpected page size.", pageCaptor.getValue().getPageSize(), is(4));
+
+    ArgumentCaptor<JobItem> itemCaptor = ArgumentCaptor.captor();
+    verify(itemRepository, times(3)).save(itemCaptor.capture());
+
+    for (JobItem processed : itemCaptor.getAllValues()) {
+      assertThat("Unexpected item status.", processed.status(), is(SUCCEEDED));
+      assertThat("Unexpected processed time.", processed.processed(), notNullValue());
+    }
+  }
+
+  @Test
+  void shouldMarkWholeBatchFailedWhenHandlerThrowsException() {
+    Job job = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(Status.QUEUED).build();
+    when(handler.getBatchSize()).thenReturn(10);
+    when(itemRepository.findByJobIdAndStatus(eq(JOB_ID), eq(PENDING), any()))
+        .thenReturn(List.of(pendingItem("user1"), pendingItem("user2")), List.of());
+    when(handler.processBatch(any(), any())).thenThrow(new IllegalStateException("expected"));
+
+    service.run(job);
+
+    ArgumentCaptor<JobItem> itemCaptor = ArgumentCaptor.captor();
+    verify(itemRepository, times(2)).save(itemCaptor.capture());
+
+    for (JobItem processed : itemCaptor.getAllValues()) {
+      assertThat("Unexpected item status.", processed.status(), is(FAILED));
+      assertThat("Unexpected item message.", processed.message(), is("expected"));
+    }
+  }
+
+  @Test
+  void shouldGatherItemsFromKeySourceInBackground() {
+    Job job = service.submit(JobType.MFA_RESET, () -> List.of("user1", "user2", "user1"),
+        Map.of());
+
+    assertThat("Unexpected job status.", job.status(), is(Status.QUEUED));
+    assertThat("Unexpected item count.", job.itemCount(), is(0L));
+    verify(itemRepository, never()).insert(anyList());
+
+    ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.captor();
+    verify(taskExecutor).execute(taskCaptor.capture());
+
+    when(itemRepository.findByJobIdAndStatus(any(), any(), any())).thenReturn(List.of());
+    taskCaptor.getValue().run();
+
+    ArgumentCaptor<List<JobItem>> itemsCaptor = ArgumentCaptor.captor();
+    verify(itemRepository).insert(itemsCaptor.capture());
+    assertThat("Unexpected item count.", itemsCaptor.getValue(), hasSize(2));
+
+    ArgumentCaptor<Job> jobCaptor = ArgumentCaptor.captor();
+    verify(jobRepository, times(4)).save(jobCaptor.capture());
+
+    List<Job> savedJobs = jobCaptor.getAllValues();
+    assertThat("Unexpected item count.", savedJobs.get(1).itemCount(), is(2L));
+    assertThat("Unexpected job status.", savedJobs.get(3).status(), is(Status.COMPLETED));
+  }
+
+  @Test
+  void shouldMarkJobFailedWhenKeySourceThrowsException() {
+    service.submit(JobType.MFA_RESET, () -> {
+      throw new IllegalStateException("expected");
+    }, Map.of());
+
+    ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.captor();
+    verify(taskExecutor).execute(taskCaptor.capture());
+    taskCaptor.getValue().run();
+
+    ArgumentCaptor<Job> jobCaptor = ArgumentCaptor.captor();
+    verify(jobRepository, times(2)).save(jobCaptor.capture());
+
+    Job failed = jobCaptor.getValue();
+    assertThat("Unexpected job status.", failed.status(), is(Status.FAILED));
+    assertThat("Unexpected failure reason.", failed.failureReason(), is("expected"));
+    verify(itemRepository, never()).insert(anyList());
+  }
+
+  @Test
+  void shouldMarkJobFailedWhenItemsCannotBeRead() {
+    Job job = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(Status.QUEUED).build();
+    when(itemRepository.findByJobIdAndStatus(any(), any(), any())).thenThrow(
+        new IllegalStateException("expected"));
+
+    service.run(job);
+
+    ArgumentCaptor<Job> jobCaptor = ArgumentCaptor.captor();
+    verify(jobRepository, times(2)).save(jobCaptor.capture());
+
+    Job failed = jobCaptor.getValue();
+    assertThat("Unexpected job status.", failed.status(), is(Status.FAILED));
+    assertThat("Unexpected failure reason.", failed.failureReason(), is("expected"));
+  }
+
+  @Test
+  void shouldIncludeItemCountsWhenGettingJob() {
+    when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(
+        Job.builder().id(JOB_ID).status(Status.RUNNING).build()));
+    when(itemRepository.countByJobIdAndStatus(anyString(), any())).thenReturn(0L);
+    when(itemRepository.countByJobIdAndStatus(JOB_ID, SUCCEEDED)).thenReturn(5L);
+    when(itemRepository.countByJobIdAndStatus(JOB_ID, PENDING)).thenReturn(2L);
+
+    Optional<Job> job = service.getJob(JOB_ID);
+
+    assertThat("Unexpected job presence.", job.isPresent(), is(true));
+    Map<JobItem.Status, Long> items = job.get().items();
+    assertThat("Unexpected succeeded count.", items.get(SUCCEEDED), is(5L));
+    assertThat("Unexpected pending count.", items.get(PENDING), is(2L));
+    assertThat("Unexpected skipped count.", items.get(SKIPPED), is(0L));
+    assertThat("Unexpected failed count.", items.get(FAILED), is(0L));
+  }
+
+  @Test
+  void shouldReturnEmptyWhenJobNotFound() {
+    when(jobRepository.findById(JOB_ID)).thenReturn(Optional.empty());
+
+    Optional<Job> job = service.getJob(JOB_ID);
+
+    assertThat("Unexpected job.", job, is(Optional.empty()));
+    verify(itemRepository, never()).countByJobIdAndStatus(any(), any());
+  }
+
+  @Test
+  void shouldGetItemPage() {
+    List<JobItem> items = List.of(pendingItem("user1"));
+    when(itemRepository.findByJobIdAndStatus(eq(JOB_ID), eq(PENDING), any())).thenReturn(items);
+
+    List<JobItem> page = service.getItems(JOB_ID, PENDING, 0, 10);
+
+    assertThat("Unexpected items.", page, is(items));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"0,1", "1,1", "5,5", "8,8", "20,8"})
+  void shouldLimitRequestedJobConcurrency(int requested, int expected) {
+    Job job = service.submit(JobType.MFA_RESET, List.of("user1"), Map.of(), requested);
+
+    assertThat("Unexpected job concurrency.", job.concurrency(), is(expected));
+  }
+
+  @Test
+  void shouldUseDefaultJobConcurrencyWhenNotRequested() {
+    Job job = service.submit(JobType.MFA_RESET, List.of("user1"), Map.of(), null);
+
+    assertThat("Unexpected job concurrency.", job.concurrency(), is(2));
+  }
+
+  @Test
+  void shouldSizeChunksByJobConcurrency() {
+    Job job = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(Status.QUEUED)
+        .concurrency(5).build();
+    when(itemRepository.findByJobIdAndStatus(eq(JOB_ID), eq(PENDING), any()))
+        .thenReturn(List.of());
+
+    service.run(job);
+
+    ArgumentCaptor<Pageable> pageCaptor = ArgumentCaptor.captor();
+    verify(itemRepository).findByJobIdAndStatus(eq(JOB_ID), eq(PENDING), pageCaptor.capture());
+    assertThat("Unexpected page size.", pageCaptor.getValue().getPageSize(), is(5));
+  }
+
+  @Test
+  void shouldRecordMetricsWhenJobCompleted() {
+    Job job = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(Status.QUEUED).build();
+    JobItem item1 = pendingItem("user1");
+    JobItem item2 = pendingItem("user2");
+    when(itemRepository.findByJobIdAndStatus(eq(JOB_ID), eq(PENDING), any()))
+        .thenReturn(List.of(item1, item2), List.of());
+    when(handler.process(any(), eq(item1))).thenReturn(
+        item1.toBuilder().status(SUCCEEDED).build());
+    when(handler.process(any(), eq(item2))).thenReturn(
+        item2.toBuilder().status(SKIPPED).build());
+
+    service.run(job);
+
+    verify(metricsService).incrementJobItemCounter(JobType.MFA_RESET, SUCCEEDED);
+    verify(metricsService).incrementJobItemCounter(JobType.MFA_RESET, SKIPPED);
+    verify(metricsService).recordJobDuration(eq(JobType.MFA_RESET), eq(Status.COMPLETED),
+        any());
+  }
+
+  @Test
+  void shouldStopRunningJobWhenCancelled() {
+    Job job = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(Status.QUEUED).build();
+    JobItem item = pendingItem("user1");
+    when(itemRepository.findByJobIdAndStatus(eq(JOB_ID), eq(PENDING), any()))
+        .thenReturn(List.of(item), List.of(pendingItem("user2")));
+    when(handler.process(any(), any())).thenReturn(item.toBuilder().status(SUCCEEDED).build());
+    when(jobRepository.save(any()))
+        .thenAnswer(inv -> inv.getArgument(0))
+        .thenThrow(new OptimisticLockingFailureException("expected"));
+
+    service.run(job);
+
+    verify(handler).process(any(), any());
+    verify(itemRepository).findByJobIdAndStatus(eq(JOB_ID), eq(PENDING), any());
+
+    ArgumentCaptor<Job> jobCaptor = ArgumentCaptor.captor();
+    verify(jobRepository, times(2)).save(jobCaptor.capture());
+    assertThat("Unexpected job status.", jobCaptor.getAllValues().get(0).status(),
+        is(Status.RUNNING));
+    verify(metricsService, never()).recordJobDuration(any(), any(), any());
+    verify(jobRepository).releaseLease(eq(JOB_ID), anyString());
+  }
+
+  @Test
+  void shouldNotCompleteJobCancelledWhileProcessingLastChunk() {
+    Job job = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(Status.QUEUED).build();
+    when(itemRepository.findByJobIdAndStatus(eq(JOB_ID), eq(PENDING), any()))
+        .thenReturn(List.of());
+    when(jobRepository.save(any()))
+        .thenAnswer(inv -> inv.getArgument(0))
+        .thenThrow(new OptimisticLockingFailureException("expected"));
+
+    service.run(job);
+
+    verify(metricsService, never()).recordJobDuration(any(), any(), any());
+    verify(jobRepository).releaseLease(eq(JOB_ID), anyString());
+  }
+
+  @Test
+  void shouldNotFailJobCancelledWhileRunning() {
+    Job job = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(Status.QUEUED).build();
+    when(itemRepository.findByJobIdAndStatus(any(), any(), any())).thenThrow(
+        new IllegalStateException("expected"));
+    when(jobRepository.save(any()))
+        .thenAnswer(inv -> inv.getArgument(0))
+        .thenThrow(new OptimisticLockingFailureException("expected"));
+
+    service.run(job);
+
+    verify(metricsService, never()).recordJobDuration(any(), any(), any());
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = Status.class, names = {"QUEUED", "RUNNING"})
+  void shouldCancelActiveJob(Status status) {
+    Instant started = Instant.now().minusSeconds(60);
+    when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(
+        Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(status).started(started)
+            .build()));
+
+    Optional<Job> job = service.cancel(JOB_ID);
+
+    assertThat("Unexpected job presence.", job.isPresent(), is(true));
+    assertThat("Unexpected job status.", job.get().status(), is(Status.CANCELLED));
+    assertThat("Unexpected completed time.", job.get().completed(), notNullValue());
+    verify(metricsService).recordJobDuration(eq(JobType.MFA_RESET), eq(Status.CANCELLED),
+        any());
+  }
+
+  @Test
+  void shouldRetryCancelWhenJobChangedConcurrently() {
+    Job running = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(Status.RUNNING)
+        .build();
+    when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(running));
+    when(jobRepository.save(any()))
+        .thenThrow(new OptimisticLockingFailureException("expected"))
+        .thenAnswer(inv -> inv.getArgument(0));
+
+    Optional<Job> job = service.cancel(JOB_ID);
+
+    assertThat("Unexpected job presence.", job.isPresent(), is(true));
+    assertThat("Unexpected job status.", job.get().status(), is(Status.CANCELLED));
+    verify(jobRepository, times(2)).findById(JOB_ID);
+  }
+
+  @Test
+  void shouldNotRetryCancelWhenJobFinishedConcurrently() {
+    Job running = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(Status.RUNNING)
+        .build();
+    Job completed = running.toBuilder().status(Status.COMPLETED).build();
+    when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(running),
+        Optional.of(completed));
+    doThrow(new OptimisticLockingFailureException("expected")).when(jobRepository).save(any());
+
+    Optional<Job> job = service.cancel(JOB_ID);
+
+    assertThat("Unexpected job.", job, is(Optional.of(completed)));
+    verify(jobRepository).save(any());
+  }
+
+  @Test
+  void shouldThrowExceptionWhenCancelRepeatedlyConflicts() {
+    Job running = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(Status.RUNNING)
+        .build();
+    when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(running));
+    doThrow(new OptimisticLockingFailureException("expected")).when(jobRepository).save(any());
+
+    assertThrows(OptimisticLockingFailureException.class, () -> service.cancel(JOB_ID));
+
+    verify(jobRepository, times(3)).save(any());
+  }
+
+  @Test
+  void shouldNotRunJobCancelledWhileGatheringItems() {
+    service.submit(JobType.MFA_RESET, () -> List.of("user1"), Map.of());
+    doThrow(new OptimisticLockingFailureException("expected")).when(jobRepository).save(any());
+
+    ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.captor();
+    verify(taskExecutor).execute(taskCaptor.capture());
+    taskCaptor.getValue().run();
+
+    verify(itemRepository, never()).findByJobIdAndStatus(any(), any(), any());
+    verify(metricsService, never()).recordJobDuration(any(), any(), any());
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = Status.class, names = {"COMPLETED", "FAILED", "CANCELLED"})
+  void shouldNotCancelFinishedJob(Status status) {
+    Job finished = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(status).build();
+    when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(finished));
+
+    Optional<Job> job = service.cancel(JOB_ID);
+
+    assertThat("Unexpected job.", job, is(Optional.of(finished)));
+    verify(jobRepository, never()).save(any());
+  }
+
+  @Test
+  void shouldReturnEmptyWhenCancellingJobNotFound() {
+    when(jobRepository.findById(JOB_ID)).thenReturn(Optional.empty());
+
+    Optional<Job> job = service.cancel(JOB_ID);
+
+    assertThat("Unexpected job.", job, is(Optional.empty()));
+    verify(jobRepository, never()).save(any());
+  }
+
+  @Test
+  void shouldRenewLeasesOfOwnedJobs() {
+    service.renewLeases();
+
+    ArgumentCaptor<Instant> leaseCaptor = ArgumentCaptor.captor();
+    verify(jobRepository).renewLeases(anyString(), eq(Set.of(Status.QUEUED, Status.RUNNING)),
+        leaseCaptor.capture());
+    assertThat("Unexpected lease expiry.",
+        leaseCaptor.getValue().isAfter(Instant.now().plus(STALE_AFTER).minusSeconds(1)),
+        is(true));
+  }
+
+  @Test
+  void shouldResumeAbandonedJobsWithItemsWhenClaimed() {
+    Job job = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(Status.RUNNING)
+        .itemCount(2).build();
+    when(jobRepository.findAbandoned(any(), any())).thenReturn(List.of(job));
+    when(jobRepository.claim(eq(JOB_ID), any(), any(), anyString(), any())).thenReturn(1L);
+    when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+
+    service.resumeAbandoned();
+
+    verify(jobRepository).findAbandoned(eq(Set.of(Status.QUEUED, Status.RUNNING)), any());
+    verify(taskExecutor).execute(any());
+    verify(jobRepository, never()).save(any());
+  }
+
+  @Test
+  void shouldNotResumeAbandonedJobsWhenClaimedElsewhere() {
+    Job job = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(Status.RUNNING)
+        .itemCount(2).build();
+    when(jobRepository.findAbandoned(any(), any())).thenReturn(List.of(job));
+    when(jobRepository.claim(eq(JOB_ID), any(), any(), anyString(), any())).thenReturn(0L);
+
+    service.resumeAbandoned();
+
+    verify(jobRepository, never()).findById(any());
+    verifyNoInteractions(taskExecutor);
+  }
+
+  @Test
+  void shouldFailAbandonedJobsWithoutItems() {
+    Job job = Job.builder().id(JOB_ID).type(JobType.PROFILE_RESYNC).status(Status.QUEUED)
+        .submitted(Instant.now()).build();
+    when(jobRepository.findAbandoned(any(), any())).thenReturn(List.of(job));
+    when(jobRepository.claim(eq(JOB_ID), any(), any(), anyString(), any())).thenReturn(1L);
+    when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+
+    service.resumeAbandoned();
+
+    ArgumentCaptor<Job> jobCaptor = ArgumentCaptor.captor();
+    verify(jobRepository).save(jobCaptor.capture());
+
+    Job failed = jobCaptor.getValue();
+    assertThat("Unexpected job status.", failed.status(), is(Status.FAILED));
+    assertThat("Unexpected failure reason.", failed.failureReason(),
+        is("Interrupted before the job items were gathered."));
+    verifyNoInteractions(taskExecutor);
+  }
+
+  @Test
+  void shouldNotResetStartTimeWhenResumingJob() {
+    Instant started = Instant.parse("2024-01-01T00:00:00Z");
+    Job job = Job.builder().id(JOB_ID).type(JobType.MFA_RESET).status(Status.RUNNING)
+        .started(started).build();
+    when(itemRepository.findByJobIdAndStatus(eq(JOB_ID), eq(PENDING), any()))
+        .thenReturn(List.of());
+
+    service.run(job);
+
+    ArgumentCaptor<Job> jobCaptor = ArgumentCaptor.captor();
+    verify(jobRepository, times(2)).save(jobCaptor.capture());
+    assertThat("Unexpected start time.", jobCaptor.getAllValues().get(0).started(),
+        is(started));
+  }
+
+  /**
+   * Create a pending item for the test job.
+   *
+   * @param key The key of the item.
+   * @return The pending item.
+   */
+  private static JobItem pendingItem(String key) {
+    return JobItem.builder()
+        .id(JOB_ID + ":" + key)
+        .jobId(JOB_ID)
+        .key(key)
+        .status(PENDING)
+        .build();
+  }
+}
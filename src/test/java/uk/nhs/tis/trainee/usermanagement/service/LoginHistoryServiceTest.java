@@ -0,0 +1,295 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListUserAuthEventsRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListUserAuthEventsResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AuthEventType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ChallengeResponseType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.EventContextDataType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
+import uk.nhs.tis.trainee.usermanagement.dto.UserLoginDetailsDto;
+import uk.nhs.tis.trainee.usermanagement.dto.UserLoginHistoryPageDto;
+
+class LoginHistoryServiceTest {
+
+  private static final String USER_POOL_ID = "region_abc213";
+  private static final String EMAIL = "joe.bloggs@fake.email";
+
+  private LoginHistoryService service;
+  private CognitoService cognitoService;
+  private CognitoRateLimiter rateLimiter;
+  private Cache cache;
+  private TaskExecutor taskExecutor;
+
+  @BeforeEach
+  void setUp() {
+    cognitoService = mock(CognitoService.class);
+    rateLimiter = mock(CognitoRateLimiter.class);
+    cache = new ConcurrentMapCache(LoginHistoryService.LOGIN_HISTORY_CACHE);
+
+    CacheManager cacheManager = mock(CacheManager.class);
+    when(cacheManager.getCache(LoginHistoryService.LOGIN_HISTORY_CACHE)).thenReturn(cache);
+
+    taskExecutor = mock(TaskExecutor.class);
+
+    DependencyGuard guard = new DependencyGuard(CircuitBreakerRegistry.ofDefaults(),
+        BulkheadRegistry.ofDefaults(), mock(MetricsService.class));
+
+    service = new LoginHistoryService(cognitoService, rateLimiter, USER_POOL_ID, cacheManager,
+        taskExecutor, guard);
+  }
+
+  @Test
+  void shouldReturnNoLoginsWhenUserNotFoundGettingLoginHistory() {
+    when(cognitoService.adminListUserAuthEvents(any())).thenThrow(UserNotFoundException.class);
+
+    UserLoginHistoryPageDto page = service.getLoginHistory(EMAIL, null, 10);
+
+    assertThat("Unexpected logins count.", page.events().size(), is(0));
+    assertThat("Unexpected next token.", page.nextToken(), nullValue());
+    assertThat("Unexpected cached page.", cache.get(EMAIL + ":10:"), nullValue());
+  }
+
+  @Test
+  void shouldGetLoginsWhenUserFoundGettingLoginHistory() {
+    Instant eventInstant = Instant.EPOCH;
+
+    ChallengeResponseType challenge1 = ChallengeResponseType.builder()
+        .challengeName("Password")
+        .challengeResponse("Success")
+        .build();
+    ChallengeResponseType challenge2 = ChallengeResponseType.builder()
+        .challengeName("Mfa")
+        .challengeResponse("Failure")
+        .build();
+
+    EventContextDataType eventContextDataType = EventContextDataType.builder()
+        .deviceName("DEVICE")
+        .build();
+
+    AuthEventType authEventTypeOne = AuthEventType.builder()
+        .creationDate(eventInstant)
+        .eventId("EVENT_ID")
+        .eventType("EVENT_TYPE")
+        .eventResponse("RESPONSE")
+        .challengeResponses(List.of(challenge1, challenge2))
+        .eventContextData(eventContextDataType)
+        .build();
+
+    Instant eventInstantTwo = Instant.now();
+
+    ChallengeResponseType challenge3 = ChallengeResponseType.builder()
+        .challengeName("Password")
+        .challengeResponse("Failure")
+        .build();
+
+    EventContextDataType eventContextDataTypeTwo = EventContextDataType.builder()
+        .deviceName("DEVICE_2")
+        .build();
+
+    AuthEventType authEventTypeTwo = AuthEventType.builder()
+        .creationDate(eventInstantTwo)
+        .eventId("EVENT_ID_2")
+        .eventType("EVENT_TYPE_2")
+        .eventResponse("RESPONSE_2")
+        .challengeResponses(List.of(challenge3))
+        .eventContextData(eventContextDataTypeTwo)
+        .build();
+
+    AdminListUserAuthEventsResponse result = AdminListUserAuthEventsResponse.builder()
+        .authEvents(List.of(authEventTypeOne, authEventTypeTwo))
+        .build();
+
+    when(cognitoService.adminListUserAuthEvents(any())).thenReturn(result);
+
+    List<UserLoginDetailsDto> userLogins = service.getLoginHistory(EMAIL, null, 10).events();
+
+    assertThat("Unexpected logins count.", userLogins.size(), is(2));
+
+    UserLoginDetailsDto loginOne = userLogins.get(0);
+    assertThat("Unexpected login id.", loginOne.getEventId(), is("EVENT_ID"));
+    assertThat("Unexpected login event.", loginOne.getEvent(), is("EVENT_TYPE"));
+    assertThat("Unexpected login date.", loginOne.getEventDate(), is(eventInstant));
+    assertThat("Unexpected login result.", loginOne.getResult(), is("RESPONSE"));
+    assertThat("Unexpected login device.", loginOne.getDevice(), is("DEVICE"));
+    assertThat("Unexpected login challenge.", loginOne.getChallenges(),
+        is("Password:Success, Mfa:Failure"));
+
+    UserLoginDetailsDto loginTwo = userLogins.get(1);
+    assertThat("Unexpected login id.", loginTwo.getEventId(), is("EVENT_ID_2"));
+    assertThat("Unexpected login event.", loginTwo.getEvent(), is("EVENT_TYPE_2"));
+    assertThat("Unexpected login date.", loginTwo.getEventDate(), is(eventInstantTwo));
+    assertThat("Unexpected login result.", loginTwo.getResult(), is("RESPONSE_2"));
+    assertThat("Unexpected login device.", loginTwo.getDevice(), is("DEVICE_2"));
+    assertThat("Unexpected login challenge.", loginTwo.getChallenges(),
+        is("Password:Failure"));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"-1,1", "0,1", "1,1", "10,10", "60,60", "61,60"})
+  void shouldRequestClampedPageSizeWhenGettingLoginHistory(int requested, int expected) {
+    ArgumentCaptor<AdminListUserAuthEventsRequest> requestCaptor = ArgumentCaptor.captor();
+    when(cognitoService.adminListUserAuthEvents(requestCaptor.capture())).thenReturn(
+        AdminListUserAuthEventsResponse.builder().authEvents(List.of()).build());
+
+    service.getLoginHistory(EMAIL, "TOKEN_1", requested);
+
+    AdminListUserAuthEventsRequest request = requestCaptor.getValue();
+    assertThat("Unexpected user pool.", request.userPoolId(), is(USER_POOL_ID));
+    assertThat("Unexpected username.", request.username(), is(EMAIL));
+    assertThat("Unexpected max results.", request.maxResults(), is(expected));
+    assertThat("Unexpected next token.", request.nextToken(), is("TOKEN_1"));
+  }
+
+  @Test
+  void shouldCacheFetchedPageWhenGettingLoginHistory() {
+    when(cognitoService.adminListUserAuthEvents(any())).thenReturn(
+        AdminListUserAuthEventsResponse.builder()
+            .authEvents(List.of())
+            .nextToken("TOKEN_2")
+            .build());
+
+    UserLoginHistoryPageDto page = service.getLoginHistory(EMAIL, "TOKEN_1", 10);
+
+    assertThat("Unexpected next token.", page.nextToken(), is("TOKEN_2"));
+    assertThat("Unexpected cached page.",
+        cache.get(EMAIL + ":10:TOKEN_1", UserLoginHistoryPageDto.class), is(page));
+  }
+
+  @Test
+  void shouldNotCacheNewestPageWhenGettingLoginHistory() {
+    when(cognitoService.adminListUserAuthEvents(any())).thenReturn(
+        AdminListUserAuthEventsResponse.builder()
+            .authEvents(List.of())
+            .build());
+
+    service.getLoginHistory(EMAIL, null, 10);
+    service.getLoginHistory(EMAIL, null, 10);
+
+    assertThat("Unexpected cached page.", cache.get(EMAIL + ":10:"), nullValue());
+    verify(cognitoService, times(2)).adminListUserAuthEvents(any());
+  }
+
+  @Test
+  void shouldReturnCachedPageWithoutCognitoRequestWhenPageCached() {
+    UserLoginHistoryPageDto cachedPage = new UserLoginHistoryPageDto(List.of(), null);
+    cache.put(EMAIL + ":10:TOKEN_1", cachedPage);
+
+    UserLoginHistoryPageDto page = service.getLoginHistory(EMAIL, "TOKEN_1", 10);
+
+    assertThat("Unexpected page.", page, sameInstance(cachedPage));
+    verifyNoInteractions(cognitoService);
+  }
+
+  @Test
+  void shouldNotPrefetchWhenNoFollowingPage() {
+    cache.put(EMAIL + ":10:TOKEN_1", new UserLoginHistoryPageDto(List.of(), null));
+
+    service.getLoginHistory(EMAIL, "TOKEN_1", 10);
+
+    verifyNoInteractions(taskExecutor);
+  }
+
+  @Test
+  void shouldPrefetchFollowingPageWhenFollowingPageExists() {
+    ArgumentCaptor<AdminListUserAuthEventsRequest> requestCaptor = ArgumentCaptor.captor();
+    when(cognitoService.adminListUserAuthEvents(requestCaptor.capture())).thenReturn(
+        AdminListUserAuthEventsResponse.builder()
+            .authEvents(List.of())
+            .nextToken("TOKEN_1")
+            .build(),
+        AdminListUserAuthEventsResponse.builder()
+            .authEvents(List.of())
+            .nextToken("TOKEN_2")
+            .build());
+    ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.captor();
+
+    service.getLoginHistory(EMAIL, null, 10);
+
+    verify(taskExecutor).execute(taskCaptor.capture());
+    taskCaptor.getValue().run();
+
+    verify(rateLimiter).acquire();
+    assertThat("Unexpected next token.", requestCaptor.getValue().nextToken(), is("TOKEN_1"));
+
+    UserLoginHistoryPageDto prefetched = cache.get(EMAIL + ":10:TOKEN_1",
+        UserLoginHistoryPageDto.class);
+    assertThat("Unexpected prefetched page.", prefetched, notNullValue());
+    assertThat("Unexpected next token.", prefetched.nextToken(), is("TOKEN_2"));
+  }
+
+  @Test
+  void shouldNotFetchPrefetchedPageWhenAlreadyCached() {
+    cache.put(EMAIL + ":10:TOKEN_1", new UserLoginHistoryPageDto(List.of(), "TOKEN_2"));
+    cache.put(EMAIL + ":10:TOKEN_2", new UserLoginHistoryPageDto(List.of(), null));
+    ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.captor();
+
+    service.getLoginHistory(EMAIL, "TOKEN_1", 10);
+
+    verify(taskExecutor).execute(taskCaptor.capture());
+    taskCaptor.getValue().run();
+
+    verifyNoInteractions(rateLimiter);
+    verify(cognitoService, never()).adminListUserAuthEvents(any());
+  }
+
+  @Test
+  void shouldReturnPageWhenPrefetchRejected() {
+    UserLoginHistoryPageDto cachedPage = new UserLoginHistoryPageDto(List.of(), "TOKEN_2");
+    cache.put(EMAIL + ":10:TOKEN_1", cachedPage);
+    doThrow(TaskRejectedException.class).when(taskExecutor).execute(any());
+
+    UserLoginHistoryPageDto page = service.getLoginHistory(EMAIL, "TOKEN_1", 10);
+
+    assertThat("Unexpected page.", page, sameInstance(cachedPage));
+    verify(taskExecutor, times(1)).execute(any());
+  }
+}
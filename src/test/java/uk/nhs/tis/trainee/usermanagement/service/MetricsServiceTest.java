@@ -23,23 +23,57 @@ package uk.nhs.tis.trainee.usermanagement.service;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_CIRCUIT_BREAKER_TRANSITIONS;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_COGNITO_COALESCING;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_COGNITO_MAU_BILLABLE;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_COGNITO_REQUESTS;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_CONTACT_DETAILS;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_CONTACT_DETAILS_AGE;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_CONTACT_DETAILS_QUEUE_DEPTH;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_DEPENDENCY_FALLBACKS;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_DUPLICATE_RESOLUTION;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_JOB_DURATION;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_JOB_ITEMS;
 import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_NAME_ACCOUNT_DELETE;
 import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_NAME_MFA_RESET;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_PROFILE_CLIENT_REJECTED;
 import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_RESYNC;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_USER_INDEX_AGE;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_USER_INDEX_ENTRIES;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_USER_INDEX_LOOKUPS;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_USER_INDEX_SCAN;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_USER_INDEX_SCAN_PAGES;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_USER_INDEX_SCAN_THROTTLED;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.METRIC_USER_INDEX_SCAN_USERS;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.TAG_DEPENDENCY;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.TAG_JOB_TYPE;
 import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.TAG_MFA;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.TAG_OPERATION;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.TAG_OUTCOME;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.TAG_RESULT;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.TAG_STATE;
+import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.TAG_STATUS;
 import static uk.nhs.tis.trainee.usermanagement.service.MetricsService.TAG_USER_STATUS;
 
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.cumulative.CumulativeCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -48,7 +82,14 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.UserStatusType;
+import uk.nhs.tis.trainee.usermanagement.enumeration.CognitoOperation;
+import uk.nhs.tis.trainee.usermanagement.enumeration.CognitoOutcome;
+import uk.nhs.tis.trainee.usermanagement.enumeration.ContactDetailsOutcome;
+import uk.nhs.tis.trainee.usermanagement.enumeration.Dependency;
 import uk.nhs.tis.trainee.usermanagement.enumeration.MfaType;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.JobItem;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
 
 class MetricsServiceTest {
 
@@ -73,6 +114,20 @@ class MetricsServiceTest {
     Counter counterResync = new CumulativeCounter(idResync);
     when(meterRegistry.counter(METRIC_RESYNC)).thenReturn(counterResync);
 
+    SimpleMeterRegistry simpleRegistry = new SimpleMeterRegistry();
+    when(meterRegistry.config()).thenReturn(simpleRegistry.config());
+    when(meterRegistry.timer(METRIC_DUPLICATE_RESOLUTION, TAG_OUTCOME, "Resolved")).thenReturn(
+        simpleRegistry.timer("resolved"));
+    when(meterRegistry.timer(METRIC_DUPLICATE_RESOLUTION, TAG_OUTCOME, "Unresolved")).thenReturn(
+        simpleRegistry.timer("unresolved"));
+
+    when(meterRegistry.counter(eq(METRIC_JOB_ITEMS), eq(TAG_JOB_TYPE), any(), eq(TAG_STATUS),
+        any())).thenAnswer(inv -> simpleRegistry.counter(METRIC_JOB_ITEMS,
+        TAG_JOB_TYPE, inv.getArgument(2), TAG_STATUS, inv.getArgument(4)));
+    when(meterRegistry.timer(eq(METRIC_JOB_DURATION), eq(TAG_JOB_TYPE), any(), eq(TAG_STATUS),
+        any())).thenAnswer(inv -> simpleRegistry.timer(METRIC_JOB_DURATION,
+        TAG_JOB_TYPE, inv.getArgument(2), TAG_STATUS, inv.getArgument(4)));
+
     service = new MetricsService(meterRegistry);
   }
 
@@ -111,6 +166,37 @@ class MetricsServiceTest {
     assertThat("Unexpected resync counter.", after, is(expected));
   }
 
+  @Test
+  void shouldIncrementResyncCounterByCount() {
+    double before = service.resyncCounter.count();
+
+    service.incrementResyncCounter(10);
+    double after = service.resyncCounter.count();
+    double expected = before + 10;
+
+    assertThat("Unexpected resync counter.", after, is(expected));
+  }
+
+  @Test
+  void shouldRecordResolvedDuplicateResolution() {
+    service.recordDuplicateResolution(Duration.ofMillis(250), true);
+
+    assertThat("Unexpected resolved count.", service.resolvedDuplicateTimer.count(), is(1L));
+    assertThat("Unexpected resolved total.",
+        service.resolvedDuplicateTimer.totalTime(TimeUnit.MILLISECONDS), is(250.0));
+    assertThat("Unexpected unresolved count.", service.unresolvedDuplicateTimer.count(), is(0L));
+  }
+
+  @Test
+  void shouldRecordUnresolvedDuplicateResolution() {
+    service.recordDuplicateResolution(Duration.ofMillis(250), false);
+
+    assertThat("Unexpected unresolved count.", service.unresolvedDuplicateTimer.count(), is(1L));
+    assertThat("Unexpected unresolved total.",
+        service.unresolvedDuplicateTimer.totalTime(TimeUnit.MILLISECONDS), is(250.0));
+    assertThat("Unexpected resolved count.", service.resolvedDuplicateTimer.count(), is(0L));
+  }
+
   /**
    * Create a stream of paired MFA and UserStatusType arguments.
    *
@@ -125,4 +211,271 @@ class MetricsServiceTest {
     }
     return args.stream();
   }
+
+  @ParameterizedTest
+  @EnumSource(JobItem.Status.class)
+  void shouldIncrementJobItemCounterForTypeAndStatus(JobItem.Status status) {
+    service.incrementJobItemCounter(JobType.MFA_RESET, status);
+
+    assertThat("Unexpected job item count.",
+        service.jobItemCounters.get(JobType.MFA_RESET).get(status).count(), is(1.0));
+    assertThat("Unexpected job item counters.", service.jobItemCounters.keySet(),
+        is(Set.of(JobType.MFA_RESET)));
+    assertThat("Unexpected job item counters.",
+        service.jobItemCounters.get(JobType.MFA_RESET).keySet(), is(Set.of(status)));
+  }
+
+  @Test
+  void shouldRecordJobDurationForTypeAndStatus() {
+    service.recordJobDuration(JobType.PROFILE_RESYNC, Job.Status.COMPLETED,
+        Duration.ofSeconds(30));
+
+    Timer timer = service.jobTimers.get(JobType.PROFILE_RESYNC).get(Job.Status.COMPLETED);
+    assertThat("Unexpected job count.", timer.count(), is(1L));
+    assertThat("Unexpected job duration.", timer.totalTime(TimeUnit.SECONDS), is(30.0));
+    assertThat("Unexpected job timers.",
+        service.jobTimers.get(JobType.PROFILE_RESYNC).keySet(), is(Set.of(Job.Status.COMPLETED)));
+  }
+
+  @Test
+  void shouldRecordCognitoRequestForOperationAndOutcome() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    service = new MetricsService(registry);
+
+    service.recordCognitoRequest(CognitoOperation.LIST_USERS, CognitoOutcome.THROTTLED,
+        Duration.ofMillis(120));
+
+    Timer timer = registry.get(METRIC_COGNITO_REQUESTS)
+        .tag(TAG_OPERATION, "ListUsers")
+        .tag(TAG_OUTCOME, "THROTTLED")
+        .timer();
+    assertThat("Unexpected request count.", timer.count(), is(1L));
+    assertThat("Unexpected request duration.", timer.totalTime(TimeUnit.MILLISECONDS), is(120.0));
+    assertThat("Unexpected SLO buckets.", timer.takeSnapshot().histogramCounts().length,
+        is(0));
+  }
+
+  @Test
+  void shouldPublishLatencyDistributionForSuccessfulCognitoRequests() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    service = new MetricsService(registry);
+
+    service.recordCognitoRequest(CognitoOperation.LIST_USERS, CognitoOutcome.SUCCESS,
+        Duration.ofMillis(120));
+
+    Timer timer = registry.get(METRIC_COGNITO_REQUESTS)
+        .tag(TAG_OPERATION, "ListUsers")
+        .tag(TAG_OUTCOME, "SUCCESS")
+        .timer();
+    assertThat("Unexpected request count.", timer.count(), is(1L));
+    assertThat("Unexpected SLO buckets.", timer.takeSnapshot().histogramCounts().length > 0,
+        is(true));
+  }
+
+  @Test
+  void shouldNotRegisterCognitoRequestTimersUntilUsed() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    service = new MetricsService(registry);
+
+    assertThat("Unexpected request timers.", registry.find(METRIC_COGNITO_REQUESTS).timers(),
+        empty());
+
+    service.recordCognitoRequest(CognitoOperation.ADMIN_GET_USER, CognitoOutcome.SUCCESS,
+        Duration.ofMillis(10));
+    service.recordCognitoRequest(CognitoOperation.ADMIN_GET_USER, CognitoOutcome.SUCCESS,
+        Duration.ofMillis(20));
+
+    assertThat("Unexpected request timers.", registry.find(METRIC_COGNITO_REQUESTS).timers(),
+        hasSize(1));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CognitoOperation.class)
+  void shouldCountSuccessfulMauBillableCognitoRequests(CognitoOperation operation) {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    service = new MetricsService(registry);
+
+    service.recordCognitoRequest(operation, CognitoOutcome.SUCCESS, Duration.ofMillis(10));
+
+    Counter counter = registry.find(METRIC_COGNITO_MAU_BILLABLE)
+        .tag(TAG_OPERATION, operation.getOperationName())
+        .counter();
+    double expected = operation.isMauBillable() ? 1 : 0;
+    assertThat("Unexpected MAU billable count.", counter == null ? 0 : counter.count(),
+        is(expected));
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = CognitoOutcome.class, names = "SUCCESS", mode = EnumSource.Mode.EXCLUDE)
+  void shouldNotCountFailedMauBillableCognitoRequests(CognitoOutcome outcome) {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    service = new MetricsService(registry);
+
+    service.recordCognitoRequest(CognitoOperation.ADMIN_GET_USER, outcome, Duration.ofMillis(10));
+
+    assertThat("Unexpected MAU billable counters.",
+        registry.find(METRIC_COGNITO_MAU_BILLABLE).counters(), empty());
+  }
+
+  @Test
+  void shouldCountUserIndexPagesUsersAndThrottles() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    service = new MetricsService(registry);
+
+    service.incrementUserIndexPageCounter(60);
+    service.incrementUserIndexPageCounter(15);
+    service.incrementUserIndexThrottleCounter();
+
+    assertThat("Unexpected page count.", registry.get(METRIC_USER_INDEX_SCAN_PAGES).counter()
+        .count(), is(2.0));
+    assertThat("Unexpected user count.", registry.get(METRIC_USER_INDEX_SCAN_USERS).counter()
+        .count(), is(75.0));
+    assertThat("Unexpected throttle count.",
+        registry.get(METRIC_USER_INDEX_SCAN_THROTTLED).counter().count(), is(1.0));
+  }
+
+  @Test
+  void shouldRecordUserIndexRefresh() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    service = new MetricsService(registry);
+
+    assertThat("Unexpected initial index age.",
+        Double.isNaN(registry.get(METRIC_USER_INDEX_AGE).gauge().value()), is(true));
+
+    service.recordUserIndexRefresh(Duration.ofSeconds(90), 1234);
+
+    Timer timer = registry.get(METRIC_USER_INDEX_SCAN).timer();
+    assertThat("Unexpected scan count.", timer.count(), is(1L));
+    assertThat("Unexpected scan duration.", timer.totalTime(TimeUnit.SECONDS), is(90.0));
+    assertThat("Unexpected index entries.",
+        registry.get(METRIC_USER_INDEX_ENTRIES).gauge().value(), is(1234.0));
+    assertThat("Unexpected index age.",
+        registry.get(METRIC_USER_INDEX_AGE).gauge().value() >= 0, is(true));
+  }
+
+  @Test
+  void shouldCountUserIndexHitsAndMisses() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    service = new MetricsService(registry);
+
+    service.incrementUserIndexLookupCounter(true);
+    service.incrementUserIndexLookupCounter(true);
+    service.incrementUserIndexLookupCounter(false);
+
+    assertThat("Unexpected hit count.",
+        registry.get(METRIC_USER_INDEX_LOOKUPS).tag(TAG_RESULT, "Hit").counter().count(),
+        is(2.0));
+    assertThat("Unexpected miss count.",
+        registry.get(METRIC_USER_INDEX_LOOKUPS).tag(TAG_RESULT, "Miss").counter().count(),
+        is(1.0));
+  }
+
+  @ParameterizedTest
+  @EnumSource(ContactDetailsOutcome.class)
+  void shouldRecordContactDetailsUpdateForOutcome(ContactDetailsOutcome outcome) {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    service = new MetricsService(registry);
+
+    service.recordContactDetailsUpdate(outcome, Duration.ofMillis(40));
+
+    Timer timer = registry.get(METRIC_CONTACT_DETAILS)
+        .tag(TAG_OUTCOME, outcome.name())
+        .timer();
+    assertThat("Unexpected update count.", timer.count(), is(1L));
+    assertThat("Unexpected update timers.", registry.find(METRIC_CONTACT_DETAILS).timers(),
+        hasSize(1));
+  }
+
+  @Test
+  void shouldRecordContactDetailsMessageAge() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    service = new MetricsService(registry);
+
+    service.recordContactDetailsMessageAge(Duration.ofSeconds(12));
+
+    Timer timer = registry.get(METRIC_CONTACT_DETAILS_AGE).timer();
+    assertThat("Unexpected message count.", timer.count(), is(1L));
+    assertThat("Unexpected message age.", timer.totalTime(TimeUnit.SECONDS), is(12.0));
+  }
+
+  @Test
+  void shouldRecordContactDetailsQueueDepth() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    service = new MetricsService(registry);
+
+    service.recordContactDetailsQueueDepth(250, 16);
+
+    assertThat("Unexpected visible depth.", registry.get(METRIC_CONTACT_DETAILS_QUEUE_DEPTH)
+        .tag(TAG_STATE, "Visible").gauge().value(), is(250.0));
+    assertThat("Unexpected in-flight depth.", registry.get(METRIC_CONTACT_DETAILS_QUEUE_DEPTH)
+        .tag(TAG_STATE, "InFlight").gauge().value(), is(16.0));
+  }
+
+  @Test
+  void shouldCountProfileClientRejections() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    service = new MetricsService(registry);
+
+    service.incrementProfileClientRejectedCounter();
+    service.incrementProfileClientRejectedCounter();
+
+    assertThat("Unexpected rejection count.",
+        registry.get(METRIC_PROFILE_CLIENT_REJECTED).counter().count(), is(2.0));
+  }
+
+  @Test
+  void shouldCountCircuitBreakerTransitionsByDependencyAndState() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    service = new MetricsService(registry);
+
+    service.incrementCircuitBreakerTransitionCounter(Dependency.COGNITO,
+        CircuitBreaker.State.OPEN);
+    service.incrementCircuitBreakerTransitionCounter(Dependency.COGNITO,
+        CircuitBreaker.State.HALF_OPEN);
+
+    assertThat("Unexpected open count.", registry.get(METRIC_CIRCUIT_BREAKER_TRANSITIONS)
+        .tags(TAG_DEPENDENCY, "COGNITO", TAG_STATE, "OPEN").counter().count(), is(1.0));
+    assertThat("Unexpected half open count.", registry.get(METRIC_CIRCUIT_BREAKER_TRANSITIONS)
+        .tags(TAG_DEPENDENCY, "COGNITO", TAG_STATE, "HALF_OPEN").counter().count(), is(1.0));
+    assertThat("Unexpected transition counters.",
+        registry.find(METRIC_CIRCUIT_BREAKER_TRANSITIONS).counters(), hasSize(2));
+  }
+
+  @Test
+  void shouldCountDependencyFallbacks() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    service = new MetricsService(registry);
+
+    service.incrementDependencyFallbackCounter(Dependency.CACHE);
+
+    assertThat("Unexpected fallback count.", registry.get(METRIC_DEPENDENCY_FALLBACKS)
+        .tags(TAG_DEPENDENCY, "CACHE").counter().count(), is(1.0));
+  }
+
+  @Test
+  void shouldNotRegisterTaggedMetersUntilUsed() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    service = new MetricsService(registry);
+
+    for (String name : List.of(METRIC_JOB_ITEMS, METRIC_JOB_DURATION, METRIC_COGNITO_MAU_BILLABLE,
+        METRIC_COGNITO_COALESCING, METRIC_CONTACT_DETAILS, METRIC_CIRCUIT_BREAKER_TRANSITIONS,
+        METRIC_DEPENDENCY_FALLBACKS)) {
+      assertThat("Unexpected meters for " + name + ".", registry.find(name).meters(), empty());
+    }
+  }
+
+  @Test
+  void shouldCountIssuedAndSharedCognitoLookups() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    service = new MetricsService(registry);
+
+    service.incrementCognitoCoalescingCounter(CognitoOperation.LIST_USERS, false);
+    service.incrementCognitoCoalescingCounter(CognitoOperation.LIST_USERS, true);
+    service.incrementCognitoCoalescingCounter(CognitoOperation.LIST_USERS, true);
+
+    assertThat("Unexpected issued count.", registry.get(METRIC_COGNITO_COALESCING)
+        .tags(TAG_OPERATION, "ListUsers", TAG_RESULT, "Issued").counter().count(), is(1.0));
+    assertThat("Unexpected shared count.", registry.get(METRIC_COGNITO_COALESCING)
+        .tags(TAG_OPERATION, "ListUsers", TAG_RESULT, "Shared").counter().count(), is(2.0));
+  }
 }
@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.FAILED;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.PENDING;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.SUCCEEDED;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.TooManyRequestsException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.JobItem;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
+
+class MfaResetJobHandlerTest {
+
+  private static final String USERNAME = "joe.bloggs@fake.email";
+
+  private MfaResetJobHandler handler;
+  private UserAccountService userAccountService;
+  private CognitoService cognitoService;
+
+  private Job job;
+  private JobItem item;
+
+  @BeforeEach
+  void setUp() {
+    userAccountService = mock(UserAccountService.class);
+    cognitoService = mock(CognitoService.class);
+    doAnswer(inv -> {
+      Runnable work = inv.getArgument(0);
+      work.run();
+      return null;
+    }).when(cognitoService).runPaced(any());
+    handler = new MfaResetJobHandler(userAccountService, cognitoService);
+
+    job = Job.builder().id("job-1").type(JobType.MFA_RESET).build();
+    item = JobItem.builder().id("job-1:" + USERNAME).key(USERNAME).status(PENDING).build();
+  }
+
+  @Test
+  void shouldHandleMfaResetJobs() {
+    assertThat("Unexpected job type.", handler.getType(), is(JobType.MFA_RESET));
+  }
+
+  @Test
+  void shouldResetMfaPaced() {
+    JobItem processed = handler.process(job, item);
+
+    assertThat("Unexpected item status.", processed.status(), is(SUCCEEDED));
+    assertThat("Unexpected item message.", processed.message(), nullValue());
+
+    InOrder inOrder = inOrder(cognitoService, userAccountService);
+    inOrder.verify(cognitoService).runPaced(any());
+    inOrder.verify(userAccountService).resetUserAccountMfa(USERNAME);
+  }
+
+  @Test
+  void shouldFailItemWhenUserNotFound() {
+    doThrow(UserNotFoundException.class).when(userAccountService).resetUserAccountMfa(USERNAME);
+
+    JobItem processed = handler.process(job, item);
+
+    assertThat("Unexpected item status.", processed.status(), is(FAILED));
+    assertThat("Unexpected item message.", processed.message(), is("User not found."));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenResetFails() {
+    doThrow(TooManyRequestsException.class).when(userAccountService)
+        .resetUserAccountMfa(USERNAME);
+
+    assertThrows(TooManyRequestsException.class, () -> handler.process(job, item));
+  }
+}
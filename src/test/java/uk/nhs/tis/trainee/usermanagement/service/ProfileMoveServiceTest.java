@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.nhs.tis.trainee.usermanagement.dto.ProfileMoveBatchDto;
+import uk.nhs.tis.trainee.usermanagement.dto.ProfileMoveDto;
+import uk.nhs.tis.trainee.usermanagement.event.ProfileMoveEvent;
+
+class ProfileMoveServiceTest {
+
+  private ProfileMoveService service;
+  private EventPublishService eventPublishService;
+
+  @BeforeEach
+  void setUp() {
+    eventPublishService = mock(EventPublishService.class);
+    service = new ProfileMoveService(eventPublishService);
+  }
+
+  @Test
+  void shouldThrowExceptionWhenNoMoves() {
+    assertThrows(IllegalArgumentException.class, () -> service.planMoves(List.of()));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenMoveMissingTisId() {
+    List<ProfileMoveDto> moves = List.of(new ProfileMoveDto("A", " "));
+
+    assertThrows(IllegalArgumentException.class, () -> service.planMoves(moves));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenMovingToSelf() {
+    List<ProfileMoveDto> moves = List.of(new ProfileMoveDto("A", "A"));
+
+    assertThrows(IllegalArgumentException.class, () -> service.planMoves(moves));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenMovingToConflictingTargets() {
+    List<ProfileMoveDto> moves = List.of(new ProfileMoveDto("A", "B"),
+        new ProfileMoveDto("A", "C"));
+
+    assertThrows(IllegalArgumentException.class, () -> service.planMoves(moves));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenMovesFormCycle() {
+    List<ProfileMoveDto> moves = List.of(new ProfileMoveDto("A", "B"),
+        new ProfileMoveDto("B", "C"), new ProfileMoveDto("C", "A"));
+
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> service.planMoves(moves));
+    assertThat("Unexpected message.", exception.getMessage(),
+        is("Profile moves from trainee 'A' form a cycle."));
+  }
+
+  @Test
+  void shouldIgnoreRepeatedMoves() {
+    List<ProfileMoveDto> moves = List.of(new ProfileMoveDto("A", "B"),
+        new ProfileMoveDto("A", "B"));
+
+    List<ProfileMoveEvent> events = service.planMoves(moves);
+
+    assertThat("Unexpected moves.", events, is(List.of(new ProfileMoveEvent("A", "B"))));
+  }
+
+  @Test
+  void shouldCollapseChainsToFinalTarget() {
+    List<ProfileMoveDto> moves = List.of(new ProfileMoveDto("B", "C"),
+        new ProfileMoveDto("A", "B"), new ProfileMoveDto("C", "D"), new ProfileMoveDto("X", "Y"));
+
+    List<ProfileMoveEvent> events = service.planMoves(moves);
+
+    assertThat("Unexpected moves.", events, is(List.of(
+        new ProfileMoveEvent("B", "D"),
+        new ProfileMoveEvent("A", "D"),
+        new ProfileMoveEvent("C", "D"),
+        new ProfileMoveEvent("X", "Y"))));
+  }
+
+  @Test
+  void shouldNotPublishWhenMovesInvalid() {
+    List<ProfileMoveDto> moves = List.of(new ProfileMoveDto("A", "A"));
+
+    assertThrows(IllegalArgumentException.class, () -> service.moveProfiles(moves));
+
+    verifyNoInteractions(eventPublishService);
+  }
+
+  @Test
+  void shouldPublishCollapsedMovesAndReportFailures() {
+    when(eventPublishService.publishProfileMoveEvents(any())).thenReturn(
+        Set.of(new ProfileMoveEvent("B", "C")));
+
+    ProfileMoveBatchDto result = service.moveProfiles(List.of(new ProfileMoveDto("A", "B"),
+        new ProfileMoveDto("B", "C")));
+
+    verify(eventPublishService).publishProfileMoveEvents(List.of(
+        new ProfileMoveEvent("A", "C"), new ProfileMoveEvent("B", "C")));
+    assertThat("Unexpected published moves.", result.published(),
+        is(List.of(new ProfileMoveDto("A", "C"))));
+    assertThat("Unexpected failed moves.", result.failed(),
+        is(List.of(new ProfileMoveDto("B", "C"))));
+  }
+}
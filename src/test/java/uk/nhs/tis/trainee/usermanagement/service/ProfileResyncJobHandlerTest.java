@@ -0,0 +1,126 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.FAILED;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.PENDING;
+import static uk.nhs.tis.trainee.usermanagement.model.JobItem.Status.SUCCEEDED;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.nhs.tis.trainee.usermanagement.model.Job;
+import uk.nhs.tis.trainee.usermanagement.model.JobItem;
+import uk.nhs.tis.trainee.usermanagement.model.JobType;
+
+class ProfileResyncJobHandlerTest {
+
+  private ProfileResyncJobHandler handler;
+  private EventPublishService eventPublishService;
+
+  private Job job;
+
+  @BeforeEach
+  void setUp() {
+    eventPublishService = mock(EventPublishService.class);
+    handler = new ProfileResyncJobHandler(eventPublishService, 1000);
+
+    job = Job.builder().id("job-1").type(JobType.PROFILE_RESYNC).build();
+  }
+
+  @Test
+  void shouldHandleProfileResyncJobs() {
+    assertThat("Unexpected job type.", handler.getType(), is(JobType.PROFILE_RESYNC));
+  }
+
+  @Test
+  void shouldUseSqsBatchSize() {
+    assertThat("Unexpected batch size.", handler.getBatchSize(), is(10));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenRateNotPositive() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new ProfileResyncJobHandler(eventPublishService, 0));
+  }
+
+  @Test
+  void shouldPublishSingleItemAsBatch() {
+    JobItem item = pendingItem("11111");
+    when(eventPublishService.publishProfileSyncEvents(List.of("11111"))).thenReturn(Map.of());
+
+    JobItem processed = handler.process(job, item);
+
+    assertThat("Unexpected item status.", processed.status(), is(SUCCEEDED));
+    assertThat("Unexpected item message.", processed.message(), nullValue());
+  }
+
+  @Test
+  void shouldPublishBatchInSingleRequest() {
+    List<JobItem> items = List.of(pendingItem("11111"), pendingItem("22222"),
+        pendingItem("33333"));
+    when(eventPublishService.publishProfileSyncEvents(List.of("11111", "22222", "33333")))
+        .thenReturn(Map.of());
+
+    List<JobItem> processed = handler.processBatch(job, items);
+
+    assertThat("Unexpected item count.", processed, hasSize(3));
+
+    for (JobItem item : processed) {
+      assertThat("Unexpected item status.", item.status(), is(SUCCEEDED));
+    }
+
+    verify(eventPublishService).publishProfileSyncEvents(List.of("11111", "22222", "33333"));
+  }
+
+  @Test
+  void shouldFailOnlyItemsWhichFailedToSend() {
+    List<JobItem> items = List.of(pendingItem("11111"), pendingItem("22222"));
+    when(eventPublishService.publishProfileSyncEvents(List.of("11111", "22222")))
+        .thenReturn(Map.of("22222", "Throttled."));
+
+    List<JobItem> processed = handler.processBatch(job, items);
+
+    assertThat("Unexpected item status.", processed.get(0).status(), is(SUCCEEDED));
+    assertThat("Unexpected item status.", processed.get(1).status(), is(FAILED));
+    assertThat("Unexpected item message.", processed.get(1).message(), is("Throttled."));
+  }
+
+  /**
+   * Create a pending job item.
+   *
+   * @param key The key of the item.
+   * @return The created item.
+   */
+  private static JobItem pendingItem(String key) {
+    return JobItem.builder().id("job-1:" + key).jobId("job-1").key(key).status(PENDING).build();
+  }
+}
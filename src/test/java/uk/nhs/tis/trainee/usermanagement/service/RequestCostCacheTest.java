@@ -0,0 +1,94 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import uk.nhs.tis.trainee.usermanagement.enumeration.CostComponent;
+
+class RequestCostCacheTest {
+
+  private static final String KEY = "key";
+  private static final String VALUE = "value";
+
+  private Cache delegate;
+  private RequestCostCache cache;
+  private RequestCost cost;
+
+  @BeforeEach
+  void setUp() {
+    delegate = spy(new ConcurrentMapCache("test"));
+    cache = new RequestCostCache(delegate);
+    cost = RequestCost.begin();
+  }
+
+  @AfterEach
+  void tearDown() {
+    RequestCost.end();
+  }
+
+  @Test
+  void shouldDelegateAndRecordEachOperation() {
+    cache.put(KEY, VALUE);
+    String value = cache.get(KEY, String.class);
+    cache.get(KEY);
+    cache.evict(KEY);
+
+    assertThat("Unexpected value.", value, is(VALUE));
+    verify(delegate).put(KEY, VALUE);
+    verify(delegate).get(KEY, String.class);
+    verify(delegate).get(KEY);
+    verify(delegate).evict(KEY);
+    assertThat("Unexpected Redis count.", cost.getCount(CostComponent.REDIS), is(4L));
+  }
+
+  @Test
+  void shouldNotRecordLoaderTimeAsCacheTime() {
+    String value = cache.get(KEY, () -> {
+      Thread.sleep(50);
+      return VALUE;
+    });
+
+    assertThat("Unexpected value.", value, is(VALUE));
+    assertThat("Unexpected Redis count.", cost.getCount(CostComponent.REDIS), is(1L));
+    assertThat("Unexpected Redis duration.", cost.getDuration(CostComponent.REDIS),
+        lessThan(Duration.ofMillis(50)));
+  }
+
+  @Test
+  void shouldExposeDelegateNameAndNativeCache() {
+    assertThat("Unexpected name.", cache.getName(), is("test"));
+    assertThat("Unexpected native cache.", cache.getNativeCache(),
+        is(delegate.getNativeCache()));
+    assertThat("Unexpected Redis count.", cost.getCount(CostComponent.REDIS), is(0L));
+  }
+}
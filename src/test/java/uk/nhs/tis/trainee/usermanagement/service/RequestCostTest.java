@@ -0,0 +1,126 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.matchesPattern;
+
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import uk.nhs.tis.trainee.usermanagement.enumeration.CostComponent;
+
+class RequestCostTest {
+
+  @AfterEach
+  void tearDown() {
+    RequestCost.end();
+  }
+
+  @Test
+  void shouldAccumulateCostsPerComponent() {
+    RequestCost cost = RequestCost.begin();
+
+    RequestCost.record(CostComponent.COGNITO, Duration.ofMillis(20));
+    RequestCost.record(CostComponent.COGNITO, Duration.ofMillis(30));
+    RequestCost.record(CostComponent.MONGO, Duration.ofMillis(5));
+
+    assertThat("Unexpected Cognito count.", cost.getCount(CostComponent.COGNITO), is(2L));
+    assertThat("Unexpected Cognito duration.", cost.getDuration(CostComponent.COGNITO),
+        is(Duration.ofMillis(50)));
+    assertThat("Unexpected Mongo count.", cost.getCount(CostComponent.MONGO), is(1L));
+    assertThat("Unexpected Mongo duration.", cost.getDuration(CostComponent.MONGO),
+        is(Duration.ofMillis(5)));
+    assertThat("Unexpected Redis count.", cost.getCount(CostComponent.REDIS), is(0L));
+    assertThat("Unexpected Redis duration.", cost.getDuration(CostComponent.REDIS),
+        is(Duration.ZERO));
+  }
+
+  @Test
+  void shouldNotRecordCostsAfterEnd() {
+    RequestCost cost = RequestCost.begin();
+    RequestCost.end();
+
+    RequestCost.record(CostComponent.COGNITO, Duration.ofMillis(20));
+
+    assertThat("Unexpected Cognito count.", cost.getCount(CostComponent.COGNITO), is(0L));
+  }
+
+  @Test
+  void shouldNotRecordCostsFromOtherThreads() throws InterruptedException {
+    RequestCost cost = RequestCost.begin();
+
+    Thread thread = new Thread(() -> RequestCost.record(CostComponent.REDIS, Duration.ofMillis(1)));
+    thread.start();
+    thread.join();
+
+    assertThat("Unexpected Redis count.", cost.getCount(CostComponent.REDIS), is(0L));
+  }
+
+  @Test
+  void shouldRecordCostsFromPropagatedTasks() throws InterruptedException {
+    RequestCost cost = RequestCost.begin();
+
+    Thread thread = new Thread(RequestCost.propagate(
+        () -> RequestCost.record(CostComponent.REDIS, Duration.ofMillis(1))));
+    thread.start();
+    thread.join();
+
+    assertThat("Unexpected Redis count.", cost.getCount(CostComponent.REDIS), is(1L));
+  }
+
+  @Test
+  void shouldRestoreCostOfThreadRunningPropagatedTask() {
+    RequestCost cost = RequestCost.begin();
+    Runnable task = RequestCost.propagate(
+        () -> RequestCost.record(CostComponent.REDIS, Duration.ofMillis(1)));
+    RequestCost other = RequestCost.begin();
+
+    task.run();
+    RequestCost.record(CostComponent.MONGO, Duration.ofMillis(1));
+
+    assertThat("Unexpected Redis count.", cost.getCount(CostComponent.REDIS), is(1L));
+    assertThat("Unexpected Redis count.", other.getCount(CostComponent.REDIS), is(0L));
+    assertThat("Unexpected Mongo count.", other.getCount(CostComponent.MONGO), is(1L));
+  }
+
+  @Test
+  void shouldNotWrapTasksOutsideRequest() {
+    Runnable task = () -> { };
+
+    assertThat("Unexpected task.", RequestCost.propagate(task), is(task));
+  }
+
+  @Test
+  void shouldFormatServerTiming() {
+    RequestCost cost = RequestCost.begin();
+
+    RequestCost.record(CostComponent.COGNITO, Duration.ofMillis(12).plusNanos(345_678));
+    RequestCost.record(CostComponent.REDIS, Duration.ofNanos(800_000));
+    RequestCost.record(CostComponent.REDIS, Duration.ofNanos(100_000));
+
+    assertThat("Unexpected Server-Timing.", cost.toServerTiming(), matchesPattern(
+        "cognito;dur=12\\.3;desc=\"1 call\", redis;dur=0\\.9;desc=\"2 calls\", "
+            + "mongo;dur=0\\.0;desc=\"0 calls\", total;dur=\\d+\\.\\d"));
+  }
+}
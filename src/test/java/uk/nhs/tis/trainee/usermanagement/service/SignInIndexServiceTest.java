@@ -0,0 +1,296 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListUserAuthEventsRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListUserAuthEventsResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AuthEventType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.EventResponseType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.EventType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.TooManyRequestsException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
+import uk.nhs.tis.trainee.usermanagement.model.SignInSummary;
+import uk.nhs.tis.trainee.usermanagement.repository.SignInSummaryRepository;
+
+class SignInIndexServiceTest {
+
+  private static final String USER_POOL_ID = "region_abc213";
+  private static final String USER_ID = UUID.randomUUID().toString();
+  private static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+  private SignInIndexService service;
+  private CognitoService cognitoService;
+  private CognitoRateLimiter rateLimiter;
+  private SignInSummaryRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    cognitoService = mock(CognitoService.class);
+    rateLimiter = mock(CognitoRateLimiter.class);
+    repository = mock(SignInSummaryRepository.class);
+    when(repository.findById(any())).thenReturn(Optional.empty());
+    when(repository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+    service = new SignInIndexService(cognitoService, rateLimiter, repository, USER_POOL_ID,
+        Duration.ofMinutes(15), 10);
+  }
+
+  @Test
+  void shouldReadIndexedSummaryWithoutCallingCognito() {
+    SignInSummary summary = SignInSummary.builder()
+        .userId(USER_ID)
+        .lastSuccessfulSignIn(NOW)
+        .lastChecked(Instant.now())
+        .build();
+    when(repository.findById(USER_ID)).thenReturn(Optional.of(summary));
+
+    Instant lastSignIn = service.getLastSuccessfulSignIn(USER_ID);
+
+    assertThat("Unexpected last sign-in.", lastSignIn, is(NOW));
+    verify(cognitoService, never()).adminListUserAuthEvents(any());
+  }
+
+  @Test
+  void shouldRefreshStaleSummaryWhenRead() {
+    SignInSummary stale = SignInSummary.builder()
+        .userId(USER_ID)
+        .lastSuccessfulSignIn(NOW.minusSeconds(3600))
+        .lastEventId("1")
+        .lastEventDate(NOW.minusSeconds(3600))
+        .lastChecked(NOW.minus(Duration.ofHours(1)))
+        .version(3L)
+        .build();
+    when(repository.findById(USER_ID)).thenReturn(Optional.of(stale));
+
+    when(cognitoService.adminListUserAuthEvents(any()))
+        .thenReturn(AdminListUserAuthEventsResponse.builder()
+            .authEvents(
+                event("2", NOW, EventResponseType.PASS),
+                event("1", NOW.minusSeconds(3600), EventResponseType.PASS))
+            .build());
+
+    Instant lastSignIn = service.getLastSuccessfulSignIn(USER_ID);
+
+    assertThat("Unexpected last sign-in.", lastSignIn, is(NOW));
+
+    ArgumentCaptor<SignInSummary> summaryCaptor = ArgumentCaptor.captor();
+    verify(repository).save(summaryCaptor.capture());
+    SignInSummary saved = summaryCaptor.getValue();
+    assertThat("Unexpected last event ID.", saved.lastEventId(), is("2"));
+    assertThat("Unexpected version.", saved.version(), is(3L));
+  }
+
+  @Test
+  void shouldKeepConcurrentRefreshWhenSaveConflicts() {
+    SignInSummary concurrent = SignInSummary.builder()
+        .userId(USER_ID)
+        .lastSuccessfulSignIn(NOW)
+        .lastEventId("2")
+        .lastChecked(NOW)
+        .version(1L)
+        .build();
+    when(repository.findById(USER_ID)).thenReturn(Optional.empty(), Optional.of(concurrent));
+    when(repository.save(any())).thenThrow(new DuplicateKeyException("conflict"));
+
+    when(cognitoService.adminListUserAuthEvents(any()))
+        .thenReturn(AdminListUserAuthEventsResponse.builder()
+            .authEvents(event("2", NOW, EventResponseType.PASS))
+            .build());
+
+    Optional<SignInSummary> summary = service.getSignInSummary(USER_ID);
+
+    assertThat("Unexpected summary.", summary, is(Optional.of(concurrent)));
+  }
+
+  @Test
+  void shouldKeepStoredSummaryWhenRateLimitedRepeatedly() {
+    SignInSummary stored = SignInSummary.builder()
+        .userId(USER_ID)
+        .lastSuccessfulSignIn(NOW)
+        .lastChecked(NOW.minus(Duration.ofHours(1)))
+        .build();
+    when(repository.findById(USER_ID)).thenReturn(Optional.of(stored));
+    when(cognitoService.adminListUserAuthEvents(any())).thenThrow(TooManyRequestsException.class);
+
+    Optional<SignInSummary> summary = service.getSignInSummary(USER_ID);
+
+    assertThat("Unexpected summary.", summary, is(Optional.of(stored)));
+    verify(cognitoService, times(6)).adminListUserAuthEvents(any());
+    verify(repository, never()).save(any());
+  }
+
+  @Test
+  void shouldBuildSummaryFromFullHistoryWhenNotIndexed() {
+    ArgumentCaptor<AdminListUserAuthEventsRequest> requestCaptor = ArgumentCaptor.captor();
+    when(cognitoService.adminListUserAuthEvents(requestCaptor.capture()))
+        .thenReturn(AdminListUserAuthEventsResponse.builder()
+            .authEvents(event("3", NOW, EventResponseType.FAIL))
+            .nextToken("page2")
+            .build())
+        .thenReturn(AdminListUserAuthEventsResponse.builder()
+            .authEvents(
+                event("2", NOW.minusSeconds(60), EventResponseType.PASS),
+                event("1", NOW.minusSeconds(120), EventResponseType.PASS))
+            .build());
+
+    Optional<SignInSummary> optionalSummary = service.getSignInSummary(USER_ID);
+
+    assertThat("Unexpected summary presence.", optionalSummary.isPresent(), is(true));
+    SignInSummary summary = optionalSummary.get();
+    assertThat("Unexpected user ID.", summary.userId(), is(USER_ID));
+    assertThat("Unexpected last sign-in.", summary.lastSuccessfulSignIn(),
+        is(NOW.minusSeconds(60)));
+    assertThat("Unexpected failure count.", summary.failedSignInCount(), is(1));
+    assertThat("Unexpected last event ID.", summary.lastEventId(), is("3"));
+    assertThat("Unexpected last event date.", summary.lastEventDate(), is(NOW));
+    assertThat("Unexpected last checked.", summary.lastChecked(), notNullValue());
+
+    List<AdminListUserAuthEventsRequest> requests = requestCaptor.getAllValues();
+    assertThat("Unexpected request count.", requests, hasSize(2));
+    assertThat("Unexpected user pool.", requests.get(0).userPoolId(), is(USER_POOL_ID));
+    assertThat("Unexpected username.", requests.get(0).username(), is(USER_ID));
+    assertThat("Unexpected pagination token.", requests.get(0).nextToken(), nullValue());
+    assertThat("Unexpected pagination token.", requests.get(1).nextToken(), is("page2"));
+  }
+
+  @Test
+  void shouldOnlyReadEventsNewerThanWatermarkWhenRefreshing() {
+    SignInSummary previous = SignInSummary.builder()
+        .userId(USER_ID)
+        .lastSuccessfulSignIn(NOW.minusSeconds(3600))
+        .failedSignInCount(2)
+        .lastEventId("1")
+        .lastEventDate(NOW.minusSeconds(3600))
+        .build();
+    when(repository.findById(USER_ID)).thenReturn(Optional.of(previous));
+
+    when(cognitoService.adminListUserAuthEvents(any()))
+        .thenReturn(AdminListUserAuthEventsResponse.builder()
+            .authEvents(
+                event("3", NOW, EventResponseType.FAIL),
+                event("2", NOW.minusSeconds(60), EventResponseType.FAIL),
+                event("1", NOW.minusSeconds(3600), EventResponseType.PASS))
+            .nextToken("page2")
+            .build());
+
+    SignInSummary summary = service.refresh(USER_ID).orElseThrow();
+
+    assertThat("Unexpected last sign-in.", summary.lastSuccessfulSignIn(),
+        is(NOW.minusSeconds(3600)));
+    assertThat("Unexpected failure count.", summary.failedSignInCount(), is(4));
+    assertThat("Unexpected last event ID.", summary.lastEventId(), is("3"));
+
+    verify(cognitoService).adminListUserAuthEvents(any());
+  }
+
+  @Test
+  void shouldRetryAuthEventsPageWhenRateLimited() {
+    ArgumentCaptor<AdminListUserAuthEventsRequest> requestCaptor = ArgumentCaptor.captor();
+    when(cognitoService.adminListUserAuthEvents(requestCaptor.capture()))
+        .thenReturn(AdminListUserAuthEventsResponse.builder()
+            .authEvents(List.of())
+            .nextToken("tokenforpage2")
+            .build())
+        .thenThrow(TooManyRequestsException.class)
+        .thenReturn(AdminListUserAuthEventsResponse.builder().authEvents(List.of()).build());
+
+    service.refresh(USER_ID);
+
+    List<AdminListUserAuthEventsRequest> requests = requestCaptor.getAllValues();
+    assertThat("Unexpected request count.", requests, hasSize(3));
+    assertThat("Unexpected pagination token.", requests.get(0).nextToken(), nullValue());
+    assertThat("Unexpected pagination token.", requests.get(1).nextToken(), is("tokenforpage2"));
+    assertThat("Unexpected pagination token.", requests.get(2).nextToken(), is("tokenforpage2"));
+  }
+
+  @Test
+  void shouldRemoveSummaryWhenUserNotFound() {
+    when(cognitoService.adminListUserAuthEvents(any())).thenThrow(UserNotFoundException.class);
+
+    Optional<SignInSummary> summary = service.refresh(USER_ID);
+
+    assertThat("Unexpected summary presence.", summary.isPresent(), is(false));
+    verify(repository).deleteById(USER_ID);
+    verify(repository, never()).save(any());
+  }
+
+  @Test
+  void shouldRefreshStaleSummaries() {
+    SignInSummary stale = SignInSummary.builder()
+        .userId(USER_ID)
+        .lastChecked(NOW.minus(Duration.ofHours(1)))
+        .build();
+    when(repository.findByLastCheckedBeforeOrderByLastCheckedAsc(any(), any())).thenReturn(
+        List.of(stale));
+    when(cognitoService.adminListUserAuthEvents(any())).thenReturn(
+        AdminListUserAuthEventsResponse.builder().authEvents(List.of()).build());
+
+    service.refreshStaleSummaries();
+
+    ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.captor();
+    verify(repository).findByLastCheckedBeforeOrderByLastCheckedAsc(any(),
+        pageableCaptor.capture());
+    assertThat("Unexpected batch size.", pageableCaptor.getValue().getPageSize(), is(10));
+
+    verify(repository).save(any());
+  }
+
+  /**
+   * Create a sign-in auth event.
+   *
+   * @param id       The event ID.
+   * @param created  The event creation time.
+   * @param response The event response.
+   * @return The built event.
+   */
+  private static AuthEventType event(String id, Instant created, EventResponseType response) {
+    return AuthEventType.builder()
+        .eventId(id)
+        .creationDate(created)
+        .eventType(EventType.SIGN_IN)
+        .eventResponse(response)
+        .build();
+  }
+}
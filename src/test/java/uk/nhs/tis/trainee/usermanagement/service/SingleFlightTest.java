@@ -0,0 +1,232 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  private static final String KEY = "key";
+  private static final int CALLERS = 5;
+
+  private SingleFlight<String, Object> singleFlight;
+  private AtomicInteger issued;
+  private AtomicInteger shared;
+  private List<Duration> waits;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    issued = new AtomicInteger();
+    shared = new AtomicInteger();
+    waits = new CopyOnWriteArrayList<>();
+    singleFlight = new SingleFlight<>(isShared -> {
+      if (isShared) {
+        shared.incrementAndGet();
+      } else {
+        issued.incrementAndGet();
+      }
+    }, waits::add);
+    executor = Executors.newFixedThreadPool(CALLERS);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldMakeCallWhenNoneInFlight() {
+    Object result = singleFlight.execute(KEY, () -> "result");
+
+    assertThat("Unexpected result.", result, is("result"));
+    assertThat("Unexpected issued count.", issued.get(), is(1));
+    assertThat("Unexpected shared count.", shared.get(), is(0));
+    assertThat("Unexpected wait count.", waits.size(), is(0));
+    assertThat("Unexpected in-flight count.", singleFlight.getInFlightCount(), is(0));
+  }
+
+  @Test
+  void shouldMakeCallAgainWhenPreviousCallComplete() {
+    AtomicInteger calls = new AtomicInteger();
+
+    singleFlight.execute(KEY, calls::incrementAndGet);
+    singleFlight.execute(KEY, calls::incrementAndGet);
+
+    assertThat("Unexpected call count.", calls.get(), is(2));
+    assertThat("Unexpected shared count.", shared.get(), is(0));
+  }
+
+  @Test
+  void shouldShareInFlightCallWithConcurrentCallers() throws Exception {
+    Object result = new Object();
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+
+    List<CompletableFuture<Object>> futures = startCallers(KEY, () -> {
+      calls.incrementAndGet();
+      awaitQuietly(release);
+      return result;
+    });
+    release.countDown();
+
+    for (CompletableFuture<Object> future : futures) {
+      assertThat("Unexpected result.", future.get(5, TimeUnit.SECONDS), sameInstance(result));
+    }
+
+    assertThat("Unexpected call count.", calls.get(), is(1));
+    assertThat("Unexpected issued count.", issued.get(), is(1));
+    assertThat("Unexpected shared count.", shared.get(), is(CALLERS - 1));
+    assertThat("Unexpected wait count.", waits.size(), is(CALLERS - 1));
+    assertThat("Unexpected in-flight count.", singleFlight.getInFlightCount(), is(0));
+  }
+
+  @Test
+  void shouldShareInFlightExceptionWithConcurrentCallers() throws Exception {
+    IllegalStateException exception = new IllegalStateException("Failed");
+    CountDownLatch release = new CountDownLatch(1);
+
+    List<CompletableFuture<Object>> futures = startCallers(KEY, () -> {
+      awaitQuietly(release);
+      throw exception;
+    });
+    release.countDown();
+
+    for (CompletableFuture<Object> future : futures) {
+      ExecutionException thrown = assertThrows(ExecutionException.class,
+          () -> future.get(5, TimeUnit.SECONDS));
+      assertThat("Unexpected exception.", thrown.getCause(), sameInstance(exception));
+    }
+
+    assertThat("Unexpected issued count.", issued.get(), is(1));
+    assertThat("Unexpected wait count.", waits.size(), is(CALLERS - 1));
+    assertThat("Unexpected in-flight count.", singleFlight.getInFlightCount(), is(0));
+  }
+
+  @Test
+  void shouldMakeCallAgainWhenInFlightCallInvalidated() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<Object> stale = CompletableFuture.supplyAsync(
+        () -> singleFlight.execute(KEY, () -> {
+          calls.incrementAndGet();
+          started.countDown();
+          awaitQuietly(release);
+          return "stale";
+        }), executor);
+    awaitQuietly(started);
+
+    singleFlight.invalidateAll();
+    Object result = singleFlight.execute(KEY, () -> {
+      calls.incrementAndGet();
+      return "fresh";
+    });
+    release.countDown();
+
+    assertThat("Unexpected result.", result, is("fresh"));
+    assertThat("Unexpected stale result.", stale.get(5, TimeUnit.SECONDS), is("stale"));
+    assertThat("Unexpected call count.", calls.get(), is(2));
+    assertThat("Unexpected shared count.", shared.get(), is(0));
+    assertThat("Unexpected in-flight count.", singleFlight.getInFlightCount(), is(0));
+  }
+
+  @Test
+  void shouldNotShareCallsForDifferentKeys() throws Exception {
+    CountDownLatch allStarted = new CountDownLatch(2);
+
+    CompletableFuture<Object> first = CompletableFuture.supplyAsync(
+        () -> singleFlight.execute("first", () -> {
+          allStarted.countDown();
+          awaitQuietly(allStarted);
+          return "first";
+        }), executor);
+    CompletableFuture<Object> second = CompletableFuture.supplyAsync(
+        () -> singleFlight.execute("second", () -> {
+          allStarted.countDown();
+          awaitQuietly(allStarted);
+          return "second";
+        }), executor);
+
+    assertThat("Unexpected first result.", first.get(5, TimeUnit.SECONDS), is("first"));
+    assertThat("Unexpected second result.", second.get(5, TimeUnit.SECONDS), is("second"));
+    assertThat("Unexpected issued count.", issued.get(), is(2));
+    assertThat("Unexpected shared count.", shared.get(), is(0));
+  }
+
+  /**
+   * Start concurrent callers for the same key, returning once every caller has either made the
+   * call or joined the in-flight call.
+   *
+   * @param key  The key to call.
+   * @param call The call, which should block until released.
+   * @return The futures of each caller.
+   */
+  private List<CompletableFuture<Object>> startCallers(String key, Supplier<Object> call)
+      throws InterruptedException {
+    List<CompletableFuture<Object>> futures = new ArrayList<>();
+
+    for (int i = 0; i < CALLERS; i++) {
+      futures.add(CompletableFuture.supplyAsync(() -> singleFlight.execute(key, call), executor));
+    }
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (issued.get() + shared.get() < CALLERS && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+
+    return futures;
+  }
+
+  /**
+   * Wait for the latch to be released, restoring the interrupt flag if interrupted.
+   *
+   * @param latch The latch to wait for.
+   */
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
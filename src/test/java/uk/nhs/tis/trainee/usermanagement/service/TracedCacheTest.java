@@ -0,0 +1,125 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.xray.AWSXRayRecorder;
+import com.amazonaws.xray.entities.Segment;
+import com.amazonaws.xray.entities.Subsegment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+class TracedCacheTest {
+
+  private static final String KEY = "key";
+  private static final String VALUE = "value";
+
+  private Cache delegate;
+  private TracedCache cache;
+  private AWSXRayRecorder recorder;
+  private Subsegment subsegment;
+
+  @BeforeEach
+  void setUp() {
+    delegate = spy(new ConcurrentMapCache("test"));
+    recorder = mock(AWSXRayRecorder.class);
+    subsegment = mock(Subsegment.class);
+    when(recorder.beginSubsegment(any())).thenReturn(subsegment);
+
+    cache = new TracedCache(delegate, () -> recorder);
+  }
+
+  @Test
+  void shouldNotBeginSubsegmentWhenNotTraced() {
+    cache.put(KEY, VALUE);
+    String value = cache.get(KEY, String.class);
+
+    assertThat("Unexpected value.", value, is(VALUE));
+    verify(recorder, never()).beginSubsegment(any());
+    verify(recorder, never()).endSubsegment();
+  }
+
+  @Test
+  void shouldTraceOperationAsRemoteSubsegment() {
+    when(recorder.getTraceEntity()).thenReturn(mock(Segment.class));
+
+    cache.evict(KEY);
+
+    verify(delegate).evict(KEY);
+    verify(recorder).beginSubsegment("Redis");
+    verify(subsegment).setNamespace("remote");
+    verify(subsegment).putMetadata("cache", "name", "test");
+    verify(subsegment).putMetadata("cache", "operation", "evict");
+    verify(recorder).endSubsegment();
+  }
+
+  @Test
+  void shouldRecordExceptionWhenOperationFails() {
+    when(recorder.getTraceEntity()).thenReturn(mock(Segment.class));
+    RuntimeException exception = new IllegalStateException("Redis unavailable.");
+    doThrow(exception).when(delegate).put(KEY, VALUE);
+
+    assertThrows(IllegalStateException.class, () -> cache.put(KEY, VALUE));
+
+    verify(subsegment).addException(exception);
+    verify(recorder).endSubsegment();
+  }
+
+  @Test
+  void shouldCallLoaderOutsideCacheSubsegments() {
+    when(recorder.getTraceEntity()).thenReturn(mock(Segment.class));
+
+    String value = cache.get(KEY, () -> {
+      verify(recorder, times(1)).endSubsegment();
+      return VALUE;
+    });
+
+    assertThat("Unexpected value.", value, is(VALUE));
+    assertThat("Unexpected cached value.", delegate.get(KEY, String.class), is(VALUE));
+    verify(recorder, times(2)).beginSubsegment("Redis");
+    verify(recorder, times(2)).endSubsegment();
+  }
+
+  @Test
+  void shouldNotCallLoaderWhenValueCached() {
+    delegate.put(KEY, VALUE);
+
+    String value = cache.get(KEY, () -> {
+      throw new IllegalStateException("Loader should not be called.");
+    });
+
+    assertThat("Unexpected value.", value, is(VALUE));
+  }
+}
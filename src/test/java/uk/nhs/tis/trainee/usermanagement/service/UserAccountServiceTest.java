@@ -29,24 +29,34 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static software.amazon.awssdk.services.cognitoidentityprovider.model.UserStatusType.CONFIRMED;
 import static uk.nhs.tis.trainee.usermanagement.enumeration.MfaType.NO_MFA;
 import static uk.nhs.tis.trainee.usermanagement.enumeration.MfaType.SOFTWARE_TOKEN_MFA;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -56,29 +66,23 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminAddUserToGroupRequest;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminAddUserToGroupResponse;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminDeleteUserRequest;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminDeleteUserResponse;
-import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListUserAuthEventsRequest;
-import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListUserAuthEventsResponse;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminRemoveUserFromGroupRequest;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminRemoveUserFromGroupResponse;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminSetUserMfaPreferenceRequest;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminSetUserMfaPreferenceResponse;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AttributeType;
-import software.amazon.awssdk.services.cognitoidentityprovider.model.AuthEventType;
-import software.amazon.awssdk.services.cognitoidentityprovider.model.ChallengeResponseType;
-import software.amazon.awssdk.services.cognitoidentityprovider.model.EventContextDataType;
-import software.amazon.awssdk.services.cognitoidentityprovider.model.EventResponseType;
-import software.amazon.awssdk.services.cognitoidentityprovider.model.EventType;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersRequest;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersResponse;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.TooManyRequestsException;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
 import uk.nhs.tis.trainee.usermanagement.dto.UserAccountDetailsDto;
-import uk.nhs.tis.trainee.usermanagement.dto.UserLoginDetailsDto;
+import uk.nhs.tis.trainee.usermanagement.enumeration.Dependency;
 import uk.nhs.tis.trainee.usermanagement.enumeration.MfaType;
 
 class UserAccountServiceTest {
@@ -108,9 +112,14 @@ class UserAccountServiceTest {
   private UserAccountService service;
   private CognitoService cognitoService;
   private Cache cache;
+  private Cache existsCache;
   private AuditService auditService;
   private EventPublishService eventPublishService;
   private MetricsService metricsService;
+  private SignInIndexService signInIndexService;
+  private GroupMembershipIndex groupMembershipIndex;
+  private CircuitBreakerRegistry circuitBreakerRegistry;
+  private DependencyGuard guard;
 
   @BeforeEach
   void setUp() {
@@ -119,13 +128,21 @@ class UserAccountServiceTest {
 
     CacheManager cacheManager = mock(CacheManager.class);
     when(cacheManager.getCache("UserId")).thenReturn(cache);
+    existsCache = spy(new ConcurrentMapCache(UserAccountService.USER_EXISTS_CACHE));
+    when(cacheManager.getCache(UserAccountService.USER_EXISTS_CACHE)).thenReturn(existsCache);
 
     auditService = mock(AuditService.class);
     eventPublishService = mock(EventPublishService.class);
     metricsService = mock(MetricsService.class);
+    signInIndexService = mock(SignInIndexService.class);
+    groupMembershipIndex = mock(GroupMembershipIndex.class);
+    circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    guard = new DependencyGuard(circuitBreakerRegistry, BulkheadRegistry.ofDefaults(),
+        metricsService);
 
     service = spy(new UserAccountService(cognitoService, USER_POOL_ID, cacheManager,
-        eventPublishService, metricsService, auditService));
+        eventPublishService, metricsService, auditService, signInIndexService,
+        groupMembershipIndex, guard));
   }
 
   @Test
@@ -139,6 +156,69 @@ class UserAccountServiceTest {
     assertThat("Unexpected account created", userAccountDetails.getAccountCreated(), nullValue());
   }
 
+  @Test
+  void shouldReturnExistsFalseAndCacheItWhenUserNotFound() {
+    when(cognitoService.getUserDetails(any())).thenThrow(UserNotFoundException.class);
+
+    boolean exists = service.doesUserAccountExist(EMAIL);
+
+    assertThat("Unexpected existence.", exists, is(false));
+    assertThat("Unexpected cached existence.", existsCache.get(EMAIL, Boolean.class), is(false));
+  }
+
+  @Test
+  void shouldReturnExistsTrueAndCacheItWhenUserFound() {
+    UserAccountDetailsDto userDetails = UserAccountDetailsDto.builder()
+        .id(USER_ID_1)
+        .userStatus(CONFIRMED.toString())
+        .build();
+    when(cognitoService.getUserDetails(any())).thenReturn(userDetails);
+
+    boolean exists = service.doesUserAccountExist(EMAIL);
+
+    assertThat("Unexpected existence.", exists, is(true));
+    assertThat("Unexpected cached existence.", existsCache.get(EMAIL, Boolean.class), is(true));
+  }
+
+  @Test
+  void shouldNotRewriteCachedExistsWhenUnchanged() {
+    existsCache.put(EMAIL, true);
+    UserAccountDetailsDto userDetails = UserAccountDetailsDto.builder()
+        .id(USER_ID_1)
+        .userStatus(CONFIRMED.toString())
+        .build();
+    when(cognitoService.getUserDetails(any())).thenReturn(userDetails);
+
+    boolean exists = service.doesUserAccountExist(EMAIL);
+
+    assertThat("Unexpected existence.", exists, is(true));
+    verify(existsCache, times(1)).put(any(), any());
+  }
+
+  @Test
+  void shouldReturnCachedExistsWhenCognitoCircuitBreakerOpen() {
+    existsCache.put(EMAIL, true);
+    when(cognitoService.getUserDetails(any())).thenThrow(
+        CallNotPermittedException.createCallNotPermittedException(
+            CircuitBreaker.ofDefaults(Dependency.COGNITO.getInstanceName())));
+
+    boolean exists = service.doesUserAccountExist(EMAIL);
+
+    assertThat("Unexpected existence.", exists, is(true));
+    verify(metricsService).incrementDependencyFallbackCounter(Dependency.COGNITO);
+  }
+
+  @Test
+  void shouldThrowExceptionWhenCognitoCircuitBreakerOpenAndExistsNotCached() {
+    when(cognitoService.getUserDetails(any())).thenThrow(
+        CallNotPermittedException.createCallNotPermittedException(
+            CircuitBreaker.ofDefaults(Dependency.COGNITO.getInstanceName())));
+
+    assertThrows(CallNotPermittedException.class, () -> service.doesUserAccountExist(EMAIL));
+
+    verify(metricsService, never()).incrementDependencyFallbackCounter(any());
+  }
+
   @Test
   void shouldReturnAccountDetailsWhenUserFoundGettingUser() {
     UserAccountDetailsDto userDetails = UserAccountDetailsDto.builder().id(USER_ID_1).build();
@@ -448,6 +528,7 @@ class UserAccountServiceTest {
     assertThat("Unexpected deleted account.", deletedIds, hasItems(USER_ID_2, USER_ID_3));
 
     verify(metricsService, times(2)).incrementDeleteAccountCounter(any(), any());
+    verify(cache).put(TRAINEE_ID_1, Set.of(USER_ID_1));
   }
 
   @Test
@@ -465,11 +546,7 @@ class UserAccountServiceTest {
           .build();
     });
 
-    when(cognitoService.adminListUserAuthEvents(any())).thenReturn(
-        AdminListUserAuthEventsResponse.builder()
-            .authEvents(List.of())
-            .build()
-    );
+    when(signInIndexService.getLastSuccessfulSignIn(any())).thenReturn(null);
 
     Optional<String> accountId = service.deleteDuplicateAccounts(TRAINEE_ID_1,
         Set.of(USER_ID_1, USER_ID_2, USER_ID_3), EMAIL);
@@ -498,16 +575,7 @@ class UserAccountServiceTest {
           .build();
     });
 
-    when(cognitoService.adminListUserAuthEvents(any())).thenReturn(
-        AdminListUserAuthEventsResponse.builder()
-            .authEvents(
-                AuthEventType.builder()
-                    .creationDate(Instant.now())
-                    .eventType(EventType.SIGN_IN)
-                    .eventResponse(EventResponseType.PASS)
-                    .build())
-            .build()
-    );
+    when(signInIndexService.getLastSuccessfulSignIn(any())).thenReturn(Instant.now());
 
     Optional<String> accountId = service.deleteDuplicateAccounts(TRAINEE_ID_1,
         Set.of(USER_ID_1, USER_ID_2, USER_ID_3), EMAIL);
@@ -537,11 +605,7 @@ class UserAccountServiceTest {
     });
     when(cognitoService.getUserDetails(EMAIL)).thenThrow(UserNotFoundException.class);
 
-    when(cognitoService.adminListUserAuthEvents(any())).thenReturn(
-        AdminListUserAuthEventsResponse.builder()
-            .authEvents(List.of())
-            .build()
-    );
+    when(signInIndexService.getLastSuccessfulSignIn(any())).thenReturn(null);
 
     Optional<String> accountId = service.deleteDuplicateAccounts(TRAINEE_ID_1,
         Set.of(USER_ID_1, USER_ID_2, USER_ID_3), EMAIL);
@@ -570,16 +634,7 @@ class UserAccountServiceTest {
     });
     when(cognitoService.getUserDetails(EMAIL)).thenThrow(UserNotFoundException.class);
 
-    when(cognitoService.adminListUserAuthEvents(any())).thenReturn(
-        AdminListUserAuthEventsResponse.builder()
-            .authEvents(
-                AuthEventType.builder()
-                    .creationDate(Instant.now())
-                    .eventType(EventType.SIGN_IN)
-                    .eventResponse(EventResponseType.PASS)
-                    .build())
-            .build()
-    );
+    when(signInIndexService.getLastSuccessfulSignIn(any())).thenReturn(Instant.now());
 
     Optional<String> accountId = service.deleteDuplicateAccounts(TRAINEE_ID_1,
         Set.of(USER_ID_1, USER_ID_2, USER_ID_3), EMAIL);
@@ -594,7 +649,7 @@ class UserAccountServiceTest {
   }
 
   @Test
-  void shouldRetryPaginatingThroughAuthEventsWhenRateLimitedGettingAuthEvents() {
+  void shouldCheckSignInIndexForEachAccountWhenTisEmailNotMatches() {
     when(cognitoService.getUserDetails(any())).thenAnswer(inv -> {
       String username = inv.getArgument(0);
 
@@ -606,25 +661,84 @@ class UserAccountServiceTest {
           .build();
     });
 
-    ArgumentCaptor<AdminListUserAuthEventsRequest> authEventCaptor = ArgumentCaptor.captor();
-    when(cognitoService.adminListUserAuthEvents(authEventCaptor.capture()))
-        .thenReturn(AdminListUserAuthEventsResponse.builder()
-            .authEvents(List.of())
-            .nextToken("tokenforpage2")
-            .build())
-        .thenThrow(TooManyRequestsException.class)
-        .thenReturn(AdminListUserAuthEventsResponse.builder().authEvents(List.of()).build());
+    service.deleteDuplicateAccounts(TRAINEE_ID_1, Set.of(USER_ID_1, USER_ID_2), EMAIL);
 
-    service.deleteDuplicateAccounts(TRAINEE_ID_1, Set.of(USER_ID_1), EMAIL);
+    verify(signInIndexService).getLastSuccessfulSignIn(USER_ID_1);
+    verify(signInIndexService).getLastSuccessfulSignIn(USER_ID_2);
+    verify(cognitoService, never()).adminListUserAuthEvents(any());
+  }
 
-    List<AdminListUserAuthEventsRequest> requests = authEventCaptor.getAllValues();
-    assertThat("Unexpected request count.", requests, hasSize(3));
-    AdminListUserAuthEventsRequest request1 = requests.get(0);
-    assertThat("Unexpected pagination token.", request1.nextToken(), nullValue());
-    AdminListUserAuthEventsRequest request2 = requests.get(1);
-    assertThat("Unexpected pagination token.", request2.nextToken(), is("tokenforpage2"));
-    AdminListUserAuthEventsRequest request3 = requests.get(2);
-    assertThat("Unexpected pagination token.", request3.nextToken(), is("tokenforpage2"));
+  @Test
+  void shouldNotCheckSignInsWhenTisEmailMatches() {
+    when(cognitoService.getUserDetails(any())).thenAnswer(inv -> {
+      String username = inv.getArgument(0);
+      boolean isGetByEmail = username.equals(EMAIL);
+
+      return UserAccountDetailsDto.builder()
+          .id(isGetByEmail ? USER_ID_1 : username)
+          .email(isGetByEmail ? EMAIL : "other.email@example.com")
+          .traineeId(TRAINEE_ID_1)
+          .mfaStatus(NO_MFA.toString())
+          .userStatus(CONFIRMED.toString())
+          .build();
+    });
+
+    Optional<String> accountId = service.deleteDuplicateAccounts(TRAINEE_ID_1,
+        Set.of(USER_ID_1, USER_ID_2, USER_ID_3), EMAIL);
+
+    assertThat("Unexpected remaining account.", accountId, is(Optional.of(USER_ID_1)));
+    verifyNoInteractions(signInIndexService);
+  }
+
+  @Test
+  void shouldNotCheckSignInsWhenCurrentEmailLookupFails() {
+    when(cognitoService.getUserDetails(any())).thenThrow(TooManyRequestsException.class);
+
+    assertThrows(TooManyRequestsException.class, () -> service.deleteDuplicateAccounts(
+        TRAINEE_ID_1, Set.of(USER_ID_1, USER_ID_2), EMAIL));
+
+    verifyNoInteractions(signInIndexService);
+  }
+
+  @Test
+  void shouldFailResolutionWhenSignInCheckFails() {
+    when(cognitoService.getUserDetails(any())).thenThrow(UserNotFoundException.class);
+    when(signInIndexService.getLastSuccessfulSignIn(any())).thenThrow(
+        TooManyRequestsException.class);
+
+    assertThrows(TooManyRequestsException.class, () -> service.deleteDuplicateAccounts(
+        TRAINEE_ID_1, Set.of(USER_ID_1, USER_ID_2), EMAIL));
+
+    verify(cognitoService, never()).adminDeleteUser(any());
+  }
+
+  @Test
+  void shouldRecordResolvedDuplicateResolutionWhenTisEmailMatches() {
+    when(cognitoService.getUserDetails(any())).thenAnswer(inv -> {
+      String username = inv.getArgument(0);
+      boolean isGetByEmail = username.equals(EMAIL);
+
+      return UserAccountDetailsDto.builder()
+          .id(isGetByEmail ? USER_ID_1 : username)
+          .mfaStatus(NO_MFA.toString())
+          .userStatus(CONFIRMED.toString())
+          .build();
+    });
+
+    service.deleteDuplicateAccounts(TRAINEE_ID_1, Set.of(USER_ID_1, USER_ID_2), EMAIL);
+
+    verify(metricsService).recordDuplicateResolution(any(), eq(true));
+    verify(metricsService, never()).recordDuplicateResolution(any(), eq(false));
+  }
+
+  @Test
+  void shouldRecordUnresolvedDuplicateResolutionWhenTisEmailNotFound() {
+    when(cognitoService.getUserDetails(any())).thenThrow(UserNotFoundException.class);
+
+    service.deleteDuplicateAccounts(TRAINEE_ID_1, Set.of(USER_ID_1, USER_ID_2), EMAIL);
+
+    verify(metricsService).recordDuplicateResolution(any(), eq(false));
+    verify(metricsService, never()).recordDuplicateResolution(any(), eq(true));
   }
 
   @Test
@@ -642,6 +756,22 @@ class UserAccountServiceTest {
     assertThat("Unexpected user group.", request.groupName(), is(GROUP_1));
   }
 
+  @Test
+  void shouldRecordEnrolmentInGroupMembershipIndex() {
+    service.enrollToUserGroup(EMAIL, GROUP_1);
+
+    verify(groupMembershipIndex).recordEnrolment(GROUP_1, EMAIL);
+  }
+
+  @Test
+  void shouldNotRecordEnrolmentInGroupMembershipIndexWhenEnrolmentFails() {
+    when(cognitoService.adminAddUserToGroup(any())).thenThrow(UserNotFoundException.class);
+
+    assertThrows(UserNotFoundException.class, () -> service.enrollToUserGroup(EMAIL, GROUP_1));
+
+    verifyNoInteractions(groupMembershipIndex);
+  }
+
   @Test
   void shouldWithdrawFromUserGroup() {
     ArgumentCaptor<AdminRemoveUserFromGroupRequest> requestCaptor = ArgumentCaptor.captor();
@@ -658,86 +788,10 @@ class UserAccountServiceTest {
   }
 
   @Test
-  void shouldReturnNoLoginsWhenUserNotFoundGettingUserLogins() {
-    when(cognitoService.adminListUserAuthEvents(any())).thenThrow(UserNotFoundException.class);
-
-    List<UserLoginDetailsDto> userLoginDetails = service.getUserLoginDetails(EMAIL);
-    assertThat("Unexpected logins.", userLoginDetails.size(), is(0));
-  }
-
-  @Test
-  void shouldGetUserLoginsWhenUserFoundGettingUserLogins() {
-    Instant eventInstant = Instant.EPOCH;
-
-    ChallengeResponseType challenge1 = ChallengeResponseType.builder()
-        .challengeName("Password")
-        .challengeResponse("Success")
-        .build();
-    ChallengeResponseType challenge2 = ChallengeResponseType.builder()
-        .challengeName("Mfa")
-        .challengeResponse("Failure")
-        .build();
-
-    EventContextDataType eventContextDataType = EventContextDataType.builder()
-        .deviceName("DEVICE")
-        .build();
-
-    AuthEventType authEventTypeOne = AuthEventType.builder()
-        .creationDate(eventInstant)
-        .eventId("EVENT_ID")
-        .eventType("EVENT_TYPE")
-        .eventResponse("RESPONSE")
-        .challengeResponses(List.of(challenge1, challenge2))
-        .eventContextData(eventContextDataType)
-        .build();
-
-    Instant eventInstantTwo = Instant.now();
-
-    ChallengeResponseType challenge3 = ChallengeResponseType.builder()
-        .challengeName("Password")
-        .challengeResponse("Failure")
-        .build();
-
-    EventContextDataType eventContextDataTypeTwo = EventContextDataType.builder()
-        .deviceName("DEVICE_2")
-        .build();
-
-    AuthEventType authEventTypeTwo = AuthEventType.builder()
-        .creationDate(eventInstantTwo)
-        .eventId("EVENT_ID_2")
-        .eventType("EVENT_TYPE_2")
-        .eventResponse("RESPONSE_2")
-        .challengeResponses(List.of(challenge3))
-        .eventContextData(eventContextDataTypeTwo)
-        .build();
-
-    AdminListUserAuthEventsResponse result = AdminListUserAuthEventsResponse.builder()
-        .authEvents(List.of(authEventTypeOne, authEventTypeTwo))
-        .build();
-
-    when(cognitoService.adminListUserAuthEvents(any())).thenReturn(result);
-
-    List<UserLoginDetailsDto> userLogins = service.getUserLoginDetails(EMAIL);
-
-    assertThat("Unexpected logins count.", userLogins.size(), is(2));
-
-    UserLoginDetailsDto loginOne = userLogins.get(0);
-    assertThat("Unexpected login id.", loginOne.getEventId(), is("EVENT_ID"));
-    assertThat("Unexpected login event.", loginOne.getEvent(), is("EVENT_TYPE"));
-    assertThat("Unexpected login date.", loginOne.getEventDate(), is(eventInstant));
-    assertThat("Unexpected login result.", loginOne.getResult(), is("RESPONSE"));
-    assertThat("Unexpected login device.", loginOne.getDevice(), is("DEVICE"));
-    assertThat("Unexpected login challenge.", loginOne.getChallenges(),
-        is("Password:Success, Mfa:Failure"));
+  void shouldRecordWithdrawalInGroupMembershipIndex() {
+    service.withdrawFromUserGroup(EMAIL, GROUP_1);
 
-    UserLoginDetailsDto loginTwo = userLogins.get(1);
-    assertThat("Unexpected login id.", loginTwo.getEventId(), is("EVENT_ID_2"));
-    assertThat("Unexpected login event.", loginTwo.getEvent(), is("EVENT_TYPE_2"));
-    assertThat("Unexpected login date.", loginTwo.getEventDate(), is(eventInstantTwo));
-    assertThat("Unexpected login result.", loginTwo.getResult(), is("RESPONSE_2"));
-    assertThat("Unexpected login device.", loginTwo.getDevice(), is("DEVICE_2"));
-    assertThat("Unexpected login challenge.", loginTwo.getChallenges(),
-        is("Password:Failure"));
+    verify(groupMembershipIndex).recordWithdrawal(GROUP_1, EMAIL);
   }
 
   @Test
@@ -861,6 +915,10 @@ class UserAccountServiceTest {
     assertThat("Unexpected pagination token.", request2.paginationToken(), is("tokenforpage2"));
     ListUsersRequest request3 = requests.get(2);
     assertThat("Unexpected pagination token.", request3.paginationToken(), is("tokenforpage2"));
+
+    verify(metricsService).incrementUserIndexThrottleCounter();
+    verify(metricsService, times(2)).incrementUserIndexPageCounter(1);
+    verify(metricsService).recordUserIndexRefresh(any(), eq(2L));
   }
 
   @Test
@@ -877,13 +935,63 @@ class UserAccountServiceTest {
 
     when(cognitoService.listUsers(any())).thenReturn(result);
 
-    when(cache.get(TRAINEE_ID_1, Set.class)).thenReturn(new HashSet<>(Set.of(USER_ID_1)));
+    // Not found on lookup, then found with the existing account while building the cache.
+    when(cache.get(TRAINEE_ID_1, Set.class)).thenReturn(null, new HashSet<>(Set.of(USER_ID_1)));
 
     service.getUserAccountIds(TRAINEE_ID_1);
 
     verify(cache).put(TRAINEE_ID_1, Set.of(USER_ID_1, USER_ID_2));
   }
 
+  @Test
+  void shouldGetAllTraineeIdsFromScannedUsers() {
+    UserType user1 = UserType.builder()
+        .attributes(AttributeType.builder().name("custom:tisId").value(TRAINEE_ID_1).build())
+        .build();
+    UserType user2 = UserType.builder()
+        .attributes(AttributeType.builder().name("custom:tisId").value(TRAINEE_ID_2).build())
+        .build();
+    UserType duplicate = UserType.builder()
+        .attributes(AttributeType.builder().name("custom:tisId").value(TRAINEE_ID_1).build())
+        .build();
+    UserType noTraineeId = UserType.builder()
+        .attributes(AttributeType.builder().name(ATTRIBUTE_EMAIL).value(EMAIL).build())
+        .build();
+
+    doAnswer(inv -> {
+      Consumer<List<UserType>> consumer = inv.getArgument(0);
+      consumer.accept(List.of(user1, noTraineeId));
+      consumer.accept(List.of(user2, duplicate));
+      return null;
+    }).when(cognitoService).scanUsers(any());
+
+    Set<String> traineeIds = service.getAllTraineeIds();
+
+    assertThat("Unexpected trainee IDs.", List.copyOf(traineeIds),
+        is(List.of(TRAINEE_ID_1, TRAINEE_ID_2)));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenGettingAllTraineeIdsIsInterrupted() {
+    UserType user = UserType.builder()
+        .attributes(AttributeType.builder().name("custom:tisId").value(TRAINEE_ID_1).build())
+        .build();
+
+    doAnswer(inv -> {
+      Consumer<List<UserType>> consumer = inv.getArgument(0);
+      consumer.accept(List.of(user));
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted scanning users.");
+    }).when(cognitoService).scanUsers(any());
+
+    try {
+      assertThrows(CancellationException.class, () -> service.getAllTraineeIds());
+      assertThat("Unexpected interrupt flag.", Thread.currentThread().isInterrupted(), is(true));
+    } finally {
+      Thread.interrupted();
+    }
+  }
+
   @Test
   void shouldGetUserAccountIdsFromCache() {
     ListUsersResponse result = ListUsersResponse.builder()
@@ -900,6 +1008,36 @@ class UserAccountServiceTest {
     assertThat("Unexpected user IDs.", userAccountIds, hasItems(USER_ID_1, USER_ID_2));
   }
 
+  @Test
+  void shouldCountIndexHitAndNotBuildCacheWhenUserAccountIdsCached() {
+    when(cache.get(TRAINEE_ID_1, Set.class)).thenReturn(Set.of(USER_ID_1));
+
+    Set<String> userAccountIds = service.getUserAccountIds(TRAINEE_ID_1);
+
+    assertThat("Unexpected user IDs.", userAccountIds, is(Set.of(USER_ID_1)));
+    verify(metricsService).incrementUserIndexLookupCounter(true);
+    verify(metricsService, never()).recordUserIndexRefresh(any(), anyLong());
+    verifyNoInteractions(cognitoService);
+  }
+
+  @Test
+  void shouldCountIndexMissAndRecordRefreshWhenUserAccountIdsNotCached() {
+    UserType user = UserType.builder()
+        .attributes(
+            AttributeType.builder().name(ATTRIBUTE_TRAINEE_ID).value(TRAINEE_ID_1).build(),
+            AttributeType.builder().name(ATTRIBUTE_USER_ID).value(USER_ID_1).build())
+        .build();
+    when(cognitoService.listUsers(any())).thenReturn(
+        ListUsersResponse.builder().users(user, user).build());
+
+    service.getUserAccountIds(TRAINEE_ID_1);
+
+    verify(metricsService).incrementUserIndexLookupCounter(false);
+    verify(metricsService).incrementUserIndexPageCounter(2);
+    // Both scanned users belong to the same trainee, so only one index entry.
+    verify(metricsService).recordUserIndexRefresh(any(), eq(1L));
+  }
+
   @Test
   void shouldGetEmptyUserAccountIdsWhenAccountNotFoundAfterBuildingCache() {
     ListUsersResponse result = ListUsersResponse.builder()
@@ -915,6 +1053,17 @@ class UserAccountServiceTest {
     assertThat("Unexpected user IDs count.", userAccountIds.size(), is(0));
   }
 
+  @Test
+  void shouldThrowAndNotBuildCacheWhenUserIdCacheUnavailable() {
+    circuitBreakerRegistry.circuitBreaker(Dependency.CACHE.getInstanceName())
+        .transitionToOpenState();
+
+    assertThrows(CallNotPermittedException.class, () -> service.getUserAccountIds(TRAINEE_ID_1));
+
+    verifyNoInteractions(cognitoService);
+    verify(metricsService, never()).incrementUserIndexLookupCounter(anyBoolean());
+  }
+
   @Test
   void shouldNotImmediatelyRepeatBuildingUserIdCache() {
     ListUsersResponse result = ListUsersResponse.builder()
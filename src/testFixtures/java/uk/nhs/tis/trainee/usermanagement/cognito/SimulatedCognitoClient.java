@@ -0,0 +1,818 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.tis.trainee.usermanagement.cognito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminAddUserToGroupRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminAddUserToGroupResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminDeleteUserRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminDeleteUserResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminGetUserRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminGetUserResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListGroupsForUserRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListGroupsForUserResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListUserAuthEventsRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListUserAuthEventsResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminRemoveUserFromGroupRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminRemoveUserFromGroupResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminSetUserMfaPreferenceRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminSetUserMfaPreferenceResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminUpdateUserAttributesRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminUpdateUserAttributesResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AttributeType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AuthEventType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ChallengeName;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ChallengeResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ChallengeResponseType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.EventContextDataType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.EventResponseType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.EventType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.GroupType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.InvalidParameterException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersInGroupRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersInGroupResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.TooManyRequestsException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserStatusType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
+
+/**
+ * An in-memory stand-in for the Cognito user pool client, for running scans, listener throughput
+ * and duplicate resolution load tests locally.
+ *
+ * <p>Synthetic users are derived from their index on demand rather than stored, so pools of
+ * millions of users are cheap. Only changes made through the client, such as attribute updates,
+ * deletions and group changes, are held in memory. Each API call is subject to the configured
+ * latency, the per-category request quotas Cognito enforces, and a random injected throttling
+ * rate; exceeding a quota throws {@link TooManyRequestsException} as Cognito would.
+ */
+public class SimulatedCognitoClient implements CognitoIdentityProviderClient {
+
+  /**
+   * The Cognito request rate quota categories, with their default requests per second.
+   */
+  public enum Quota {
+    USER_READ(120),
+    USER_LIST(30),
+    USER_RESOURCE_READ(50),
+    USER_UPDATE(25);
+
+    private final int defaultRequestsPerSecond;
+
+    Quota(int defaultRequestsPerSecond) {
+      this.defaultRequestsPerSecond = defaultRequestsPerSecond;
+    }
+  }
+
+  public static final String USER_POOL_ID = "simulated-pool";
+  public static final int MAX_PAGE_SIZE = 60;
+
+  private static final String SUB_FORMAT = "00000000-0000-4000-8000-%012x";
+  private static final Pattern SUB_PATTERN = Pattern.compile(
+      "00000000-0000-4000-8000-([0-9a-f]{12})");
+  private static final String EMAIL_FORMAT = "trainee.%d@example.com";
+  private static final Pattern EMAIL_PATTERN = Pattern.compile("trainee\\.(\\d+)@example\\.com");
+  private static final Pattern FILTER_PATTERN = Pattern.compile(
+      "^\\s*([\\w:]+)\\s*(\\^?=)\\s*\"(.*)\"\\s*$");
+  private static final Instant BASE_TIME = Instant.parse("2020-01-01T00:00:00Z");
+  private static final int TIS_ID_OFFSET = 100_000;
+
+  private final int userCount;
+  private final int duplicateEvery;
+  private final int authEventsPerUser;
+  private final Duration latency;
+  private final double throttleRate;
+  private final Map<Quota, Window> windows = new EnumMap<>(Quota.class);
+  private final Random random;
+
+  private final Map<Integer, Map<String, String>> attributeOverrides = new ConcurrentHashMap<>();
+  private final Map<Integer, String> mfaOverrides = new ConcurrentHashMap<>();
+  private final Map<String, Integer> overriddenEmails = new ConcurrentHashMap<>();
+  private final Set<Integer> deleted = ConcurrentHashMap.newKeySet();
+  private final Map<String, NavigableSet<Integer>> groups = new ConcurrentHashMap<>();
+
+  private final Map<String, AtomicLong> callCounts = new ConcurrentHashMap<>();
+  private final AtomicLong throttledCount = new AtomicLong();
+
+  private SimulatedCognitoClient(Builder builder) {
+    userCount = builder.userCount;
+    duplicateEvery = builder.duplicateEvery;
+    authEventsPerUser = builder.authEventsPerUser;
+    latency = builder.latency;
+    throttleRate = builder.throttleRate;
+    random = new Random(builder.seed);
+
+    for (Quota quota : Quota.values()) {
+      int limit = builder.quotas.getOrDefault(quota, quota.defaultRequestsPerSecond);
+      windows.put(quota, new Window(limit));
+    }
+
+    builder.groups.forEach((name, every) -> {
+      NavigableSet<Integer> members = new ConcurrentSkipListSet<>();
+      for (int i = 0; every > 0 && i < userCount; i += every) {
+        members.add(i);
+      }
+      groups.put(name, members);
+    });
+  }
+
+  /**
+   * Create a builder for a simulated client.
+   *
+   * @return The builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Get the sub of a synthetic user, which is also its username.
+   *
+   * @param index The index of the user.
+   * @return The sub.
+   */
+  public static String sub(int index) {
+    return String.format(SUB_FORMAT, index);
+  }
+
+  /**
+   * Get the original email of a synthetic user.
+   *
+   * @param index The index of the user.
+   * @return The email.
+   */
+  public static String email(int index) {
+    return String.format(EMAIL_FORMAT, index);
+  }
+
+  /**
+   * Get the TIS ID of a synthetic user. When duplicates are enabled, the user following each
+   * duplicated user shares its TIS ID.
+   *
+   * @param index The index of the user.
+   * @return The TIS ID.
+   */
+  public String tisId(int index) {
+    boolean duplicate = duplicateEvery > 0 && index % duplicateEvery == 1;
+    return String.valueOf(TIS_ID_OFFSET + (duplicate ? index - 1 : index));
+  }
+
+  /**
+   * Get the number of calls made to an API operation.
+   *
+   * @param operation The name of the operation, e.g. "ListUsers".
+   * @return The number of calls, including those which were throttled.
+   */
+  public long getCallCount(String operation) {
+    AtomicLong count = callCounts.get(operation);
+    return count == null ? 0 : count.get();
+  }
+
+  /**
+   * Get the number of calls which were throttled, by quota or injection.
+   *
+   * @return The number of throttled calls.
+   */
+  public long getThrottledCount() {
+    return throttledCount.get();
+  }
+
+  @Override
+  public String serviceName() {
+    return SERVICE_NAME;
+  }
+
+  @Override
+  public void close() {
+    // No resources to release.
+  }
+
+  @Override
+  public ListUsersResponse listUsers(ListUsersRequest request) {
+    call("ListUsers", Quota.USER_LIST);
+    int limit = limit(request.limit());
+    List<UserType> users = new ArrayList<>();
+
+    if (request.filter() != null && !request.filter().isBlank()) {
+      Matcher matcher = FILTER_PATTERN.matcher(request.filter());
+      if (!matcher.matches()) {
+        throw InvalidParameterException.builder()
+            .message("Invalid filter: " + request.filter())
+            .build();
+      }
+
+      String attribute = matcher.group(1);
+      String value = matcher.group(3);
+      if (!Set.of("username", "email", "sub").contains(attribute)) {
+        throw InvalidParameterException.builder()
+            .message("Filtering on attribute " + attribute + " is not supported.")
+            .build();
+      }
+
+      if (matcher.group(2).equals("=")) {
+        Integer index = resolve(value);
+        if (index != null && value.equals(attributes(index).get(attribute))) {
+          users.add(user(index));
+        }
+        return ListUsersResponse.builder().users(users).build();
+      }
+
+      int next = token(request.paginationToken());
+      while (next < userCount && users.size() < limit) {
+        if (exists(next) && attributes(next).getOrDefault(attribute, "").startsWith(value)) {
+          users.add(user(next));
+        }
+        next++;
+      }
+      return ListUsersResponse.builder()
+          .users(users)
+          .paginationToken(next < userCount ? String.valueOf(next) : null)
+          .build();
+    }
+
+    int next = token(request.paginationToken());
+    while (next < userCount && users.size() < limit) {
+      if (exists(next)) {
+        users.add(user(next));
+      }
+      next++;
+    }
+
+    return ListUsersResponse.builder()
+        .users(users)
+        .paginationToken(next < userCount ? String.valueOf(next) : null)
+        .build();
+  }
+
+  @Override
+  public AdminGetUserResponse adminGetUser(AdminGetUserRequest request) {
+    call("AdminGetUser", Quota.USER_READ);
+    int index = require(request.username());
+    UserType user = user(index);
+    String mfa = preferredMfa(index);
+
+    return AdminGetUserResponse.builder()
+        .username(user.username())
+        .userAttributes(user.attributes())
+        .userCreateDate(user.userCreateDate())
+        .userLastModifiedDate(user.userLastModifiedDate())
+        .enabled(user.enabled())
+        .userStatus(user.userStatus())
+        .preferredMfaSetting(mfa)
+        .userMFASettingList(mfa == null ? List.of() : List.of(mfa))
+        .build();
+  }
+
+  @Override
+  public AdminListGroupsForUserResponse adminListGroupsForUser(
+      AdminListGroupsForUserRequest request) {
+    call("AdminListGroupsForUser", Quota.USER_RESOURCE_READ);
+    int index = require(request.username());
+
+    List<GroupType> userGroups = groups.entrySet().stream()
+        .filter(group -> group.getValue().contains(index))
+        .map(group -> GroupType.builder()
+            .groupName(group.getKey())
+            .userPoolId(USER_POOL_ID)
+            .build())
+        .toList();
+    return AdminListGroupsForUserResponse.builder().groups(userGroups).build();
+  }
+
+  @Override
+  public ListUsersInGroupResponse listUsersInGroup(ListUsersInGroupRequest request) {
+    call("ListUsersInGroup", Quota.USER_LIST);
+    NavigableSet<Integer> members = group(request.groupName());
+    int limit = limit(request.limit());
+    int from = token(request.nextToken());
+
+    List<UserType> users = new ArrayList<>();
+    Integer next = members.ceiling(from);
+    while (next != null && users.size() < limit) {
+      if (exists(next)) {
+        users.add(user(next));
+      }
+      next = members.higher(next);
+    }
+
+    return ListUsersInGroupResponse.builder()
+        .users(users)
+        .nextToken(next == null ? null : String.valueOf(next))
+        .build();
+  }
+
+  @Override
+  public AdminAddUserToGroupResponse adminAddUserToGroup(AdminAddUserToGroupRequest request) {
+    call("AdminAddUserToGroup", Quota.USER_UPDATE);
+    int index = require(request.username());
+    group(request.groupName()).add(index);
+    return AdminAddUserToGroupResponse.builder().build();
+  }
+
+  @Override
+  public AdminRemoveUserFromGroupResponse adminRemoveUserFromGroup(
+      AdminRemoveUserFromGroupRequest request) {
+    call("AdminRemoveUserFromGroup", Quota.USER_UPDATE);
+    int index = require(request.username());
+    group(request.groupName()).remove(index);
+    return AdminRemoveUserFromGroupResponse.builder().build();
+  }
+
+  @Override
+  public AdminUpdateUserAttributesResponse adminUpdateUserAttributes(
+      AdminUpdateUserAttributesRequest request) {
+    call("AdminUpdateUserAttributes", Quota.USER_UPDATE);
+    int index = require(request.username());
+    Map<String, String> overrides = attributeOverrides.computeIfAbsent(index,
+        i -> new ConcurrentHashMap<>());
+
+    for (AttributeType attribute : request.userAttributes()) {
+      if (attribute.name().equals("email")) {
+        String previous = attributes(index).get("email");
+        if (!previous.equals(attribute.value()) && resolve(attribute.value()) != null) {
+          throw InvalidParameterException.builder()
+              .message("An account with the given email already exists.")
+              .build();
+        }
+        overriddenEmails.remove(previous);
+        overriddenEmails.put(attribute.value(), index);
+      }
+      overrides.put(attribute.name(), attribute.value());
+    }
+
+    return AdminUpdateUserAttributesResponse.builder().build();
+  }
+
+  @Override
+  public AdminDeleteUserResponse adminDeleteUser(AdminDeleteUserRequest request) {
+    call("AdminDeleteUser", Quota.USER_UPDATE);
+    int index = require(request.username());
+    deleted.add(index);
+    overriddenEmails.remove(attributes(index).get("email"));
+    groups.values().forEach(members -> members.remove(index));
+    return AdminDeleteUserResponse.builder().build();
+  }
+
+  @Override
+  public AdminSetUserMfaPreferenceResponse adminSetUserMFAPreference(
+      AdminSetUserMfaPreferenceRequest request) {
+    call("AdminSetUserMFAPreference", Quota.USER_UPDATE);
+    int index = require(request.username());
+
+    String preferred = "";
+    if (request.smsMfaSettings() != null
+        && Boolean.TRUE.equals(request.smsMfaSettings().preferredMfa())) {
+      preferred = "SMS_MFA";
+    } else if (request.softwareTokenMfaSettings() != null
+        && Boolean.TRUE.equals(request.softwareTokenMfaSettings().preferredMfa())) {
+      preferred = "SOFTWARE_TOKEN_MFA";
+    }
+    mfaOverrides.put(index, preferred);
+
+    return AdminSetUserMfaPreferenceResponse.builder().build();
+  }
+
+  @Override
+  public AdminListUserAuthEventsResponse adminListUserAuthEvents(
+      AdminListUserAuthEventsRequest request) {
+    call("AdminListUserAuthEvents", Quota.USER_RESOURCE_READ);
+    int index = require(request.username());
+    int limit = limit(request.maxResults());
+    int from = token(request.nextToken());
+    int to = Math.min(from + limit, authEventsPerUser);
+
+    List<AuthEventType> events = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      events.add(authEvent(index, i));
+    }
+
+    return AdminListUserAuthEventsResponse.builder()
+        .authEvents(events)
+        .nextToken(to < authEventsPerUser ? String.valueOf(to) : null)
+        .build();
+  }
+
+  /**
+   * Record a call to an API operation and apply the simulated latency and throttling.
+   *
+   * @param operation The name of the operation.
+   * @param quota     The quota category of the operation.
+   * @throws TooManyRequestsException If the call is throttled.
+   */
+  private void call(String operation, Quota quota) {
+    callCounts.computeIfAbsent(operation, o -> new AtomicLong()).incrementAndGet();
+
+    if (!latency.isZero()) {
+      try {
+        Thread.sleep(latency.toMillis(), latency.toNanosPart() % 1_000_000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    boolean injected = throttleRate > 0 && random.nextDouble() < throttleRate;
+    if (injected || !windows.get(quota).tryAcquire()) {
+      throttledCount.incrementAndGet();
+      throw TooManyRequestsException.builder()
+          .message("Too many requests for " + operation + ".")
+          .build();
+    }
+  }
+
+  /**
+   * Resolve a username, sub or email to the index of an existing user.
+   *
+   * @param username The username, sub or email.
+   * @return The index of the user, or null if no user exists.
+   */
+  private Integer resolve(String username) {
+    if (username == null) {
+      return null;
+    }
+
+    Integer overridden = overriddenEmails.get(username);
+    if (overridden != null) {
+      return exists(overridden) ? overridden : null;
+    }
+
+    Integer index = null;
+    Matcher sub = SUB_PATTERN.matcher(username);
+    Matcher email = EMAIL_PATTERN.matcher(username);
+
+    if (sub.matches()) {
+      long parsed = Long.parseLong(sub.group(1), 16);
+      index = parsed < userCount ? (int) parsed : null;
+    } else if (email.matches()) {
+      long parsed = Long.parseLong(email.group(1));
+      boolean original = parsed < userCount
+          && !attributeOverrides.getOrDefault((int) parsed, Map.of()).containsKey("email");
+      index = original ? (int) parsed : null;
+    }
+
+    return index != null && exists(index) ? index : null;
+  }
+
+  /**
+   * Resolve a username, sub or email to the index of an existing user.
+   *
+   * @param username The username, sub or email.
+   * @return The index of the user.
+   * @throws UserNotFoundException If no user exists.
+   */
+  private int require(String username) {
+    Integer index = resolve(username);
+
+    if (index == null) {
+      throw UserNotFoundException.builder().message("User does not exist.").build();
+    }
+
+    return index;
+  }
+
+  /**
+   * Get a group's members.
+   *
+   * @param name The name of the group.
+   * @return The indexes of the group's members.
+   * @throws ResourceNotFoundException If the group does not exist.
+   */
+  private NavigableSet<Integer> group(String name) {
+    NavigableSet<Integer> members = groups.get(name);
+
+    if (members == null) {
+      throw ResourceNotFoundException.builder().message("Group not found.").build();
+    }
+
+    return members;
+  }
+
+  private boolean exists(int index) {
+    return index >= 0 && index < userCount && !deleted.contains(index);
+  }
+
+  /**
+   * Get the current attributes of a user, including any updates made through the client.
+   *
+   * @param index The index of the user.
+   * @return The attributes, by name.
+   */
+  private Map<String, String> attributes(int index) {
+    Map<String, String> attributes = new LinkedHashMap<>();
+    attributes.put("sub", sub(index));
+    attributes.put("email_verified", "true");
+    attributes.put("custom:tisId", tisId(index));
+
+    // Not all users have the custom MFA attribute populated, which triggers the fallback lookup.
+    String mfa = preferredMfa(index);
+    if (index % 4 != 3) {
+      attributes.put("custom:mfaType", mfa == null ? "NO_MFA" : mfa);
+    }
+
+    attributes.put("given_name", "Forename" + index);
+    attributes.put("family_name", "Surname" + index);
+    attributes.put("email", email(index));
+    attributes.putAll(attributeOverrides.getOrDefault(index, Map.of()));
+    attributes.put("username", sub(index));
+    return attributes;
+  }
+
+  /**
+   * Get the preferred MFA setting of a user.
+   *
+   * @param index The index of the user.
+   * @return The preferred MFA setting, or null if MFA is not set up.
+   */
+  private String preferredMfa(int index) {
+    String preferred = mfaOverrides.get(index);
+
+    if (preferred != null) {
+      return preferred.isEmpty() ? null : preferred;
+    }
+
+    return switch (index % 3) {
+      case 0 -> "SOFTWARE_TOKEN_MFA";
+      case 1 -> "SMS_MFA";
+      default -> null;
+    };
+  }
+
+  /**
+   * Build a user as returned by the list operations.
+   *
+   * @param index The index of the user.
+   * @return The user.
+   */
+  private UserType user(int index) {
+    List<AttributeType> attributes = attributes(index).entrySet().stream()
+        .filter(attribute -> !attribute.getKey().equals("username"))
+        .map(attribute -> AttributeType.builder()
+            .name(attribute.getKey())
+            .value(attribute.getValue())
+            .build())
+        .toList();
+
+    return UserType.builder()
+        .username(sub(index))
+        .attributes(attributes)
+        .userCreateDate(BASE_TIME.plus(index, ChronoUnit.SECONDS))
+        .userLastModifiedDate(BASE_TIME.plus(index, ChronoUnit.MINUTES))
+        .enabled(true)
+        .userStatus(UserStatusType.CONFIRMED)
+        .build();
+  }
+
+  /**
+   * Build an auth event of a user, events are ordered newest first.
+   *
+   * @param index The index of the user.
+   * @param event The index of the event.
+   * @return The auth event.
+   */
+  private AuthEventType authEvent(int index, int event) {
+    List<ChallengeResponseType> challenges = new ArrayList<>();
+    challenges.add(ChallengeResponseType.builder()
+        .challengeName(ChallengeName.PASSWORD)
+        .challengeResponse(ChallengeResponse.SUCCESS)
+        .build());
+
+    // Every tenth sign in fails.
+    boolean failed = event % 10 == 9;
+
+    if (preferredMfa(index) != null) {
+      challenges.add(ChallengeResponseType.builder()
+          .challengeName(ChallengeName.MFA)
+          .challengeResponse(failed ? ChallengeResponse.FAILURE : ChallengeResponse.SUCCESS)
+          .build());
+    }
+
+    return AuthEventType.builder()
+        .eventId(String.format("%s-%06d", sub(index), event))
+        .eventType(EventType.SIGN_IN)
+        .creationDate(BASE_TIME.plus(365, ChronoUnit.DAYS).minus(event, ChronoUnit.HOURS))
+        .eventResponse(failed ? EventResponseType.FAIL : EventResponseType.PASS)
+        .challengeResponses(challenges)
+        .eventContextData(EventContextDataType.builder()
+            .ipAddress("192.0.2." + (event % 255))
+            .deviceName("Chrome 120, Windows 10")
+            .build())
+        .build();
+  }
+
+  private int limit(Integer requested) {
+    if (requested == null) {
+      return MAX_PAGE_SIZE;
+    }
+
+    if (requested < 0 || requested > MAX_PAGE_SIZE) {
+      throw InvalidParameterException.builder()
+          .message("Limit must be between 0 and " + MAX_PAGE_SIZE + ".")
+          .build();
+    }
+
+    return requested;
+  }
+
+  private int token(String token) {
+    if (token == null) {
+      return 0;
+    }
+
+    try {
+      return Integer.parseInt(token);
+    } catch (NumberFormatException e) {
+      throw InvalidParameterException.builder().message("Invalid pagination token.").build();
+    }
+  }
+
+  /**
+   * A fixed one second window, counting the requests made within it.
+   */
+  private static class Window {
+
+    private final int limit;
+    private long second;
+    private int count;
+
+    Window(int limit) {
+      this.limit = limit;
+    }
+
+    synchronized boolean tryAcquire() {
+      long now = System.currentTimeMillis() / 1000;
+
+      if (now != second) {
+        second = now;
+        count = 0;
+      }
+
+      return limit <= 0 || ++count <= limit;
+    }
+  }
+
+  /**
+   * A builder for a {@link SimulatedCognitoClient}.
+   */
+  public static class Builder {
+
+    private int userCount = 1_000;
+    private int duplicateEvery;
+    private int authEventsPerUser = 100;
+    private Duration latency = Duration.ZERO;
+    private double throttleRate;
+    private long seed = 42;
+    private final Map<Quota, Integer> quotas = new EnumMap<>(Quota.class);
+    private final Map<String, Integer> groups = new LinkedHashMap<>();
+
+    private Builder() {
+    }
+
+    /**
+     * Set the number of users in the pool.
+     *
+     * @param userCount The number of users, default 1,000.
+     * @return The builder.
+     */
+    public Builder userCount(int userCount) {
+      this.userCount = userCount;
+      return this;
+    }
+
+    /**
+     * Give every nth trainee a duplicate account with the same TIS ID.
+     *
+     * @param duplicateEvery How often to duplicate a trainee, zero for no duplicates (default).
+     * @return The builder.
+     */
+    public Builder duplicateEvery(int duplicateEvery) {
+      this.duplicateEvery = duplicateEvery;
+      return this;
+    }
+
+    /**
+     * Set the length of each user's auth event history.
+     *
+     * @param authEventsPerUser The number of auth events per user, default 100.
+     * @return The builder.
+     */
+    public Builder authEventsPerUser(int authEventsPerUser) {
+      this.authEventsPerUser = authEventsPerUser;
+      return this;
+    }
+
+    /**
+     * Set the latency added to every call.
+     *
+     * @param latency The latency, default zero.
+     * @return The builder.
+     */
+    public Builder latency(Duration latency) {
+      this.latency = latency;
+      return this;
+    }
+
+    /**
+     * Set the proportion of calls which are randomly throttled, regardless of quotas.
+     *
+     * @param throttleRate The throttle rate between 0 and 1, default zero.
+     * @return The builder.
+     */
+    public Builder throttleRate(double throttleRate) {
+      this.throttleRate = throttleRate;
+      return this;
+    }
+
+    /**
+     * Set the request rate quota for a category of operations.
+     *
+     * @param quota             The quota category.
+     * @param requestsPerSecond The requests per second allowed, zero or less for unlimited.
+     * @return The builder.
+     */
+    public Builder quota(Quota quota, int requestsPerSecond) {
+      quotas.put(quota, requestsPerSecond);
+      return this;
+    }
+
+    /**
+     * Disable all request rate quotas.
+     *
+     * @return The builder.
+     */
+    public Builder unlimited() {
+      for (Quota quota : Quota.values()) {
+        quotas.put(quota, 0);
+      }
+      return this;
+    }
+
+    /**
+     * Add a group, with every nth user as an initial member.
+     *
+     * @param name  The name of the group.
+     * @param every How often a user is a member, zero for an empty group.
+     * @return The builder.
+     */
+    public Builder group(String name, int every) {
+      groups.put(name, every);
+      return this;
+    }
+
+    /**
+     * Set the seed for injected throttling.
+     *
+     * @param seed The random seed, default 42.
+     * @return The builder.
+     */
+    public Builder seed(long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    /**
+     * Build the simulated client.
+     *
+     * @return The built client.
+     */
+    public SimulatedCognitoClient build() {
+      return new SimulatedCognitoClient(this);
+    }
+  }
+}